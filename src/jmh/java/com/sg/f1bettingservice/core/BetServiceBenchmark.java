@@ -0,0 +1,66 @@
+package com.sg.f1bettingservice.core;
+
+import static com.sg.f1bettingservice.core.model.BetStatus.PLACED;
+
+import com.sg.f1bettingservice.core.model.User;
+import com.sg.f1bettingservice.f1data.AsyncF1DataProvider;
+import com.sg.f1bettingservice.f1data.StubF1DataProvider;
+import com.sg.f1bettingservice.persistence.inmemory.InMemoryBetRepository;
+import com.sg.f1bettingservice.persistence.inmemory.InMemoryUserRepository;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Places bets on an event whose book already holds {@code bookSize} bets. The fixture is rebuilt
+ * every iteration so the book does not grow without bound across iterations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class BetServiceBenchmark {
+
+  static final int EVENT_ID = 9158;
+  static final int DRIVERS = 20;
+  static final int USERS = 10_000;
+  static final long AMOUNT_IN_CENTS = 100;
+
+  @Param({"0", "100000"})
+  int bookSize;
+
+  BetService betService;
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    var userRepository = new InMemoryUserRepository();
+    var betRepository = new InMemoryBetRepository();
+    var f1DataProvider = new StubF1DataProvider(EVENT_ID, DRIVERS, 1);
+    var eventService =
+        new EventService(
+            f1DataProvider, new AsyncF1DataProvider(f1DataProvider), Duration.ofMinutes(10), 1_000);
+    betService = new BetService(eventService, betRepository, new UserService(userRepository));
+
+    for (int userId = 0; userId < USERS; userId++) {
+      userRepository.save(User.builder().userId(userId).balanceInCents(Long.MAX_VALUE).build());
+    }
+    for (int i = 0; i < bookSize; i++) {
+      betRepository.save(i % USERS, EVENT_ID, 1 + i % DRIVERS, AMOUNT_IN_CENTS, PLACED);
+    }
+  }
+
+  @Benchmark
+  public Integer placeBet() {
+    var random = ThreadLocalRandom.current();
+    return betService.placeBet(
+        random.nextInt(USERS), EVENT_ID, 1 + random.nextInt(DRIVERS), AMOUNT_IN_CENTS);
+  }
+}
@@ -0,0 +1,74 @@
+package com.sg.f1bettingservice.core;
+
+import static com.sg.f1bettingservice.core.model.BetStatus.PLACED;
+
+import com.sg.f1bettingservice.core.model.EventOutcome;
+import com.sg.f1bettingservice.core.model.User;
+import com.sg.f1bettingservice.f1data.AsyncF1DataProvider;
+import com.sg.f1bettingservice.f1data.StubF1DataProvider;
+import com.sg.f1bettingservice.persistence.inmemory.InMemoryBetRepository;
+import com.sg.f1bettingservice.persistence.inmemory.InMemoryOutcomeRepository;
+import com.sg.f1bettingservice.persistence.inmemory.InMemoryUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Publishes the outcome of an event holding {@code bookSize} placed bets. Publishing is idempotent,
+ * so every invocation settles a freshly built book; each thread settles its own book.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class OutcomeServiceBenchmark {
+
+  static final int EVENT_ID = 9158;
+  static final int DRIVERS = 20;
+  static final int WINNER_DRIVER_ID = 1;
+  static final int USERS = 10_000;
+
+  @Param({"10000", "1000000"})
+  int bookSize;
+
+  OutcomeService outcomeService;
+
+  @Setup(Level.Invocation)
+  public void setUp() {
+    var userRepository = new InMemoryUserRepository();
+    var betRepository = new InMemoryBetRepository();
+    var userService = new UserService(userRepository);
+    var f1DataProvider = new StubF1DataProvider(EVENT_ID, DRIVERS, WINNER_DRIVER_ID);
+    var eventService =
+        new EventService(
+            f1DataProvider, new AsyncF1DataProvider(f1DataProvider), Duration.ofMinutes(10), 1_000);
+    var betService = new BetService(eventService, betRepository, userService);
+    var settlementEngine =
+        new SettlementEngine(
+            betService, userService, Optional.empty(), new SimpleMeterRegistry(), 10_000);
+    outcomeService =
+        new OutcomeService(
+            new InMemoryOutcomeRepository(), eventService, betService, settlementEngine, 100_000);
+
+    for (int userId = 0; userId < USERS; userId++) {
+      userRepository.save(User.builder().userId(userId).balanceInCents(0).build());
+    }
+    for (int i = 0; i < bookSize; i++) {
+      betRepository.save(i % USERS, EVENT_ID, 1 + i % DRIVERS, 100, PLACED);
+    }
+  }
+
+  @Benchmark
+  public EventOutcome publishOutcome() {
+    return outcomeService.publishOutcome(EVENT_ID);
+  }
+}
@@ -0,0 +1,59 @@
+package com.sg.f1bettingservice.core.model;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Sums the payouts of {@code bets} winning bets with {@link Money} cents and, as the baseline the
+ * service used before, with {@link BigDecimal} amounts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MoneyBenchmark {
+
+  static final int ODDS = 3;
+
+  @Param({"10000"})
+  int bets;
+
+  long[] amountsInCents;
+  BigDecimal[] amounts;
+
+  @Setup
+  public void setUp() {
+    amountsInCents = IntStream.range(0, bets).mapToLong(i -> 100 + i % 10_000).toArray();
+    amounts = new BigDecimal[bets];
+    for (int i = 0; i < bets; i++) {
+      amounts[i] = Money.fromCents(amountsInCents[i]);
+    }
+  }
+
+  @Benchmark
+  public long payoutsInCents() {
+    long total = 0;
+    for (var amountInCents : amountsInCents) {
+      total = Money.add(total, Money.multiply(amountInCents, ODDS));
+    }
+    return total;
+  }
+
+  @Benchmark
+  public BigDecimal payoutsWithBigDecimal() {
+    var odds = BigDecimal.valueOf(ODDS);
+    var total = BigDecimal.ZERO;
+    for (var amount : amounts) {
+      total = total.add(amount.multiply(odds));
+    }
+    return total;
+  }
+}
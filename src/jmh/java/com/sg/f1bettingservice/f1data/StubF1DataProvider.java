@@ -0,0 +1,75 @@
+package com.sg.f1bettingservice.f1data;
+
+import com.sg.f1bettingservice.core.model.Driver;
+import com.sg.f1bettingservice.core.model.Event;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * In-process {@link F1DataProvider} serving a single event with a fixed grid, so benchmarks
+ * measure the betting paths and not OpenF1.
+ */
+public class StubF1DataProvider implements F1DataProvider {
+
+  private final Event event;
+  private final List<Driver> drivers;
+  private final int winnerDriverId;
+
+  public StubF1DataProvider(int eventId, int driverCount, int winnerDriverId) {
+    this.drivers =
+        IntStream.rangeClosed(1, driverCount)
+            .mapToObj(id -> Driver.builder().driverId(id).fullName("Driver " + id).build())
+            .toList();
+    this.event =
+        Event.builder()
+            .eventId(eventId)
+            .name("Race")
+            .sessionType("Race")
+            .country("Spain")
+            .dateTime(OffsetDateTime.parse("2025-06-01T13:00:00+00:00"))
+            .drivers(List.of())
+            .build();
+    this.winnerDriverId = winnerDriverId;
+  }
+
+  @Override
+  public List<Event> findEvents(String sessionType, Integer year, String country) {
+    return List.of(copyOfEvent());
+  }
+
+  @Override
+  public List<Driver> getDriversByEventId(Integer eventId) {
+    return isEvent(eventId) ? drivers : List.of();
+  }
+
+  @Override
+  public Map<Integer, List<Driver>> getDriversByEventIds(Collection<Integer> eventIds) {
+    return eventIds.stream()
+        .distinct()
+        .collect(Collectors.toMap(Function.identity(), this::getDriversByEventId));
+  }
+
+  @Override
+  public Optional<Event> findEventById(int eventId) {
+    return isEvent(eventId) ? Optional.of(copyOfEvent()) : Optional.empty();
+  }
+
+  @Override
+  public Optional<Integer> getWinnerDriverIdByEventId(Integer eventId) {
+    return isEvent(eventId) ? Optional.of(winnerDriverId) : Optional.empty();
+  }
+
+  private boolean isEvent(Integer eventId) {
+    return event.getEventId().equals(eventId);
+  }
+
+  private Event copyOfEvent() {
+    return event.toBuilder().build();
+  }
+}
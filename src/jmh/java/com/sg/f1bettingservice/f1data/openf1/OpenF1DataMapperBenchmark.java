@@ -0,0 +1,53 @@
+package com.sg.f1bettingservice.f1data.openf1;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+
+import com.sg.f1bettingservice.core.model.Event;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Reads a {@code sessions} OpenF1 response of {@code sessions} sessions into events. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class OpenF1DataMapperBenchmark {
+
+  @Param({"100", "10000"})
+  int sessions;
+
+  OpenF1DataMapper openF1DataMapper;
+  byte[] sessionsJson;
+
+  @Setup
+  public void setUp() {
+    openF1DataMapper = new OpenF1DataMapper();
+    sessionsJson =
+        IntStream.range(0, sessions)
+            .mapToObj(
+                i ->
+                    """
+                    {"session_key": %d, "meeting_key": %d, "meeting_name": "Grand Prix %d",
+                     "session_name": "Race", "session_type": "Race", "country_name": "Spain",
+                     "date_start": "2025-06-01T13:00:00+00:00", "year": 2025}"""
+                        .formatted(9000 + i, 1200 + i / 5, i / 5))
+            .collect(joining(",", "[", "]"))
+            .getBytes(UTF_8);
+  }
+
+  @Benchmark
+  public List<Event> readEvents() throws IOException {
+    return openF1DataMapper.readEvents(new ByteArrayInputStream(sessionsJson));
+  }
+}
@@ -0,0 +1,43 @@
+package com.sg.f1bettingservice.persistence.inmemory;
+
+import static com.sg.f1bettingservice.core.model.BetStatus.PLACED;
+
+import com.sg.f1bettingservice.core.model.Bet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Looks up the bets of one event in a repository holding {@code bookSize} bets. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class InMemoryBetRepositoryBenchmark {
+
+  static final int EVENTS = 100;
+  static final int USERS = 10_000;
+
+  @Param({"10000", "1000000"})
+  int bookSize;
+
+  InMemoryBetRepository betRepository;
+
+  @Setup
+  public void setUp() {
+    betRepository = new InMemoryBetRepository();
+    for (int i = 0; i < bookSize; i++) {
+      betRepository.save(i % USERS, i % EVENTS, 1 + i % 20, 100, PLACED);
+    }
+  }
+
+  @Benchmark
+  public List<Bet> findByEventId() {
+    return betRepository.findByEventId(EVENTS / 2);
+  }
+}
@@ -0,0 +1,63 @@
+package com.sg.f1bettingservice.persistence.mapped;
+
+import static com.sg.f1bettingservice.core.model.BetStatus.PLACED;
+
+import com.sg.f1bettingservice.core.model.Bet;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Looks up the bets of one event in a memory-mapped repository holding {@code bookSize} bets, for
+ * comparison with the in-memory repository benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MappedBetRepositoryBenchmark {
+
+  static final int EVENTS = 100;
+  static final int USERS = 10_000;
+
+  @Param({"10000", "1000000"})
+  int bookSize;
+
+  Path directory;
+  MappedBetRepository betRepository;
+
+  @Setup
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("mapped-bets");
+    betRepository = new MappedBetRepository(directory, 65_536);
+    for (int i = 0; i < bookSize; i++) {
+      betRepository.save(i % USERS, i % EVENTS, 1 + i % 20, 100, PLACED);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    betRepository.close();
+    try (var paths = Files.walk(directory)) {
+      for (var path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  @Benchmark
+  public List<Bet> findByEventId() {
+    return betRepository.findByEventId(EVENTS / 2);
+  }
+}
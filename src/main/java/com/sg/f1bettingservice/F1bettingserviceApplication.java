@@ -2,17 +2,10 @@ package com.sg.f1bettingservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
-import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
 public class F1bettingserviceApplication {
 
-  @Bean
-  public RestTemplate restTemplate() {
-    return new RestTemplate();
-  }
-
   public static void main(String[] args) {
     SpringApplication.run(F1bettingserviceApplication.class, args);
   }
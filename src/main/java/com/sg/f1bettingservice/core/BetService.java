@@ -2,15 +2,26 @@ package com.sg.f1bettingservice.core;
 
 import static com.sg.f1bettingservice.core.model.BetStatus.LOST;
 import static com.sg.f1bettingservice.core.model.BetStatus.PLACED;
+import static com.sg.f1bettingservice.core.model.BetStatus.SETTLING;
 import static com.sg.f1bettingservice.core.model.BetStatus.WON;
 
 import com.sg.f1bettingservice.core.exception.DriverNotFoundException;
 import com.sg.f1bettingservice.core.exception.EventNotFoundException;
+import com.sg.f1bettingservice.core.exception.InsufficientBalanceException;
 import com.sg.f1bettingservice.core.model.Bet;
+import com.sg.f1bettingservice.core.model.BetPlacement;
+import com.sg.f1bettingservice.core.model.BetPlacementResult;
+import com.sg.f1bettingservice.core.model.BetStatus;
+import com.sg.f1bettingservice.core.model.EventMarket;
+import com.sg.f1bettingservice.core.model.Money;
+import com.sg.f1bettingservice.f1data.F1DataProviderException;
 import com.sg.f1bettingservice.persistence.BetRepository;
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -22,38 +33,162 @@ public class BetService {
   private final BetRepository betRepository;
   private final UserService userService;
 
-  public Integer placeBet(Integer userId, Integer eventId, Integer driverId, BigDecimal amount) {
+  public Integer placeBet(Integer userId, Integer eventId, Integer driverId, long amountInCents) {
     validateEventAndDriver(eventId, driverId);
-    updateUserBalance(userId, amount);
-    var bet = betRepository.save(userId, eventId, driverId, amount, PLACED);
-    return bet.getId();
+    updateUserBalance(userId, amountInCents);
+    try {
+      return betRepository.save(userId, eventId, driverId, amountInCents, PLACED).getId();
+    } catch (RuntimeException e) {
+      userService.addToUserBalance(userId, amountInCents);
+      throw e;
+    }
+  }
+
+  /**
+   * Places a batch of bets, rejecting the invalid ones instead of failing the batch. The market of
+   * each distinct event is looked up once, and if the lookup fails only the bets on that event are
+   * rejected. The bets of a user are debited with one atomic subtraction when the balance covers
+   * them all, and one by one in order otherwise, and the accepted bets are saved in one batch. If
+   * saving fails, the debited amounts are credited back before the failure is rethrown. Results are
+   * in the order of {@code placements}.
+   */
+  public List<BetPlacementResult> placeBets(List<BetPlacement> placements) {
+    var results = new BetPlacementResult[placements.size()];
+    var markets = new HashMap<Integer, Optional<EventMarket>>();
+    var marketFailures = new HashMap<Integer, String>();
+    var positionsByUserId = new LinkedHashMap<Integer, List<Integer>>();
+    for (int position = 0; position < placements.size(); position++) {
+      var placement = placements.get(position);
+      var marketFailure = marketFailures.get(placement.eventId());
+      if (marketFailure != null) {
+        results[position] = BetPlacementResult.rejected(marketFailure);
+        continue;
+      }
+      try {
+        var market =
+            markets.computeIfAbsent(placement.eventId(), eventService::findMarketByEventId);
+        validateEventAndDriver(market, placement.eventId(), placement.driverId());
+        positionsByUserId
+            .computeIfAbsent(placement.userId(), userId -> new ArrayList<>())
+            .add(position);
+      } catch (EventNotFoundException | DriverNotFoundException e) {
+        results[position] = BetPlacementResult.rejected(e.getMessage());
+      } catch (F1DataProviderException e) {
+        marketFailures.put(placement.eventId(), e.getMessage());
+        results[position] = BetPlacementResult.rejected(e.getMessage());
+      }
+    }
+
+    var debited = new ArrayList<Integer>(placements.size());
+    positionsByUserId.forEach(
+        (userId, positions) -> debit(userId, positions, placements, results, debited));
+    debited.sort(null);
+
+    List<Bet> bets;
+    try {
+      bets = betRepository.saveAll(debited.stream().map(i -> toBet(placements.get(i))).toList());
+    } catch (RuntimeException e) {
+      refund(debited, placements);
+      throw e;
+    }
+    for (int i = 0; i < debited.size(); i++) {
+      results[debited.get(i)] = BetPlacementResult.placed(bets.get(i).getId());
+    }
+    return List.of(results);
   }
 
   public List<Bet> findBetsByEventId(Integer eventId) {
     return betRepository.findByEventId(eventId);
   }
 
-  public void markBetAsWinner(Integer betId) {
-    betRepository.updateBetStatus(betId, WON);
+  public List<Bet> findBetsByUserId(Integer userId) {
+    return betRepository.findByUserId(userId);
+  }
+
+  /** Moves winning bets out of {@code PLACED} until their payout is credited. */
+  public List<Integer> markBetsAsSettling(Collection<Integer> betIds) {
+    return settleBets(betIds, PLACED, SETTLING);
   }
 
-  public void markBetAsLooser(Integer betId) {
-    betRepository.updateBetStatus(betId, LOST);
+  /** Moves winning bets whose payout was credited from {@code SETTLING} to {@code WON}. */
+  public List<Integer> markBetsAsWinners(Collection<Integer> betIds) {
+    return settleBets(betIds, SETTLING, WON);
   }
 
-  private void updateUserBalance(Integer userId, BigDecimal amount) {
+  public List<Integer> markBetsAsLoosers(Collection<Integer> betIds) {
+    return settleBets(betIds, PLACED, LOST);
+  }
+
+  private List<Integer> settleBets(
+      Collection<Integer> betIds, BetStatus fromStatus, BetStatus toStatus) {
+    if (betIds.isEmpty()) {
+      return List.of();
+    }
+    return betRepository.updateBetStatuses(betIds, fromStatus, toStatus);
+  }
+
+  private void updateUserBalance(Integer userId, long amountInCents) {
     var user = userService.getOrCreate(userId);
-    userService.subtractFromUserBalance(user.getUserId(), amount);
+    userService.subtractFromUserBalance(user.getUserId(), amountInCents);
+  }
+
+  private void debit(
+      Integer userId,
+      List<Integer> positions,
+      List<BetPlacement> placements,
+      BetPlacementResult[] results,
+      List<Integer> debited) {
+    userService.getOrCreate(userId);
+    var total = 0L;
+    for (var position : positions) {
+      var amountInCents = placements.get(position).amountInCents();
+      total = total > Long.MAX_VALUE - amountInCents ? Long.MAX_VALUE : total + amountInCents;
+    }
+    if (userService.subtractFromUserBalanceIfSufficient(userId, total)) {
+      debited.addAll(positions);
+      return;
+    }
+
+    for (var position : positions) {
+      if (positions.size() > 1
+          && userService.subtractFromUserBalanceIfSufficient(
+              userId, placements.get(position).amountInCents())) {
+        debited.add(position);
+      } else {
+        results[position] =
+            BetPlacementResult.rejected(new InsufficientBalanceException(userId).getMessage());
+      }
+    }
+  }
+
+  private void refund(List<Integer> debited, List<BetPlacement> placements) {
+    var refunds = new HashMap<Integer, Long>();
+    for (var position : debited) {
+      var placement = placements.get(position);
+      refunds.merge(placement.userId(), placement.amountInCents(), Money::add);
+    }
+    userService.addToUserBalances(refunds);
+  }
+
+  private Bet toBet(BetPlacement placement) {
+    return Bet.builder()
+        .userId(placement.userId())
+        .eventId(placement.eventId())
+        .driverId(placement.driverId())
+        .amountInCents(placement.amountInCents())
+        .status(PLACED)
+        .build();
   }
 
   private void validateEventAndDriver(Integer eventId, Integer driverId) {
-    var event =
-        eventService.findByEventId(eventId).orElseThrow(() -> new EventNotFoundException(eventId));
+    validateEventAndDriver(eventService.findMarketByEventId(eventId), eventId, driverId);
+  }
 
-    var driverExists =
-        event.getDrivers().stream().anyMatch(d -> Objects.equals(d.getDriverId(), driverId));
+  private void validateEventAndDriver(
+      Optional<EventMarket> eventMarket, Integer eventId, Integer driverId) {
+    var market = eventMarket.orElseThrow(() -> new EventNotFoundException(eventId));
 
-    if (!driverExists) {
+    if (!market.hasDriver(driverId)) {
       throw new DriverNotFoundException(driverId, eventId);
     }
   }
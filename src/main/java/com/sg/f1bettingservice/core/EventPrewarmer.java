@@ -0,0 +1,76 @@
+package com.sg.f1bettingservice.core;
+
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Loads the events starting within {@code events.prewarm.horizon}, with their drivers and odds, on
+ * startup and then every {@code events.prewarm.interval}, so the first bets on a session do not
+ * all wait on OpenF1 at once.
+ */
+@Service
+@ConditionalOnProperty(name = "events.prewarm.enabled", havingValue = "true")
+@Slf4j
+public class EventPrewarmer implements Closeable {
+
+  private final EventService eventService;
+  private final Duration horizon;
+  private final Clock clock;
+  private final ScheduledExecutorService scheduler;
+
+  @Autowired
+  public EventPrewarmer(
+      EventService eventService,
+      @Value("${events.prewarm.horizon}") Duration horizon,
+      @Value("${events.prewarm.interval}") Duration interval) {
+    this(
+        eventService,
+        horizon,
+        interval,
+        Clock.systemUTC(),
+        Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("event-prewarmer").daemon().factory()));
+  }
+
+  EventPrewarmer(
+      EventService eventService,
+      Duration horizon,
+      Duration interval,
+      Clock clock,
+      ScheduledExecutorService scheduler) {
+    if (!horizon.isPositive()) {
+      throw new IllegalArgumentException("Pre-warm horizon must be positive");
+    }
+    this.eventService = eventService;
+    this.horizon = horizon;
+    this.clock = clock;
+    this.scheduler = scheduler;
+    scheduler.scheduleWithFixedDelay(this::prewarm, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  void prewarm() {
+    var now = OffsetDateTime.now(clock);
+    try {
+      var upcoming = eventService.findUpcomingEvents(now, now.plus(horizon));
+      log.info("Pre-warmed {} events starting within {}", upcoming.size(), horizon);
+    } catch (RuntimeException e) {
+      // A failed run must not cancel the schedule, the next run retries.
+      log.warn("Failed to pre-warm upcoming events", e);
+    }
+  }
+}
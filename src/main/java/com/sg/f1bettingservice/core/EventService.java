@@ -1,66 +1,193 @@
 package com.sg.f1bettingservice.core;
 
-import static java.util.Objects.hash;
-
 import com.sg.f1bettingservice.core.model.Driver;
 import com.sg.f1bettingservice.core.model.Event;
+import com.sg.f1bettingservice.core.model.EventMarket;
+import com.sg.f1bettingservice.f1data.AsyncF1DataProvider;
 import com.sg.f1bettingservice.f1data.F1DataProvider;
+import com.sg.f1bettingservice.f1data.cache.ExpiringCache;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-@RequiredArgsConstructor
+/**
+ * Serves events with their drivers and odds. Driver markets are cached for {@code
+ * events.markets.ttl}, bounded by {@code events.markets.max-entries}, so validating a bet against
+ * a known market is a lookup. Events and winners of an event with a cached market are looked up
+ * without fetching its drivers again. Once a market expires it is rebuilt from the current drivers,
+ * and it is also rebuilt whenever drivers fetched for another lookup differ from the ones it was
+ * built from.
+ */
 @Service
 public class EventService {
 
   private final F1DataProvider f1DataProvider;
+  private final AsyncF1DataProvider asyncF1DataProvider;
+  private final ExpiringCache<Integer, EventMarket> markets;
+
+  @Autowired
+  public EventService(
+      F1DataProvider f1DataProvider,
+      AsyncF1DataProvider asyncF1DataProvider,
+      @Value("${events.markets.ttl}") Duration marketsTtl,
+      @Value("${events.markets.max-entries}") int maxMarkets) {
+    this(f1DataProvider, asyncF1DataProvider, marketsTtl, maxMarkets, Clock.systemUTC());
+  }
+
+  EventService(
+      F1DataProvider f1DataProvider,
+      AsyncF1DataProvider asyncF1DataProvider,
+      Duration marketsTtl,
+      int maxMarkets,
+      Clock clock) {
+    this.f1DataProvider = f1DataProvider;
+    this.asyncF1DataProvider = asyncF1DataProvider;
+    this.markets = new ExpiringCache<>(marketsTtl, maxMarkets, clock);
+  }
 
   public List<Event> findEvents(String sessionType, Integer year, String country) {
-    return f1DataProvider.findEvents(sessionType, year, country).stream()
-        .map(this::enrichWithDriversMarket)
-        .toList();
+    return withDriversMarkets(f1DataProvider.findEvents(sessionType, year, country));
   }
 
+  /**
+   * Finds the events starting from {@code from} (inclusive) until {@code until} (exclusive) with
+   * their drivers and odds. Their drivers and markets are loaded as a side effect, so betting on
+   * them does not wait on OpenF1.
+   */
+  public List<Event> findUpcomingEvents(OffsetDateTime from, OffsetDateTime until) {
+    var events =
+        Stream.of(from.getYear(), until.getYear())
+            .distinct()
+            .flatMap(year -> f1DataProvider.findEvents(null, year, null).stream())
+            .filter(event -> startsBetween(event, from, until))
+            .toList();
+    return withDriversMarkets(events);
+  }
+
+  /**
+   * Finds the event with its drivers and odds. When its market is cached, only the event is looked
+   * up; otherwise the event and its drivers are looked up concurrently, and the drivers are ignored
+   * when there is no such event.
+   */
   public Optional<Event> findByEventId(Integer eventId) {
-    return f1DataProvider.findEventById(eventId).map(this::enrichWithDriversMarket);
+    var cached = markets.get(eventId);
+    if (cached.isPresent()) {
+      return f1DataProvider.findEventById(eventId).map(event -> withMarket(event, cached.get()));
+    }
+
+    var event = asyncF1DataProvider.findEventById(eventId);
+    var drivers = asyncF1DataProvider.getDriversByEventId(eventId);
+    return join(
+        event.thenCompose(
+            found ->
+                found.isEmpty()
+                    ? CompletableFuture.completedFuture(found)
+                    : drivers.thenApply(
+                        eventDrivers ->
+                            found.map(e -> enrichWithDriversMarket(e, eventDrivers)))));
+  }
+
+  public Optional<EventMarket> findMarketByEventId(Integer eventId) {
+    var cached = markets.get(eventId);
+    if (cached.isPresent()) {
+      return cached;
+    }
+
+    var event = asyncF1DataProvider.findEventById(eventId);
+    var drivers = asyncF1DataProvider.getDriversByEventId(eventId);
+    return join(
+        event.thenCompose(
+            found ->
+                found.isEmpty()
+                    ? CompletableFuture.completedFuture(Optional.<EventMarket>empty())
+                    : drivers.thenApply(
+                        eventDrivers -> Optional.of(getMarket(eventId, eventDrivers)))));
   }
 
+  /**
+   * Finds the driver who won the event. When its market is cached, only the winner is looked up;
+   * otherwise the winner and the drivers are looked up concurrently.
+   */
   public Optional<Driver> findWinnerDriverByEventId(Integer eventId) {
-    var driversFromEvent = getDriversByEventWithOdds(eventId);
-    return f1DataProvider
-        .getWinnerDriverIdByEventId(eventId)
-        .map(winnerDriverId -> getWinnerDriverFromList(driversFromEvent, winnerDriverId));
+    var cached = markets.get(eventId);
+    if (cached.isPresent()) {
+      return f1DataProvider
+          .getWinnerDriverIdByEventId(eventId)
+          .map(driverId -> cached.get().findDriver(driverId).orElseThrow());
+    }
+
+    var winnerDriverId = asyncF1DataProvider.getWinnerDriverIdByEventId(eventId);
+    var drivers = asyncF1DataProvider.getDriversByEventId(eventId);
+    return join(
+        winnerDriverId.thenCombine(
+            drivers,
+            (winner, eventDrivers) -> {
+              var market = getMarket(eventId, eventDrivers);
+              return winner.map(driverId -> market.findDriver(driverId).orElseThrow());
+            }));
+  }
+
+  private List<Event> withDriversMarkets(List<Event> events) {
+    if (events.isEmpty()) {
+      return events;
+    }
+
+    var driversByEventId =
+        f1DataProvider.getDriversByEventIds(events.stream().map(Event::getEventId).toList());
+    return events.stream()
+        .map(
+            event ->
+                enrichWithDriversMarket(
+                    event, driversByEventId.getOrDefault(event.getEventId(), List.of())))
+        .toList();
   }
 
-  private Driver getWinnerDriverFromList(List<Driver> driversFromEvent, Integer winnerDriverId) {
-    return driversFromEvent.stream()
-        .filter(d -> d.getDriverId().equals(winnerDriverId))
-        .findFirst()
-        .orElseThrow();
+  private static boolean startsBetween(Event event, OffsetDateTime from, OffsetDateTime until) {
+    var start = event.getDateTime();
+    return start != null && !start.isBefore(from) && start.isBefore(until);
   }
 
-  private Event enrichWithDriversMarket(Event event) {
-    var driversWithOdds = getDriversByEventWithOdds(event.getEventId());
-    event.setDrivers(driversWithOdds);
+  private Event enrichWithDriversMarket(Event event, List<Driver> drivers) {
+    return withMarket(event, getMarket(event.getEventId(), drivers));
+  }
+
+  private static Event withMarket(Event event, EventMarket market) {
+    event.setDrivers(market.getDrivers());
     return event;
   }
 
-  private List<Driver> getDriversByEventWithOdds(Integer eventId) {
-    return f1DataProvider.getDriversByEventId(eventId).stream()
-        .map(
-            d ->
-                Driver.builder()
-                    .driverId(d.getDriverId())
-                    .fullName(d.getFullName())
-                    .odds(computeOdds(eventId, d.getDriverId()))
-                    .build())
-        .toList();
+  private EventMarket getMarket(Integer eventId, List<Driver> drivers) {
+    var existing = markets.get(eventId);
+    if (existing.isPresent() && existing.get().isBuiltFrom(drivers)) {
+      return existing.get();
+    }
+    var market = EventMarket.of(eventId, drivers, this::computeOdds);
+    markets.put(eventId, market);
+    return market;
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
   }
 
-  private int computeOdds(Integer eventId, Integer driverId) {
+  private int computeOdds(int eventId, int driverId) {
     int[] values = {2, 3, 4};
-    int h = Math.abs(hash(eventId, driverId));
+    int h = Math.abs(31 * (31 + eventId) + driverId);
     return values[h % values.length];
   }
 }
@@ -1,54 +1,130 @@
 package com.sg.f1bettingservice.core;
 
-import static java.math.BigDecimal.valueOf;
+import static java.util.Comparator.comparing;
 
 import com.sg.f1bettingservice.core.exception.DriverNotFoundException;
 import com.sg.f1bettingservice.core.model.Bet;
+import com.sg.f1bettingservice.core.model.Driver;
 import com.sg.f1bettingservice.core.model.EventOutcome;
+import com.sg.f1bettingservice.core.model.SettlementCheckpoint;
 import com.sg.f1bettingservice.persistence.OutcomeRepository;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+/**
+ * Publishes event outcomes. Publishing is idempotent per event: once an outcome is stored it is
+ * returned as is. Bets are settled in ascending id order in chunks and a checkpoint is stored after
+ * each chunk, so a retry after a failure resumes after the last settled bet.
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class OutcomeService {
 
+  private static final int SETTLEMENT_LOCK_STRIPES = 64;
+
   private final OutcomeRepository outcomeRepository;
   private final EventService eventService;
   private final BetService betService;
-  private final UserService userService;
+  private final SettlementEngine settlementEngine;
+  private final int checkpointInterval;
+  private final ReentrantLock[] settlementLocks = new ReentrantLock[SETTLEMENT_LOCK_STRIPES];
+
+  public OutcomeService(
+      OutcomeRepository outcomeRepository,
+      EventService eventService,
+      BetService betService,
+      SettlementEngine settlementEngine,
+      @Value("${settlement.checkpoint-interval}") int checkpointInterval) {
+    if (checkpointInterval < 1) {
+      throw new IllegalArgumentException("Checkpoint interval must be positive");
+    }
+    this.outcomeRepository = outcomeRepository;
+    this.eventService = eventService;
+    this.betService = betService;
+    this.settlementEngine = settlementEngine;
+    this.checkpointInterval = checkpointInterval;
+    for (int i = 0; i < SETTLEMENT_LOCK_STRIPES; i++) {
+      settlementLocks[i] = new ReentrantLock();
+    }
+  }
 
   public EventOutcome publishOutcome(Integer eventId) {
+    // Striped so that settling many events does not keep one lock per event ever published.
+    var lock = settlementLocks[Math.floorMod(eventId, SETTLEMENT_LOCK_STRIPES)];
+    lock.lock();
+    try {
+      var published = outcomeRepository.findByEventId(eventId);
+      if (published.isPresent()) {
+        log.info("Outcome of event {} was already published", eventId);
+        return published.get();
+      }
+      return settle(eventId);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private EventOutcome settle(Integer eventId) {
     var winnerDriver =
         eventService
             .findWinnerDriverByEventId(eventId)
             .orElseThrow(
                 () -> new DriverNotFoundException("No winner driver found for event " + eventId));
 
-    var bets = betService.findBetsByEventId(eventId);
-    var winnerBets = 0;
-    var looserBets = 0;
-
-    for (Bet bet : bets) {
-      if (bet.getDriverId().equals(winnerDriver.getDriverId())) {
-        betService.markBetAsWinner(bet.getId());
-        var earnings = bet.getAmount().multiply(valueOf(winnerDriver.getOdds()));
-        userService.addToUserBalance(bet.getUserId(), earnings);
-        winnerBets++;
-      } else {
-        betService.markBetAsLooser(bet.getId());
-        looserBets++;
-      }
+    var checkpoint =
+        outcomeRepository
+            .findCheckpointByEventId(eventId)
+            .orElseGet(() -> newCheckpoint(eventId, winnerDriver));
+    if (!checkpoint.getWinnerDriverId().equals(winnerDriver.getDriverId())) {
+      throw new IllegalStateException(
+          "Settlement of event %s was started with winner driver %s"
+              .formatted(eventId, checkpoint.getWinnerDriverId()));
+    }
+
+    var lastBetId = checkpoint.getLastBetId();
+    var pendingBets =
+        betService.findBetsByEventId(eventId).stream()
+            .filter(bet -> bet.getId() > lastBetId)
+            .sorted(comparing(Bet::getId))
+            .toList();
+    if (lastBetId > 0) {
+      log.info(
+          "Resuming settlement of event {} after bet {} with {} bets pending",
+          eventId,
+          lastBetId,
+          pendingBets.size());
+    }
+
+    for (int from = 0; from < pendingBets.size(); from += checkpointInterval) {
+      var to = Math.min(from + checkpointInterval, pendingBets.size());
+      var chunk = pendingBets.subList(from, to);
+      var settlement = settlementEngine.settle(eventId, chunk, winnerDriver);
+      checkpoint =
+          outcomeRepository.saveCheckpoint(
+              checkpoint.toBuilder()
+                  .lastBetId(chunk.getLast().getId())
+                  .betsWon(checkpoint.getBetsWon() + settlement.betsWon())
+                  .betsLost(checkpoint.getBetsLost() + settlement.betsLost())
+                  .build());
     }
 
     var eventOutcome =
         EventOutcome.builder()
             .eventId(eventId)
             .winnerDriverId(winnerDriver.getDriverId())
-            .betsWon(winnerBets)
-            .betsLost(looserBets)
+            .betsWon(checkpoint.getBetsWon())
+            .betsLost(checkpoint.getBetsLost())
             .build();
     outcomeRepository.save(eventOutcome);
     return eventOutcome;
   }
+
+  private SettlementCheckpoint newCheckpoint(Integer eventId, Driver winnerDriver) {
+    return SettlementCheckpoint.builder()
+        .eventId(eventId)
+        .winnerDriverId(winnerDriver.getDriverId())
+        .build();
+  }
 }
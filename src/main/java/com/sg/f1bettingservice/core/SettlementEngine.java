@@ -0,0 +1,198 @@
+package com.sg.f1bettingservice.core;
+
+import static com.sg.f1bettingservice.core.model.BetStatus.SETTLING;
+import static com.sg.f1bettingservice.core.model.Money.multiply;
+import static java.util.stream.Collectors.partitioningBy;
+
+import com.sg.f1bettingservice.core.model.Bet;
+import com.sg.f1bettingservice.core.model.Driver;
+import com.sg.f1bettingservice.core.model.Money;
+import com.sg.f1bettingservice.core.model.Settlement;
+import com.sg.f1bettingservice.persistence.SettlementRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settles the bets of an event in bulk. Bets are classified in parallel and moved out of {@code
+ * PLACED} with one bulk call per status. Winning bets move to {@code SETTLING} first and to {@code
+ * WON} only once their payouts are credited. Payouts are credited together with recording their
+ * bets as paid in the user store, so a settlement resumed after a failure pays the bets left {@code
+ * SETTLING} that were not paid yet and only moves the others to {@code WON}. Payouts are computed
+ * in parallel partitions on the common fork-join pool and merged so each winning user is credited
+ * once.
+ *
+ * <p>If the store provides a {@link SettlementRepository}, the bets passed in must be all the bets
+ * of the event within their id range; their status and balance changes are then applied by the
+ * store with set-based updates instead.
+ */
+@Component
+@Slf4j
+public class SettlementEngine {
+
+  static final String SETTLED_BETS_METRIC = "settlement.bets";
+  static final String DURATION_METRIC = "settlement.duration";
+
+  private final BetService betService;
+  private final UserService userService;
+  private final Optional<SettlementRepository> settlementRepository;
+  private final int partitionSize;
+  private final Counter settledBets;
+  private final Timer duration;
+
+  public SettlementEngine(
+      BetService betService,
+      UserService userService,
+      Optional<SettlementRepository> settlementRepository,
+      MeterRegistry meterRegistry,
+      @Value("${settlement.partition-size}") int partitionSize) {
+    if (partitionSize < 1) {
+      throw new IllegalArgumentException("Partition size must be positive");
+    }
+    this.betService = betService;
+    this.userService = userService;
+    this.settlementRepository = settlementRepository;
+    this.partitionSize = partitionSize;
+    this.settledBets =
+        Counter.builder(SETTLED_BETS_METRIC)
+            .description("Bets settled by publishing event outcomes")
+            .register(meterRegistry);
+    this.duration =
+        Timer.builder(DURATION_METRIC)
+            .description("Time spent settling the bets of an event")
+            .register(meterRegistry);
+  }
+
+  public Settlement settle(Integer eventId, List<Bet> bets, Driver winnerDriver) {
+    var startedAt = System.nanoTime();
+
+    int winnerDriverId = winnerDriver.getDriverId();
+    var betsByResult =
+        bets.parallelStream().collect(partitioningBy(bet -> bet.getDriverId() == winnerDriverId));
+    var winnerBets = betsByResult.get(true);
+    var winnerBetIds = idsOf(winnerBets);
+    var looserBetIds = idsOf(betsByResult.get(false));
+
+    var credits =
+        settlementRepository
+            .map(repository -> settleInBulk(repository, eventId, bets, winnerDriver))
+            .orElseGet(() -> settleBetByBet(winnerBets, winnerBetIds, looserBetIds, winnerDriver));
+
+    var settlement = new Settlement(winnerBetIds, looserBetIds, Map.copyOf(credits));
+    var elapsedNanos = System.nanoTime() - startedAt;
+    duration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    settledBets.increment(settlement.betsSettled());
+    log.info(
+        "Settled {} bets of event {} crediting {} users in {} ms ({} bets/s)",
+        settlement.betsSettled(),
+        eventId,
+        credits.size(),
+        TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+        throughput(settlement.betsSettled(), elapsedNanos));
+    return settlement;
+  }
+
+  private Map<Integer, Long> settleBetByBet(
+      List<Bet> winnerBets,
+      List<Integer> winnerBetIds,
+      List<Integer> looserBetIds,
+      Driver winnerDriver) {
+    var settlingBetIds =
+        new ArrayList<>(
+            winnerBets.stream()
+                .filter(bet -> bet.getStatus() == SETTLING)
+                .map(Bet::getId)
+                .toList());
+    settlingBetIds.addAll(betService.markBetsAsSettling(winnerBetIds));
+    betService.markBetsAsLoosers(looserBetIds);
+
+    var paidBetIds = userService.findPaidBetIds(settlingBetIds);
+    var payableBets = onlyBetsWithIds(winnerBets, settlingBetIds, paidBetIds);
+    var credits =
+        ForkJoinPool.commonPool()
+            .invoke(new PayoutTask(payableBets, 0, payableBets.size(), winnerDriver.getOdds()));
+    userService.addPayouts(idsOf(payableBets), credits);
+    betService.markBetsAsWinners(settlingBetIds);
+    return credits;
+  }
+
+  private static Map<Integer, Long> settleInBulk(
+      SettlementRepository repository, Integer eventId, List<Bet> bets, Driver winnerDriver) {
+    if (bets.isEmpty()) {
+      return Map.of();
+    }
+    var betIds = bets.stream().mapToInt(Bet::getId).summaryStatistics();
+    return repository.settleRange(
+        eventId,
+        winnerDriver.getDriverId(),
+        winnerDriver.getOdds(),
+        betIds.getMin(),
+        betIds.getMax());
+  }
+
+  private static List<Integer> idsOf(List<Bet> bets) {
+    return bets.stream().map(Bet::getId).toList();
+  }
+
+  private static List<Bet> onlyBetsWithIds(
+      List<Bet> bets, List<Integer> betIds, Set<Integer> excludedBetIds) {
+    if (betIds.size() == bets.size() && excludedBetIds.isEmpty()) {
+      return bets;
+    }
+    var ids = new HashSet<>(betIds);
+    ids.removeAll(excludedBetIds);
+    return bets.stream().filter(bet -> ids.contains(bet.getId())).toList();
+  }
+
+  private static long throughput(int bets, long elapsedNanos) {
+    return elapsedNanos == 0 ? bets : bets * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+  }
+
+  private final class PayoutTask extends RecursiveTask<Map<Integer, Long>> {
+
+    private final List<Bet> bets;
+    private final int from;
+    private final int to;
+    private final int odds;
+
+    PayoutTask(List<Bet> bets, int from, int to, int odds) {
+      this.bets = bets;
+      this.from = from;
+      this.to = to;
+      this.odds = odds;
+    }
+
+    @Override
+    protected Map<Integer, Long> compute() {
+      if (to - from <= partitionSize) {
+        var credits = new HashMap<Integer, Long>();
+        for (int i = from; i < to; i++) {
+          var bet = bets.get(i);
+          var payout = multiply(bet.getAmountInCents(), odds);
+          credits.merge(bet.getUserId(), payout, Money::add);
+        }
+        return credits;
+      }
+      var middle = (from + to) >>> 1;
+      var left = new PayoutTask(bets, from, middle, odds);
+      var right = new PayoutTask(bets, middle, to, odds);
+      left.fork();
+      var credits = right.compute();
+      left.join().forEach((userId, payout) -> credits.merge(userId, payout, Money::add));
+      return credits;
+    }
+  }
+}
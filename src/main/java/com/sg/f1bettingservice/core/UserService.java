@@ -1,9 +1,13 @@
 package com.sg.f1bettingservice.core;
 
+import com.sg.f1bettingservice.core.exception.InsufficientBalanceException;
+import com.sg.f1bettingservice.core.model.Money;
 import com.sg.f1bettingservice.core.model.User;
 import com.sg.f1bettingservice.persistence.UserRepository;
 import java.math.BigDecimal;
-import java.util.function.BiFunction;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -11,41 +15,46 @@ import org.springframework.stereotype.Service;
 @Service
 public class UserService {
 
-  static final BigDecimal INITIAL_BALANCE = BigDecimal.valueOf(100);
+  static final long INITIAL_BALANCE_IN_CENTS = Money.toCents(BigDecimal.valueOf(100));
 
   private final UserRepository userRepository;
 
   public User getOrCreate(Integer userId) {
-    var existing = userRepository.findById(userId);
-    return existing.orElseGet(() -> createUserWithIdAndInitialBalance(userId));
+    return userRepository.findOrCreate(userId, INITIAL_BALANCE_IN_CENTS);
   }
 
   public void save(User user) {
     userRepository.save(user);
   }
 
-  public void subtractFromUserBalance(Integer userId, BigDecimal amount) {
-    updateUserBalance(userId, amount, BigDecimal::subtract);
+  public void subtractFromUserBalance(Integer userId, long amountInCents) {
+    if (!subtractFromUserBalanceIfSufficient(userId, amountInCents)) {
+      throw new InsufficientBalanceException(userId);
+    }
   }
 
-  public void addToUserBalance(Integer userId, BigDecimal amount) {
-    updateUserBalance(userId, amount, BigDecimal::add);
+  public boolean subtractFromUserBalanceIfSufficient(Integer userId, long amountInCents) {
+    return userRepository.subtractFromBalanceIfSufficient(userId, amountInCents);
   }
 
-  private void updateUserBalance(
-      Integer userId, BigDecimal amount, BiFunction<BigDecimal, BigDecimal, BigDecimal> operation) {
-    userRepository
-        .findById(userId)
-        .map(
-            user -> {
-              user.setBalance(operation.apply(user.getBalance(), amount));
-              return user;
-            })
-        .map(userRepository::save);
+  public void addToUserBalance(Integer userId, long amountInCents) {
+    userRepository.addToBalance(userId, amountInCents);
   }
 
-  private User createUserWithIdAndInitialBalance(Integer userId) {
-    var user = User.builder().userId(userId).balance(INITIAL_BALANCE).build();
-    return userRepository.save(user);
+  public void addToUserBalances(Map<Integer, Long> amountsInCentsByUserId) {
+    if (!amountsInCentsByUserId.isEmpty()) {
+      userRepository.addToBalances(amountsInCentsByUserId);
+    }
+  }
+
+  /** Credits the payouts of the given bets and records them as paid in one step. */
+  public void addPayouts(Collection<Integer> betIds, Map<Integer, Long> amountsInCentsByUserId) {
+    if (!betIds.isEmpty()) {
+      userRepository.addPayouts(betIds, amountsInCentsByUserId);
+    }
+  }
+
+  public Set<Integer> findPaidBetIds(Collection<Integer> betIds) {
+    return betIds.isEmpty() ? Set.of() : userRepository.findPaidBetIds(betIds);
   }
 }
@@ -1,6 +1,5 @@
 package com.sg.f1bettingservice.core.model;
 
-import java.math.BigDecimal;
 import lombok.Builder;
 import lombok.Data;
 
@@ -12,6 +11,6 @@ public class Bet {
   private BetStatus status;
   private Integer eventId;
   private Integer driverId;
-  private BigDecimal amount;
+  private long amountInCents;
   private Integer remainingBalance;
 }
@@ -0,0 +1,4 @@
+package com.sg.f1bettingservice.core.model;
+
+/** A bet to place as part of a batch. */
+public record BetPlacement(Integer userId, Integer eventId, Integer driverId, long amountInCents) {}
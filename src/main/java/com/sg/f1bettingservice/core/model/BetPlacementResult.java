@@ -0,0 +1,20 @@
+package com.sg.f1bettingservice.core.model;
+
+/**
+ * Outcome of one bet of a batch: the id of the placed bet, or the reason it was rejected. Rejected
+ * bets are neither debited nor stored.
+ */
+public record BetPlacementResult(Integer betId, String rejectionReason) {
+
+  public static BetPlacementResult placed(Integer betId) {
+    return new BetPlacementResult(betId, null);
+  }
+
+  public static BetPlacementResult rejected(String rejectionReason) {
+    return new BetPlacementResult(null, rejectionReason);
+  }
+
+  public boolean isPlaced() {
+    return betId != null;
+  }
+}
@@ -3,5 +3,7 @@ package com.sg.f1bettingservice.core.model;
 public enum BetStatus {
   PLACED,
   WON,
-  LOST
+  LOST,
+  /** Won, but the payout has not been credited yet. */
+  SETTLING
 }
@@ -0,0 +1,107 @@
+package com.sg.f1bettingservice.core.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Immutable driver market of an event. Odds are computed once when the market is built and kept
+ * in an open addressing table keyed by driver id, so lookups are constant time and allocation
+ * free.
+ */
+public final class EventMarket {
+
+  private static final int EMPTY = 0;
+
+  private final int eventId;
+  private final int mask;
+  private final int[] driverIds;
+  private final int[] odds;
+  private final int[] positions;
+  private final List<Driver> drivers;
+  private final List<Driver> source;
+
+  private EventMarket(int eventId, List<Driver> source, IntBinaryOperator oddsFunction) {
+    var capacity = Integer.highestOneBit(Math.max(1, source.size()) * 2 - 1) << 1;
+    this.eventId = eventId;
+    this.mask = capacity - 1;
+    this.driverIds = new int[capacity];
+    this.odds = new int[capacity];
+    this.positions = new int[capacity];
+    this.source = source;
+
+    var driversWithOdds = new ArrayList<Driver>(source.size());
+    for (Driver driver : source) {
+      if (driver.getDriverId() == null) {
+        continue;
+      }
+      int driverId = driver.getDriverId();
+      var slot = slotOf(driverId);
+      if (odds[slot] != EMPTY) {
+        continue;
+      }
+      var driverOdds = oddsFunction.applyAsInt(eventId, driverId);
+      if (driverOdds <= 0) {
+        throw new IllegalArgumentException("Odds must be positive but were " + driverOdds);
+      }
+      driverIds[slot] = driverId;
+      odds[slot] = driverOdds;
+      positions[slot] = driversWithOdds.size();
+      driversWithOdds.add(
+          Driver.builder()
+              .driverId(driverId)
+              .fullName(driver.getFullName())
+              .odds(driverOdds)
+              .build());
+    }
+    this.drivers = List.copyOf(driversWithOdds);
+  }
+
+  public static EventMarket of(int eventId, List<Driver> drivers, IntBinaryOperator oddsFunction) {
+    return new EventMarket(eventId, drivers, oddsFunction);
+  }
+
+  public int getEventId() {
+    return eventId;
+  }
+
+  public List<Driver> getDrivers() {
+    return drivers;
+  }
+
+  public boolean hasDriver(int driverId) {
+    return odds[slotOf(driverId)] != EMPTY;
+  }
+
+  public int getOdds(int driverId) {
+    var slot = slotOf(driverId);
+    if (odds[slot] == EMPTY) {
+      throw new IllegalArgumentException(
+          "Driver %s is not part of the market of event %s".formatted(driverId, eventId));
+    }
+    return odds[slot];
+  }
+
+  public Optional<Driver> findDriver(int driverId) {
+    var slot = slotOf(driverId);
+    return odds[slot] == EMPTY ? Optional.empty() : Optional.of(drivers.get(positions[slot]));
+  }
+
+  public boolean isBuiltFrom(List<Driver> drivers) {
+    return source.equals(drivers);
+  }
+
+  private int slotOf(int driverId) {
+    var slot = mix(driverId) & mask;
+    while (odds[slot] != EMPTY && driverIds[slot] != driverId) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private static int mix(int key) {
+    var h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
@@ -0,0 +1,36 @@
+package com.sg.f1bettingservice.core.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money arithmetic. Amounts are carried as {@code long} cents on the hot path and only
+ * converted from and to {@link BigDecimal} at the API boundary. Every operation fails with an
+ * {@link ArithmeticException} instead of silently overflowing or rounding.
+ */
+public final class Money {
+
+  public static final int SCALE = 2;
+
+  private Money() {}
+
+  public static long toCents(BigDecimal amount) {
+    return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+  }
+
+  public static BigDecimal fromCents(long cents) {
+    return BigDecimal.valueOf(cents, SCALE);
+  }
+
+  public static long add(long cents, long otherCents) {
+    return Math.addExact(cents, otherCents);
+  }
+
+  public static long subtract(long cents, long otherCents) {
+    return Math.subtractExact(cents, otherCents);
+  }
+
+  public static long multiply(long cents, int factor) {
+    return Math.multiplyExact(cents, factor);
+  }
+}
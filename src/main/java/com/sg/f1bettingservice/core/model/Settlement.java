@@ -0,0 +1,24 @@
+package com.sg.f1bettingservice.core.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of settling the bets of an event: the ids of the bets that won and lost, and the total
+ * payout credited to each winning user for the bets this settlement moved out of {@code PLACED}.
+ */
+public record Settlement(
+    List<Integer> winnerBetIds, List<Integer> looserBetIds, Map<Integer, Long> creditsByUserId) {
+
+  public int betsWon() {
+    return winnerBetIds.size();
+  }
+
+  public int betsLost() {
+    return looserBetIds.size();
+  }
+
+  public int betsSettled() {
+    return betsWon() + betsLost();
+  }
+}
@@ -0,0 +1,18 @@
+package com.sg.f1bettingservice.core.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Progress of the settlement of an event. Bets are settled in ascending id order, so every bet of
+ * the event with an id up to {@code lastBetId} has already been settled.
+ */
+@Data
+@Builder(toBuilder = true)
+public class SettlementCheckpoint {
+  private Integer eventId;
+  private Integer winnerDriverId;
+  private int lastBetId;
+  private int betsWon;
+  private int betsLost;
+}
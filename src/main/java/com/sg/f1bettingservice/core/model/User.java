@@ -1,12 +1,11 @@
 package com.sg.f1bettingservice.core.model;
 
-import java.math.BigDecimal;
 import lombok.Builder;
 import lombok.Data;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class User {
   private Integer userId;
-  private BigDecimal balance;
+  private long balanceInCents;
 }
@@ -0,0 +1,63 @@
+package com.sg.f1bettingservice.f1data;
+
+import com.sg.f1bettingservice.core.model.Driver;
+import com.sg.f1bettingservice.core.model.Event;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Asynchronous view of the {@link F1DataProvider} port: every call runs on its own virtual thread
+ * and completes a {@link CompletableFuture}, so independent lookups run concurrently and compose
+ * without holding the caller's thread. A blocked virtual thread releases its carrier, so waiting
+ * on OpenF1 ties up no platform thread. Failures complete the future exceptionally with the
+ * delegate's exception as the cause.
+ */
+@Component
+public class AsyncF1DataProvider {
+
+  private final F1DataProvider delegate;
+  private final Executor executor;
+
+  @Autowired
+  public AsyncF1DataProvider(F1DataProvider delegate) {
+    this(delegate, task -> Thread.ofVirtual().name("f1data-async").start(task));
+  }
+
+  public AsyncF1DataProvider(F1DataProvider delegate, Executor executor) {
+    this.delegate = delegate;
+    this.executor = executor;
+  }
+
+  public CompletableFuture<List<Event>> findEvents(
+      String sessionType, Integer year, String country) {
+    return supply(() -> delegate.findEvents(sessionType, year, country));
+  }
+
+  public CompletableFuture<List<Driver>> getDriversByEventId(Integer eventId) {
+    return supply(() -> delegate.getDriversByEventId(eventId));
+  }
+
+  public CompletableFuture<Map<Integer, List<Driver>>> getDriversByEventIds(
+      Collection<Integer> eventIds) {
+    return supply(() -> delegate.getDriversByEventIds(eventIds));
+  }
+
+  public CompletableFuture<Optional<Event>> findEventById(int eventId) {
+    return supply(() -> delegate.findEventById(eventId));
+  }
+
+  public CompletableFuture<Optional<Integer>> getWinnerDriverIdByEventId(Integer eventId) {
+    return supply(() -> delegate.getWinnerDriverIdByEventId(eventId));
+  }
+
+  private <T> CompletableFuture<T> supply(Supplier<T> call) {
+    return CompletableFuture.supplyAsync(call, executor);
+  }
+}
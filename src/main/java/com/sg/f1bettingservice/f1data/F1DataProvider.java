@@ -2,7 +2,9 @@ package com.sg.f1bettingservice.f1data;
 
 import com.sg.f1bettingservice.core.model.Driver;
 import com.sg.f1bettingservice.core.model.Event;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface F1DataProvider {
@@ -12,6 +14,9 @@ public interface F1DataProvider {
 
   List<Driver> getDriversByEventId(Integer eventId) throws F1DataProviderException;
 
+  Map<Integer, List<Driver>> getDriversByEventIds(Collection<Integer> eventIds)
+      throws F1DataProviderException;
+
   Optional<Event> findEventById(int eventId);
 
   Optional<Integer> getWinnerDriverIdByEventId(Integer eventId);
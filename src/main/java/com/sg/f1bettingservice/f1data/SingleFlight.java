@@ -0,0 +1,72 @@
+package com.sg.f1bettingservice.f1data;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces concurrent identical calls: the first caller for a key executes the call and every
+ * caller arriving while it is in flight waits for and shares its result, or its failure, including
+ * errors.
+ */
+@Component
+public class SingleFlight {
+
+  static final String REQUESTS_METRIC = "f1data.requests";
+
+  private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+  private final MeterRegistry meterRegistry;
+
+  public SingleFlight(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T execute(String endpoint, String key, Supplier<T> call) {
+    var flight = new CompletableFuture<Object>();
+    var existing = inFlight.putIfAbsent(key, flight);
+    if (existing != null) {
+      counter(endpoint, "coalesced").increment();
+      return (T) join(existing);
+    }
+
+    counter(endpoint, "executed").increment();
+    try {
+      var result = call.get();
+      flight.complete(result);
+      return result;
+    } catch (Throwable e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  private Object join(CompletableFuture<Object> flight) {
+    try {
+      return flight.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw e;
+    }
+  }
+
+  private Counter counter(String endpoint, String outcome) {
+    return Counter.builder(REQUESTS_METRIC)
+        .description("Upstream F1 data requests by whether they were executed or coalesced")
+        .tag("endpoint", endpoint)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,250 @@
+package com.sg.f1bettingservice.f1data.cache;
+
+import com.sg.f1bettingservice.core.model.Driver;
+import com.sg.f1bettingservice.core.model.Event;
+import com.sg.f1bettingservice.f1data.F1DataProvider;
+import com.sg.f1bettingservice.f1data.F1DataProviderException;
+import com.sg.f1bettingservice.f1data.cache.ExpiringCache.Cached;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps resolved events and driver lists in memory. Once an entry expires it is served stale for
+ * up to {@code f1data.cache.max-stale} while it is refreshed in the background, so bets can still
+ * be validated against the last known data when OpenF1 is slow or down. Winners are final once
+ * published, so they are kept for {@link #WINNERS_TTL}, within the same size bound.
+ */
+@Primary
+@Service
+@Slf4j
+public class CachingF1DataProvider implements F1DataProvider {
+
+  static final Duration WINNERS_TTL = Duration.ofDays(30);
+
+  private final F1DataProvider delegate;
+  private final ExpiringCache<Integer, Event> events;
+  private final ExpiringCache<Integer, List<Driver>> drivers;
+  private final ExpiringCache<Integer, Integer> winners;
+  private final Executor revalidator;
+  private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+  @Autowired
+  public CachingF1DataProvider(
+      @Qualifier("circuitBreakingF1DataProvider") F1DataProvider delegate,
+      @Value("${f1data.cache.events-ttl}") Duration eventsTtl,
+      @Value("${f1data.cache.drivers-ttl}") Duration driversTtl,
+      @Value("${f1data.cache.max-stale}") Duration maxStale,
+      @Value("${f1data.cache.max-entries}") int maxEntries) {
+    this(
+        delegate,
+        eventsTtl,
+        driversTtl,
+        maxStale,
+        maxEntries,
+        Clock.systemUTC(),
+        task -> Thread.ofVirtual().name("f1data-revalidate").start(task));
+  }
+
+  CachingF1DataProvider(
+      F1DataProvider delegate,
+      Duration eventsTtl,
+      Duration driversTtl,
+      Duration maxStale,
+      int maxEntries,
+      Clock clock,
+      Executor revalidator) {
+    this.delegate = delegate;
+    this.events = new ExpiringCache<>(eventsTtl, maxStale, maxEntries, clock);
+    this.drivers = new ExpiringCache<>(driversTtl, maxStale, maxEntries, clock);
+    this.winners = new ExpiringCache<>(WINNERS_TTL, maxEntries, clock);
+    this.revalidator = revalidator;
+  }
+
+  @Override
+  public List<Event> findEvents(String sessionType, Integer year, String country)
+      throws F1DataProviderException {
+    var found = delegate.findEvents(sessionType, year, country);
+    found.forEach(event -> store(events, event.getEventId(), copyOf(event)));
+    return found;
+  }
+
+  @Override
+  public List<Driver> getDriversByEventId(Integer eventId) throws F1DataProviderException {
+    if (eventId == null) {
+      return delegate.getDriversByEventId(null);
+    }
+    var cached = drivers.lookup(eventId);
+    if (cached.isPresent()) {
+      if (cached.get().stale()) {
+        revalidateDrivers(List.of(eventId));
+      }
+      return cached.get().value();
+    }
+    return store(drivers, eventId, List.copyOf(delegate.getDriversByEventId(eventId)));
+  }
+
+  @Override
+  public Map<Integer, List<Driver>> getDriversByEventIds(Collection<Integer> eventIds)
+      throws F1DataProviderException {
+    var driversByEventId = new HashMap<Integer, List<Driver>>();
+    var missingEventIds = new ArrayList<Integer>();
+    var staleEventIds = new ArrayList<Integer>();
+    for (var eventId : eventIds) {
+      drivers
+          .lookup(eventId)
+          .ifPresentOrElse(
+              cached -> {
+                driversByEventId.put(eventId, cached.value());
+                if (cached.stale()) {
+                  staleEventIds.add(eventId);
+                }
+              },
+              () -> missingEventIds.add(eventId));
+    }
+
+    if (!staleEventIds.isEmpty()) {
+      revalidateDrivers(staleEventIds);
+    }
+    if (!missingEventIds.isEmpty()) {
+      driversByEventId.putAll(fetchDrivers(missingEventIds));
+    }
+    return driversByEventId;
+  }
+
+  @Override
+  public Optional<Event> findEventById(int eventId) {
+    var cached = events.lookup(eventId);
+    if (cached.isPresent()) {
+      if (cached.get().stale()) {
+        revalidate("event:" + eventId, () -> fetchEvent(eventId));
+      }
+      return cached.map(c -> copyOf(c.value()));
+    }
+    return fetchEvent(eventId);
+  }
+
+  @Override
+  public Optional<Integer> getWinnerDriverIdByEventId(Integer eventId) {
+    if (eventId == null) {
+      return delegate.getWinnerDriverIdByEventId(null);
+    }
+    var cached = winners.get(eventId);
+    if (cached.isPresent()) {
+      return cached;
+    }
+    var fetched = delegate.getWinnerDriverIdByEventId(eventId);
+    fetched.ifPresent(winnerDriverId -> winners.put(eventId, winnerDriverId));
+    return fetched;
+  }
+
+  /** Returns the cached events, driver lists and winners, fresh or stale. */
+  SeasonData snapshot() {
+    var eventsById = new HashMap<Integer, Event>();
+    events.values().forEach((eventId, event) -> eventsById.put(eventId, copyOf(event)));
+    return new SeasonData(eventsById, drivers.values(), winners.values());
+  }
+
+  /**
+   * Caches the data of a snapshot as stale, so it is served right away and refreshed from OpenF1
+   * on first use. Entries already cached are kept.
+   */
+  void restore(SeasonData season) {
+    season
+        .eventsById()
+        .forEach(
+            (eventId, event) -> {
+              if (events.lookup(eventId).isEmpty()) {
+                events.putStale(eventId, copyOf(event));
+              }
+            });
+    season
+        .driversByEventId()
+        .forEach(
+            (eventId, eventDrivers) -> {
+              if (drivers.lookup(eventId).isEmpty()) {
+                drivers.putStale(eventId, List.copyOf(eventDrivers));
+              }
+            });
+    season
+        .winnersByEventId()
+        .forEach(
+            (eventId, winnerDriverId) -> {
+              if (winners.get(eventId).isEmpty()) {
+                winners.put(eventId, winnerDriverId);
+              }
+            });
+  }
+
+  private Optional<Event> fetchEvent(int eventId) {
+    var fetched = delegate.findEventById(eventId);
+    fetched.ifPresent(event -> store(events, eventId, copyOf(event)));
+    return fetched;
+  }
+
+  private Map<Integer, List<Driver>> fetchDrivers(List<Integer> eventIds) {
+    var fetchedByEventId = new HashMap<Integer, List<Driver>>();
+    delegate
+        .getDriversByEventIds(eventIds)
+        .forEach(
+            (eventId, fetched) ->
+                fetchedByEventId.put(eventId, store(drivers, eventId, List.copyOf(fetched))));
+    return fetchedByEventId;
+  }
+
+  private void revalidateDrivers(List<Integer> eventIds) {
+    if (eventIds.size() == 1) {
+      var eventId = eventIds.getFirst();
+      revalidate(
+          "drivers:" + eventId,
+          () -> store(drivers, eventId, List.copyOf(delegate.getDriversByEventId(eventId))));
+      return;
+    }
+    revalidate("drivers:" + eventIds, () -> fetchDrivers(eventIds));
+  }
+
+  /** Refreshes stale data in the background, at most once at a time per key. */
+  private void revalidate(String key, Runnable refresh) {
+    if (!revalidating.add(key)) {
+      return;
+    }
+    revalidator.execute(
+        () -> {
+          try {
+            refresh.run();
+          } catch (RuntimeException e) {
+            log.debug("Failed to revalidate {}, serving stale data", key, e);
+          } finally {
+            revalidating.remove(key);
+          }
+        });
+  }
+
+  /**
+   * Caches {@code fetched} for {@code key}, keeping the cached instance when the data did not
+   * change, so only entries whose data changed are replaced.
+   */
+  private static <V> V store(ExpiringCache<Integer, V> cache, Integer key, V fetched) {
+    var value = cache.lookup(key).map(Cached::value).filter(fetched::equals).orElse(fetched);
+    cache.put(key, value);
+    return value;
+  }
+
+  private Event copyOf(Event event) {
+    return event.toBuilder().build();
+  }
+}
@@ -0,0 +1,168 @@
+package com.sg.f1bettingservice.f1data.cache;
+
+import static java.util.Optional.ofNullable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Size bounded in-memory cache whose entries expire after a fixed time to live. Expired entries
+ * are kept as stale for up to {@code maxStale} more, during which {@link #lookup} still returns
+ * them. When the bound is exceeded, the entries closest to expiring are dropped first, starting
+ * with the ones past their stale window.
+ *
+ * <p>Reads go straight to a concurrent map. Writes also keep an index of the entries ordered by
+ * expiry under a lock, so every write leaves at most {@code maxEntries} entries and evicting one
+ * costs a logarithmic index update rather than a scan.
+ */
+public class ExpiringCache<K, V> {
+
+  private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+  private final TreeMap<Entry<V>, K> entriesByExpiry =
+      new TreeMap<>(
+          Comparator.<Entry<V>>comparingLong(Entry::expiresAt).thenComparingLong(Entry::sequence));
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private final long ttlMillis;
+  private final long maxStaleMillis;
+  private final int maxEntries;
+  private final Clock clock;
+
+  private long sequence;
+
+  public ExpiringCache(Duration ttl, int maxEntries, Clock clock) {
+    this(ttl, Duration.ZERO, maxEntries, clock);
+  }
+
+  public ExpiringCache(Duration ttl, Duration maxStale, int maxEntries, Clock clock) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("Cache max entries must be positive");
+    }
+    this.ttlMillis = ttl.toMillis();
+    this.maxStaleMillis = maxStale.toMillis();
+    this.maxEntries = maxEntries;
+    this.clock = clock;
+  }
+
+  /** Returns the value cached for {@code key} if it has not expired. */
+  public Optional<V> get(K key) {
+    var entry = entries.get(key);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    var now = clock.millis();
+    if (entry.isExpiredAt(now)) {
+      if (entry.isDroppableAt(now, maxStaleMillis)) {
+        remove(key, entry);
+      }
+      return Optional.empty();
+    }
+    return ofNullable(entry.value());
+  }
+
+  /**
+   * Returns the value cached for {@code key}, flagged as stale if it has expired but is still
+   * within its stale window.
+   */
+  public Optional<Cached<V>> lookup(K key) {
+    var entry = entries.get(key);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    var now = clock.millis();
+    if (entry.isDroppableAt(now, maxStaleMillis)) {
+      remove(key, entry);
+      return Optional.empty();
+    }
+    return ofNullable(entry.value()).map(value -> new Cached<>(value, entry.isExpiredAt(now)));
+  }
+
+  public void put(K key, V value) {
+    store(key, value, clock.millis() + ttlMillis);
+  }
+
+  /**
+   * Caches {@code value} as already expired, so it is served as stale until it is refreshed or its
+   * stale window ends.
+   */
+  public void putStale(K key, V value) {
+    store(key, value, clock.millis());
+  }
+
+  /** Returns the values that can still be looked up, fresh or stale. */
+  public Map<K, V> values() {
+    var now = clock.millis();
+    var values = new HashMap<K, V>();
+    entries.forEach(
+        (key, entry) -> {
+          if (!entry.isDroppableAt(now, maxStaleMillis)) {
+            values.put(key, entry.value());
+          }
+        });
+    return values;
+  }
+
+  public void invalidate(K key) {
+    writeLock.lock();
+    try {
+      var removed = entries.remove(key);
+      if (removed != null) {
+        entriesByExpiry.remove(removed);
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  private void store(K key, V value, long expiresAt) {
+    writeLock.lock();
+    try {
+      var entry = new Entry<>(value, expiresAt, sequence++);
+      var replaced = entries.put(key, entry);
+      if (replaced != null) {
+        entriesByExpiry.remove(replaced);
+      }
+      entriesByExpiry.put(entry, key);
+      while (entries.size() > maxEntries) {
+        var evicted = entriesByExpiry.pollFirstEntry();
+        entries.remove(evicted.getValue(), evicted.getKey());
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private void remove(K key, Entry<V> entry) {
+    writeLock.lock();
+    try {
+      if (entries.remove(key, entry)) {
+        entriesByExpiry.remove(entry);
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /** A cached value and whether it has expired and is only kept as stale. */
+  public record Cached<V>(V value, boolean stale) {}
+
+  private record Entry<V>(V value, long expiresAt, long sequence) {
+    boolean isExpiredAt(long now) {
+      return now >= expiresAt;
+    }
+
+    boolean isDroppableAt(long now, long maxStaleMillis) {
+      return now - maxStaleMillis >= expiresAt;
+    }
+  }
+}
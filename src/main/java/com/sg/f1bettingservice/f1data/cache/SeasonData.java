@@ -0,0 +1,15 @@
+package com.sg.f1bettingservice.f1data.cache;
+
+import com.sg.f1bettingservice.core.model.Driver;
+import com.sg.f1bettingservice.core.model.Event;
+import java.util.List;
+import java.util.Map;
+
+/** F1 data known to the service: events, their driver lists and their winners. */
+record SeasonData(
+    Map<Integer, Event> eventsById,
+    Map<Integer, List<Driver>> driversByEventId,
+    Map<Integer, Integer> winnersByEventId) {
+
+  static final SeasonData EMPTY = new SeasonData(Map.of(), Map.of(), Map.of());
+}
@@ -0,0 +1,143 @@
+package com.sg.f1bettingservice.f1data.cache;
+
+import com.sg.f1bettingservice.core.model.Driver;
+import com.sg.f1bettingservice.core.model.Event;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Binary encoding of {@link SeasonData}: a magic number and format version, then the events, the
+ * driver lists by event id and the winners by event id, each preceded by its count.
+ */
+final class SeasonSnapshotCodec {
+
+  private static final int MAGIC = 0x46315344;
+  private static final byte VERSION = 1;
+
+  private SeasonSnapshotCodec() {}
+
+  static void write(SeasonData season, DataOutput out) throws IOException {
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+
+    out.writeInt(season.eventsById().size());
+    for (var event : season.eventsById().values()) {
+      out.writeInt(event.getEventId());
+      writeNullableString(event.getName(), out);
+      writeNullableString(event.getSessionType(), out);
+      writeNullableString(event.getCountry(), out);
+      writeNullableDateTime(event.getDateTime(), out);
+    }
+
+    out.writeInt(season.driversByEventId().size());
+    for (var entry : season.driversByEventId().entrySet()) {
+      out.writeInt(entry.getKey());
+      out.writeInt(entry.getValue().size());
+      for (var driver : entry.getValue()) {
+        writeNullableInt(driver.getDriverId(), out);
+        writeNullableString(driver.getFullName(), out);
+      }
+    }
+
+    out.writeInt(season.winnersByEventId().size());
+    for (var entry : season.winnersByEventId().entrySet()) {
+      out.writeInt(entry.getKey());
+      out.writeInt(entry.getValue());
+    }
+  }
+
+  static SeasonData read(DataInput in) throws IOException {
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not a season snapshot");
+    }
+    var version = in.readByte();
+    if (version != VERSION) {
+      throw new IOException("Unsupported season snapshot version " + version);
+    }
+
+    var eventCount = in.readInt();
+    var eventsById = new HashMap<Integer, Event>(eventCount * 2);
+    for (int i = 0; i < eventCount; i++) {
+      var eventId = in.readInt();
+      eventsById.put(
+          eventId,
+          Event.builder()
+              .eventId(eventId)
+              .name(readNullableString(in))
+              .sessionType(readNullableString(in))
+              .country(readNullableString(in))
+              .dateTime(readNullableDateTime(in))
+              .build());
+    }
+
+    var driverListCount = in.readInt();
+    var driversByEventId = new HashMap<Integer, List<Driver>>(driverListCount * 2);
+    for (int i = 0; i < driverListCount; i++) {
+      var eventId = in.readInt();
+      var driverCount = in.readInt();
+      var drivers = new ArrayList<Driver>(driverCount);
+      for (int j = 0; j < driverCount; j++) {
+        drivers.add(
+            Driver.builder()
+                .driverId(readNullableInt(in))
+                .fullName(readNullableString(in))
+                .build());
+      }
+      driversByEventId.put(eventId, List.copyOf(drivers));
+    }
+
+    var winnerCount = in.readInt();
+    var winnersByEventId = new HashMap<Integer, Integer>(winnerCount * 2);
+    for (int i = 0; i < winnerCount; i++) {
+      winnersByEventId.put(in.readInt(), in.readInt());
+    }
+    return new SeasonData(eventsById, driversByEventId, winnersByEventId);
+  }
+
+  private static void writeNullableInt(Integer value, DataOutput out) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeInt(value);
+    }
+  }
+
+  private static Integer readNullableInt(DataInput in) throws IOException {
+    return in.readBoolean() ? in.readInt() : null;
+  }
+
+  private static void writeNullableString(String value, DataOutput out) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+
+  private static String readNullableString(DataInput in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+
+  private static void writeNullableDateTime(OffsetDateTime value, DataOutput out)
+      throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeLong(value.toEpochSecond());
+      out.writeInt(value.getNano());
+      out.writeInt(value.getOffset().getTotalSeconds());
+    }
+  }
+
+  private static OffsetDateTime readNullableDateTime(DataInput in) throws IOException {
+    if (!in.readBoolean()) {
+      return null;
+    }
+    var instant = Instant.ofEpochSecond(in.readLong(), in.readInt());
+    return OffsetDateTime.ofInstant(instant, ZoneOffset.ofTotalSeconds(in.readInt()));
+  }
+}
@@ -0,0 +1,134 @@
+package com.sg.f1bettingservice.f1data.cache;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the F1 data cached by {@link CachingF1DataProvider} in a compressed local snapshot file.
+ * On startup the snapshot is loaded into the cache as stale data, so bets can be validated before
+ * OpenF1 answers or while it is unreachable. Afterwards the snapshot is rewritten every {@code
+ * interval}, only when the cached data changed, and once more on close.
+ */
+@Service
+@ConditionalOnProperty(name = "f1data.snapshot.enabled", havingValue = "true")
+@Slf4j
+public class SeasonSnapshotter implements Closeable {
+
+  private final CachingF1DataProvider provider;
+  private final Path file;
+  private final ScheduledExecutorService snapshots;
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private volatile SeasonData lastWritten = SeasonData.EMPTY;
+
+  @Autowired
+  public SeasonSnapshotter(
+      CachingF1DataProvider provider,
+      @Value("${f1data.snapshot.file}") Path file,
+      @Value("${f1data.snapshot.interval}") Duration interval) {
+    this(
+        provider,
+        file,
+        interval,
+        Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("f1data-snapshot").daemon().factory()));
+  }
+
+  SeasonSnapshotter(
+      CachingF1DataProvider provider,
+      Path file,
+      Duration interval,
+      ScheduledExecutorService snapshots) {
+    this.provider = provider;
+    this.file = file;
+    this.snapshots = snapshots;
+    load();
+    var intervalMillis = interval.toMillis();
+    snapshots.scheduleWithFixedDelay(
+        this::writeQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /** Writes the cached data to the snapshot file unless it is unchanged since the last write. */
+  public void write() throws IOException {
+    writeLock.lock();
+    try {
+      var season = provider.snapshot();
+      if (season.equals(lastWritten)) {
+        return;
+      }
+      var parent = file.toAbsolutePath().getParent();
+      Files.createDirectories(parent);
+      var temporary = parent.resolve(file.getFileName() + ".tmp");
+      try (var out =
+          new DataOutputStream(
+              new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temporary))))) {
+        SeasonSnapshotCodec.write(season, out);
+      }
+      Files.move(temporary, file, ATOMIC_MOVE, REPLACE_EXISTING);
+      lastWritten = season;
+      log.debug(
+          "Stored season snapshot of {} events and {} driver lists in {}",
+          season.eventsById().size(),
+          season.driversByEventId().size(),
+          file);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public void close() {
+    snapshots.shutdownNow();
+    writeQuietly();
+  }
+
+  private void load() {
+    if (!Files.exists(file)) {
+      log.info("No season snapshot in {}, F1 data will be fetched from OpenF1", file);
+      return;
+    }
+    try (var in =
+        new DataInputStream(
+            new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+      var season = SeasonSnapshotCodec.read(in);
+      provider.restore(season);
+      lastWritten = season;
+      log.info(
+          "Restored {} events, {} driver lists and {} winners from {}",
+          season.eventsById().size(),
+          season.driversByEventId().size(),
+          season.winnersByEventId().size(),
+          file);
+    } catch (IOException | RuntimeException e) {
+      log.warn("Ignoring unreadable season snapshot {}", file, e);
+    }
+  }
+
+  private void writeQuietly() {
+    try {
+      write();
+    } catch (IOException | RuntimeException e) {
+      log.error("Failed to store the season snapshot in {}", file, e);
+    }
+  }
+}
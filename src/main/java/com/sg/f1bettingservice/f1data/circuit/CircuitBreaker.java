@@ -0,0 +1,134 @@
+package com.sg.f1bettingservice.f1data.circuit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stops calling an unhealthy upstream. After {@code failureThreshold} consecutive failed calls the
+ * circuit opens and calls fail fast with {@link CircuitOpenException} instead of waiting on the
+ * upstream. Once {@code probeInterval} has passed, the circuit is half open: the next call goes
+ * through as a trial while the others keep failing fast, and the circuit closes if the trial
+ * succeeds or opens again for another interval if it fails. Only exceptions matching {@code
+ * isFailure} count as failures; any other exception means the upstream answered.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+  static final String STATE_METRIC = "f1data.circuit.state";
+  static final String REJECTED_METRIC = "f1data.circuit.rejected";
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final String name;
+  private final int failureThreshold;
+  private final long probeIntervalMillis;
+  private final Predicate<RuntimeException> isFailure;
+  private final Clock clock;
+  private final Counter rejected;
+  private final AtomicInteger consecutiveFailures = new AtomicInteger();
+  private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+  private volatile long openedAtMillis;
+
+  public CircuitBreaker(
+      String name,
+      int failureThreshold,
+      Duration probeInterval,
+      Predicate<RuntimeException> isFailure,
+      MeterRegistry meterRegistry) {
+    this(name, failureThreshold, probeInterval, isFailure, meterRegistry, Clock.systemUTC());
+  }
+
+  CircuitBreaker(
+      String name,
+      int failureThreshold,
+      Duration probeInterval,
+      Predicate<RuntimeException> isFailure,
+      MeterRegistry meterRegistry,
+      Clock clock) {
+    if (failureThreshold < 1) {
+      throw new IllegalArgumentException("Failure threshold must be positive");
+    }
+    this.name = name;
+    this.failureThreshold = failureThreshold;
+    this.probeIntervalMillis = probeInterval.toMillis();
+    this.isFailure = isFailure;
+    this.clock = clock;
+    this.rejected =
+        Counter.builder(REJECTED_METRIC)
+            .description("Calls failed fast because the circuit was open")
+            .tag("name", name)
+            .register(meterRegistry);
+    Gauge.builder(STATE_METRIC, this, breaker -> breaker.state().ordinal())
+        .description("State of the circuit: 0 closed, 1 open, 2 half open")
+        .tag("name", name)
+        .register(meterRegistry);
+  }
+
+  public <T> T execute(Supplier<T> call) {
+    var trial = false;
+    if (state.get() != State.CLOSED) {
+      trial = tryHalfOpen();
+      if (!trial) {
+        rejected.increment();
+        throw new CircuitOpenException(name);
+      }
+    }
+
+    var healthy = false;
+    try {
+      var result = call.get();
+      healthy = true;
+      return result;
+    } catch (RuntimeException e) {
+      healthy = !isFailure.test(e);
+      throw e;
+    } finally {
+      record(healthy, trial);
+    }
+  }
+
+  public State state() {
+    return state.get();
+  }
+
+  /** Lets a single caller through as the trial call once the circuit has been open long enough. */
+  private boolean tryHalfOpen() {
+    return state.get() == State.OPEN
+        && clock.millis() - openedAtMillis >= probeIntervalMillis
+        && state.compareAndSet(State.OPEN, State.HALF_OPEN);
+  }
+
+  private void record(boolean healthy, boolean trial) {
+    if (healthy) {
+      if (consecutiveFailures.get() != 0) {
+        consecutiveFailures.set(0);
+      }
+      if (trial) {
+        state.set(State.CLOSED);
+        log.info("Circuit {} closed after a successful trial call", name);
+      }
+    } else if (trial) {
+      open(State.HALF_OPEN);
+      log.debug("Trial call of circuit {} failed, keeping it open", name);
+    } else if (consecutiveFailures.incrementAndGet() >= failureThreshold && open(State.CLOSED)) {
+      log.warn("Circuit {} opened after {} consecutive failures", name, failureThreshold);
+    }
+  }
+
+  private boolean open(State from) {
+    openedAtMillis = clock.millis();
+    return state.compareAndSet(from, State.OPEN);
+  }
+}
@@ -0,0 +1,102 @@
+package com.sg.f1bettingservice.f1data.circuit;
+
+import com.sg.f1bettingservice.core.model.Driver;
+import com.sg.f1bettingservice.core.model.Event;
+import com.sg.f1bettingservice.f1data.F1DataProvider;
+import com.sg.f1bettingservice.f1data.F1DataProviderException;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+/**
+ * Guards the OpenF1 provider with a {@link CircuitBreaker}, failing fast while OpenF1 is down. Only
+ * failures that show OpenF1 is unhealthy count against the circuit, so requests it rejects and
+ * local errors do not open it.
+ */
+@Service
+public class CircuitBreakingF1DataProvider implements F1DataProvider {
+
+  private final F1DataProvider delegate;
+  private final CircuitBreaker circuitBreaker;
+
+  @Autowired
+  public CircuitBreakingF1DataProvider(
+      @Qualifier("openF1DataProvider") F1DataProvider delegate,
+      @Value("${f1data.circuit.failure-threshold}") int failureThreshold,
+      @Value("${f1data.circuit.probe-interval}") Duration probeInterval,
+      MeterRegistry meterRegistry) {
+    this(
+        delegate,
+        new CircuitBreaker(
+            "openf1",
+            failureThreshold,
+            probeInterval,
+            CircuitBreakingF1DataProvider::isUpstreamFailure,
+            meterRegistry));
+  }
+
+  CircuitBreakingF1DataProvider(F1DataProvider delegate, CircuitBreaker circuitBreaker) {
+    this.delegate = delegate;
+    this.circuitBreaker = circuitBreaker;
+  }
+
+  @Override
+  public List<Event> findEvents(String sessionType, Integer year, String country)
+      throws F1DataProviderException {
+    return circuitBreaker.execute(() -> delegate.findEvents(sessionType, year, country));
+  }
+
+  @Override
+  public List<Driver> getDriversByEventId(Integer eventId) throws F1DataProviderException {
+    if (eventId == null) {
+      return delegate.getDriversByEventId(null);
+    }
+    return circuitBreaker.execute(() -> delegate.getDriversByEventId(eventId));
+  }
+
+  @Override
+  public Map<Integer, List<Driver>> getDriversByEventIds(Collection<Integer> eventIds)
+      throws F1DataProviderException {
+    return circuitBreaker.execute(() -> delegate.getDriversByEventIds(eventIds));
+  }
+
+  @Override
+  public Optional<Event> findEventById(int eventId) {
+    return circuitBreaker.execute(() -> delegate.findEventById(eventId));
+  }
+
+  @Override
+  public Optional<Integer> getWinnerDriverIdByEventId(Integer eventId) {
+    return circuitBreaker.execute(() -> delegate.getWinnerDriverIdByEventId(eventId));
+  }
+
+  /**
+   * Whether {@code e} is a provider failure caused by an I/O error or by OpenF1 answering {@code
+   * 5xx} or {@code 429}, as opposed to a request OpenF1 rejected or a local error.
+   */
+  static boolean isUpstreamFailure(RuntimeException e) {
+    if (!(e instanceof F1DataProviderException)) {
+      return false;
+    }
+    for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+      if (cause instanceof IOException || cause instanceof HttpServerErrorException) {
+        return true;
+      }
+      if (cause instanceof HttpClientErrorException clientError) {
+        return clientError.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,9 @@
+package com.sg.f1bettingservice.f1data.circuit;
+
+import com.sg.f1bettingservice.f1data.F1DataProviderException;
+
+public class CircuitOpenException extends F1DataProviderException {
+  public CircuitOpenException(String name) {
+    super("Circuit %s is open, upstream is unavailable".formatted(name));
+  }
+}
@@ -0,0 +1,80 @@
+package com.sg.f1bettingservice.f1data.openf1;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.GZIPInputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Asks for gzip compressed responses and decompresses the ones that are, since the JDK HTTP client
+ * leaves content encoding to the caller.
+ */
+class GzipResponseInterceptor implements ClientHttpRequestInterceptor {
+
+  private static final String GZIP = "gzip";
+
+  @Override
+  public ClientHttpResponse intercept(
+      HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+    request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+    var response = execution.execute(request, body);
+    var encoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+    return GZIP.equalsIgnoreCase(encoding) ? new GzipResponse(response) : response;
+  }
+
+  private static final class GzipResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse response;
+    private final HttpHeaders headers;
+    private InputStream body;
+
+    private GzipResponse(ClientHttpResponse response) {
+      this.response = response;
+      this.headers = new HttpHeaders();
+      this.headers.putAll(response.getHeaders());
+      this.headers.remove(HttpHeaders.CONTENT_ENCODING);
+      this.headers.remove(HttpHeaders.CONTENT_LENGTH);
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+      return response.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+      return response.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return headers;
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+      if (body == null) {
+        var compressed = new PushbackInputStream(response.getBody());
+        var first = compressed.read();
+        if (first == -1) {
+          body = InputStream.nullInputStream();
+        } else {
+          compressed.unread(first);
+          body = new GZIPInputStream(compressed);
+        }
+      }
+      return body;
+    }
+
+    @Override
+    public void close() {
+      response.close();
+    }
+  }
+}
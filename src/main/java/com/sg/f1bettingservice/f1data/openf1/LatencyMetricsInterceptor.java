@@ -0,0 +1,57 @@
+package com.sg.f1bettingservice.f1data.openf1;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Records the time until the response of each OpenF1 request arrives as a histogram, tagged by
+ * endpoint (the last segment of the request path) and response status.
+ */
+class LatencyMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+  static final String LATENCY_METRIC = "f1data.openf1.latency";
+  static final String IO_ERROR = "IO_ERROR";
+
+  private final MeterRegistry meterRegistry;
+
+  LatencyMetricsInterceptor(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public ClientHttpResponse intercept(
+      HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+    var sample = Timer.start(meterRegistry);
+    var status = IO_ERROR;
+    try {
+      var response = execution.execute(request, body);
+      status = String.valueOf(response.getStatusCode().value());
+      return response;
+    } finally {
+      sample.stop(timer(endpointOf(request), status));
+    }
+  }
+
+  private Timer timer(String endpoint, String status) {
+    return Timer.builder(LATENCY_METRIC)
+        .description("Time until the response of an OpenF1 request arrived")
+        .tag("endpoint", endpoint)
+        .tag("status", status)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  private static String endpointOf(HttpRequest request) {
+    var path = request.getURI().getPath();
+    if (path == null || path.isEmpty()) {
+      return "/";
+    }
+    var end = path.endsWith("/") ? path.length() - 1 : path.length();
+    return path.substring(path.lastIndexOf('/', end - 1) + 1, end);
+  }
+}
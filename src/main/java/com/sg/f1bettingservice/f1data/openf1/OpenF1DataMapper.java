@@ -1,42 +1,136 @@
 package com.sg.f1bettingservice.f1data.openf1;
 
 import static java.time.OffsetDateTime.parse;
-import static java.util.Optional.ofNullable;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.sg.f1bettingservice.core.model.Driver;
 import com.sg.f1bettingservice.core.model.Event;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.springframework.stereotype.Service;
 
+/**
+ * Maps OpenF1 JSON responses into domain objects while they are read. Each element of the response
+ * array is built straight from the parser tokens, so no intermediate DTOs or trees are allocated
+ * and fields the service does not use are skipped.
+ */
 @Service
 public class OpenF1DataMapper {
-  public List<Event> toEventList(List<OpenF1Session> openF1Session) {
-    return ofNullable(openF1Session).map(this::toNotNullableEventList).orElse(List.of());
+
+  private final JsonFactory jsonFactory = new JsonFactory();
+
+  /** Reads an array of OpenF1 sessions as events. An empty body reads as no events. */
+  public List<Event> readEvents(InputStream json) throws IOException {
+    var events = new ArrayList<Event>();
+    readArray(json, parser -> events.add(readEvent(parser)));
+    return events;
+  }
+
+  /** Reads an array of OpenF1 drivers or session results as drivers. */
+  public List<Driver> readDrivers(InputStream json) throws IOException {
+    var drivers = new ArrayList<Driver>();
+    readArray(json, parser -> drivers.add(readDriver(parser).driver()));
+    return drivers;
+  }
+
+  /**
+   * Reads an array of OpenF1 drivers of several sessions, grouped by their session key in response
+   * order. Drivers without a session key are dropped.
+   */
+  public Map<Integer, List<Driver>> readDriversBySessionKey(InputStream json) throws IOException {
+    var driversBySessionKey = new HashMap<Integer, List<Driver>>();
+    readArray(
+        json,
+        parser -> {
+          var sessionDriver = readDriver(parser);
+          if (sessionDriver.sessionKey() != null) {
+            driversBySessionKey
+                .computeIfAbsent(sessionDriver.sessionKey(), sessionKey -> new ArrayList<>())
+                .add(sessionDriver.driver());
+          }
+        });
+    return driversBySessionKey;
+  }
+
+  private void readArray(InputStream json, ElementReader elementReader) throws IOException {
+    try (var parser = jsonFactory.createParser(json)) {
+      var token = parser.nextToken();
+      if (token == null) {
+        return;
+      }
+      if (token != JsonToken.START_ARRAY) {
+        throw new JsonParseException(parser, "Expected an array but found " + token);
+      }
+      while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+        if (token != JsonToken.START_OBJECT) {
+          throw new JsonParseException(parser, "Expected an object but found " + token);
+        }
+        elementReader.read(parser);
+      }
+    }
   }
 
-  private List<Event> toNotNullableEventList(List<OpenF1Session> openF1Sessions) {
-    return openF1Sessions.stream()
-        .map(
-            s ->
-                Event.builder()
-                    .eventId(s.session_key())
-                    .name(s.session_name())
-                    .sessionType(s.session_type())
-                    .country(s.country_name())
-                    .dateTime(parse(s.date_start()))
-                    .drivers(Collections.emptyList())
-                    .build())
-        .toList();
+  private Event readEvent(JsonParser parser) throws IOException {
+    var event = Event.builder().drivers(Collections.emptyList());
+    while (nextField(parser)) {
+      switch (parser.currentName()) {
+        case "session_key" -> event.eventId(intValue(parser));
+        case "session_name" -> event.name(textValue(parser));
+        case "session_type" -> event.sessionType(textValue(parser));
+        case "country_name" -> event.country(textValue(parser));
+        case "date_start" -> {
+          var dateStart = textValue(parser);
+          event.dateTime(dateStart == null ? null : parse(dateStart));
+        }
+        default -> parser.skipChildren();
+      }
+    }
+    return event.build();
   }
 
-  public List<Driver> toDriverList(List<OpenF1Driver> openF1Drivers) {
-    return ofNullable(openF1Drivers).map(this::toNotNullableDriverList).orElse(List.of());
+  private SessionDriver readDriver(JsonParser parser) throws IOException {
+    var driver = Driver.builder();
+    Integer sessionKey = null;
+    while (nextField(parser)) {
+      switch (parser.currentName()) {
+        case "session_key" -> sessionKey = intValue(parser);
+        case "driver_number" -> driver.driverId(intValue(parser));
+        case "full_name" -> driver.fullName(textValue(parser));
+        default -> parser.skipChildren();
+      }
+    }
+    return new SessionDriver(sessionKey, driver.build());
   }
 
-  private List<Driver> toNotNullableDriverList(List<OpenF1Driver> openF1Drivers) {
-    return openF1Drivers.stream()
-        .map(d -> Driver.builder().driverId(d.driver_number()).fullName(d.full_name()).build())
-        .toList();
+  /** Moves the parser to the value of the next field of the current object, if there is one. */
+  private static boolean nextField(JsonParser parser) throws IOException {
+    if (parser.nextToken() != JsonToken.FIELD_NAME) {
+      return false;
+    }
+    parser.nextToken();
+    return true;
+  }
+
+  private static Integer intValue(JsonParser parser) throws IOException {
+    return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsInt();
+  }
+
+  private static String textValue(JsonParser parser) throws IOException {
+    return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+  }
+
+  private record SessionDriver(Integer sessionKey, Driver driver) {}
+
+  @FunctionalInterface
+  private interface ElementReader {
+    void read(JsonParser parser) throws IOException;
   }
 }
@@ -1,18 +1,30 @@
 package com.sg.f1bettingservice.f1data.openf1;
 
 import static java.util.Optional.ofNullable;
-import static org.springframework.http.RequestEntity.get;
 import static org.springframework.web.util.UriComponentsBuilder.fromHttpUrl;
 
 import com.sg.f1bettingservice.core.model.Driver;
 import com.sg.f1bettingservice.core.model.Event;
 import com.sg.f1bettingservice.f1data.F1DataProvider;
 import com.sg.f1bettingservice.f1data.F1DataProviderException;
+import com.sg.f1bettingservice.f1data.SingleFlight;
+import com.sg.f1bettingservice.f1data.openf1.OpenF1ResponseCache.JsonReader;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -20,17 +32,31 @@ import org.springframework.web.client.RestTemplate;
 @Slf4j
 public class OpenF1DataProvider implements F1DataProvider {
 
+  static final int RANGE_SPAN_PER_BATCHED_SESSION = 4;
+
   private final OpenF1DataMapper openF1DataMapper;
   private final RestTemplate restTemplate;
   private final String baseUrl;
+  private final SingleFlight singleFlight;
+  private final OpenF1ResponseCache responseCache;
+  private final int driversBatchSize;
+  private final Semaphore requestPermits;
 
   public OpenF1DataProvider(
       OpenF1DataMapper openF1DataMapper,
       RestTemplate restTemplate,
-      @Value("${f1data.openf1.base-url}") String baseUrl) {
+      SingleFlight singleFlight,
+      OpenF1ResponseCache responseCache,
+      @Value("${f1data.openf1.base-url}") String baseUrl,
+      @Value("${f1data.openf1.drivers-batch-size}") int driversBatchSize,
+      @Value("${f1data.openf1.max-concurrent-requests}") int maxConcurrentRequests) {
     this.openF1DataMapper = openF1DataMapper;
     this.restTemplate = restTemplate;
+    this.singleFlight = singleFlight;
+    this.responseCache = responseCache;
     this.baseUrl = baseUrl;
+    this.driversBatchSize = driversBatchSize;
+    this.requestPermits = new Semaphore(maxConcurrentRequests);
   }
 
   @Override
@@ -47,11 +73,7 @@ public class OpenF1DataProvider implements F1DataProvider {
               .toUri();
 
       log.info("Making OpenF1 request to fetch sessions: {}", uri);
-      var type = new ParameterizedTypeReference<List<OpenF1Session>>() {};
-      var sessions =
-          ofNullable(restTemplate.exchange(get(uri).build(), type).getBody()).orElseGet(List::of);
-
-      return openF1DataMapper.toEventList(sessions);
+      return copiesOf(fetch("sessions", uri, openF1DataMapper::readEvents));
 
     } catch (Exception e) {
       log.error("Error fetching events from OpenF1 API", e);
@@ -75,11 +97,7 @@ public class OpenF1DataProvider implements F1DataProvider {
               .toUri();
 
       log.info("Making OpenF1 request to fetch drivers: {}", uri);
-      var type = new ParameterizedTypeReference<List<OpenF1Driver>>() {};
-      var drivers =
-          ofNullable(restTemplate.exchange(get(uri).build(), type).getBody()).orElseGet(List::of);
-
-      return openF1DataMapper.toDriverList(drivers);
+      return fetch("drivers", uri, openF1DataMapper::readDrivers);
 
     } catch (Exception e) {
       log.error("Error fetching drivers from OpenF1 API", e);
@@ -87,6 +105,121 @@ public class OpenF1DataProvider implements F1DataProvider {
     }
   }
 
+  @Override
+  public Map<Integer, List<Driver>> getDriversByEventIds(Collection<Integer> eventIds) {
+    var batches = batchesOf(eventIds);
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var futures =
+          batches.stream()
+              .map(batch -> executor.submit(() -> withRequestPermit(() -> fetchDrivers(batch))))
+              .toList();
+
+      var driversByEventId = new HashMap<Integer, List<Driver>>();
+      for (var future : futures) {
+        driversByEventId.putAll(future.get());
+      }
+      return driversByEventId;
+
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof F1DataProviderException providerException) {
+        throw providerException;
+      }
+      throw new F1DataProviderException("Failed to fetch drivers from OpenF1", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new F1DataProviderException("Interrupted while fetching drivers from OpenF1", e);
+    }
+  }
+
+  /**
+   * Groups the sorted session keys into batches of up to {@code driversBatchSize} keys whose range
+   * spans at most {@code RANGE_SPAN_PER_BATCHED_SESSION} session keys per key of a full batch. Keys
+   * further apart start a new batch, so a ranged request never downloads the drivers of many
+   * unrelated sessions lying between sparse keys; a batch of one key is a plain request.
+   */
+  private List<List<Integer>> batchesOf(Collection<Integer> eventIds) {
+    var maxSpan = (long) driversBatchSize * RANGE_SPAN_PER_BATCHED_SESSION;
+    var batches = new ArrayList<List<Integer>>();
+    var batch = new ArrayList<Integer>();
+    for (var eventId : eventIds.stream().filter(Objects::nonNull).distinct().sorted().toList()) {
+      if (!batch.isEmpty()
+          && (batch.size() == driversBatchSize || (long) eventId - batch.getFirst() >= maxSpan)) {
+        batches.add(batch);
+        batch = new ArrayList<>();
+      }
+      batch.add(eventId);
+    }
+    if (!batch.isEmpty()) {
+      batches.add(batch);
+    }
+    return batches;
+  }
+
+  private Map<Integer, List<Driver>> fetchDrivers(List<Integer> eventIds) {
+    if (eventIds.size() == 1) {
+      var eventId = eventIds.getFirst();
+      return Map.of(eventId, getDriversByEventId(eventId));
+    }
+
+    try {
+      var uri =
+          fromHttpUrl(baseUrl)
+              .path("drivers")
+              .query("session_key>=" + eventIds.getFirst())
+              .query("session_key<=" + eventIds.getLast())
+              .build()
+              .encode()
+              .toUri();
+
+      log.info("Making OpenF1 request to fetch drivers of {} sessions: {}", eventIds.size(), uri);
+      var driversBySessionKey = fetch("drivers", uri, openF1DataMapper::readDriversBySessionKey);
+
+      var driversByEventId = new HashMap<Integer, List<Driver>>();
+      for (var eventId : eventIds) {
+        driversByEventId.put(eventId, driversBySessionKey.getOrDefault(eventId, List.of()));
+      }
+      return driversByEventId;
+
+    } catch (Exception e) {
+      log.error("Error fetching drivers of several sessions from OpenF1 API", e);
+      throw new F1DataProviderException("Failed to fetch drivers from OpenF1", e);
+    }
+  }
+
+  /**
+   * Requests {@code uri} conditionally and maps the JSON body with {@code reader} as it is streamed
+   * in, unless it did not change since the last request.
+   */
+  private <T> T fetch(String endpoint, URI uri, JsonReader<T> reader) {
+    return singleFlight.execute(
+        endpoint,
+        uri.toString(),
+        () ->
+            restTemplate.execute(
+                uri,
+                HttpMethod.GET,
+                request -> {
+                  request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+                  responseCache.addConditions(uri, request.getHeaders());
+                },
+                response -> responseCache.read(endpoint, uri, response, reader)));
+  }
+
+  /** Unchanged responses reuse their events, so callers get copies they are free to modify. */
+  private static List<Event> copiesOf(List<Event> events) {
+    return events.stream().map(event -> event.toBuilder().build()).toList();
+  }
+
+  private <T> T withRequestPermit(Supplier<T> request) throws InterruptedException {
+    requestPermits.acquire();
+    try {
+      return request.get();
+    } finally {
+      requestPermits.release();
+    }
+  }
+
   @Override
   public Optional<Event> findEventById(int eventId) {
     try {
@@ -98,12 +231,7 @@ public class OpenF1DataProvider implements F1DataProvider {
               .toUri();
 
       log.info("Making OpenF1 request to fetch sessions by its ID: {}", uri);
-      var type = new ParameterizedTypeReference<List<OpenF1Session>>() {};
-      var sessions =
-          ofNullable(restTemplate.exchange(get(uri).build(), type).getBody()).orElseGet(List::of);
-
-      var mapped = openF1DataMapper.toEventList(sessions);
-      return mapped.stream().findFirst();
+      return copiesOf(fetch("sessions", uri, openF1DataMapper::readEvents)).stream().findFirst();
 
     } catch (Exception e) {
       log.error("Error fetching events by ID from OpenF1 API", e);
@@ -123,12 +251,9 @@ public class OpenF1DataProvider implements F1DataProvider {
               .toUri();
 
       log.info("Making OpenF1 request to fetch session_results: {}", uri);
-      var type = new ParameterizedTypeReference<List<OpenF1Driver>>() {};
-      var openF1Drivers =
-          ofNullable(restTemplate.exchange(get(uri).build(), type).getBody()).orElseGet(List::of);
-
-      var mapped = openF1DataMapper.toDriverList(openF1Drivers);
-      return mapped.stream().map(Driver::getDriverId).findFirst();
+      return fetch("session_result", uri, openF1DataMapper::readDrivers).stream()
+          .map(Driver::getDriverId)
+          .findFirst();
 
     } catch (Exception e) {
       log.error("Error fetching session results from OpenF1 API", e);
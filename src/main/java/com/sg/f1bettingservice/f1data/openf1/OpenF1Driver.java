@@ -1,3 +0,0 @@
-package com.sg.f1bettingservice.f1data.openf1;
-
-public record OpenF1Driver(Integer driver_number, String full_name) {}
@@ -0,0 +1,49 @@
+package com.sg.f1bettingservice.f1data.openf1;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * HTTP client used to call OpenF1. It is a shared JDK {@link HttpClient}, which keeps connections
+ * alive in its pool and reuses them, and negotiates HTTP/2 when {@code f1data.openf1.http.version}
+ * asks for it. Connecting and waiting for a response are both bounded. Responses are requested
+ * gzip compressed when {@code f1data.openf1.http.compression} is on, and request latency is
+ * recorded per endpoint.
+ */
+@Configuration
+public class OpenF1HttpClientConfiguration {
+
+  @Bean
+  public HttpClient openF1HttpClient(
+      @Value("${f1data.openf1.http.version}") HttpClient.Version version,
+      @Value("${f1data.openf1.http.connect-timeout}") Duration connectTimeout) {
+    return HttpClient.newBuilder()
+        .version(version)
+        .connectTimeout(connectTimeout)
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .build();
+  }
+
+  @Bean
+  public RestTemplate restTemplate(
+      HttpClient openF1HttpClient,
+      MeterRegistry meterRegistry,
+      @Value("${f1data.openf1.http.read-timeout}") Duration readTimeout,
+      @Value("${f1data.openf1.http.compression}") boolean compression) {
+    var requestFactory = new JdkClientHttpRequestFactory(openF1HttpClient);
+    requestFactory.setReadTimeout(readTimeout);
+
+    var restTemplate = new RestTemplate(requestFactory);
+    restTemplate.getInterceptors().add(new LatencyMetricsInterceptor(meterRegistry));
+    if (compression) {
+      restTemplate.getInterceptors().add(new GzipResponseInterceptor());
+    }
+    return restTemplate;
+  }
+}
@@ -0,0 +1,169 @@
+package com.sg.f1bettingservice.f1data.openf1;
+
+import com.sg.f1bettingservice.f1data.cache.ExpiringCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Remembers the last mapped response of each OpenF1 URI, so refreshing data that did not change
+ * skips parsing and mapping it again. Requests are made conditional with the {@code ETag} and
+ * {@code Last-Modified} validators of the last response, and a {@code 304 Not Modified} answer
+ * reuses its result. Responses without validators are buffered and hashed before they are read,
+ * so one whose hash is unchanged is not parsed at all and the last result is reused. Bodies larger
+ * than {@code maxBufferedBody} are instead hashed while they are streamed into the reader, so they
+ * are never buffered whole, and the last result is reused when the hash turns out unchanged.
+ */
+@Component
+public class OpenF1ResponseCache {
+
+  static final String REVALIDATIONS_METRIC = "f1data.openf1.revalidations";
+  static final String NOT_MODIFIED = "not_modified";
+  static final String UNCHANGED = "unchanged";
+  static final String CHANGED = "changed";
+
+  private static final long NO_LAST_MODIFIED = -1;
+
+  private final ExpiringCache<URI, LastResponse> lastResponses;
+  private final int maxBufferedBytes;
+  private final MeterRegistry meterRegistry;
+
+  public OpenF1ResponseCache(
+      @Value("${f1data.openf1.revalidation.ttl}") Duration ttl,
+      @Value("${f1data.openf1.revalidation.max-entries}") int maxEntries,
+      @Value("${f1data.openf1.revalidation.max-buffered-body}") DataSize maxBufferedBody,
+      MeterRegistry meterRegistry) {
+    this.lastResponses = new ExpiringCache<>(ttl, maxEntries, Clock.systemUTC());
+    this.maxBufferedBytes = Math.toIntExact(maxBufferedBody.toBytes());
+    this.meterRegistry = meterRegistry;
+  }
+
+  /** Adds the validators of the last response of {@code uri}, if any, to a request for it. */
+  public void addConditions(URI uri, HttpHeaders headers) {
+    lastResponses
+        .get(uri)
+        .ifPresent(
+            last -> {
+              if (last.etag() != null) {
+                headers.setIfNoneMatch(last.etag());
+              }
+              if (last.lastModified() != NO_LAST_MODIFIED) {
+                headers.setIfModifiedSince(last.lastModified());
+              }
+            });
+  }
+
+  /**
+   * Returns the result of {@code response} to a request for {@code uri}, reading it with {@code
+   * reader} only if it differs from the last response.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T read(String endpoint, URI uri, ClientHttpResponse response, JsonReader<T> reader)
+      throws IOException {
+    var last = lastResponses.get(uri).orElse(null);
+    if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+      if (last == null) {
+        throw new IOException("OpenF1 answered not modified but no response is cached for " + uri);
+      }
+      lastResponses.put(uri, last);
+      counter(endpoint, NOT_MODIFIED).increment();
+      return (T) last.result();
+    }
+
+    var headers = response.getHeaders();
+    var etag = headers.getETag();
+    var lastModified = headers.getLastModified();
+    if (etag != null || lastModified != NO_LAST_MODIFIED) {
+      var result = reader.read(response.getBody());
+      lastResponses.put(uri, new LastResponse(etag, lastModified, null, result));
+      counter(endpoint, CHANGED).increment();
+      return result;
+    }
+
+    var digest = sha256();
+    var body = response.getBody();
+    var buffered = body.readNBytes(maxBufferedBytes + 1);
+    if (buffered.length <= maxBufferedBytes) {
+      var hash = digest.digest(buffered);
+      if (last != null && Arrays.equals(hash, last.hash())) {
+        return reuse(endpoint, uri, last);
+      }
+      return remember(endpoint, uri, hash, reader.read(new ByteArrayInputStream(buffered)));
+    }
+
+    var streamed =
+        new DigestInputStream(
+            new SequenceInputStream(new ByteArrayInputStream(buffered), body), digest);
+    var result = reader.read(keptOpen(streamed));
+    // The reader may stop at the end of the JSON, so the rest of the body is hashed as well.
+    streamed.transferTo(OutputStream.nullOutputStream());
+    var hash = digest.digest();
+    if (last != null && Arrays.equals(hash, last.hash())) {
+      return reuse(endpoint, uri, last);
+    }
+    return remember(endpoint, uri, hash, result);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T reuse(String endpoint, URI uri, LastResponse last) {
+    lastResponses.put(uri, last);
+    counter(endpoint, UNCHANGED).increment();
+    return (T) last.result();
+  }
+
+  private <T> T remember(String endpoint, URI uri, byte[] hash, T result) {
+    lastResponses.put(uri, new LastResponse(null, NO_LAST_MODIFIED, hash, result));
+    counter(endpoint, CHANGED).increment();
+    return result;
+  }
+
+  private Counter counter(String endpoint, String outcome) {
+    return Counter.builder(REVALIDATIONS_METRIC)
+        .description("OpenF1 responses by whether their content changed since the last one")
+        .tag("endpoint", endpoint)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /** Ignores the reader closing {@code body}, so what it left unread can still be hashed. */
+  private static InputStream keptOpen(InputStream body) {
+    return new FilterInputStream(body) {
+      @Override
+      public void close() {}
+    };
+  }
+
+  /** Maps a streamed JSON response body into a result. */
+  @FunctionalInterface
+  public interface JsonReader<T> {
+    T read(InputStream json) throws IOException;
+  }
+
+  private record LastResponse(String etag, long lastModified, byte[] hash, Object result) {}
+}
@@ -2,14 +2,40 @@ package com.sg.f1bettingservice.persistence;
 
 import com.sg.f1bettingservice.core.model.Bet;
 import com.sg.f1bettingservice.core.model.BetStatus;
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 public interface BetRepository {
   Bet save(
-      Integer userId, Integer eventId, Integer driverId, BigDecimal amount, BetStatus betStatus);
+      Integer userId, Integer eventId, Integer driverId, long amountInCents, BetStatus betStatus);
+
+  /**
+   * Saves the given bets, ignoring any id they carry, and returns them in the same order with the
+   * ids they were assigned. Stores that can insert many rows at once override this.
+   */
+  default List<Bet> saveAll(List<Bet> bets) {
+    return bets.stream()
+        .map(
+            bet ->
+                save(
+                    bet.getUserId(),
+                    bet.getEventId(),
+                    bet.getDriverId(),
+                    bet.getAmountInCents(),
+                    bet.getStatus()))
+        .toList();
+  }
 
   List<Bet> findByEventId(Integer eventId);
 
+  List<Bet> findByUserId(Integer userId);
+
   void updateBetStatus(Integer betId, BetStatus expectedStatus);
+
+  /**
+   * Moves the given bets from {@code fromStatus} to {@code toStatus}, leaving bets in any other
+   * status untouched, and returns the ids of the bets that were actually moved.
+   */
+  List<Integer> updateBetStatuses(
+      Collection<Integer> betIds, BetStatus fromStatus, BetStatus toStatus);
 }
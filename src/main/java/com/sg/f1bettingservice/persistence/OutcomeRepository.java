@@ -1,7 +1,15 @@
 package com.sg.f1bettingservice.persistence;
 
 import com.sg.f1bettingservice.core.model.EventOutcome;
+import com.sg.f1bettingservice.core.model.SettlementCheckpoint;
+import java.util.Optional;
 
 public interface OutcomeRepository {
   EventOutcome save(EventOutcome eventOutcome);
+
+  Optional<EventOutcome> findByEventId(Integer eventId);
+
+  SettlementCheckpoint saveCheckpoint(SettlementCheckpoint checkpoint);
+
+  Optional<SettlementCheckpoint> findCheckpointByEventId(Integer eventId);
 }
@@ -0,0 +1,22 @@
+package com.sg.f1bettingservice.persistence;
+
+import java.util.Map;
+
+/**
+ * Optional port for stores that settle bets with set-based updates instead of one call per bet. If
+ * a store provides it, {@code SettlementEngine} applies the status and balance changes of each
+ * chunk of bets through it.
+ */
+public interface SettlementRepository {
+
+  /**
+   * Settles the {@code PLACED} bets of an event whose ids are between {@code fromBetId} and {@code
+   * toBetId}, both inclusive, as one atomic unit: bets on the winner driver move to {@code WON} and
+   * their users are credited the amount times {@code odds}, every other bet moves to {@code LOST}.
+   * Bets in any other status are left untouched, so settling a range again credits nobody twice.
+   *
+   * @return the amount credited to each user by this call
+   */
+  Map<Integer, Long> settleRange(
+      Integer eventId, Integer winnerDriverId, int odds, int fromBetId, int toBetId);
+}
@@ -1,11 +1,31 @@
 package com.sg.f1bettingservice.persistence;
 
 import com.sg.f1bettingservice.core.model.User;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface UserRepository {
 
   Optional<User> findById(Integer userId);
 
   User save(User user);
+
+  User findOrCreate(Integer userId, long initialBalanceInCents);
+
+  Optional<User> addToBalance(Integer userId, long amountInCents);
+
+  void addToBalances(Map<Integer, Long> amountsInCentsByUserId);
+
+  /**
+   * Adds the payouts of the given bets to the balances of their users and records the bets as paid
+   * in the same step, so a settlement resumed after a failure can tell which bets it already paid.
+   */
+  void addPayouts(Collection<Integer> betIds, Map<Integer, Long> amountsInCentsByUserId);
+
+  /** Returns the ids, among the given ones, of the bets whose payout was already added. */
+  Set<Integer> findPaidBetIds(Collection<Integer> betIds);
+
+  boolean subtractFromBalanceIfSufficient(Integer userId, long amountInCents);
 }
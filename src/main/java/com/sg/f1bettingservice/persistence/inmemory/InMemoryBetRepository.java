@@ -5,49 +5,123 @@ import static java.util.Optional.ofNullable;
 import com.sg.f1bettingservice.core.model.Bet;
 import com.sg.f1bettingservice.core.model.BetStatus;
 import com.sg.f1bettingservice.persistence.BetRepository;
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 @Repository
+@ConditionalOnProperty(name = "persistence.mode", havingValue = "memory", matchIfMissing = true)
+@ConditionalOnProperty(name = "persistence.bets", havingValue = "memory", matchIfMissing = true)
 public class InMemoryBetRepository implements BetRepository {
 
   private final AtomicInteger sequence;
   private final Map<Integer, Bet> bets;
+  private final Map<Integer, Set<Integer>> betIdsByEventId;
+  private final Map<Integer, Set<Integer>> betIdsByUserId;
 
   public InMemoryBetRepository() {
     this.sequence = new AtomicInteger(1);
     this.bets = new ConcurrentHashMap<>();
+    this.betIdsByEventId = new ConcurrentHashMap<>();
+    this.betIdsByUserId = new ConcurrentHashMap<>();
   }
 
   @Override
   public Bet save(
-      Integer userId, Integer eventId, Integer driverId, BigDecimal amount, BetStatus betStatus) {
-    Integer id = sequence.getAndIncrement();
+      Integer userId, Integer eventId, Integer driverId, long amountInCents, BetStatus betStatus) {
     Bet bet =
         Bet.builder()
-            .id(id)
+            .id(nextId())
             .userId(userId)
             .eventId(eventId)
             .driverId(driverId)
-            .amount(amount)
+            .amountInCents(amountInCents)
             .status(betStatus)
             .build();
 
-    bets.put(id, bet);
+    store(bet);
     return bet;
   }
 
+  /** Reserves the id of a bet that is about to be {@link #restore(Bet) restored}. */
+  public int nextId() {
+    return sequence.getAndIncrement();
+  }
+
+  /** Stores a bet that already has an id, e.g. one replayed from a persistent log. */
+  public void restore(Bet bet) {
+    sequence.accumulateAndGet(bet.getId() + 1, Math::max);
+    store(bet);
+  }
+
+  public Optional<Bet> findById(int betId) {
+    return ofNullable(bets.get(betId));
+  }
+
+  public Collection<Bet> findAll() {
+    return List.copyOf(bets.values());
+  }
+
   @Override
   public List<Bet> findByEventId(Integer eventId) {
-    return bets.values().stream().filter(b -> b.getEventId().equals(eventId)).toList();
+    return findByIndex(betIdsByEventId, eventId);
+  }
+
+  @Override
+  public List<Bet> findByUserId(Integer userId) {
+    return findByIndex(betIdsByUserId, userId);
   }
 
   @Override
   public void updateBetStatus(Integer betId, BetStatus betStatus) {
     ofNullable(bets.get(betId)).ifPresent(bet -> bet.setStatus(betStatus));
   }
+
+  @Override
+  public List<Integer> updateBetStatuses(
+      Collection<Integer> betIds, BetStatus fromStatus, BetStatus toStatus) {
+    var updatedBetIds = new ArrayList<Integer>(betIds.size());
+    for (var betId : betIds) {
+      var updated = new boolean[1];
+      bets.computeIfPresent(
+          betId,
+          (id, bet) -> {
+            if (bet.getStatus() == fromStatus) {
+              bet.setStatus(toStatus);
+              updated[0] = true;
+            }
+            return bet;
+          });
+      if (updated[0]) {
+        updatedBetIds.add(betId);
+      }
+    }
+    return updatedBetIds;
+  }
+
+  private void store(Bet bet) {
+    bets.put(bet.getId(), bet);
+    index(betIdsByEventId, bet.getEventId(), bet.getId());
+    index(betIdsByUserId, bet.getUserId(), bet.getId());
+  }
+
+  private void index(Map<Integer, Set<Integer>> index, Integer key, Integer betId) {
+    if (key != null) {
+      index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(betId);
+    }
+  }
+
+  private List<Bet> findByIndex(Map<Integer, Set<Integer>> index, Integer key) {
+    if (key == null) {
+      return List.of();
+    }
+    return index.getOrDefault(key, Set.of()).stream().map(bets::get).toList();
+  }
 }
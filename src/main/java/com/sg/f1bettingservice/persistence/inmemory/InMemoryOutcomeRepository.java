@@ -1,19 +1,52 @@
 package com.sg.f1bettingservice.persistence.inmemory;
 
+import static java.util.Optional.ofNullable;
+
 import com.sg.f1bettingservice.core.model.EventOutcome;
+import com.sg.f1bettingservice.core.model.SettlementCheckpoint;
 import com.sg.f1bettingservice.persistence.OutcomeRepository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 @Repository
+@ConditionalOnProperty(name = "persistence.mode", havingValue = "memory", matchIfMissing = true)
 public class InMemoryOutcomeRepository implements OutcomeRepository {
 
   private final Map<Integer, EventOutcome> outcomes = new ConcurrentHashMap<>();
+  private final Map<Integer, SettlementCheckpoint> checkpoints = new ConcurrentHashMap<>();
 
   @Override
   public EventOutcome save(EventOutcome eventOutcome) {
     outcomes.put(eventOutcome.getEventId(), eventOutcome);
     return eventOutcome;
   }
+
+  @Override
+  public Optional<EventOutcome> findByEventId(Integer eventId) {
+    return ofNullable(outcomes.get(eventId));
+  }
+
+  public Collection<EventOutcome> findAll() {
+    return List.copyOf(outcomes.values());
+  }
+
+  @Override
+  public SettlementCheckpoint saveCheckpoint(SettlementCheckpoint checkpoint) {
+    checkpoints.put(checkpoint.getEventId(), checkpoint.toBuilder().build());
+    return checkpoint;
+  }
+
+  @Override
+  public Optional<SettlementCheckpoint> findCheckpointByEventId(Integer eventId) {
+    return ofNullable(checkpoints.get(eventId)).map(checkpoint -> checkpoint.toBuilder().build());
+  }
+
+  public List<SettlementCheckpoint> findAllCheckpoints() {
+    return checkpoints.values().stream().map(checkpoint -> checkpoint.toBuilder().build()).toList();
+  }
 }
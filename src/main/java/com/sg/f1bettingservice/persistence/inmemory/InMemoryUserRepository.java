@@ -1,27 +1,101 @@
 package com.sg.f1bettingservice.persistence.inmemory;
 
+import static com.sg.f1bettingservice.core.model.Money.add;
+import static com.sg.f1bettingservice.core.model.Money.subtract;
 import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toUnmodifiableSet;
 
 import com.sg.f1bettingservice.core.model.User;
 import com.sg.f1bettingservice.persistence.UserRepository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 @Repository
+@ConditionalOnProperty(name = "persistence.mode", havingValue = "memory", matchIfMissing = true)
+@ConditionalOnProperty(name = "persistence.users", havingValue = "memory", matchIfMissing = true)
 public class InMemoryUserRepository implements UserRepository {
 
   private final Map<Integer, User> users = new ConcurrentHashMap<>();
+  private final Set<Integer> paidBetIds = ConcurrentHashMap.newKeySet();
 
   @Override
   public Optional<User> findById(Integer userId) {
-    return ofNullable(users.get(userId));
+    return ofNullable(users.get(userId)).map(this::copyOf);
+  }
+
+  public List<User> findAll() {
+    return users.values().stream().map(this::copyOf).toList();
   }
 
   @Override
   public User save(User user) {
-    users.put(user.getUserId(), user);
+    users.put(user.getUserId(), copyOf(user));
     return user;
   }
+
+  @Override
+  public User findOrCreate(Integer userId, long initialBalanceInCents) {
+    var user =
+        users.computeIfAbsent(
+            userId, id -> User.builder().userId(id).balanceInCents(initialBalanceInCents).build());
+    return copyOf(user);
+  }
+
+  @Override
+  public Optional<User> addToBalance(Integer userId, long amountInCents) {
+    var user =
+        users.computeIfPresent(
+            userId,
+            (id, current) -> withBalance(current, add(current.getBalanceInCents(), amountInCents)));
+    return ofNullable(user).map(this::copyOf);
+  }
+
+  @Override
+  public void addToBalances(Map<Integer, Long> amountsInCentsByUserId) {
+    amountsInCentsByUserId.forEach(this::addToBalance);
+  }
+
+  @Override
+  public void addPayouts(Collection<Integer> betIds, Map<Integer, Long> amountsInCentsByUserId) {
+    addToBalances(amountsInCentsByUserId);
+    paidBetIds.addAll(betIds);
+  }
+
+  @Override
+  public Set<Integer> findPaidBetIds(Collection<Integer> betIds) {
+    return betIds.stream().filter(paidBetIds::contains).collect(toUnmodifiableSet());
+  }
+
+  public List<Integer> findAllPaidBetIds() {
+    return List.copyOf(paidBetIds);
+  }
+
+  @Override
+  public boolean subtractFromBalanceIfSufficient(Integer userId, long amountInCents) {
+    var debited = new boolean[1];
+    users.computeIfPresent(
+        userId,
+        (id, current) -> {
+          if (current.getBalanceInCents() < amountInCents) {
+            return current;
+          }
+          debited[0] = true;
+          return withBalance(current, subtract(current.getBalanceInCents(), amountInCents));
+        });
+    return debited[0];
+  }
+
+  private User withBalance(User user, long balanceInCents) {
+    return user.toBuilder().balanceInCents(balanceInCents).build();
+  }
+
+  private User copyOf(User user) {
+    return user.toBuilder().build();
+  }
 }
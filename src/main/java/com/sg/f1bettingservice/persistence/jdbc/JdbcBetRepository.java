@@ -0,0 +1,176 @@
+package com.sg.f1bettingservice.persistence.jdbc;
+
+import com.sg.f1bettingservice.core.model.Bet;
+import com.sg.f1bettingservice.core.model.BetStatus;
+import com.sg.f1bettingservice.persistence.BetRepository;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+/**
+ * {@link BetRepository} backed by the {@code bets} table. {@link #saveAll(List)} inserts all bets
+ * with one batched prepared statement and status updates by id are sent as one batch.
+ */
+public class JdbcBetRepository implements BetRepository {
+
+  static final int BATCH_SIZE = 1_000;
+
+  private static final String INSERT =
+      "INSERT INTO bets (user_id, event_id, driver_id, amount_in_cents, status)"
+          + " VALUES (?, ?, ?, ?, ?)";
+  private static final String SELECT =
+      "SELECT id, user_id, event_id, driver_id, amount_in_cents, status FROM bets";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public JdbcBetRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public Bet save(
+      Integer userId, Integer eventId, Integer driverId, long amountInCents, BetStatus betStatus) {
+    var bet =
+        Bet.builder()
+            .userId(userId)
+            .eventId(eventId)
+            .driverId(driverId)
+            .amountInCents(amountInCents)
+            .status(betStatus)
+            .build();
+    var keyHolder = new GeneratedKeyHolder();
+    jdbcTemplate.update(
+        connection -> {
+          var statement = connection.prepareStatement(INSERT, new String[] {"id"});
+          bind(statement, bet);
+          return statement;
+        },
+        keyHolder);
+    bet.setId(keyHolder.getKeyAs(Integer.class));
+    return bet;
+  }
+
+  @Override
+  public List<Bet> saveAll(List<Bet> bets) {
+    var saved = new ArrayList<Bet>(bets.size());
+    for (int from = 0; from < bets.size(); from += BATCH_SIZE) {
+      saved.addAll(insertBatch(bets.subList(from, Math.min(from + BATCH_SIZE, bets.size()))));
+    }
+    return saved;
+  }
+
+  @Override
+  public List<Bet> findByEventId(Integer eventId) {
+    return jdbcTemplate.query(SELECT + " WHERE event_id = ? ORDER BY id", this::toBet, eventId);
+  }
+
+  @Override
+  public List<Bet> findByUserId(Integer userId) {
+    return jdbcTemplate.query(SELECT + " WHERE user_id = ? ORDER BY id", this::toBet, userId);
+  }
+
+  @Override
+  public void updateBetStatus(Integer betId, BetStatus betStatus) {
+    jdbcTemplate.update("UPDATE bets SET status = ? WHERE id = ?", betStatus.name(), betId);
+  }
+
+  @Override
+  public List<Integer> updateBetStatuses(
+      Collection<Integer> betIds, BetStatus fromStatus, BetStatus toStatus) {
+    var ids = List.copyOf(betIds);
+    var updateCounts =
+        jdbcTemplate.batchUpdate(
+            "UPDATE bets SET status = ? WHERE id = ? AND status = ?",
+            ids,
+            BATCH_SIZE,
+            (statement, betId) -> {
+              statement.setString(1, toStatus.name());
+              statement.setInt(2, betId);
+              statement.setString(3, fromStatus.name());
+            });
+
+    var updatedBetIds = new ArrayList<Integer>(ids.size());
+    var index = 0;
+    for (var batch : updateCounts) {
+      for (var count : batch) {
+        if (count > 0) {
+          updatedBetIds.add(ids.get(index));
+        }
+        index++;
+      }
+    }
+    return updatedBetIds;
+  }
+
+  private List<Bet> insertBatch(List<Bet> bets) {
+    var keyHolder = new GeneratedKeyHolder();
+    jdbcTemplate.batchUpdate(
+        connection -> connection.prepareStatement(INSERT, new String[] {"id"}),
+        new BatchPreparedStatementSetter() {
+          @Override
+          public void setValues(PreparedStatement statement, int i) throws SQLException {
+            bind(statement, bets.get(i));
+          }
+
+          @Override
+          public int getBatchSize() {
+            return bets.size();
+          }
+        },
+        keyHolder);
+
+    var keys = keyHolder.getKeyList();
+    var saved = new ArrayList<Bet>(bets.size());
+    for (int i = 0; i < bets.size(); i++) {
+      var id = (Number) keys.get(i).values().iterator().next();
+      saved.add(copyWithId(bets.get(i), id.intValue()));
+    }
+    return saved;
+  }
+
+  private void bind(PreparedStatement statement, Bet bet) throws SQLException {
+    setNullableInt(statement, 1, bet.getUserId());
+    setNullableInt(statement, 2, bet.getEventId());
+    setNullableInt(statement, 3, bet.getDriverId());
+    statement.setLong(4, bet.getAmountInCents());
+    statement.setString(5, bet.getStatus().name());
+  }
+
+  private Bet toBet(ResultSet resultSet, int rowNum) throws SQLException {
+    return Bet.builder()
+        .id(resultSet.getInt("id"))
+        .userId(resultSet.getObject("user_id", Integer.class))
+        .eventId(resultSet.getObject("event_id", Integer.class))
+        .driverId(resultSet.getObject("driver_id", Integer.class))
+        .amountInCents(resultSet.getLong("amount_in_cents"))
+        .status(BetStatus.valueOf(resultSet.getString("status")))
+        .build();
+  }
+
+  private Bet copyWithId(Bet bet, int id) {
+    return Bet.builder()
+        .id(id)
+        .userId(bet.getUserId())
+        .eventId(bet.getEventId())
+        .driverId(bet.getDriverId())
+        .amountInCents(bet.getAmountInCents())
+        .status(bet.getStatus())
+        .build();
+  }
+
+  private static void setNullableInt(PreparedStatement statement, int index, Integer value)
+      throws SQLException {
+    if (value == null) {
+      statement.setNull(index, Types.INTEGER);
+    } else {
+      statement.setInt(index, value);
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package com.sg.f1bettingservice.persistence.jdbc;
+
+import com.sg.f1bettingservice.core.model.EventOutcome;
+import com.sg.f1bettingservice.core.model.SettlementCheckpoint;
+import com.sg.f1bettingservice.persistence.OutcomeRepository;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** {@link OutcomeRepository} backed by the {@code event_outcomes} and checkpoint tables. */
+public class JdbcOutcomeRepository implements OutcomeRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public JdbcOutcomeRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public EventOutcome save(EventOutcome eventOutcome) {
+    JdbcUpserts.upsert(
+        jdbcTemplate,
+        "UPDATE event_outcomes SET winner_driver_id = ?, bets_won = ?, bets_lost = ?"
+            + " WHERE event_id = ?",
+        "INSERT INTO event_outcomes (winner_driver_id, bets_won, bets_lost, event_id)"
+            + " VALUES (?, ?, ?, ?)",
+        eventOutcome.getWinnerDriverId(),
+        eventOutcome.getBetsWon(),
+        eventOutcome.getBetsLost(),
+        eventOutcome.getEventId());
+    return eventOutcome;
+  }
+
+  @Override
+  public Optional<EventOutcome> findByEventId(Integer eventId) {
+    return jdbcTemplate
+        .query(
+            "SELECT event_id, winner_driver_id, bets_won, bets_lost FROM event_outcomes"
+                + " WHERE event_id = ?",
+            this::toEventOutcome,
+            eventId)
+        .stream()
+        .findFirst();
+  }
+
+  @Override
+  public SettlementCheckpoint saveCheckpoint(SettlementCheckpoint checkpoint) {
+    JdbcUpserts.upsert(
+        jdbcTemplate,
+        "UPDATE settlement_checkpoints"
+            + " SET winner_driver_id = ?, last_bet_id = ?, bets_won = ?, bets_lost = ?"
+            + " WHERE event_id = ?",
+        "INSERT INTO settlement_checkpoints"
+            + " (winner_driver_id, last_bet_id, bets_won, bets_lost, event_id)"
+            + " VALUES (?, ?, ?, ?, ?)",
+        checkpoint.getWinnerDriverId(),
+        checkpoint.getLastBetId(),
+        checkpoint.getBetsWon(),
+        checkpoint.getBetsLost(),
+        checkpoint.getEventId());
+    return checkpoint;
+  }
+
+  @Override
+  public Optional<SettlementCheckpoint> findCheckpointByEventId(Integer eventId) {
+    return jdbcTemplate
+        .query(
+            "SELECT event_id, winner_driver_id, last_bet_id, bets_won, bets_lost"
+                + " FROM settlement_checkpoints WHERE event_id = ?",
+            this::toCheckpoint,
+            eventId)
+        .stream()
+        .findFirst();
+  }
+
+  private EventOutcome toEventOutcome(ResultSet resultSet, int rowNum) throws SQLException {
+    return EventOutcome.builder()
+        .eventId(resultSet.getInt("event_id"))
+        .winnerDriverId(resultSet.getObject("winner_driver_id", Integer.class))
+        .betsWon(resultSet.getObject("bets_won", Integer.class))
+        .betsLost(resultSet.getObject("bets_lost", Integer.class))
+        .build();
+  }
+
+  private SettlementCheckpoint toCheckpoint(ResultSet resultSet, int rowNum) throws SQLException {
+    return SettlementCheckpoint.builder()
+        .eventId(resultSet.getInt("event_id"))
+        .winnerDriverId(resultSet.getObject("winner_driver_id", Integer.class))
+        .lastBetId(resultSet.getInt("last_bet_id"))
+        .betsWon(resultSet.getInt("bets_won"))
+        .betsLost(resultSet.getInt("bets_lost"))
+        .build();
+  }
+}
@@ -0,0 +1,57 @@
+package com.sg.f1bettingservice.persistence.jdbc;
+
+import com.sg.f1bettingservice.persistence.BetRepository;
+import com.sg.f1bettingservice.persistence.OutcomeRepository;
+import com.sg.f1bettingservice.persistence.SettlementRepository;
+import com.sg.f1bettingservice.persistence.UserRepository;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DataSourceInitializer;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Replaces the in-memory repositories with JDBC ones when persistence.mode=jdbc, as set by the jdbc
+ * profile, which also enables the pooled spring.datasource the connections come from. The schema
+ * is created on startup if missing.
+ */
+@Configuration
+@ConditionalOnProperty(name = "persistence.mode", havingValue = "jdbc")
+public class JdbcPersistenceConfiguration {
+
+  static final String SCHEMA = "db/jdbc/schema.sql";
+
+  @Bean
+  public DataSourceInitializer jdbcSchemaInitializer(DataSource dataSource) {
+    var initializer = new DataSourceInitializer();
+    initializer.setDataSource(dataSource);
+    initializer.setDatabasePopulator(new ResourceDatabasePopulator(new ClassPathResource(SCHEMA)));
+    return initializer;
+  }
+
+  @Bean
+  public BetRepository jdbcBetRepository(JdbcTemplate jdbcTemplate) {
+    return new JdbcBetRepository(jdbcTemplate);
+  }
+
+  @Bean
+  public UserRepository jdbcUserRepository(
+      JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+    return new JdbcUserRepository(jdbcTemplate, transactionTemplate);
+  }
+
+  @Bean
+  public OutcomeRepository jdbcOutcomeRepository(JdbcTemplate jdbcTemplate) {
+    return new JdbcOutcomeRepository(jdbcTemplate);
+  }
+
+  @Bean
+  public SettlementRepository jdbcSettlementRepository(
+      JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+    return new JdbcSettlementRepository(jdbcTemplate, transactionTemplate);
+  }
+}
@@ -0,0 +1,85 @@
+package com.sg.f1bettingservice.persistence.jdbc;
+
+import static com.sg.f1bettingservice.core.model.BetStatus.LOST;
+import static com.sg.f1bettingservice.core.model.BetStatus.PLACED;
+import static com.sg.f1bettingservice.core.model.BetStatus.WON;
+
+import com.sg.f1bettingservice.core.model.Money;
+import com.sg.f1bettingservice.persistence.SettlementRepository;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link SettlementRepository} that settles a range of bets with four statements in one
+ * transaction: a grouped query of the credits, one {@code UPDATE} crediting every winning user, and
+ * one {@code UPDATE} per resulting status.
+ */
+public class JdbcSettlementRepository implements SettlementRepository {
+
+  private static final String WINNING_BETS =
+      "event_id = ? AND driver_id = ? AND status = ? AND id BETWEEN ? AND ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  public JdbcSettlementRepository(
+      JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  @Override
+  public Map<Integer, Long> settleRange(
+      Integer eventId, Integer winnerDriverId, int odds, int fromBetId, int toBetId) {
+    Object[] winningBets = {eventId, winnerDriverId, PLACED.name(), fromBetId, toBetId};
+    return transactionTemplate.execute(
+        status -> {
+          var credits = new HashMap<Integer, Long>();
+          jdbcTemplate.query(
+              "SELECT user_id, SUM(amount_in_cents) FROM bets WHERE "
+                  + WINNING_BETS
+                  + " AND user_id IS NOT NULL GROUP BY user_id",
+              resultSet -> {
+                credits.put(resultSet.getInt(1), Money.multiply(resultSet.getLong(2), odds));
+              },
+              winningBets);
+
+          jdbcTemplate.update(
+              "UPDATE users u SET balance_in_cents = balance_in_cents + CAST(? AS BIGINT) * ("
+                  + "SELECT SUM(amount_in_cents) FROM bets WHERE user_id = u.user_id AND "
+                  + WINNING_BETS
+                  + ") WHERE u.user_id IN (SELECT user_id FROM bets WHERE "
+                  + WINNING_BETS
+                  + ")",
+              concat(new Object[] {odds}, winningBets, winningBets));
+
+          jdbcTemplate.update(
+              "UPDATE bets SET status = ? WHERE " + WINNING_BETS,
+              concat(new Object[] {WON.name()}, winningBets));
+          jdbcTemplate.update(
+              "UPDATE bets SET status = ? WHERE event_id = ? AND status = ? AND id BETWEEN ? AND ?",
+              LOST.name(),
+              eventId,
+              PLACED.name(),
+              fromBetId,
+              toBetId);
+          return credits;
+        });
+  }
+
+  private static Object[] concat(Object[]... parts) {
+    var length = 0;
+    for (var part : parts) {
+      length += part.length;
+    }
+    var all = new Object[length];
+    var position = 0;
+    for (var part : parts) {
+      System.arraycopy(part, 0, all, position, part.length);
+      position += part.length;
+    }
+    return all;
+  }
+}
@@ -0,0 +1,29 @@
+package com.sg.f1bettingservice.persistence.jdbc;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Inserts or replaces a row with a plain {@code UPDATE} followed by an {@code INSERT} when no row
+ * was updated, so it runs on any database instead of relying on a vendor-specific upsert.
+ */
+final class JdbcUpserts {
+
+  private JdbcUpserts() {}
+
+  /**
+   * Runs {@code update} and, if it changed no row, {@code insert}. Both statements take the same
+   * {@code args} in the same order, key columns last. If a concurrent caller inserts the row first,
+   * the update is run again so the last writer wins as with a native upsert.
+   */
+  static void upsert(JdbcTemplate jdbcTemplate, String update, String insert, Object... args) {
+    if (jdbcTemplate.update(update, args) > 0) {
+      return;
+    }
+    try {
+      jdbcTemplate.update(insert, args);
+    } catch (DuplicateKeyException e) {
+      jdbcTemplate.update(update, args);
+    }
+  }
+}
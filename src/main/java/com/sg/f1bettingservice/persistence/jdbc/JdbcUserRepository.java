@@ -0,0 +1,144 @@
+package com.sg.f1bettingservice.persistence.jdbc;
+
+import com.sg.f1bettingservice.core.model.User;
+import com.sg.f1bettingservice.persistence.UserRepository;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link UserRepository} backed by the {@code users} table. Balance changes are conditional
+ * {@code UPDATE}s, so concurrent debits and credits are serialised by the database. Payouts are
+ * credited in the same transaction that inserts their bets into {@code paid_bets}.
+ */
+@Slf4j
+public class JdbcUserRepository implements UserRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  public JdbcUserRepository(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  @Override
+  public Optional<User> findById(Integer userId) {
+    return jdbcTemplate
+        .query(
+            "SELECT user_id, balance_in_cents FROM users WHERE user_id = ?", this::toUser, userId)
+        .stream()
+        .findFirst();
+  }
+
+  @Override
+  public User save(User user) {
+    JdbcUpserts.upsert(
+        jdbcTemplate,
+        "UPDATE users SET balance_in_cents = ? WHERE user_id = ?",
+        "INSERT INTO users (balance_in_cents, user_id) VALUES (?, ?)",
+        user.getBalanceInCents(),
+        user.getUserId());
+    return user;
+  }
+
+  @Override
+  public User findOrCreate(Integer userId, long initialBalanceInCents) {
+    var existing = findById(userId);
+    if (existing.isPresent()) {
+      return existing.get();
+    }
+    try {
+      jdbcTemplate.update(
+          "INSERT INTO users (user_id, balance_in_cents) VALUES (?, ?)",
+          userId,
+          initialBalanceInCents);
+    } catch (DuplicateKeyException e) {
+      log.debug("User {} was created concurrently", userId);
+    }
+    return findById(userId).orElseThrow();
+  }
+
+  @Override
+  public Optional<User> addToBalance(Integer userId, long amountInCents) {
+    var updated =
+        jdbcTemplate.update(
+            "UPDATE users SET balance_in_cents = balance_in_cents + ? WHERE user_id = ?",
+            amountInCents,
+            userId);
+    return updated == 0 ? Optional.empty() : findById(userId);
+  }
+
+  @Override
+  public void addToBalances(Map<Integer, Long> amountsInCentsByUserId) {
+    jdbcTemplate.batchUpdate(
+        "UPDATE users SET balance_in_cents = balance_in_cents + ? WHERE user_id = ?",
+        List.copyOf(amountsInCentsByUserId.entrySet()),
+        JdbcBetRepository.BATCH_SIZE,
+        (statement, credit) -> {
+          statement.setLong(1, credit.getValue());
+          statement.setInt(2, credit.getKey());
+        });
+  }
+
+  @Override
+  public void addPayouts(Collection<Integer> betIds, Map<Integer, Long> amountsInCentsByUserId) {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          jdbcTemplate.batchUpdate(
+              "INSERT INTO paid_bets (bet_id) VALUES (?)",
+              List.copyOf(betIds),
+              JdbcBetRepository.BATCH_SIZE,
+              (statement, betId) -> statement.setInt(1, betId));
+          addToBalances(amountsInCentsByUserId);
+        });
+  }
+
+  @Override
+  public Set<Integer> findPaidBetIds(Collection<Integer> betIds) {
+    if (betIds.isEmpty()) {
+      return Set.of();
+    }
+    var range = betIds.stream().mapToInt(Integer::intValue).summaryStatistics();
+    var wanted = Set.copyOf(betIds);
+    var paidBetIds = new HashSet<Integer>();
+    jdbcTemplate.query(
+        "SELECT bet_id FROM paid_bets WHERE bet_id BETWEEN ? AND ?",
+        resultSet -> {
+          var betId = resultSet.getInt(1);
+          if (wanted.contains(betId)) {
+            paidBetIds.add(betId);
+          }
+        },
+        range.getMin(),
+        range.getMax());
+    return paidBetIds;
+  }
+
+  @Override
+  public boolean subtractFromBalanceIfSufficient(Integer userId, long amountInCents) {
+    return jdbcTemplate.update(
+            "UPDATE users SET balance_in_cents = balance_in_cents - ?"
+                + " WHERE user_id = ? AND balance_in_cents >= ?",
+            amountInCents,
+            userId,
+            amountInCents)
+        == 1;
+  }
+
+  private User toUser(ResultSet resultSet, int rowNum) throws SQLException {
+    return User.builder()
+        .userId(resultSet.getInt("user_id"))
+        .balanceInCents(resultSet.getLong("balance_in_cents"))
+        .build();
+  }
+}
@@ -0,0 +1,346 @@
+package com.sg.f1bettingservice.persistence.mapped;
+
+import static java.util.Comparator.comparing;
+
+import com.sg.f1bettingservice.core.model.Bet;
+import com.sg.f1bettingservice.core.model.BetStatus;
+import com.sg.f1bettingservice.persistence.BetRepository;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link BetRepository} that keeps bets off the heap as fixed-width records in memory-mapped files.
+ * The bets of each event are appended to their own segment file, so {@link #findByEventId} is a
+ * sequential scan of one segment, and statuses are updated in place. The bets of a user are chained
+ * through their records, newest first, so the heap only holds one entry per event and per user.
+ *
+ * <p>A record holds the bet id, user id, event id, driver id, amount in cents, the id of the user's
+ * previous bet and the status; a status of 0 marks a slot without a bet. Records reach the files
+ * through the page cache, so bets survive a restart of the process but are not fsynced per bet.
+ */
+@Slf4j
+public class MappedBetRepository implements BetRepository, Closeable {
+
+  static final int RECORD_SIZE = 32;
+
+  private static final int ID = 0;
+  private static final int USER_ID = 4;
+  private static final int EVENT_ID = 8;
+  private static final int DRIVER_ID = 12;
+  private static final int AMOUNT = 16;
+  private static final int PREVIOUS_USER_BET_ID = 24;
+  private static final int STATUS = 28;
+
+  private static final int NULL = Integer.MIN_VALUE;
+  private static final int NO_BET = 0;
+  private static final int EMPTY = 0;
+  private static final long NO_LOCATION = 0;
+  private static final int LOCATION_SIZE = Long.BYTES;
+
+  private static final String SEGMENT_PREFIX = "bets-event-";
+  private static final String SEGMENT_SUFFIX = ".dat";
+  private static final String NO_EVENT = "none";
+  private static final String LOCATIONS_FILE = "bet-locations.idx";
+  private static final int USER_LOCK_STRIPES = 64;
+  private static final BetStatus[] BET_STATUSES = BetStatus.values();
+
+  private final Path directory;
+  private final int regionSize;
+  private final AtomicInteger sequence = new AtomicInteger(1);
+  private final AtomicInteger segmentNumbers = new AtomicInteger();
+  private final Map<Integer, Segment> segmentsByEventId = new ConcurrentHashMap<>();
+  private final Map<Integer, Segment> segmentsByNumber = new ConcurrentHashMap<>();
+  private final Map<Integer, Integer> lastBetIdByUserId = new ConcurrentHashMap<>();
+  private final ReentrantLock[] userLocks = new ReentrantLock[USER_LOCK_STRIPES];
+  private final ReentrantLock segmentLock = new ReentrantLock();
+  private final MappedRegions locations;
+
+  /**
+   * Opens the store in {@code directory}, recovering the bets of its segment files. Files grow in
+   * regions of {@code recordsPerRegion} records.
+   */
+  public MappedBetRepository(Path directory, int recordsPerRegion) throws IOException {
+    if (recordsPerRegion < 1) {
+      throw new IllegalArgumentException("Records per region must be positive");
+    }
+    Files.createDirectories(directory);
+    this.directory = directory;
+    this.regionSize = recordsPerRegion * RECORD_SIZE;
+    for (int i = 0; i < USER_LOCK_STRIPES; i++) {
+      userLocks[i] = new ReentrantLock();
+    }
+
+    var locationsFile = directory.resolve(LOCATIONS_FILE);
+    Files.deleteIfExists(locationsFile);
+    this.locations = new MappedRegions(locationsFile, regionSize);
+    recover();
+  }
+
+  @Override
+  public Bet save(
+      Integer userId, Integer eventId, Integer driverId, long amountInCents, BetStatus betStatus) {
+    var status = statusCode(betStatus);
+    var segment = segment(eventId == null ? NULL : eventId);
+    if (userId == null) {
+      return append(segment, null, eventId, driverId, amountInCents, status, NO_BET);
+    }
+
+    // Appending may grow the files, so it runs under a lock that parks virtual threads rather
+    // than inside a map's compute, whose monitor would pin them to their carrier.
+    var lock = userLocks[Math.floorMod(userId, USER_LOCK_STRIPES)];
+    lock.lock();
+    try {
+      var previous = lastBetIdByUserId.getOrDefault(userId, NO_BET);
+      var bet = append(segment, userId, eventId, driverId, amountInCents, status, previous);
+      lastBetIdByUserId.put(userId, bet.getId());
+      return bet;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public List<Bet> findByEventId(Integer eventId) {
+    if (eventId == null) {
+      return List.of();
+    }
+    var segment = segmentsByEventId.get(eventId);
+    if (segment == null) {
+      return List.of();
+    }
+
+    var records = segment.records();
+    var slots = Math.min(segment.size().get(), records.capacity() / RECORD_SIZE);
+    var bets = new ArrayList<Bet>();
+    for (long offset = 0; offset < slots * RECORD_SIZE; offset += RECORD_SIZE) {
+      var status = records.getIntAcquire(offset + STATUS);
+      if (status != EMPTY) {
+        bets.add(read(records, offset, status));
+      }
+    }
+    return bets;
+  }
+
+  @Override
+  public List<Bet> findByUserId(Integer userId) {
+    if (userId == null) {
+      return List.of();
+    }
+
+    var bets = new ArrayList<Bet>();
+    int betId = lastBetIdByUserId.getOrDefault(userId, NO_BET);
+    while (betId != NO_BET) {
+      var location = locate(betId);
+      if (location == NO_LOCATION) {
+        break;
+      }
+      var records = segmentOf(location).records();
+      var offset = offsetOf(location);
+      bets.add(read(records, offset, records.getIntAcquire(offset + STATUS)));
+      betId = records.getInt(offset + PREVIOUS_USER_BET_ID);
+    }
+    bets.sort(comparing(Bet::getId));
+    return bets;
+  }
+
+  @Override
+  public void updateBetStatus(Integer betId, BetStatus betStatus) {
+    var status = statusCode(betStatus);
+    var location = locate(betId);
+    if (location != NO_LOCATION) {
+      segmentOf(location).records().setIntRelease(offsetOf(location) + STATUS, status);
+    }
+  }
+
+  @Override
+  public List<Integer> updateBetStatuses(
+      Collection<Integer> betIds, BetStatus fromStatus, BetStatus toStatus) {
+    var from = statusCode(fromStatus);
+    var to = statusCode(toStatus);
+    var updatedBetIds = new ArrayList<Integer>(betIds.size());
+    for (var betId : betIds) {
+      var location = locate(betId);
+      if (location != NO_LOCATION
+          && segmentOf(location)
+              .records()
+              .compareAndSetInt(offsetOf(location) + STATUS, from, to)) {
+        updatedBetIds.add(betId);
+      }
+    }
+    return updatedBetIds;
+  }
+
+  @Override
+  public void close() throws IOException {
+    for (var segment : segmentsByNumber.values()) {
+      segment.records().close();
+    }
+    locations.close();
+  }
+
+  private Bet append(
+      Segment segment,
+      Integer userId,
+      Integer eventId,
+      Integer driverId,
+      long amountInCents,
+      int status,
+      int previousUserBetId) {
+    var id = sequence.getAndIncrement();
+    var slot = segment.size().getAndIncrement();
+    var records = segment.records();
+    var offset = (long) slot * RECORD_SIZE;
+    grow(records, offset + RECORD_SIZE);
+    grow(locations, (id + 1L) * LOCATION_SIZE);
+
+    records.putInt(offset + ID, id);
+    records.putInt(offset + USER_ID, orNull(userId));
+    records.putInt(offset + EVENT_ID, orNull(eventId));
+    records.putInt(offset + DRIVER_ID, orNull(driverId));
+    records.putLong(offset + AMOUNT, amountInCents);
+    records.putInt(offset + PREVIOUS_USER_BET_ID, previousUserBetId);
+    records.setIntRelease(offset + STATUS, status);
+    locations.setLongRelease((long) id * LOCATION_SIZE, location(segment, slot));
+
+    return read(records, offset, status);
+  }
+
+  private Bet read(MappedRegions records, long offset, int status) {
+    return Bet.builder()
+        .id(records.getInt(offset + ID))
+        .userId(nullable(records.getInt(offset + USER_ID)))
+        .eventId(nullable(records.getInt(offset + EVENT_ID)))
+        .driverId(nullable(records.getInt(offset + DRIVER_ID)))
+        .amountInCents(records.getLong(offset + AMOUNT))
+        .status(BET_STATUSES[status - 1])
+        .build();
+  }
+
+  private long locate(Integer betId) {
+    if (betId == null || betId < 1 || (betId + 1L) * LOCATION_SIZE > locations.capacity()) {
+      return NO_LOCATION;
+    }
+    return locations.getLongAcquire((long) betId * LOCATION_SIZE);
+  }
+
+  private long location(Segment segment, int slot) {
+    return (long) segment.number() << 32 | slot;
+  }
+
+  private Segment segmentOf(long location) {
+    return segmentsByNumber.get((int) (location >>> 32));
+  }
+
+  private long offsetOf(long location) {
+    return (long) (int) location * RECORD_SIZE;
+  }
+
+  private Segment segment(int eventKey) {
+    var segment = segmentsByEventId.get(eventKey);
+    if (segment != null) {
+      return segment;
+    }
+    // Opening maps files, so it runs under a lock that parks virtual threads rather than inside
+    // computeIfAbsent, whose bin monitor would pin them to their carrier.
+    segmentLock.lock();
+    try {
+      segment = segmentsByEventId.get(eventKey);
+      if (segment == null) {
+        segment = openSegment(eventKey);
+        segmentsByEventId.put(eventKey, segment);
+      }
+      return segment;
+    } finally {
+      segmentLock.unlock();
+    }
+  }
+
+  private Segment openSegment(int eventKey) {
+    var name = SEGMENT_PREFIX + (eventKey == NULL ? NO_EVENT : eventKey) + SEGMENT_SUFFIX;
+    try {
+      var segment =
+          new Segment(
+              segmentNumbers.incrementAndGet(),
+              new MappedRegions(directory.resolve(name), regionSize),
+              new AtomicInteger());
+      segmentsByNumber.put(segment.number(), segment);
+      return segment;
+    } catch (IOException e) {
+      throw new MappedStoreException("Failed to open bet segment " + name, e);
+    }
+  }
+
+  private void recover() throws IOException {
+    List<Path> files;
+    try (var paths = Files.list(directory)) {
+      files = paths.filter(this::isSegment).sorted().toList();
+    }
+
+    var recovered = 0;
+    for (var file : files) {
+      var name = file.getFileName().toString();
+      var eventKey =
+          name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+      var segment = segment(eventKey.equals(NO_EVENT) ? NULL : Integer.parseInt(eventKey));
+      var records = segment.records();
+      for (long offset = 0; offset < records.capacity(); offset += RECORD_SIZE) {
+        var status = records.getInt(offset + STATUS);
+        var id = records.getInt(offset + ID);
+        if (status == EMPTY || id < 1) {
+          continue;
+        }
+        var slot = (int) (offset / RECORD_SIZE);
+        segment.size().set(slot + 1);
+        sequence.accumulateAndGet(id + 1, Math::max);
+        locations.ensureCapacity((id + 1L) * LOCATION_SIZE);
+        locations.putLong((long) id * LOCATION_SIZE, location(segment, slot));
+        var userId = records.getInt(offset + USER_ID);
+        if (userId != NULL) {
+          lastBetIdByUserId.merge(userId, id, Math::max);
+        }
+        recovered++;
+      }
+    }
+    log.info("Recovered {} bets of {} events from {}", recovered, files.size(), directory);
+  }
+
+  private boolean isSegment(Path path) {
+    var name = path.getFileName().toString();
+    return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+  }
+
+  private void grow(MappedRegions regions, long bytes) {
+    try {
+      regions.ensureCapacity(bytes);
+    } catch (IOException e) {
+      throw new MappedStoreException("Failed to grow the bet store", e);
+    }
+  }
+
+  private static int statusCode(BetStatus status) {
+    if (status == null) {
+      throw new IllegalArgumentException("Bet status must be provided");
+    }
+    return status.ordinal() + 1;
+  }
+
+  private static int orNull(Integer value) {
+    return value == null ? NULL : value;
+  }
+
+  private static Integer nullable(int value) {
+    return value == NULL ? null : value;
+  }
+
+  private record Segment(int number, MappedRegions records, AtomicInteger size) {}
+}
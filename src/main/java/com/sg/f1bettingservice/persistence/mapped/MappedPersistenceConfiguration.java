@@ -0,0 +1,23 @@
+package com.sg.f1bettingservice.persistence.mapped;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Replaces the in-memory bet repository with a memory-mapped one when persistence.bets=mapped. */
+@Configuration
+@ConditionalOnProperty(name = "persistence.mode", havingValue = "memory", matchIfMissing = true)
+@ConditionalOnProperty(name = "persistence.bets", havingValue = "mapped")
+public class MappedPersistenceConfiguration {
+
+  @Bean(destroyMethod = "close")
+  public MappedBetRepository mappedBetRepository(
+      @Value("${persistence.mapped.directory}") Path directory,
+      @Value("${persistence.mapped.records-per-region}") int recordsPerRegion)
+      throws IOException {
+    return new MappedBetRepository(directory, recordsPerRegion);
+  }
+}
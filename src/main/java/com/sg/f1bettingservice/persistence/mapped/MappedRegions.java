@@ -0,0 +1,123 @@
+package com.sg.f1bettingservice.persistence.mapped;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A file mapped into memory in fixed-size regions, adding regions as the file grows. Offsets are
+ * absolute within the file; a value must not straddle two regions and callers must {@link
+ * #ensureCapacity(long) ensure} the capacity before accessing an offset.
+ */
+final class MappedRegions implements Closeable {
+
+  private static final VarHandle INTS =
+      MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+  private static final VarHandle LONGS =
+      MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+  private final FileChannel channel;
+  private final int regionSize;
+  private final ReentrantLock growLock = new ReentrantLock();
+
+  private volatile MappedByteBuffer[] regions = new MappedByteBuffer[0];
+
+  MappedRegions(Path file, int regionSize) throws IOException {
+    this.channel = FileChannel.open(file, CREATE, READ, WRITE);
+    this.regionSize = regionSize;
+    ensureCapacity(channel.size());
+  }
+
+  long capacity() {
+    return (long) regions.length * regionSize;
+  }
+
+  void ensureCapacity(long bytes) throws IOException {
+    if (bytes <= capacity()) {
+      return;
+    }
+    growLock.lock();
+    try {
+      var current = regions;
+      var needed = (int) ((bytes + regionSize - 1) / regionSize);
+      if (needed <= current.length) {
+        return;
+      }
+      var grown = Arrays.copyOf(current, needed);
+      for (int i = current.length; i < needed; i++) {
+        grown[i] = channel.map(READ_WRITE, (long) i * regionSize, regionSize);
+      }
+      regions = grown;
+    } finally {
+      growLock.unlock();
+    }
+  }
+
+  int getInt(long offset) {
+    return region(offset).getInt(position(offset));
+  }
+
+  void putInt(long offset, int value) {
+    region(offset).putInt(position(offset), value);
+  }
+
+  long getLong(long offset) {
+    return region(offset).getLong(position(offset));
+  }
+
+  void putLong(long offset, long value) {
+    region(offset).putLong(position(offset), value);
+  }
+
+  int getIntAcquire(long offset) {
+    return (int) INTS.getAcquire(region(offset), position(offset));
+  }
+
+  void setIntRelease(long offset, int value) {
+    INTS.setRelease(region(offset), position(offset), value);
+  }
+
+  boolean compareAndSetInt(long offset, int expected, int value) {
+    return INTS.compareAndSet(region(offset), position(offset), expected, value);
+  }
+
+  long getLongAcquire(long offset) {
+    return (long) LONGS.getAcquire(region(offset), position(offset));
+  }
+
+  void setLongRelease(long offset, long value) {
+    LONGS.setRelease(region(offset), position(offset), value);
+  }
+
+  void force() {
+    for (var region : regions) {
+      region.force();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    force();
+    channel.close();
+  }
+
+  private MappedByteBuffer region(long offset) {
+    return regions[(int) (offset / regionSize)];
+  }
+
+  private int position(long offset) {
+    return (int) (offset % regionSize);
+  }
+}
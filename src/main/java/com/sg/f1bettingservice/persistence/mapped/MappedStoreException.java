@@ -0,0 +1,7 @@
+package com.sg.f1bettingservice.persistence.mapped;
+
+public class MappedStoreException extends RuntimeException {
+  public MappedStoreException(String message, Throwable e) {
+    super(message, e);
+  }
+}
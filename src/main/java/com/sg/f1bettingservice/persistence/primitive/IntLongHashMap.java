@@ -0,0 +1,164 @@
+package com.sg.f1bettingservice.persistence.primitive;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Concurrent map from {@code int} keys to {@code long} values that boxes neither. Keys are spread
+ * over lock-striped segments, each an open-addressing table with linear probing. Reads are
+ * optimistic and only retried under the segment's read lock when a write interleaved. Entries are
+ * never removed. Absent values are reported as the {@code absent} value given by the caller, which
+ * must therefore never be stored.
+ */
+final class IntLongHashMap {
+
+  private static final int SEGMENTS = 64;
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int FREE = 0;
+  private static final int NOT_FOUND = Integer.MIN_VALUE;
+
+  private final Segment[] segments = new Segment[SEGMENTS];
+
+  IntLongHashMap() {
+    for (int i = 0; i < SEGMENTS; i++) {
+      segments[i] = new Segment();
+    }
+  }
+
+  long get(int key, long absent) {
+    var segment = segmentFor(key);
+    var stamp = segment.lock.tryOptimisticRead();
+    var value = segment.find(key, absent);
+    if (segment.lock.validate(stamp)) {
+      return value;
+    }
+    stamp = segment.lock.readLock();
+    try {
+      return segment.find(key, absent);
+    } finally {
+      segment.lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Maps {@code key} to the result of applying {@code remapping} to its current value, or to {@code
+   * absent} if there is none, and returns the new value. The function runs under the segment lock.
+   */
+  long compute(int key, long absent, LongUnaryOperator remapping) {
+    var segment = segmentFor(key);
+    var stamp = segment.lock.writeLock();
+    try {
+      var value = remapping.applyAsLong(segment.find(key, absent));
+      segment.put(key, value);
+      return value;
+    } finally {
+      segment.lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Remaps the value of {@code key} if present and returns the new value, or {@code absent} if the
+   * key is not mapped. The function runs under the segment lock.
+   */
+  long computeIfPresent(int key, long absent, LongUnaryOperator remapping) {
+    var segment = segmentFor(key);
+    var stamp = segment.lock.writeLock();
+    try {
+      var current = segment.find(key, absent);
+      if (current == absent) {
+        return absent;
+      }
+      var value = remapping.applyAsLong(current);
+      segment.put(key, value);
+      return value;
+    } finally {
+      segment.lock.unlockWrite(stamp);
+    }
+  }
+
+  private Segment segmentFor(int key) {
+    return segments[hash(key) & (SEGMENTS - 1)];
+  }
+
+  private static int hash(int key) {
+    var hash = key * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  private static final class Segment {
+
+    private final StampedLock lock = new StampedLock();
+
+    private Table table = new Table(new int[INITIAL_CAPACITY], new long[INITIAL_CAPACITY]);
+    private int size;
+    private boolean freeKeyMapped;
+    private long freeKeyValue;
+
+    /** Callers hold the lock or validate their optimistic read afterwards. */
+    long find(int key, long absent) {
+      if (key == FREE) {
+        return freeKeyMapped ? freeKeyValue : absent;
+      }
+      var current = table;
+      var slot = current.slotOf(key);
+      return slot >= 0 ? current.values()[slot] : absent;
+    }
+
+    /** Callers hold the write lock. */
+    void put(int key, long value) {
+      if (key == FREE) {
+        freeKeyMapped = true;
+        freeKeyValue = value;
+        return;
+      }
+      var slot = table.slotOf(key);
+      if (slot >= 0) {
+        table.values()[slot] = value;
+        return;
+      }
+      if ((size + 1) * 2 > table.keys().length) {
+        table = table.grow();
+        slot = table.slotOf(key);
+      }
+      var free = -slot - 1;
+      table.values()[free] = value;
+      table.keys()[free] = key;
+      size++;
+    }
+  }
+
+  private record Table(int[] keys, long[] values) {
+
+    /**
+     * Returns the slot holding {@code key}, {@code -(free slot) - 1} if the key is not in the
+     * table, or {@code NOT_FOUND} if neither was found, which only happens to inconsistent reads.
+     */
+    int slotOf(int key) {
+      var mask = keys.length - 1;
+      var slot = (hash(key) >>> 6) & mask;
+      for (int probes = 0; probes < keys.length; probes++) {
+        var candidate = keys[slot];
+        if (candidate == key) {
+          return slot;
+        }
+        if (candidate == FREE) {
+          return -slot - 1;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return NOT_FOUND;
+    }
+
+    Table grow() {
+      var grown = new Table(new int[keys.length * 2], new long[keys.length * 2]);
+      for (int slot = 0; slot < keys.length; slot++) {
+        if (keys[slot] != FREE) {
+          var free = -grown.slotOf(keys[slot]) - 1;
+          grown.keys[free] = keys[slot];
+          grown.values[free] = values[slot];
+        }
+      }
+      return grown;
+    }
+  }
+}
@@ -0,0 +1,208 @@
+package com.sg.f1bettingservice.persistence.primitive;
+
+import com.sg.f1bettingservice.core.model.Bet;
+import com.sg.f1bettingservice.core.model.BetStatus;
+import com.sg.f1bettingservice.persistence.BetRepository;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@link BetRepository} that stores bet fields in primitive columns indexed by bet id instead of
+ * one object per bet. Columns are allocated in fixed-size chunks as ids grow. The bets of an event
+ * and of a user are chained through per-bet columns, with the latest bet of each kept in a
+ * primitive map, so saving a bet or updating its status neither boxes nor allocates per bet.
+ * Statuses are updated with a compare-and-set, so only bets in the expected status move.
+ */
+@Repository
+@ConditionalOnProperty(name = "persistence.mode", havingValue = "memory", matchIfMissing = true)
+@ConditionalOnProperty(name = "persistence.bets", havingValue = "primitive")
+public class PrimitiveBetRepository implements BetRepository {
+
+  private static final int CHUNK_BITS = 14;
+  private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+  private static final int NULL = Integer.MIN_VALUE;
+  private static final int NO_BET = 0;
+  private static final byte EMPTY = 0;
+  private static final BetStatus[] BET_STATUSES = BetStatus.values();
+
+  private static final VarHandle STATUSES = MethodHandles.arrayElementVarHandle(byte[].class);
+
+  private final AtomicInteger sequence = new AtomicInteger(1);
+  private final IntLongHashMap lastBetIdByEventId = new IntLongHashMap();
+  private final IntLongHashMap lastBetIdByUserId = new IntLongHashMap();
+  private final ReentrantLock growLock = new ReentrantLock();
+
+  private volatile Chunk[] chunks = new Chunk[0];
+
+  @Override
+  public Bet save(
+      Integer userId, Integer eventId, Integer driverId, long amountInCents, BetStatus betStatus) {
+    var status = statusCode(betStatus);
+    var id = sequence.getAndIncrement();
+    var chunk = chunkFor(id);
+    var index = id & CHUNK_MASK;
+
+    chunk.userIds[index] = orNull(userId);
+    chunk.eventIds[index] = orNull(eventId);
+    chunk.driverIds[index] = orNull(driverId);
+    chunk.amountsInCents[index] = amountInCents;
+    STATUSES.setRelease(chunk.statuses, index, status);
+    if (eventId != null) {
+      lastBetIdByEventId.compute(
+          eventId, NO_BET, previous -> link(chunk.previousOfEvent, index, previous, id));
+    }
+    if (userId != null) {
+      lastBetIdByUserId.compute(
+          userId, NO_BET, previous -> link(chunk.previousOfUser, index, previous, id));
+    }
+
+    return Bet.builder()
+        .id(id)
+        .userId(userId)
+        .eventId(eventId)
+        .driverId(driverId)
+        .amountInCents(amountInCents)
+        .status(betStatus)
+        .build();
+  }
+
+  @Override
+  public List<Bet> findByEventId(Integer eventId) {
+    if (eventId == null) {
+      return List.of();
+    }
+    return findChained(lastBetIdByEventId.get(eventId, NO_BET), true);
+  }
+
+  @Override
+  public List<Bet> findByUserId(Integer userId) {
+    if (userId == null) {
+      return List.of();
+    }
+    return findChained(lastBetIdByUserId.get(userId, NO_BET), false);
+  }
+
+  @Override
+  public void updateBetStatus(Integer betId, BetStatus betStatus) {
+    var status = statusCode(betStatus);
+    var chunk = existingChunk(betId);
+    if (chunk == null) {
+      return;
+    }
+    var index = betId & CHUNK_MASK;
+    if ((byte) STATUSES.getAcquire(chunk.statuses, index) != EMPTY) {
+      STATUSES.setRelease(chunk.statuses, index, status);
+    }
+  }
+
+  @Override
+  public List<Integer> updateBetStatuses(
+      Collection<Integer> betIds, BetStatus fromStatus, BetStatus toStatus) {
+    var from = statusCode(fromStatus);
+    var to = statusCode(toStatus);
+    var updatedBetIds = new ArrayList<Integer>(betIds.size());
+    for (var betId : betIds) {
+      var chunk = existingChunk(betId);
+      if (chunk != null && STATUSES.compareAndSet(chunk.statuses, betId & CHUNK_MASK, from, to)) {
+        updatedBetIds.add(betId);
+      }
+    }
+    return updatedBetIds;
+  }
+
+  private List<Bet> findChained(long lastBetId, boolean byEvent) {
+    var bets = new ArrayList<Bet>();
+    var betId = (int) lastBetId;
+    while (betId != NO_BET) {
+      var chunk = chunks[betId >>> CHUNK_BITS];
+      var index = betId & CHUNK_MASK;
+      bets.add(read(chunk, betId, index));
+      betId = byEvent ? chunk.previousOfEvent[index] : chunk.previousOfUser[index];
+    }
+    return bets.reversed();
+  }
+
+  private Bet read(Chunk chunk, int betId, int index) {
+    var status = (byte) STATUSES.getAcquire(chunk.statuses, index);
+    return Bet.builder()
+        .id(betId)
+        .userId(nullable(chunk.userIds[index]))
+        .eventId(nullable(chunk.eventIds[index]))
+        .driverId(nullable(chunk.driverIds[index]))
+        .amountInCents(chunk.amountsInCents[index])
+        .status(BET_STATUSES[status - 1])
+        .build();
+  }
+
+  private long link(int[] previousBetIds, int index, long previousBetId, int betId) {
+    previousBetIds[index] = (int) previousBetId;
+    return betId;
+  }
+
+  private Chunk existingChunk(Integer betId) {
+    if (betId == null || betId < 1) {
+      return null;
+    }
+    var current = chunks;
+    var chunkIndex = betId >>> CHUNK_BITS;
+    return chunkIndex < current.length ? current[chunkIndex] : null;
+  }
+
+  private Chunk chunkFor(int betId) {
+    var chunkIndex = betId >>> CHUNK_BITS;
+    var current = chunks;
+    if (chunkIndex < current.length) {
+      return current[chunkIndex];
+    }
+    growLock.lock();
+    try {
+      current = chunks;
+      if (chunkIndex >= current.length) {
+        var grown = Arrays.copyOf(current, chunkIndex + 1);
+        for (int i = current.length; i < grown.length; i++) {
+          grown[i] = new Chunk();
+        }
+        chunks = grown;
+      }
+      return chunks[chunkIndex];
+    } finally {
+      growLock.unlock();
+    }
+  }
+
+  private static byte statusCode(BetStatus status) {
+    if (status == null) {
+      throw new IllegalArgumentException("Bet status must be provided");
+    }
+    return (byte) (status.ordinal() + 1);
+  }
+
+  private static int orNull(Integer value) {
+    return value == null ? NULL : value;
+  }
+
+  private static Integer nullable(int value) {
+    return value == NULL ? null : value;
+  }
+
+  /** Columns of {@code CHUNK_SIZE} consecutive bet ids; a status of 0 marks an unused id. */
+  private static final class Chunk {
+    private final int[] userIds = new int[CHUNK_SIZE];
+    private final int[] eventIds = new int[CHUNK_SIZE];
+    private final int[] driverIds = new int[CHUNK_SIZE];
+    private final long[] amountsInCents = new long[CHUNK_SIZE];
+    private final byte[] statuses = new byte[CHUNK_SIZE];
+    private final int[] previousOfEvent = new int[CHUNK_SIZE];
+    private final int[] previousOfUser = new int[CHUNK_SIZE];
+  }
+}
@@ -0,0 +1,105 @@
+package com.sg.f1bettingservice.persistence.primitive;
+
+import static com.sg.f1bettingservice.core.model.Money.add;
+import static com.sg.f1bettingservice.core.model.Money.subtract;
+
+import com.sg.f1bettingservice.core.model.User;
+import com.sg.f1bettingservice.persistence.UserRepository;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@link UserRepository} that keeps each balance as a primitive {@code long} keyed by the primitive
+ * user id, so neither lookups nor balance updates box or allocate map entries.
+ */
+@Repository
+@ConditionalOnProperty(name = "persistence.mode", havingValue = "memory", matchIfMissing = true)
+@ConditionalOnProperty(name = "persistence.users", havingValue = "primitive")
+public class PrimitiveUserRepository implements UserRepository {
+
+  private static final long NO_BALANCE = Long.MIN_VALUE;
+  private static final long UNPAID = 0;
+  private static final long PAID = 1;
+
+  private final IntLongHashMap balances = new IntLongHashMap();
+  private final IntLongHashMap paidBets = new IntLongHashMap();
+
+  @Override
+  public Optional<User> findById(Integer userId) {
+    return user(userId, balances.get(userId, NO_BALANCE));
+  }
+
+  @Override
+  public User save(User user) {
+    var balanceInCents = user.getBalanceInCents();
+    balances.compute(user.getUserId(), NO_BALANCE, current -> balanceInCents);
+    return user;
+  }
+
+  @Override
+  public User findOrCreate(Integer userId, long initialBalanceInCents) {
+    var balanceInCents =
+        balances.compute(
+            userId,
+            NO_BALANCE,
+            current -> current == NO_BALANCE ? initialBalanceInCents : current);
+    return User.builder().userId(userId).balanceInCents(balanceInCents).build();
+  }
+
+  @Override
+  public Optional<User> addToBalance(Integer userId, long amountInCents) {
+    var balanceInCents =
+        balances.computeIfPresent(userId, NO_BALANCE, current -> add(current, amountInCents));
+    return user(userId, balanceInCents);
+  }
+
+  @Override
+  public void addToBalances(Map<Integer, Long> amountsInCentsByUserId) {
+    amountsInCentsByUserId.forEach(this::addToBalance);
+  }
+
+  @Override
+  public void addPayouts(Collection<Integer> betIds, Map<Integer, Long> amountsInCentsByUserId) {
+    addToBalances(amountsInCentsByUserId);
+    betIds.forEach(betId -> paidBets.compute(betId, UNPAID, current -> PAID));
+  }
+
+  @Override
+  public Set<Integer> findPaidBetIds(Collection<Integer> betIds) {
+    var paidBetIds = new HashSet<Integer>();
+    for (var betId : betIds) {
+      if (paidBets.get(betId, UNPAID) == PAID) {
+        paidBetIds.add(betId);
+      }
+    }
+    return paidBetIds;
+  }
+
+  @Override
+  public boolean subtractFromBalanceIfSufficient(Integer userId, long amountInCents) {
+    var debited = new boolean[1];
+    balances.computeIfPresent(
+        userId,
+        NO_BALANCE,
+        current -> {
+          if (current < amountInCents) {
+            return current;
+          }
+          debited[0] = true;
+          return subtract(current, amountInCents);
+        });
+    return debited[0];
+  }
+
+  private Optional<User> user(Integer userId, long balanceInCents) {
+    if (balanceInCents == NO_BALANCE) {
+      return Optional.empty();
+    }
+    return Optional.of(User.builder().userId(userId).balanceInCents(balanceInCents).build());
+  }
+}
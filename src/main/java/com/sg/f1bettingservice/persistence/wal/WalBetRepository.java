@@ -0,0 +1,95 @@
+package com.sg.f1bettingservice.persistence.wal;
+
+import com.sg.f1bettingservice.core.model.Bet;
+import com.sg.f1bettingservice.core.model.BetStatus;
+import com.sg.f1bettingservice.persistence.BetRepository;
+import com.sg.f1bettingservice.persistence.inmemory.InMemoryBetRepository;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.BetSaved;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.BetStatusUpdated;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link BetRepository} that reads from memory and logs every mutation before applying it, so a
+ * mutation the log refuses is never visible. A new bet is logged before it becomes visible, so no
+ * status update can be logged ahead of it, and its id is returned only once the group-committed
+ * batch holding it is durable. Status updates are serialized so the bets they move are known before
+ * they are logged.
+ */
+@RequiredArgsConstructor
+public class WalBetRepository implements BetRepository {
+
+  private final InMemoryBetRepository bets;
+  private final WriteAheadLog writeAheadLog;
+  private final ReentrantLock statusUpdates = new ReentrantLock();
+
+  @Override
+  public Bet save(
+      Integer userId, Integer eventId, Integer driverId, long amountInCents, BetStatus betStatus) {
+    var bet =
+        Bet.builder()
+            .id(bets.nextId())
+            .userId(userId)
+            .eventId(eventId)
+            .driverId(driverId)
+            .amountInCents(amountInCents)
+            .status(betStatus)
+            .build();
+    var sequence = writeAheadLog.appendThenApply(new BetSaved(bet), () -> bets.restore(bet));
+    writeAheadLog.awaitDurable(sequence);
+    return bet;
+  }
+
+  @Override
+  public List<Bet> findByEventId(Integer eventId) {
+    return bets.findByEventId(eventId);
+  }
+
+  @Override
+  public List<Bet> findByUserId(Integer userId) {
+    return bets.findByUserId(userId);
+  }
+
+  @Override
+  public void updateBetStatus(Integer betId, BetStatus betStatus) {
+    long sequence;
+    statusUpdates.lock();
+    try {
+      sequence =
+          writeAheadLog.appendThenApply(
+              new BetStatusUpdated(betId, betStatus),
+              () -> bets.updateBetStatus(betId, betStatus));
+    } finally {
+      statusUpdates.unlock();
+    }
+    writeAheadLog.awaitDurable(sequence);
+  }
+
+  @Override
+  public List<Integer> updateBetStatuses(
+      Collection<Integer> betIds, BetStatus fromStatus, BetStatus toStatus) {
+    var updatedBetIds = new ArrayList<Integer>(betIds.size());
+    long sequence;
+    statusUpdates.lock();
+    try {
+      var records = new ArrayList<WalRecord>(betIds.size());
+      for (var betId : new LinkedHashSet<>(betIds)) {
+        if (bets.findById(betId).filter(bet -> bet.getStatus() == fromStatus).isPresent()) {
+          updatedBetIds.add(betId);
+          records.add(new BetStatusUpdated(betId, toStatus));
+        }
+      }
+      sequence =
+          writeAheadLog.appendThenApply(
+              records, () -> bets.updateBetStatuses(updatedBetIds, fromStatus, toStatus));
+    } finally {
+      statusUpdates.unlock();
+    }
+    writeAheadLog.awaitDurable(sequence);
+    return updatedBetIds;
+  }
+}
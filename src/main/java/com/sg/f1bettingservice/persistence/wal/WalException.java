@@ -0,0 +1,11 @@
+package com.sg.f1bettingservice.persistence.wal;
+
+public class WalException extends RuntimeException {
+  public WalException(String message, Throwable e) {
+    super(message, e);
+  }
+
+  public WalException(String message) {
+    super(message);
+  }
+}
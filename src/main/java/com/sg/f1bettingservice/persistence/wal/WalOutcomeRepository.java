@@ -0,0 +1,50 @@
+package com.sg.f1bettingservice.persistence.wal;
+
+import com.sg.f1bettingservice.core.model.EventOutcome;
+import com.sg.f1bettingservice.core.model.SettlementCheckpoint;
+import com.sg.f1bettingservice.persistence.OutcomeRepository;
+import com.sg.f1bettingservice.persistence.inmemory.InMemoryOutcomeRepository;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.CheckpointSaved;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.OutcomeSaved;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link OutcomeRepository} that reads from memory and logs every saved outcome and checkpoint
+ * before storing it in memory.
+ */
+@RequiredArgsConstructor
+public class WalOutcomeRepository implements OutcomeRepository {
+
+  private final InMemoryOutcomeRepository outcomes;
+  private final WriteAheadLog writeAheadLog;
+
+  @Override
+  public EventOutcome save(EventOutcome eventOutcome) {
+    var sequence =
+        writeAheadLog.appendThenApply(
+            new OutcomeSaved(eventOutcome), () -> outcomes.save(eventOutcome));
+    writeAheadLog.awaitDurable(sequence);
+    return eventOutcome;
+  }
+
+  @Override
+  public Optional<EventOutcome> findByEventId(Integer eventId) {
+    return outcomes.findByEventId(eventId);
+  }
+
+  @Override
+  public SettlementCheckpoint saveCheckpoint(SettlementCheckpoint checkpoint) {
+    var sequence =
+        writeAheadLog.appendThenApply(
+            new CheckpointSaved(checkpoint.toBuilder().build()),
+            () -> outcomes.saveCheckpoint(checkpoint));
+    writeAheadLog.awaitDurable(sequence);
+    return checkpoint;
+  }
+
+  @Override
+  public Optional<SettlementCheckpoint> findCheckpointByEventId(Integer eventId) {
+    return outcomes.findCheckpointByEventId(eventId);
+  }
+}
@@ -0,0 +1,45 @@
+package com.sg.f1bettingservice.persistence.wal;
+
+import com.sg.f1bettingservice.persistence.BetRepository;
+import com.sg.f1bettingservice.persistence.OutcomeRepository;
+import com.sg.f1bettingservice.persistence.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Replaces the in-memory repositories with write-ahead logged ones when persistence.mode=wal. */
+@Configuration
+@ConditionalOnProperty(name = "persistence.mode", havingValue = "wal")
+public class WalPersistenceConfiguration {
+
+  @Bean(destroyMethod = "close")
+  public WalStore walStore(
+      @Value("${persistence.wal.directory}") Path directory,
+      @Value("${persistence.wal.snapshot-interval}") Duration snapshotInterval,
+      @Value("${persistence.wal.max-batch-size}") int maxBatchSize,
+      @Value("${persistence.wal.max-batch-delay}") Duration maxBatchDelay,
+      MeterRegistry meterRegistry)
+      throws IOException {
+    return new WalStore(directory, snapshotInterval, maxBatchSize, maxBatchDelay, meterRegistry);
+  }
+
+  @Bean
+  public BetRepository walBetRepository(WalStore walStore) {
+    return new WalBetRepository(walStore.bets(), walStore.writeAheadLog());
+  }
+
+  @Bean
+  public UserRepository walUserRepository(WalStore walStore) {
+    return new WalUserRepository(walStore.users(), walStore.writeAheadLog());
+  }
+
+  @Bean
+  public OutcomeRepository walOutcomeRepository(WalStore walStore) {
+    return new WalOutcomeRepository(walStore.outcomes(), walStore.writeAheadLog());
+  }
+}
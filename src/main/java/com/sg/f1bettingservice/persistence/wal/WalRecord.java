@@ -0,0 +1,28 @@
+package com.sg.f1bettingservice.persistence.wal;
+
+import com.sg.f1bettingservice.core.model.Bet;
+import com.sg.f1bettingservice.core.model.BetStatus;
+import com.sg.f1bettingservice.core.model.EventOutcome;
+import com.sg.f1bettingservice.core.model.SettlementCheckpoint;
+import com.sg.f1bettingservice.core.model.User;
+import java.util.List;
+
+/**
+ * A mutation recorded in the write-ahead log. Records carry the resulting state rather than a
+ * delta, so replaying a record that is already reflected in a snapshot is harmless.
+ */
+public sealed interface WalRecord {
+
+  record BetSaved(Bet bet) implements WalRecord {}
+
+  record BetStatusUpdated(int betId, BetStatus status) implements WalRecord {}
+
+  record UserSaved(User user) implements WalRecord {}
+
+  /** The users credited with the payouts of the given bets, written together with the bet ids. */
+  record PayoutsAdded(List<Integer> betIds, List<User> users) implements WalRecord {}
+
+  record OutcomeSaved(EventOutcome outcome) implements WalRecord {}
+
+  record CheckpointSaved(SettlementCheckpoint checkpoint) implements WalRecord {}
+}
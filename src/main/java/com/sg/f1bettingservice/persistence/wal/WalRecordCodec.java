@@ -0,0 +1,158 @@
+package com.sg.f1bettingservice.persistence.wal;
+
+import com.sg.f1bettingservice.core.model.Bet;
+import com.sg.f1bettingservice.core.model.BetStatus;
+import com.sg.f1bettingservice.core.model.EventOutcome;
+import com.sg.f1bettingservice.core.model.SettlementCheckpoint;
+import com.sg.f1bettingservice.core.model.User;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.BetSaved;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.BetStatusUpdated;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.CheckpointSaved;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.OutcomeSaved;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.PayoutsAdded;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.UserSaved;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Binary encoding of {@link WalRecord}s: a type byte followed by the record fields. */
+final class WalRecordCodec {
+
+  private static final byte BET_SAVED = 1;
+  private static final byte BET_STATUS_UPDATED = 2;
+  private static final byte USER_SAVED = 3;
+  private static final byte OUTCOME_SAVED = 4;
+  private static final byte CHECKPOINT_SAVED = 5;
+  private static final byte PAYOUTS_ADDED = 6;
+
+  private WalRecordCodec() {}
+
+  static void write(WalRecord record, DataOutput out) throws IOException {
+    switch (record) {
+      case BetSaved(var bet) -> {
+        out.writeByte(BET_SAVED);
+        writeNullableInt(bet.getId(), out);
+        writeNullableInt(bet.getUserId(), out);
+        writeNullableInt(bet.getEventId(), out);
+        writeNullableInt(bet.getDriverId(), out);
+        out.writeLong(bet.getAmountInCents());
+        writeStatus(bet.getStatus(), out);
+      }
+      case BetStatusUpdated(var betId, var status) -> {
+        out.writeByte(BET_STATUS_UPDATED);
+        out.writeInt(betId);
+        writeStatus(status, out);
+      }
+      case UserSaved(var user) -> {
+        out.writeByte(USER_SAVED);
+        writeUser(user, out);
+      }
+      case PayoutsAdded(var betIds, var users) -> {
+        out.writeByte(PAYOUTS_ADDED);
+        out.writeInt(betIds.size());
+        for (var betId : betIds) {
+          out.writeInt(betId);
+        }
+        out.writeInt(users.size());
+        for (var user : users) {
+          writeUser(user, out);
+        }
+      }
+      case OutcomeSaved(var outcome) -> {
+        out.writeByte(OUTCOME_SAVED);
+        writeNullableInt(outcome.getEventId(), out);
+        writeNullableInt(outcome.getWinnerDriverId(), out);
+        writeNullableInt(outcome.getBetsWon(), out);
+        writeNullableInt(outcome.getBetsLost(), out);
+      }
+      case CheckpointSaved(var checkpoint) -> {
+        out.writeByte(CHECKPOINT_SAVED);
+        writeNullableInt(checkpoint.getEventId(), out);
+        writeNullableInt(checkpoint.getWinnerDriverId(), out);
+        out.writeInt(checkpoint.getLastBetId());
+        out.writeInt(checkpoint.getBetsWon());
+        out.writeInt(checkpoint.getBetsLost());
+      }
+    }
+  }
+
+  static WalRecord read(DataInput in) throws IOException {
+    var type = in.readByte();
+    return switch (type) {
+      case BET_SAVED ->
+          new BetSaved(
+              Bet.builder()
+                  .id(readNullableInt(in))
+                  .userId(readNullableInt(in))
+                  .eventId(readNullableInt(in))
+                  .driverId(readNullableInt(in))
+                  .amountInCents(in.readLong())
+                  .status(readStatus(in))
+                  .build());
+      case BET_STATUS_UPDATED -> new BetStatusUpdated(in.readInt(), readStatus(in));
+      case USER_SAVED -> new UserSaved(readUser(in));
+      case PAYOUTS_ADDED -> readPayoutsAdded(in);
+      case OUTCOME_SAVED ->
+          new OutcomeSaved(
+              EventOutcome.builder()
+                  .eventId(readNullableInt(in))
+                  .winnerDriverId(readNullableInt(in))
+                  .betsWon(readNullableInt(in))
+                  .betsLost(readNullableInt(in))
+                  .build());
+      case CHECKPOINT_SAVED ->
+          new CheckpointSaved(
+              SettlementCheckpoint.builder()
+                  .eventId(readNullableInt(in))
+                  .winnerDriverId(readNullableInt(in))
+                  .lastBetId(in.readInt())
+                  .betsWon(in.readInt())
+                  .betsLost(in.readInt())
+                  .build());
+      default -> throw new WalException("Unknown write-ahead log record type " + type);
+    };
+  }
+
+  private static PayoutsAdded readPayoutsAdded(DataInput in) throws IOException {
+    var betIds = new ArrayList<Integer>();
+    for (int i = in.readInt(); i > 0; i--) {
+      betIds.add(in.readInt());
+    }
+    var users = new ArrayList<User>();
+    for (int i = in.readInt(); i > 0; i--) {
+      users.add(readUser(in));
+    }
+    return new PayoutsAdded(List.copyOf(betIds), List.copyOf(users));
+  }
+
+  private static void writeUser(User user, DataOutput out) throws IOException {
+    writeNullableInt(user.getUserId(), out);
+    out.writeLong(user.getBalanceInCents());
+  }
+
+  private static User readUser(DataInput in) throws IOException {
+    return User.builder().userId(readNullableInt(in)).balanceInCents(in.readLong()).build();
+  }
+
+  private static void writeNullableInt(Integer value, DataOutput out) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeInt(value);
+    }
+  }
+
+  private static Integer readNullableInt(DataInput in) throws IOException {
+    return in.readBoolean() ? in.readInt() : null;
+  }
+
+  private static void writeStatus(BetStatus status, DataOutput out) throws IOException {
+    out.writeUTF(status == null ? "" : status.name());
+  }
+
+  private static BetStatus readStatus(DataInput in) throws IOException {
+    var name = in.readUTF();
+    return name.isEmpty() ? null : BetStatus.valueOf(name);
+  }
+}
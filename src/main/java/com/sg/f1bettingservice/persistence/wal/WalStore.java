@@ -0,0 +1,127 @@
+package com.sg.f1bettingservice.persistence.wal;
+
+import com.sg.f1bettingservice.persistence.inmemory.InMemoryBetRepository;
+import com.sg.f1bettingservice.persistence.inmemory.InMemoryOutcomeRepository;
+import com.sg.f1bettingservice.persistence.inmemory.InMemoryUserRepository;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.BetSaved;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.BetStatusUpdated;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.CheckpointSaved;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.OutcomeSaved;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.PayoutsAdded;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.UserSaved;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory repositories backed by a {@link WriteAheadLog}. On creation the repositories are
+ * rebuilt from the latest snapshot and the log tail; afterwards a snapshot is taken every {@code
+ * snapshotInterval} and once more on close, so the log replayed on the next start stays short.
+ */
+@Slf4j
+public class WalStore implements Closeable {
+
+  private static final int PAID_BET_IDS_PER_RECORD = 1_024;
+
+  private final InMemoryBetRepository bets = new InMemoryBetRepository();
+  private final InMemoryUserRepository users = new InMemoryUserRepository();
+  private final InMemoryOutcomeRepository outcomes = new InMemoryOutcomeRepository();
+  private final WriteAheadLog writeAheadLog;
+  private final ScheduledExecutorService snapshots;
+
+  public WalStore(
+      Path directory,
+      Duration snapshotInterval,
+      int maxBatchSize,
+      Duration maxBatchDelay,
+      MeterRegistry meterRegistry)
+      throws IOException {
+    this.writeAheadLog =
+        WriteAheadLog.open(directory, maxBatchSize, maxBatchDelay, meterRegistry, this::apply);
+    log.info(
+        "Recovered {} bets, {} users and {} outcomes from {}",
+        bets.findAll().size(),
+        users.findAll().size(),
+        outcomes.findAll().size(),
+        directory);
+
+    this.snapshots =
+        Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("wal-snapshot").daemon().factory());
+    var intervalMillis = snapshotInterval.toMillis();
+    snapshots.scheduleWithFixedDelay(
+        this::snapshotQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  InMemoryBetRepository bets() {
+    return bets;
+  }
+
+  InMemoryUserRepository users() {
+    return users;
+  }
+
+  InMemoryOutcomeRepository outcomes() {
+    return outcomes;
+  }
+
+  WriteAheadLog writeAheadLog() {
+    return writeAheadLog;
+  }
+
+  public void snapshot() throws IOException {
+    writeAheadLog.snapshot(this::writeState);
+  }
+
+  @Override
+  public void close() throws IOException {
+    snapshots.shutdownNow();
+    snapshotQuietly();
+    writeAheadLog.close();
+  }
+
+  private void writeState(Consumer<WalRecord> sink) {
+    bets.findAll().forEach(bet -> sink.accept(new BetSaved(bet)));
+    users.findAll().forEach(user -> sink.accept(new UserSaved(user)));
+    var paidBetIds = users.findAllPaidBetIds();
+    for (int from = 0; from < paidBetIds.size(); from += PAID_BET_IDS_PER_RECORD) {
+      var to = Math.min(from + PAID_BET_IDS_PER_RECORD, paidBetIds.size());
+      sink.accept(new PayoutsAdded(paidBetIds.subList(from, to), List.of()));
+    }
+    outcomes.findAll().forEach(outcome -> sink.accept(new OutcomeSaved(outcome)));
+    outcomes
+        .findAllCheckpoints()
+        .forEach(checkpoint -> sink.accept(new CheckpointSaved(checkpoint)));
+  }
+
+  private void snapshotQuietly() {
+    try {
+      snapshot();
+    } catch (IOException | RuntimeException e) {
+      log.error("Failed to snapshot the write-ahead log", e);
+    }
+  }
+
+  private void apply(WalRecord record) {
+    switch (record) {
+      case BetSaved(var bet) -> bets.restore(bet);
+      case BetStatusUpdated(var betId, var status) -> bets.updateBetStatus(betId, status);
+      case UserSaved(var user) -> users.save(user);
+      case PayoutsAdded(var betIds, var credited) -> {
+        credited.forEach(users::save);
+        users.addPayouts(betIds, Map.of());
+      }
+      case OutcomeSaved(var outcome) -> outcomes.save(outcome);
+      case CheckpointSaved(var checkpoint) -> outcomes.saveCheckpoint(checkpoint);
+    }
+  }
+}
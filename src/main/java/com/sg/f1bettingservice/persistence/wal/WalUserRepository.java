@@ -0,0 +1,194 @@
+package com.sg.f1bettingservice.persistence.wal;
+
+import static com.sg.f1bettingservice.core.model.Money.add;
+import static com.sg.f1bettingservice.core.model.Money.subtract;
+
+import com.sg.f1bettingservice.core.model.User;
+import com.sg.f1bettingservice.persistence.UserRepository;
+import com.sg.f1bettingservice.persistence.inmemory.InMemoryUserRepository;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.PayoutsAdded;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.UserSaved;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link UserRepository} that reads from memory and logs the resulting user of every mutation
+ * before storing it, so a mutation the log refuses is never visible. Mutations of one user are
+ * serialized by a lock stripe, which keeps the state they start from current and the log holding
+ * its states in the order they were applied; the caller then waits for durability outside the
+ * stripe. Payouts are logged as one record holding the paid bets and the credited users, under the
+ * stripes of all those users.
+ */
+public class WalUserRepository implements UserRepository {
+
+  private static final int STRIPES = 64;
+
+  private final InMemoryUserRepository users;
+  private final WriteAheadLog writeAheadLog;
+  private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+  public WalUserRepository(InMemoryUserRepository users, WriteAheadLog writeAheadLog) {
+    this.users = users;
+    this.writeAheadLog = writeAheadLog;
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+  }
+
+  @Override
+  public Optional<User> findById(Integer userId) {
+    return users.findById(userId);
+  }
+
+  @Override
+  public User save(User user) {
+    var stripe = stripeOf(user.getUserId());
+    long sequence;
+    stripe.lock();
+    try {
+      sequence = appendThenSave(user);
+    } finally {
+      stripe.unlock();
+    }
+    writeAheadLog.awaitDurable(sequence);
+    return user;
+  }
+
+  @Override
+  public User findOrCreate(Integer userId, long initialBalanceInCents) {
+    var existing = users.findById(userId);
+    if (existing.isPresent()) {
+      return existing.get();
+    }
+
+    var stripe = stripeOf(userId);
+    User user;
+    var sequence = 0L;
+    stripe.lock();
+    try {
+      existing = users.findById(userId);
+      if (existing.isPresent()) {
+        user = existing.get();
+      } else {
+        user = User.builder().userId(userId).balanceInCents(initialBalanceInCents).build();
+        sequence = appendThenSave(user);
+      }
+    } finally {
+      stripe.unlock();
+    }
+    writeAheadLog.awaitDurable(sequence);
+    return user;
+  }
+
+  @Override
+  public Optional<User> addToBalance(Integer userId, long amountInCents) {
+    var stripe = stripeOf(userId);
+    Optional<User> user;
+    var sequence = 0L;
+    stripe.lock();
+    try {
+      user = credited(userId, amountInCents);
+      if (user.isPresent()) {
+        sequence = appendThenSave(user.get());
+      }
+    } finally {
+      stripe.unlock();
+    }
+    writeAheadLog.awaitDurable(sequence);
+    return user;
+  }
+
+  @Override
+  public void addToBalances(Map<Integer, Long> amountsInCentsByUserId) {
+    var sequence = 0L;
+    for (var entry : amountsInCentsByUserId.entrySet()) {
+      var stripe = stripeOf(entry.getKey());
+      stripe.lock();
+      try {
+        var user = credited(entry.getKey(), entry.getValue());
+        if (user.isPresent()) {
+          sequence = appendThenSave(user.get());
+        }
+      } finally {
+        stripe.unlock();
+      }
+    }
+    writeAheadLog.awaitDurable(sequence);
+  }
+
+  @Override
+  public void addPayouts(Collection<Integer> betIds, Map<Integer, Long> amountsInCentsByUserId) {
+    var stripeIndexes = new TreeSet<Integer>();
+    amountsInCentsByUserId.keySet().forEach(userId -> stripeIndexes.add(stripeIndexOf(userId)));
+    long sequence;
+    stripeIndexes.forEach(index -> stripes[index].lock());
+    try {
+      var credited = new ArrayList<User>(amountsInCentsByUserId.size());
+      amountsInCentsByUserId.forEach(
+          (userId, amountInCents) -> credited(userId, amountInCents).ifPresent(credited::add));
+      sequence =
+          writeAheadLog.appendThenApply(
+              new PayoutsAdded(List.copyOf(betIds), credited),
+              () -> users.addPayouts(betIds, amountsInCentsByUserId));
+    } finally {
+      stripeIndexes.descendingSet().forEach(index -> stripes[index].unlock());
+    }
+    writeAheadLog.awaitDurable(sequence);
+  }
+
+  @Override
+  public Set<Integer> findPaidBetIds(Collection<Integer> betIds) {
+    return users.findPaidBetIds(betIds);
+  }
+
+  @Override
+  public boolean subtractFromBalanceIfSufficient(Integer userId, long amountInCents) {
+    var stripe = stripeOf(userId);
+    boolean debited;
+    var sequence = 0L;
+    stripe.lock();
+    try {
+      var user = users.findById(userId);
+      debited = user.isPresent() && user.get().getBalanceInCents() >= amountInCents;
+      if (debited) {
+        var balanceInCents = subtract(user.get().getBalanceInCents(), amountInCents);
+        sequence = appendThenSave(user.get().toBuilder().balanceInCents(balanceInCents).build());
+      }
+    } finally {
+      stripe.unlock();
+    }
+    writeAheadLog.awaitDurable(sequence);
+    return debited;
+  }
+
+  /** The user with {@code amountInCents} added to its balance, not stored yet. */
+  private Optional<User> credited(Integer userId, long amountInCents) {
+    return users
+        .findById(userId)
+        .map(
+            user ->
+                user.toBuilder()
+                    .balanceInCents(add(user.getBalanceInCents(), amountInCents))
+                    .build());
+  }
+
+  /** Logs the user and only then stores it; the caller holds the stripe of the user. */
+  private long appendThenSave(User user) {
+    return writeAheadLog.appendThenApply(
+        new UserSaved(user.toBuilder().build()), () -> users.save(user));
+  }
+
+  private ReentrantLock stripeOf(Integer userId) {
+    return stripes[stripeIndexOf(userId)];
+  }
+
+  private static int stripeIndexOf(Integer userId) {
+    return Math.floorMod(userId == null ? 0 : userId, STRIPES);
+  }
+}
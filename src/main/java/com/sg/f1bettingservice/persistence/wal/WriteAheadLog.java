@@ -0,0 +1,514 @@
+package com.sg.f1bettingservice.persistence.wal;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only, group-committed log of {@link WalRecord}s stored as numbered segment files in one
+ * directory. Callers {@link #append(WalRecord) append} records and then {@link #awaitDurable(long)
+ * wait} until a single writer thread has written and fsynced the batch holding them, so concurrent
+ * callers share one fsync. Once a record is pending the writer lingers up to {@code maxBatchDelay}
+ * for more, and writes at most {@code maxBatchSize} records per fsync, so bursts of appends are
+ * committed in large batches while a lone append waits no longer than the delay.
+ *
+ * <p>A {@link #snapshot(Consumer) snapshot} rotates the log to a new segment, writes the full
+ * state next to it and deletes the older segments. Every frame is length-prefixed and followed by a
+ * CRC32 of its payload; replay stops at the first torn or corrupt frame of a segment, including one
+ * whose length is not positive or exceeds {@link #MAX_FRAME_LENGTH}.
+ */
+@Slf4j
+public class WriteAheadLog implements Closeable {
+
+  private static final String SEGMENT_PREFIX = "wal-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final String SNAPSHOT_PREFIX = "snapshot-";
+  private static final String SNAPSHOT_SUFFIX = ".bin";
+
+  /** Largest payload of a frame, far above any record, so a corrupt length is never allocated. */
+  static final int MAX_FRAME_LENGTH = 64 * 1024 * 1024;
+
+  static final String BATCH_SIZE_METRIC = "wal.batch.size";
+  static final String FSYNC_METRIC = "wal.fsync";
+  static final String COMMIT_LATENCY_METRIC = "wal.commit.latency";
+
+  private final Path directory;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition appended = lock.newCondition();
+  private final Condition written = lock.newCondition();
+  private final ReentrantReadWriteLock mutations = new ReentrantReadWriteLock();
+  private final int maxBatchSize;
+  private final long maxBatchDelayNanos;
+  private final DistributionSummary batchSize;
+  private final Timer fsyncs;
+  private final Timer commitLatency;
+  private final Thread writer;
+
+  private final ArrayDeque<WalRecord> pending = new ArrayDeque<>();
+  private long appendedSequence;
+  private long durableSequence;
+  private long requestedRotations;
+  private long completedRotations;
+  private boolean closed;
+  private Exception failure;
+
+  private FileChannel segment;
+  private long generation;
+
+  private WriteAheadLog(
+      Path directory,
+      long generation,
+      int maxBatchSize,
+      Duration maxBatchDelay,
+      MeterRegistry meterRegistry)
+      throws IOException {
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("Max batch size must be positive");
+    }
+    this.directory = directory;
+    this.maxBatchSize = maxBatchSize;
+    this.maxBatchDelayNanos = maxBatchDelay.toNanos();
+    this.batchSize =
+        DistributionSummary.builder(BATCH_SIZE_METRIC)
+            .description("Records written to the write-ahead log per fsync")
+            .register(meterRegistry);
+    this.fsyncs =
+        Timer.builder(FSYNC_METRIC)
+            .description("Writes and fsyncs of write-ahead log batches")
+            .register(meterRegistry);
+    this.commitLatency =
+        Timer.builder(COMMIT_LATENCY_METRIC)
+            .description("Time callers wait for their write-ahead log records to become durable")
+            .register(meterRegistry);
+    openSegment(generation);
+    this.writer = Thread.ofPlatform().name("wal-writer").daemon().start(this::writeLoop);
+  }
+
+  /**
+   * Rebuilds the state stored in {@code directory} by passing the records of the latest snapshot
+   * and of every later segment to {@code recovery}, then opens a new segment for appends.
+   */
+  public static WriteAheadLog open(
+      Path directory,
+      int maxBatchSize,
+      Duration maxBatchDelay,
+      MeterRegistry meterRegistry,
+      Consumer<WalRecord> recovery)
+      throws IOException {
+    Files.createDirectories(directory);
+    var snapshotGeneration = latestGeneration(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+    var fromGeneration = 0L;
+    if (snapshotGeneration.isPresent()) {
+      fromGeneration = snapshotGeneration.getAsLong();
+      var snapshot = file(directory, SNAPSHOT_PREFIX, fromGeneration, SNAPSHOT_SUFFIX);
+      if (!readFrames(snapshot, recovery)) {
+        throw new WalException("Snapshot " + snapshot + " is corrupt");
+      }
+    }
+
+    var lastGeneration = fromGeneration;
+    for (var generation : generations(directory, SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+      if (generation >= fromGeneration) {
+        var segment = file(directory, SEGMENT_PREFIX, generation, SEGMENT_SUFFIX);
+        if (!readFrames(segment, recovery)) {
+          log.warn("Ignoring torn tail of write-ahead log segment {}", segment);
+        }
+        lastGeneration = Math.max(lastGeneration, generation);
+      }
+    }
+    return new WriteAheadLog(
+        directory, lastGeneration + 1, maxBatchSize, maxBatchDelay, meterRegistry);
+  }
+
+  /** Queues a record for the next group commit and returns its sequence number. */
+  public long append(WalRecord record) {
+    return appendAll(List.of(record));
+  }
+
+  /**
+   * Queues all records for the next group commits, or none if the log is not writable, and returns
+   * the sequence number of the last one, or 0 when there are none.
+   */
+  public long appendAll(List<WalRecord> records) {
+    if (records.isEmpty()) {
+      return 0;
+    }
+    lock.lock();
+    try {
+      ensureWritable();
+      var wasEmpty = pending.isEmpty();
+      pending.addAll(records);
+      if (wasEmpty || pending.size() >= maxBatchSize) {
+        appended.signal();
+      }
+      appendedSequence += records.size();
+      return appendedSequence;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Queues the records of a mutation and only then applies it in memory with {@code apply}, both
+   * under the {@link #mutationLock() mutation lock}, so a log that refuses the records leaves
+   * memory untouched. Returns the sequence number to {@link #awaitDurable(long) wait} for.
+   */
+  public long appendThenApply(List<WalRecord> records, Runnable apply) {
+    var mutationLock = mutationLock();
+    mutationLock.lock();
+    try {
+      var sequence = appendAll(records);
+      apply.run();
+      return sequence;
+    } finally {
+      mutationLock.unlock();
+    }
+  }
+
+  public long appendThenApply(WalRecord record, Runnable apply) {
+    return appendThenApply(List.of(record), apply);
+  }
+
+  /** Blocks until the record with the given sequence number is durably stored. */
+  public void awaitDurable(long sequence) {
+    var startedAt = System.nanoTime();
+    lock.lock();
+    try {
+      while (durableSequence < sequence && failure == null) {
+        written.awaitUninterruptibly();
+      }
+      if (durableSequence < sequence) {
+        throw new WalException("Write-ahead log is not writable", failure);
+      }
+    } finally {
+      lock.unlock();
+      commitLatency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  public void appendAndAwait(WalRecord record) {
+    awaitDurable(append(record));
+  }
+
+  /**
+   * Lock to hold while appending a record whose change is applied in memory only after the append.
+   * Snapshots rotate the log under the matching write lock, so the state they capture includes
+   * every record of the segments they supersede.
+   */
+  public Lock mutationLock() {
+    return mutations.readLock();
+  }
+
+  /**
+   * Rotates the log and stores the full state produced by {@code state} as the snapshot of the new
+   * segment. State captured after the rotation may already include records of the new segment;
+   * replaying them over the snapshot is harmless because records carry resulting state.
+   */
+  public void snapshot(Consumer<Consumer<WalRecord>> state) throws IOException {
+    long snapshotGeneration;
+    mutations.writeLock().lock();
+    try {
+      snapshotGeneration = rotate();
+    } finally {
+      mutations.writeLock().unlock();
+    }
+    var snapshot = file(directory, SNAPSHOT_PREFIX, snapshotGeneration, SNAPSHOT_SUFFIX);
+    var temporary = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+
+    try (var channel = FileChannel.open(temporary, CREATE, TRUNCATE_EXISTING, WRITE)) {
+      var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+      var frames = new FrameEncoder();
+      state.accept(record -> frames.encode(record, out));
+      out.flush();
+      channel.force(true);
+    }
+    Files.move(temporary, snapshot, ATOMIC_MOVE);
+    syncDirectory();
+
+    for (var generation : generations(directory, SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+      if (generation < snapshotGeneration) {
+        Files.delete(file(directory, SEGMENT_PREFIX, generation, SEGMENT_SUFFIX));
+      }
+    }
+    for (var generation : generations(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+      if (generation < snapshotGeneration) {
+        Files.delete(file(directory, SNAPSHOT_PREFIX, generation, SNAPSHOT_SUFFIX));
+      }
+    }
+    log.info("Stored write-ahead log snapshot {}", snapshot);
+  }
+
+  @Override
+  public void close() throws IOException {
+    lock.lock();
+    try {
+      closed = true;
+      appended.signal();
+    } finally {
+      lock.unlock();
+    }
+    try {
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    segment.close();
+  }
+
+  private long rotate() throws IOException {
+    lock.lock();
+    try {
+      ensureWritable();
+      var rotation = ++requestedRotations;
+      appended.signal();
+      while (completedRotations < rotation && failure == null) {
+        written.awaitUninterruptibly();
+      }
+      if (failure != null) {
+        throw new IOException("Write-ahead log is not writable", failure);
+      }
+      return generation;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void writeLoop() {
+    var frames = new FrameEncoder();
+    var buffer = new ByteArrayOutputStream();
+    var out = new DataOutputStream(buffer);
+    while (true) {
+      var batch = new ArrayList<WalRecord>();
+      long batchSequence;
+      long rotations;
+      lock.lock();
+      try {
+        while (pending.isEmpty() && requestedRotations == completedRotations && !closed) {
+          appended.awaitUninterruptibly();
+        }
+        if (pending.isEmpty() && requestedRotations == completedRotations) {
+          return;
+        }
+        lingerForBatch();
+        while (!pending.isEmpty() && batch.size() < maxBatchSize) {
+          batch.add(pending.poll());
+        }
+        batchSequence = appendedSequence - pending.size();
+        rotations = requestedRotations;
+      } finally {
+        lock.unlock();
+      }
+
+      var startedAt = System.nanoTime();
+      try {
+        buffer.reset();
+        for (var record : batch) {
+          frames.encode(record, out);
+        }
+        var bytes = ByteBuffer.wrap(buffer.toByteArray());
+        while (bytes.hasRemaining()) {
+          segment.write(bytes);
+        }
+        segment.force(false);
+        if (rotations != completedRotations) {
+          segment.close();
+          openSegment(generation + 1);
+        }
+        fsyncs.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        batchSize.record(batch.size());
+        markWritten(batchSequence, rotations);
+      } catch (IOException | WalException e) {
+        log.error("Failed to write to the write-ahead log, refusing further writes", e);
+        markFailed(e);
+        return;
+      }
+    }
+  }
+
+  /** Waits for more records until the batch is full, the delay elapses or a rotation is due. */
+  private void lingerForBatch() {
+    var deadline = System.nanoTime() + maxBatchDelayNanos;
+    var remaining = maxBatchDelayNanos;
+    while (remaining > 0
+        && pending.size() < maxBatchSize
+        && requestedRotations == completedRotations
+        && !closed) {
+      try {
+        remaining = appended.awaitNanos(remaining);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      remaining = Math.min(remaining, deadline - System.nanoTime());
+    }
+  }
+
+  private void markWritten(long batchSequence, long rotations) {
+    lock.lock();
+    try {
+      durableSequence = batchSequence;
+      completedRotations = rotations;
+      written.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void markFailed(Exception e) {
+    lock.lock();
+    try {
+      failure = e;
+      written.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void ensureWritable() {
+    if (failure != null) {
+      throw new WalException("Write-ahead log is not writable", failure);
+    }
+    if (closed) {
+      throw new WalException("Write-ahead log is closed");
+    }
+  }
+
+  private void openSegment(long generation) throws IOException {
+    var path = file(directory, SEGMENT_PREFIX, generation, SEGMENT_SUFFIX);
+    segment = FileChannel.open(path, CREATE_NEW, WRITE, APPEND);
+    this.generation = generation;
+    syncDirectory();
+  }
+
+  private void syncDirectory() {
+    try (var channel = FileChannel.open(directory, READ)) {
+      channel.force(true);
+    } catch (IOException e) {
+      log.debug("Could not sync write-ahead log directory {}", directory, e);
+    }
+  }
+
+  private static boolean readFrames(Path file, Consumer<WalRecord> consumer) throws IOException {
+    try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      var crc = new CRC32();
+      while (true) {
+        int length;
+        try {
+          length = in.readInt();
+        } catch (EOFException e) {
+          return true;
+        }
+        if (length <= 0 || length > MAX_FRAME_LENGTH) {
+          return false;
+        }
+        var payload = new byte[length];
+        try {
+          in.readFully(payload);
+          crc.reset();
+          crc.update(payload);
+          if ((int) crc.getValue() != in.readInt()) {
+            return false;
+          }
+        } catch (EOFException e) {
+          return false;
+        }
+        var record = new DataInputStream(new ByteArrayInputStream(payload));
+        consumer.accept(WalRecordCodec.read(record));
+      }
+    }
+  }
+
+  private static OptionalLong latestGeneration(Path directory, String prefix, String suffix)
+      throws IOException {
+    var generations = generations(directory, prefix, suffix);
+    return generations.isEmpty() ? OptionalLong.empty() : OptionalLong.of(generations.getLast());
+  }
+
+  private static List<Long> generations(Path directory, String prefix, String suffix)
+      throws IOException {
+    try (var files = Files.list(directory)) {
+      return files
+          .map(path -> path.getFileName().toString())
+          .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+          .map(name -> parseGeneration(name.substring(prefix.length(), name.indexOf(suffix))))
+          .flatMap(Optional::stream)
+          .sorted()
+          .toList();
+    }
+  }
+
+  private static Optional<Long> parseGeneration(String generation) {
+    try {
+      return Optional.of(Long.parseLong(generation));
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static Path file(Path directory, String prefix, long generation, String suffix) {
+    return directory.resolve(prefix + "%020d".formatted(generation) + suffix);
+  }
+
+  /** Frames each record as its payload length, the payload and a CRC32 of the payload. */
+  private static final class FrameEncoder {
+
+    private final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+    private final DataOutputStream payloadOut = new DataOutputStream(payload);
+    private final CRC32 crc = new CRC32();
+
+    void encode(WalRecord record, DataOutputStream out) {
+      try {
+        payload.reset();
+        WalRecordCodec.write(record, payloadOut);
+        var bytes = payload.toByteArray();
+        if (bytes.length > MAX_FRAME_LENGTH) {
+          throw new WalException(
+              "Write-ahead log record of %d bytes exceeds the frame limit".formatted(bytes.length));
+        }
+        crc.reset();
+        crc.update(bytes);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.writeInt((int) crc.getValue());
+      } catch (IOException e) {
+        throw new WalException("Failed to write write-ahead log record " + record, e);
+      }
+    }
+  }
+}
@@ -5,10 +5,12 @@ import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 
 import com.sg.f1bettingservice.core.exception.DriverNotFoundException;
 import com.sg.f1bettingservice.core.exception.EventNotFoundException;
 import com.sg.f1bettingservice.core.exception.InsufficientBalanceException;
+import com.sg.f1bettingservice.f1data.circuit.CircuitOpenException;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -39,6 +41,12 @@ public class ApiExceptionHandler {
     return buildResponse(CONFLICT, ex.getMessage());
   }
 
+  @ExceptionHandler(CircuitOpenException.class)
+  public ResponseEntity<?> handleCircuitOpen(CircuitOpenException ex) {
+    log.warn("Circuit open exception: {}", ex.getMessage());
+    return buildResponse(SERVICE_UNAVAILABLE, ex.getMessage());
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<?> handleMethodArgumentNotValidException(
       MethodArgumentNotValidException ex) {
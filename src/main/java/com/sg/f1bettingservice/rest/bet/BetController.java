@@ -1,22 +1,72 @@
 package com.sg.f1bettingservice.rest.bet;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.sg.f1bettingservice.core.BetService;
+import com.sg.f1bettingservice.core.model.BetPlacement;
+import com.sg.f1bettingservice.core.model.BetPlacementResult;
+import com.sg.f1bettingservice.f1data.F1DataProviderException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
-@RequiredArgsConstructor
 @RestController
+@Slf4j
 @RequestMapping("/api/v1/bets")
 public class BetController {
 
   private final BetService betService;
+  private final Validator validator;
+  private final ObjectReader requestReader;
+  private final ObjectWriter resultWriter;
+  private final int streamChunkSize;
+  private final int streamMaxLineLength;
+
+  public BetController(
+      BetService betService,
+      Validator validator,
+      ObjectMapper objectMapper,
+      @Value("${bets.stream.chunk-size}") int streamChunkSize,
+      @Value("${bets.stream.max-line-length}") int streamMaxLineLength) {
+    if (streamChunkSize < 1) {
+      throw new IllegalArgumentException("Stream chunk size must be positive");
+    }
+    if (streamMaxLineLength < 1) {
+      throw new IllegalArgumentException("Stream max line length must be positive");
+    }
+    this.betService = betService;
+    this.validator = validator;
+    this.requestReader = objectMapper.readerFor(PlaceBetRequest.class);
+    this.resultWriter =
+        objectMapper
+            .writerFor(PlaceBetResult.class)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    this.streamChunkSize = streamChunkSize;
+    this.streamMaxLineLength = streamMaxLineLength;
+  }
 
   @PostMapping("/place")
   @ResponseStatus(CREATED)
@@ -26,7 +76,184 @@ public class BetController {
             placeBetRequest.getUserId(),
             placeBetRequest.getEventId(),
             placeBetRequest.getDriverId(),
-            placeBetRequest.getAmount());
+            placeBetRequest.amountInCents());
     return PlaceBetResponse.builder().betId(betId).build();
   }
+
+  /**
+   * Places every bet of the batch that is valid and reports the outcome of each one in request
+   * order. Invalid bets are rejected one by one, so the batch itself only fails on errors that are
+   * not caused by a single bet.
+   */
+  @PostMapping("/place/batch")
+  public PlaceBetBatchResponse placeBets(@RequestBody List<PlaceBetRequest> placeBetRequests) {
+    var items = placeBetRequests.stream().map(this::toItem).toList();
+    var results = place(items, 0);
+
+    var placed = (int) results.stream().filter(result -> result.getBetId() != null).count();
+    return PlaceBetBatchResponse.builder()
+        .placed(placed)
+        .rejected(results.size() - placed)
+        .results(results)
+        .build();
+  }
+
+  /**
+   * Places bets read from a newline-delimited JSON body and streams one result line back per bet,
+   * in the order of the body. Bets are read and placed in chunks of {@code bets.stream.chunk-size},
+   * so memory does not grow with the size of the upload. Blank lines are skipped, and lines that
+   * are not a bet or are longer than {@code bets.stream.max-line-length} are rejected like invalid
+   * bets. If the F1 data provider fails while a chunk is placed, the bets of that chunk are
+   * rejected with its error and the stream goes on, since the response has already started.
+   */
+  @PostMapping(value = "/place/stream", consumes = APPLICATION_NDJSON_VALUE)
+  public void placeBetStream(InputStream body, HttpServletResponse response) throws IOException {
+    response.setContentType(APPLICATION_NDJSON_VALUE);
+    var output = response.getOutputStream();
+    var reader = new BufferedReader(new InputStreamReader(body, UTF_8));
+    var chunk = new ArrayList<Item>(streamChunkSize);
+    var index = 0;
+    Line line;
+    while ((line = readLine(reader)) != null) {
+      if (line.tooLong()) {
+        chunk.add(new Item(null, "Bet exceeds %d characters".formatted(streamMaxLineLength)));
+      } else if (line.text().isBlank()) {
+        continue;
+      } else {
+        chunk.add(parse(line.text()));
+      }
+      if (chunk.size() == streamChunkSize) {
+        write(placeOrReject(chunk, index), output);
+        index += chunk.size();
+        chunk.clear();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      write(placeOrReject(chunk, index), output);
+    }
+  }
+
+  /**
+   * Reads the next line of the body, keeping at most {@code streamMaxLineLength} characters of it
+   * so a body without line breaks cannot exhaust memory. Returns {@code null} at the end of the
+   * body.
+   */
+  private Line readLine(BufferedReader reader) throws IOException {
+    var text = new StringBuilder();
+    var length = 0;
+    int c;
+    while ((c = reader.read()) != -1 && c != '\n') {
+      if (length++ < streamMaxLineLength) {
+        text.append((char) c);
+      }
+    }
+    if (c == -1 && length == 0) {
+      return null;
+    }
+    var tooLong = length > streamMaxLineLength;
+    if (!tooLong && !text.isEmpty() && text.charAt(text.length() - 1) == '\r') {
+      text.setLength(text.length() - 1);
+    }
+    return new Line(text.toString(), tooLong);
+  }
+
+  private List<PlaceBetResult> placeOrReject(List<Item> items, int firstIndex) {
+    try {
+      return place(items, firstIndex);
+    } catch (F1DataProviderException e) {
+      log.warn("Rejecting {} streamed bets after an F1 data provider failure", items.size(), e);
+      var results = new ArrayList<PlaceBetResult>(items.size());
+      for (int i = 0; i < items.size(); i++) {
+        var rejection = items.get(i).rejection();
+        results.add(rejected(firstIndex + i, rejection == null ? e.getMessage() : rejection));
+      }
+      return results;
+    }
+  }
+
+  private List<PlaceBetResult> place(List<Item> items, int firstIndex) {
+    var placements = new ArrayList<BetPlacement>(items.size());
+    for (var item : items) {
+      if (item.rejection() == null) {
+        var request = item.request();
+        placements.add(
+            new BetPlacement(
+                request.getUserId(),
+                request.getEventId(),
+                request.getDriverId(),
+                request.amountInCents()));
+      }
+    }
+
+    var placementResults = betService.placeBets(placements).iterator();
+    var results = new ArrayList<PlaceBetResult>(items.size());
+    for (int i = 0; i < items.size(); i++) {
+      var rejection = items.get(i).rejection();
+      results.add(
+          rejection == null
+              ? toResult(firstIndex + i, placementResults.next())
+              : rejected(firstIndex + i, rejection));
+    }
+    return results;
+  }
+
+  private void write(List<PlaceBetResult> results, OutputStream output) throws IOException {
+    for (var result : results) {
+      resultWriter.writeValue(output, result);
+      output.write('\n');
+    }
+    output.flush();
+  }
+
+  private Item parse(String line) {
+    try {
+      return toItem(requestReader.readValue(line));
+    } catch (JsonProcessingException e) {
+      return new Item(null, "Malformed bet: " + e.getOriginalMessage());
+    }
+  }
+
+  private Item toItem(PlaceBetRequest request) {
+    return new Item(request, validate(request).orElse(null));
+  }
+
+  private Optional<String> validate(PlaceBetRequest request) {
+    if (request == null) {
+      return Optional.of("Bet must be provided");
+    }
+    var violations = validator.validate(request);
+    if (violations.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        violations.stream()
+            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+            .sorted()
+            .collect(joining(", ")));
+  }
+
+  private PlaceBetResult toResult(int index, BetPlacementResult placementResult) {
+    if (!placementResult.isPlaced()) {
+      return rejected(index, placementResult.rejectionReason());
+    }
+    return PlaceBetResult.builder()
+        .index(index)
+        .status(PlaceBetResult.Status.PLACED)
+        .betId(placementResult.betId())
+        .build();
+  }
+
+  private PlaceBetResult rejected(int index, String error) {
+    return PlaceBetResult.builder()
+        .index(index)
+        .status(PlaceBetResult.Status.REJECTED)
+        .error(error)
+        .build();
+  }
+
+  /** A bet of a batch or stream with the reason it is rejected before placement, if any. */
+  private record Item(PlaceBetRequest request, String rejection) {}
+
+  /** A line of a stream, cut at the maximum line length if it is {@code tooLong}. */
+  private record Line(String text, boolean tooLong) {}
 }
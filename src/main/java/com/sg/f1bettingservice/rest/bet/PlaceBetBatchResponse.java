@@ -0,0 +1,13 @@
+package com.sg.f1bettingservice.rest.bet;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class PlaceBetBatchResponse {
+  private int placed;
+  private int rejected;
+  private List<PlaceBetResult> results;
+}
@@ -1,5 +1,7 @@
 package com.sg.f1bettingservice.rest.bet;
 
+import com.sg.f1bettingservice.core.model.Money;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
@@ -17,5 +19,10 @@ public class PlaceBetRequest {
 
   @NotNull
   @Min(1)
+  @Digits(integer = 13, fraction = Money.SCALE)
   private BigDecimal amount;
+
+  public long amountInCents() {
+    return Money.toCents(amount);
+  }
 }
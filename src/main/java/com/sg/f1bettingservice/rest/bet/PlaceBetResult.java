@@ -0,0 +1,18 @@
+package com.sg.f1bettingservice.rest.bet;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class PlaceBetResult {
+  private int index;
+  private Status status;
+  private Integer betId;
+  private String error;
+
+  public enum Status {
+    PLACED,
+    REJECTED
+  }
+}
@@ -0,0 +1,37 @@
+-- Targets H2 and PostgreSQL: CREATE INDEX IF NOT EXISTS is not supported by every database.
+
+CREATE TABLE IF NOT EXISTS users (
+  user_id INT PRIMARY KEY,
+  balance_in_cents BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS paid_bets (
+  bet_id INT PRIMARY KEY
+);
+
+CREATE TABLE IF NOT EXISTS bets (
+  id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  user_id INT,
+  event_id INT,
+  driver_id INT,
+  amount_in_cents BIGINT NOT NULL,
+  status VARCHAR(16) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS bets_event_id ON bets (event_id, id);
+CREATE INDEX IF NOT EXISTS bets_user_id ON bets (user_id);
+
+CREATE TABLE IF NOT EXISTS event_outcomes (
+  event_id INT PRIMARY KEY,
+  winner_driver_id INT,
+  bets_won INT,
+  bets_lost INT
+);
+
+CREATE TABLE IF NOT EXISTS settlement_checkpoints (
+  event_id INT PRIMARY KEY,
+  winner_driver_id INT,
+  last_bet_id INT NOT NULL,
+  bets_won INT NOT NULL,
+  bets_lost INT NOT NULL
+);
@@ -1,11 +1,16 @@
 package com.sg.f1bettingservice.core;
 
+import static com.sg.f1bettingservice.core.model.BetStatus.PLACED;
+import static com.sg.f1bettingservice.core.model.BetStatus.SETTLING;
 import static com.sg.f1bettingservice.core.model.BetStatus.WON;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatException;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -14,20 +19,27 @@ import com.sg.f1bettingservice.core.exception.DriverNotFoundException;
 import com.sg.f1bettingservice.core.exception.EventNotFoundException;
 import com.sg.f1bettingservice.core.exception.InsufficientBalanceException;
 import com.sg.f1bettingservice.core.model.Bet;
+import com.sg.f1bettingservice.core.model.BetPlacement;
+import com.sg.f1bettingservice.core.model.BetPlacementResult;
 import com.sg.f1bettingservice.core.model.BetStatus;
 import com.sg.f1bettingservice.core.model.Driver;
-import com.sg.f1bettingservice.core.model.Event;
+import com.sg.f1bettingservice.core.model.EventMarket;
 import com.sg.f1bettingservice.core.model.User;
+import com.sg.f1bettingservice.f1data.F1DataProviderException;
 import com.sg.f1bettingservice.persistence.BetRepository;
-import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntBinaryOperator;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 class BetServiceTest {
 
+  private static final IntBinaryOperator ODDS = (eventId, driverId) -> 2;
+
   EventService eventService = mock(EventService.class);
   UserService userService = mock(UserService.class);
   BetRepository betRepository = mock(BetRepository.class);
@@ -38,25 +50,22 @@ class BetServiceTest {
     @Test
     void shouldPlaceABetWhenForUserAndDriverAndEventWhenItExists() {
       Integer userId = 1, eventId = 1001, driverId = 33;
-      var amount = BigDecimal.TEN;
+      var amount = 1_000L;
       var betStatus = BetStatus.PLACED;
-      var existingUser = User.builder().userId(userId).balance(BigDecimal.valueOf(50)).build();
-      var existingEvent =
-          Event.builder()
-              .eventId(eventId)
-              .drivers(List.of(Driver.builder().driverId(driverId).build()))
-              .build();
+      var existingUser = User.builder().userId(userId).balanceInCents(5_000).build();
+      var existingMarket =
+          EventMarket.of(eventId, List.of(Driver.builder().driverId(driverId).build()), ODDS);
       var expectedBet =
           Bet.builder()
               .id(1)
               .userId(userId)
               .eventId(eventId)
               .driverId(driverId)
-              .amount(amount)
+              .amountInCents(amount)
               .status(betStatus)
               .build();
 
-      when(eventService.findByEventId(eventId)).thenReturn(Optional.of(existingEvent));
+      when(eventService.findMarketByEventId(eventId)).thenReturn(Optional.of(existingMarket));
       when(betRepository.save(userId, eventId, driverId, amount, betStatus))
           .thenReturn(expectedBet);
       when(userService.getOrCreate(userId)).thenReturn(existingUser);
@@ -73,9 +82,9 @@ class BetServiceTest {
     @Test
     void shouldThrowEventNotFoundExceptionWhenEventDoesNotExist() {
       Integer userId = 1, eventId = 999, driverId = 33;
-      var amount = BigDecimal.TEN;
+      var amount = 1_000L;
 
-      when(eventService.findByEventId(eventId)).thenReturn(Optional.empty());
+      when(eventService.findMarketByEventId(eventId)).thenReturn(Optional.empty());
 
       assertThatThrownBy(() -> betService.placeBet(userId, eventId, driverId, amount))
           .isInstanceOf(EventNotFoundException.class)
@@ -88,12 +97,10 @@ class BetServiceTest {
     @Test
     void shouldThrowDriverNotFoundExceptionWhenDriverDoesNotExistForAGivenEvent() {
       Integer userId = 1, eventId = 1001, driverId = 999;
-      var amount = BigDecimal.TEN;
+      var amount = 1_000L;
 
-      when(eventService.findByEventId(eventId))
-          .thenReturn(
-              Optional.of(
-                  Event.builder().eventId(eventId).drivers(Collections.emptyList()).build()));
+      when(eventService.findMarketByEventId(eventId))
+          .thenReturn(Optional.of(EventMarket.of(eventId, Collections.emptyList(), ODDS)));
 
       assertThatThrownBy(() -> betService.placeBet(userId, eventId, driverId, amount))
           .isInstanceOf(DriverNotFoundException.class)
@@ -107,16 +114,13 @@ class BetServiceTest {
     @Test
     void shouldPropagateExceptionWhenInsufficientBalance() {
       Integer userId = 1, eventId = 1001, driverId = 33;
-      var amount = BigDecimal.valueOf(150);
-      var existingUser = User.builder().userId(userId).balance(BigDecimal.valueOf(50)).build();
-      var event =
-          Event.builder()
-              .eventId(eventId)
-              .drivers(List.of(Driver.builder().driverId(driverId).build()))
-              .build();
+      var amount = 15_000L;
+      var existingUser = User.builder().userId(userId).balanceInCents(5_000).build();
+      var market =
+          EventMarket.of(eventId, List.of(Driver.builder().driverId(driverId).build()), ODDS);
       var expectedException = new InsufficientBalanceException(userId);
 
-      when(eventService.findByEventId(eventId)).thenReturn(Optional.of(event));
+      when(eventService.findMarketByEventId(eventId)).thenReturn(Optional.of(market));
       when(userService.getOrCreate(userId)).thenReturn(existingUser);
       doThrow(expectedException).when(userService).subtractFromUserBalance(userId, amount);
 
@@ -127,6 +131,178 @@ class BetServiceTest {
       verify(userService).subtractFromUserBalance(userId, amount);
       verifyNoInteractions(betRepository);
     }
+
+    @Test
+    void shouldCreditAmountBackWhenSavingTheBetFails() {
+      Integer userId = 1, eventId = 1001, driverId = 33;
+      var amount = 1_000L;
+      var market =
+          EventMarket.of(eventId, List.of(Driver.builder().driverId(driverId).build()), ODDS);
+      var saveFailure = new IllegalStateException("Bet store unavailable");
+
+      when(eventService.findMarketByEventId(eventId)).thenReturn(Optional.of(market));
+      when(userService.getOrCreate(userId))
+          .thenReturn(User.builder().userId(userId).balanceInCents(5_000).build());
+      when(betRepository.save(userId, eventId, driverId, amount, PLACED)).thenThrow(saveFailure);
+
+      assertThatException()
+          .isThrownBy(() -> betService.placeBet(userId, eventId, driverId, amount))
+          .isEqualTo(saveFailure);
+
+      verify(userService).subtractFromUserBalance(userId, amount);
+      verify(userService).addToUserBalance(userId, amount);
+    }
+  }
+
+  @Nested
+  class PlaceBetsTests {
+
+    Integer eventId = 1001;
+    EventMarket market =
+        EventMarket.of(
+            eventId,
+            List.of(
+                Driver.builder().driverId(33).build(), Driver.builder().driverId(14).build()),
+            ODDS);
+
+    @Test
+    void shouldValidateEachEventOnceDebitEachUserOnceAndSaveAcceptedBetsInOneBatch() {
+      var ids = new AtomicInteger();
+      when(eventService.findMarketByEventId(eventId)).thenReturn(Optional.of(market));
+      when(eventService.findMarketByEventId(9999)).thenReturn(Optional.empty());
+      when(userService.subtractFromUserBalanceIfSufficient(1, 400)).thenReturn(true);
+      when(userService.subtractFromUserBalanceIfSufficient(2, 200)).thenReturn(true);
+      when(betRepository.saveAll(anyList()))
+          .thenAnswer(
+              invocation -> {
+                List<Bet> bets = invocation.getArgument(0);
+                bets.forEach(bet -> bet.setId(ids.incrementAndGet()));
+                return bets;
+              });
+
+      var results =
+          betService.placeBets(
+              List.of(
+                  new BetPlacement(1, eventId, 33, 100),
+                  new BetPlacement(2, eventId, 14, 200),
+                  new BetPlacement(1, eventId, 14, 300),
+                  new BetPlacement(1, 9999, 33, 50),
+                  new BetPlacement(2, eventId, 99, 10)));
+
+      assertThat(results)
+          .containsExactly(
+              BetPlacementResult.placed(1),
+              BetPlacementResult.placed(2),
+              BetPlacementResult.placed(3),
+              BetPlacementResult.rejected("Event with id 9999 not found"),
+              BetPlacementResult.rejected("Driver with id 99 not found in event with id 1001"));
+      verify(eventService).findMarketByEventId(eventId);
+      verify(userService).getOrCreate(1);
+      verify(userService).getOrCreate(2);
+      verify(userService).subtractFromUserBalanceIfSufficient(1, 400);
+      verify(userService).subtractFromUserBalanceIfSufficient(2, 200);
+      verify(betRepository)
+          .saveAll(
+              List.of(
+                  placedBet(1, eventId, 33, 100, 1),
+                  placedBet(2, eventId, 14, 200, 2),
+                  placedBet(1, eventId, 14, 300, 3)));
+    }
+
+    @Test
+    void shouldRejectOnlyTheBetsOnAnEventWhoseMarketCannotBeLookedUp() {
+      when(eventService.findMarketByEventId(eventId)).thenReturn(Optional.of(market));
+      when(eventService.findMarketByEventId(2002))
+          .thenThrow(new F1DataProviderException("OpenF1 is unavailable"));
+      when(userService.subtractFromUserBalanceIfSufficient(1, 100)).thenReturn(true);
+      when(betRepository.saveAll(anyList())).thenReturn(List.of(placedBet(1, eventId, 33, 100, 1)));
+
+      var results =
+          betService.placeBets(
+              List.of(
+                  new BetPlacement(1, 2002, 33, 50),
+                  new BetPlacement(1, eventId, 33, 100),
+                  new BetPlacement(2, 2002, 14, 10)));
+
+      assertThat(results)
+          .containsExactly(
+              BetPlacementResult.rejected("OpenF1 is unavailable"),
+              BetPlacementResult.placed(1),
+              BetPlacementResult.rejected("OpenF1 is unavailable"));
+      verify(eventService).findMarketByEventId(2002);
+      verify(userService).subtractFromUserBalanceIfSufficient(1, 100);
+      verify(userService, never()).getOrCreate(2);
+    }
+
+    @Test
+    void shouldCreditDebitedAmountsBackWhenSavingTheBatchFails() {
+      var saveFailure = new IllegalStateException("Bet store unavailable");
+      when(eventService.findMarketByEventId(eventId)).thenReturn(Optional.of(market));
+      when(userService.subtractFromUserBalanceIfSufficient(1, 400)).thenReturn(true);
+      when(userService.subtractFromUserBalanceIfSufficient(2, 200)).thenReturn(true);
+      when(betRepository.saveAll(anyList())).thenThrow(saveFailure);
+
+      assertThatException()
+          .isThrownBy(
+              () ->
+                  betService.placeBets(
+                      List.of(
+                          new BetPlacement(1, eventId, 33, 100),
+                          new BetPlacement(2, eventId, 14, 200),
+                          new BetPlacement(1, eventId, 14, 300))))
+          .isEqualTo(saveFailure);
+
+      verify(userService).addToUserBalances(Map.of(1, 400L, 2, 200L));
+    }
+
+    @Test
+    void shouldDebitBetsOneByOneWhenBalanceDoesNotCoverAllBetsOfTheUser() {
+      when(eventService.findMarketByEventId(eventId)).thenReturn(Optional.of(market));
+      when(userService.subtractFromUserBalanceIfSufficient(1, 1_000)).thenReturn(false);
+      when(userService.subtractFromUserBalanceIfSufficient(1, 300)).thenReturn(true);
+      when(userService.subtractFromUserBalanceIfSufficient(1, 500)).thenReturn(false);
+      when(userService.subtractFromUserBalanceIfSufficient(1, 200)).thenReturn(true);
+      when(betRepository.saveAll(anyList()))
+          .thenReturn(
+              List.of(placedBet(1, eventId, 33, 300, 1), placedBet(1, eventId, 33, 200, 2)));
+
+      var results =
+          betService.placeBets(
+              List.of(
+                  new BetPlacement(1, eventId, 33, 300),
+                  new BetPlacement(1, eventId, 33, 500),
+                  new BetPlacement(1, eventId, 33, 200)));
+
+      assertThat(results)
+          .containsExactly(
+              BetPlacementResult.placed(1),
+              BetPlacementResult.rejected("User with id 1 has insufficient balance"),
+              BetPlacementResult.placed(2));
+    }
+
+    @Test
+    void shouldRejectLoneBetWithoutRetryingWhenBalanceIsInsufficient() {
+      when(eventService.findMarketByEventId(eventId)).thenReturn(Optional.of(market));
+      when(userService.subtractFromUserBalanceIfSufficient(1, 100)).thenReturn(false);
+
+      var results = betService.placeBets(List.of(new BetPlacement(1, eventId, 33, 100)));
+
+      assertThat(results)
+          .containsExactly(BetPlacementResult.rejected("User with id 1 has insufficient balance"));
+      verify(userService, times(1)).subtractFromUserBalanceIfSufficient(1, 100);
+      verify(betRepository).saveAll(List.of());
+    }
+
+    private Bet placedBet(Integer userId, Integer eventId, Integer driverId, long amount, int id) {
+      return Bet.builder()
+          .id(id)
+          .userId(userId)
+          .eventId(eventId)
+          .driverId(driverId)
+          .amountInCents(amount)
+          .status(PLACED)
+          .build();
+    }
   }
 
   @Nested
@@ -141,7 +317,7 @@ class BetServiceTest {
                   .eventId(eventId)
                   .userId(1)
                   .driverId(14)
-                  .amount(BigDecimal.TEN)
+                  .amountInCents(1_000)
                   .status(BetStatus.PLACED)
                   .build(),
               Bet.builder()
@@ -149,7 +325,7 @@ class BetServiceTest {
                   .eventId(eventId)
                   .userId(2)
                   .driverId(33)
-                  .amount(BigDecimal.valueOf(20))
+                  .amountInCents(2_000)
                   .status(BetStatus.PLACED)
                   .build());
 
@@ -171,22 +347,68 @@ class BetServiceTest {
     }
   }
 
+  @Nested
+  class FindBetsByUserIdTests {
+    @Test
+    void shouldReturnListOfBetsByUserIdFromRepository() {
+      var userId = 1;
+      var expectedBets =
+          List.of(
+              Bet.builder()
+                  .id(1)
+                  .eventId(1001)
+                  .userId(userId)
+                  .driverId(14)
+                  .amountInCents(1_000)
+                  .status(BetStatus.PLACED)
+                  .build());
+
+      when(betRepository.findByUserId(userId)).thenReturn(expectedBets);
+      var result = betService.findBetsByUserId(userId);
+      assertThat(result).isEqualTo(expectedBets);
+
+      verify(betRepository).findByUserId(userId);
+    }
+  }
+
   @Nested
   class UpdateBetStatusTests {
     @Test
-    void shouldMarkBetAsWinnerTest() {
-      var betId = 1;
-      var expectedStatus = WON;
-      betService.markBetAsWinner(betId);
-      verify(betRepository).updateBetStatus(betId, expectedStatus);
+    void shouldMarkPlacedBetsAsSettlingTest() {
+      var betIds = List.of(1, 2);
+      when(betRepository.updateBetStatuses(betIds, PLACED, SETTLING)).thenReturn(List.of(2));
+
+      var result = betService.markBetsAsSettling(betIds);
+
+      assertThat(result).containsExactly(2);
     }
 
     @Test
-    void shouldMarkBetAsLooserTest() {
-      var betId = 1;
-      var expectedStatus = BetStatus.LOST;
-      betService.markBetAsLooser(betId);
-      verify(betRepository).updateBetStatus(betId, expectedStatus);
+    void shouldMarkSettlingBetsAsWinnersTest() {
+      var betIds = List.of(1, 2);
+      when(betRepository.updateBetStatuses(betIds, SETTLING, WON)).thenReturn(List.of(2));
+
+      var result = betService.markBetsAsWinners(betIds);
+
+      assertThat(result).containsExactly(2);
+    }
+
+    @Test
+    void shouldMarkBetsAsLoosersTest() {
+      var betIds = List.of(3);
+      when(betRepository.updateBetStatuses(betIds, PLACED, BetStatus.LOST)).thenReturn(betIds);
+
+      var result = betService.markBetsAsLoosers(betIds);
+
+      assertThat(result).containsExactly(3);
+    }
+
+    @Test
+    void shouldNotTouchRepositoryWhenThereAreNoBetsToMarkTest() {
+      assertThat(betService.markBetsAsSettling(List.of())).isEmpty();
+      assertThat(betService.markBetsAsWinners(List.of())).isEmpty();
+      assertThat(betService.markBetsAsLoosers(List.of())).isEmpty();
+      verifyNoInteractions(betRepository);
     }
   }
 }
@@ -0,0 +1,74 @@
+package com.sg.f1bettingservice.core;
+
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sg.f1bettingservice.f1data.F1DataProviderException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class EventPrewarmerTest {
+
+  private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+  private static final Duration HORIZON = Duration.ofHours(48);
+  private static final Duration INTERVAL = Duration.ofMinutes(15);
+
+  EventService eventService = mock(EventService.class);
+  ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+  EventPrewarmer prewarmer =
+      new EventPrewarmer(
+          eventService, HORIZON, INTERVAL, Clock.fixed(NOW, ZoneOffset.UTC), scheduler);
+
+  @Test
+  void shouldPrewarmOnStartupAndThenEveryInterval() {
+    verify(scheduler)
+        .scheduleWithFixedDelay(
+            any(Runnable.class), eq(0L), eq(INTERVAL.toMillis()), eq(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void shouldLoadEventsStartingWithinTheHorizon() {
+    var from = OffsetDateTime.ofInstant(NOW, ZoneOffset.UTC);
+
+    prewarmer.prewarm();
+
+    verify(eventService).findUpcomingEvents(from, from.plus(HORIZON));
+  }
+
+  @Test
+  void shouldKeepTheScheduleRunningWhenOpenF1Fails() {
+    var from = OffsetDateTime.ofInstant(NOW, ZoneOffset.UTC);
+    when(eventService.findUpcomingEvents(from, from.plus(HORIZON)))
+        .thenThrow(new F1DataProviderException("OpenF1 is down"));
+
+    assertThatNoException().isThrownBy(prewarmer::prewarm);
+  }
+
+  @Test
+  void shouldStopSchedulingOnClose() {
+    prewarmer.close();
+
+    verify(scheduler).shutdownNow();
+  }
+
+  @Test
+  void shouldRejectNonPositiveHorizon() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(
+            () ->
+                new EventPrewarmer(
+                    eventService, Duration.ZERO, INTERVAL, Clock.systemUTC(), scheduler))
+        .withMessage("Pre-warm horizon must be positive");
+  }
+}
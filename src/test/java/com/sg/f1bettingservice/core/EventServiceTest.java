@@ -1,26 +1,45 @@
 package com.sg.f1bettingservice.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.sg.f1bettingservice.core.model.Driver;
 import com.sg.f1bettingservice.core.model.Event;
+import com.sg.f1bettingservice.f1data.AsyncF1DataProvider;
 import com.sg.f1bettingservice.f1data.F1DataProvider;
+import com.sg.f1bettingservice.f1data.F1DataProviderException;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 class EventServiceTest {
 
+  private static final Duration MARKETS_TTL = Duration.ofMinutes(10);
+
   F1DataProvider f1DataProvider = mock(F1DataProvider.class);
-  EventService eventService = new EventService(f1DataProvider);
+  Clock clock = mock(Clock.class);
+  EventService eventService =
+      new EventService(
+          f1DataProvider,
+          new AsyncF1DataProvider(f1DataProvider, Runnable::run),
+          MARKETS_TTL,
+          100,
+          clock);
 
   @Nested
   class FindEventsTests {
@@ -44,7 +63,8 @@ class EventServiceTest {
       var events = List.of(event);
 
       when(f1DataProvider.findEvents(sessionType, year, country)).thenReturn(events);
-      when(f1DataProvider.getDriversByEventId(event.getEventId())).thenReturn(driversWithoutOdds);
+      when(f1DataProvider.getDriversByEventIds(List.of(event.getEventId())))
+          .thenReturn(Map.of(event.getEventId(), driversWithoutOdds));
 
       var result = eventService.findEvents(sessionType, year, country);
       assertThat(result).hasSameSizeAs(events);
@@ -63,7 +83,19 @@ class EventServiceTest {
           .allSatisfy(odds -> assertThat(odds).isBetween(2, 4));
 
       verify(f1DataProvider).findEvents(sessionType, year, country);
-      verify(f1DataProvider).getDriversByEventId(event.getEventId());
+      verify(f1DataProvider).getDriversByEventIds(List.of(event.getEventId()));
+      verify(f1DataProvider, never()).getDriversByEventId(anyInt());
+    }
+
+    @Test
+    void shouldEnrichEventsWithoutDriversWithAnEmptyMarket() {
+      var event = Event.builder().eventId(1).drivers(Collections.emptyList()).build();
+
+      when(f1DataProvider.findEvents(null, 2025, null)).thenReturn(List.of(event));
+      when(f1DataProvider.getDriversByEventIds(List.of(1))).thenReturn(Map.of());
+
+      var result = eventService.findEvents(null, 2025, null);
+      assertThat(result.getFirst().getDrivers()).isEmpty();
     }
 
     @Test
@@ -79,6 +111,61 @@ class EventServiceTest {
 
       verify(f1DataProvider).findEvents(sessionType, year, country);
       verify(f1DataProvider, never()).getDriversByEventId(anyInt());
+      verify(f1DataProvider, never()).getDriversByEventIds(anyList());
+    }
+  }
+
+  @Nested
+  class FindUpcomingEventsTests {
+
+    private final OffsetDateTime now = OffsetDateTime.parse("2025-06-01T12:00:00Z");
+
+    @Test
+    void shouldLoadDriversAndMarketsOfEventsStartingWithinTheWindowOnly() {
+      var past = Event.builder().eventId(1).dateTime(now.minusHours(1)).build();
+      var upcoming = Event.builder().eventId(2).dateTime(now.plusHours(3)).build();
+      var later = Event.builder().eventId(3).dateTime(now.plusDays(3)).build();
+      var undated = Event.builder().eventId(4).build();
+      var driver = Driver.builder().driverId(44).fullName("Lewis Hamilton").build();
+
+      when(f1DataProvider.findEvents(null, 2025, null))
+          .thenReturn(List.of(past, upcoming, later, undated));
+      when(f1DataProvider.getDriversByEventIds(List.of(2))).thenReturn(Map.of(2, List.of(driver)));
+
+      var result = eventService.findUpcomingEvents(now, now.plusDays(1));
+
+      assertThat(result).extracting(Event::getEventId).containsExactly(2);
+      assertThat(result.getFirst().getDrivers())
+          .singleElement()
+          .satisfies(
+              withOdds -> {
+                assertThat(withOdds.getDriverId()).isEqualTo(44);
+                assertThat(withOdds.getOdds()).isBetween(2, 4);
+              });
+      verify(f1DataProvider, never()).getDriversByEventId(anyInt());
+    }
+
+    @Test
+    void shouldLookUpBothSeasonsWhenTheWindowCrossesTheNewYear() {
+      var from = OffsetDateTime.parse("2025-12-31T12:00:00Z");
+      var event = Event.builder().eventId(1).dateTime(from.plusDays(1)).build();
+
+      when(f1DataProvider.findEvents(null, 2025, null)).thenReturn(List.of());
+      when(f1DataProvider.findEvents(null, 2026, null)).thenReturn(List.of(event));
+      when(f1DataProvider.getDriversByEventIds(List.of(1))).thenReturn(Map.of());
+
+      var result = eventService.findUpcomingEvents(from, from.plusDays(2));
+
+      assertThat(result).containsExactly(event);
+    }
+
+    @Test
+    void shouldNotLoadDriversWhenNoEventStartsWithinTheWindow() {
+      when(f1DataProvider.findEvents(null, 2025, null))
+          .thenReturn(List.of(Event.builder().eventId(1).dateTime(now.minusDays(1)).build()));
+
+      assertThat(eventService.findUpcomingEvents(now, now.plusDays(1))).isEmpty();
+      verify(f1DataProvider, never()).getDriversByEventIds(anyList());
     }
   }
 
@@ -115,14 +202,168 @@ class EventServiceTest {
           .allSatisfy(o -> assertThat(o).isBetween(2, 4));
     }
 
+    @Test
+    void shouldLookUpEventAndDriversConcurrently() {
+      var eventId = 1001;
+      var bothInFlight = new CountDownLatch(2);
+      var driver = Driver.builder().driverId(44).fullName("Lewis Hamilton").build();
+
+      when(f1DataProvider.findEventById(eventId))
+          .thenAnswer(
+              invocation -> {
+                awaitBoth(bothInFlight);
+                return Optional.of(Event.builder().eventId(eventId).build());
+              });
+      when(f1DataProvider.getDriversByEventId(eventId))
+          .thenAnswer(
+              invocation -> {
+                awaitBoth(bothInFlight);
+                return List.of(driver);
+              });
+
+      var concurrentEventService =
+          new EventService(
+              f1DataProvider, new AsyncF1DataProvider(f1DataProvider), MARKETS_TTL, 100, clock);
+      var result = concurrentEventService.findByEventId(eventId);
+
+      assertThat(result.orElseThrow().getDrivers())
+          .extracting(Driver::getDriverId)
+          .containsExactly(44);
+    }
+
+    @Test
+    void shouldNotFetchDriversAgainWhenTheMarketIsCached() {
+      var eventId = 1001;
+      var lewisHamilton = Driver.builder().driverId(44).fullName("Lewis Hamilton").build();
+
+      when(f1DataProvider.findEventById(eventId))
+          .thenAnswer(invocation -> Optional.of(Event.builder().eventId(eventId).build()));
+      when(f1DataProvider.getDriversByEventId(eventId)).thenReturn(List.of(lewisHamilton));
+
+      var market = eventService.findMarketByEventId(eventId).orElseThrow();
+      var result = eventService.findByEventId(eventId);
+
+      assertThat(result.orElseThrow().getDrivers()).isSameAs(market.getDrivers());
+      verify(f1DataProvider, times(2)).findEventById(eventId);
+      verify(f1DataProvider, times(1)).getDriversByEventId(eventId);
+    }
+
+    @Test
+    void returnsEmptyWhenTheEventOfACachedMarketIsNotFound() {
+      var eventId = 1001;
+
+      when(f1DataProvider.findEventById(eventId))
+          .thenReturn(Optional.of(Event.builder().eventId(eventId).build()))
+          .thenReturn(Optional.empty());
+      when(f1DataProvider.getDriversByEventId(eventId)).thenReturn(List.of());
+
+      eventService.findMarketByEventId(eventId);
+
+      assertThat(eventService.findByEventId(eventId)).isEmpty();
+    }
+
     @Test
     void returnsEmptyWhenNotFound() {
       when(f1DataProvider.findEventById(1)).thenReturn(Optional.empty());
+      when(f1DataProvider.getDriversByEventId(1))
+          .thenThrow(new F1DataProviderException("No drivers"));
 
       var result = eventService.findByEventId(1);
       assertThat(result).isEmpty();
+    }
 
-      verify(f1DataProvider, never()).getDriversByEventId(anyInt());
+    @Test
+    void shouldPropagateTheFailureOfTheEventLookup() {
+      var failure = new F1DataProviderException("OpenF1 is unavailable");
+      when(f1DataProvider.findEventById(1)).thenThrow(failure);
+
+      assertThatExceptionOfType(F1DataProviderException.class)
+          .isThrownBy(() -> eventService.findByEventId(1))
+          .isSameAs(failure);
+    }
+
+    private static void awaitBoth(CountDownLatch bothInFlight) throws InterruptedException {
+      bothInFlight.countDown();
+      assertThat(bothInFlight.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+  }
+
+  @Nested
+  class FindMarketByEventIdTests {
+    @Test
+    void shouldBuildMarketOnceAndReuseItWhileDriversAreUnchanged() {
+      var eventId = 1001;
+      var drivers =
+          List.of(
+              Driver.builder().driverId(44).fullName("Lewis Hamilton").build(),
+              Driver.builder().driverId(33).fullName("Max Verstappen").build());
+
+      when(f1DataProvider.findEventById(eventId))
+          .thenReturn(Optional.of(Event.builder().eventId(eventId).build()));
+      when(f1DataProvider.getDriversByEventId(eventId)).thenReturn(drivers);
+
+      var first = eventService.findMarketByEventId(eventId).orElseThrow();
+      var second = eventService.findMarketByEventId(eventId).orElseThrow();
+
+      assertThat(second).isSameAs(first);
+      assertThat(first.hasDriver(44)).isTrue();
+      assertThat(first.hasDriver(33)).isTrue();
+      assertThat(first.getOdds(44)).isBetween(2, 4);
+      verify(f1DataProvider, times(1)).findEventById(eventId);
+      verify(f1DataProvider, times(1)).getDriversByEventId(eventId);
+    }
+
+    @Test
+    void shouldRebuildMarketWhenDriversHaveChanged() {
+      var eventId = 1001;
+      var lewisHamilton = Driver.builder().driverId(44).fullName("Lewis Hamilton").build();
+      var maxVerstappen = Driver.builder().driverId(33).fullName("Max Verstappen").build();
+
+      when(f1DataProvider.findEventById(eventId))
+          .thenReturn(Optional.of(Event.builder().eventId(eventId).build()));
+      when(f1DataProvider.getDriversByEventId(eventId))
+          .thenReturn(List.of(lewisHamilton))
+          .thenReturn(List.of(lewisHamilton, maxVerstappen));
+
+      var first = eventService.findMarketByEventId(eventId).orElseThrow();
+      var beforeExpiry = eventService.findMarketByEventId(eventId).orElseThrow();
+      when(clock.millis()).thenReturn(MARKETS_TTL.toMillis());
+      var afterExpiry = eventService.findMarketByEventId(eventId).orElseThrow();
+
+      assertThat(first.hasDriver(33)).isFalse();
+      assertThat(beforeExpiry).isSameAs(first);
+      assertThat(afterExpiry.hasDriver(33)).isTrue();
+    }
+
+    @Test
+    void shouldRebuildMarketWhenDriversFetchedForAnEventHaveChanged() {
+      var eventId = 1001;
+      var lewisHamilton = Driver.builder().driverId(44).fullName("Lewis Hamilton").build();
+      var maxVerstappen = Driver.builder().driverId(33).fullName("Max Verstappen").build();
+
+      when(f1DataProvider.findEventById(eventId))
+          .thenReturn(Optional.of(Event.builder().eventId(eventId).build()));
+      when(f1DataProvider.getDriversByEventId(eventId)).thenReturn(List.of(lewisHamilton));
+      when(f1DataProvider.findEvents(null, 2025, null))
+          .thenReturn(List.of(Event.builder().eventId(eventId).build()));
+      when(f1DataProvider.getDriversByEventIds(List.of(eventId)))
+          .thenReturn(Map.of(eventId, List.of(lewisHamilton, maxVerstappen)));
+
+      var first = eventService.findMarketByEventId(eventId).orElseThrow();
+      eventService.findEvents(null, 2025, null);
+      var second = eventService.findMarketByEventId(eventId).orElseThrow();
+
+      assertThat(first.hasDriver(33)).isFalse();
+      assertThat(second.hasDriver(33)).isTrue();
+    }
+
+    @Test
+    void returnsEmptyWhenEventIsNotFound() {
+      when(f1DataProvider.findEventById(1)).thenReturn(Optional.empty());
+      when(f1DataProvider.getDriversByEventId(1))
+          .thenThrow(new F1DataProviderException("No drivers"));
+
+      assertThat(eventService.findMarketByEventId(1)).isEmpty();
     }
   }
 
@@ -152,5 +393,36 @@ class EventServiceTest {
       verify(f1DataProvider).getDriversByEventId(eventId);
       verify(f1DataProvider).getWinnerDriverIdByEventId(eventId);
     }
+
+    @Test
+    void shouldOnlyFetchTheWinnerWhenTheMarketIsCached() {
+      var eventId = 1;
+      var lewisHamilton = Driver.builder().driverId(44).fullName("Lewis Hamilton").build();
+
+      when(f1DataProvider.findEventById(eventId))
+          .thenReturn(Optional.of(Event.builder().eventId(eventId).build()));
+      when(f1DataProvider.getDriversByEventId(eventId)).thenReturn(List.of(lewisHamilton));
+      when(f1DataProvider.getWinnerDriverIdByEventId(eventId)).thenReturn(Optional.of(44));
+
+      var market = eventService.findMarketByEventId(eventId).orElseThrow();
+      var result = eventService.findWinnerDriverByEventId(eventId);
+
+      assertThat(result).contains(market.findDriver(44).orElseThrow());
+      verify(f1DataProvider, times(1)).getDriversByEventId(eventId);
+      verify(f1DataProvider).getWinnerDriverIdByEventId(eventId);
+    }
+
+    @Test
+    void shouldBuildTheMarketEvenWhenThereIsNoWinnerYet() {
+      var eventId = 1;
+      var lewisHamilton = Driver.builder().driverId(44).fullName("Lewis Hamilton").build();
+
+      when(f1DataProvider.getDriversByEventId(eventId)).thenReturn(List.of(lewisHamilton));
+      when(f1DataProvider.getWinnerDriverIdByEventId(eventId)).thenReturn(Optional.empty());
+
+      assertThat(eventService.findWinnerDriverByEventId(eventId)).isEmpty();
+      assertThat(eventService.findMarketByEventId(eventId).orElseThrow().hasDriver(44)).isTrue();
+      verify(f1DataProvider, never()).findEventById(anyInt());
+    }
   }
 }
@@ -1,10 +1,12 @@
 package com.sg.f1bettingservice.core;
 
 import static com.sg.f1bettingservice.core.model.BetStatus.PLACED;
-import static java.math.BigDecimal.valueOf;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -15,11 +17,14 @@ import com.sg.f1bettingservice.core.exception.EventNotFoundException;
 import com.sg.f1bettingservice.core.model.Bet;
 import com.sg.f1bettingservice.core.model.Driver;
 import com.sg.f1bettingservice.core.model.EventOutcome;
+import com.sg.f1bettingservice.core.model.Settlement;
+import com.sg.f1bettingservice.core.model.SettlementCheckpoint;
 import com.sg.f1bettingservice.core.model.User;
 import com.sg.f1bettingservice.persistence.OutcomeRepository;
-import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 class OutcomeServiceTest {
@@ -27,9 +32,14 @@ class OutcomeServiceTest {
   OutcomeRepository outcomeRepository = mock(OutcomeRepository.class);
   EventService eventService = mock(EventService.class);
   BetService betService = mock(BetService.class);
-  UserService userService = mock(UserService.class);
+  SettlementEngine settlementEngine = mock(SettlementEngine.class);
   OutcomeService outcomeService =
-      new OutcomeService(outcomeRepository, eventService, betService, userService);
+      new OutcomeService(outcomeRepository, eventService, betService, settlementEngine, 2);
+
+  @BeforeEach
+  void storeCheckpoints() {
+    when(outcomeRepository.saveCheckpoint(any())).thenAnswer(returnsFirstArg());
+  }
 
   @Test
   void shouldPropagateEventNotFoundExceptionIfEventDoesNotExistTest() {
@@ -41,7 +51,7 @@ class OutcomeServiceTest {
         .isThrownBy(() -> outcomeService.publishOutcome(eventId))
         .withMessage(expectedException.getMessage());
 
-    verifyNoInteractions(outcomeRepository);
+    verify(outcomeRepository, never()).save(any());
   }
 
   @Test
@@ -72,8 +82,7 @@ class OutcomeServiceTest {
     var eventOutcome = outcomeService.publishOutcome(eventId);
     assertThat(eventOutcome).isEqualTo(expectedEventOutcome);
 
-    verify(betService, never()).markBetAsWinner(anyInt());
-    verify(betService, never()).markBetAsLooser(anyInt());
+    verifyNoInteractions(settlementEngine);
     verify(outcomeRepository).save(eventOutcome);
   }
 
@@ -82,15 +91,15 @@ class OutcomeServiceTest {
     Integer eventId = 1, winnerDriverId = 14, nonWinnerDriverId = 33;
     var driver =
         Driver.builder().driverId(winnerDriverId).fullName("Fernando Alonso").odds(2).build();
-    var bettingUser1 = User.builder().userId(1).balance(valueOf(100)).build();
-    var bettingUser2 = User.builder().userId(2).balance(valueOf(100)).build();
-    var bettingUser3 = User.builder().userId(3).balance(valueOf(100)).build();
+    var bettingUser1 = User.builder().userId(1).balanceInCents(10_000).build();
+    var bettingUser2 = User.builder().userId(2).balanceInCents(10_000).build();
+    var bettingUser3 = User.builder().userId(3).balanceInCents(10_000).build();
     var winnerBet1 =
         Bet.builder()
             .id(1)
             .userId(bettingUser1.getUserId())
             .eventId(eventId)
-            .amount(valueOf(10))
+            .amountInCents(1_000)
             .driverId(winnerDriverId)
             .status(PLACED)
             .build();
@@ -99,7 +108,7 @@ class OutcomeServiceTest {
             .id(2)
             .userId(bettingUser2.getUserId())
             .eventId(eventId)
-            .amount(valueOf(20))
+            .amountInCents(2_000)
             .driverId(winnerDriverId)
             .status(PLACED)
             .build();
@@ -109,13 +118,21 @@ class OutcomeServiceTest {
             .userId(bettingUser3.getUserId())
             .eventId(eventId)
             .driverId(nonWinnerDriverId)
-            .amount(valueOf(30))
+            .amountInCents(3_000)
             .status(PLACED)
             .build();
 
     when(eventService.findWinnerDriverByEventId(eventId)).thenReturn(Optional.of(driver));
-    when(betService.findBetsByEventId(eventId))
-        .thenReturn(List.of(winnerBet1, winnerBet2, looserBet));
+    var bets = List.of(winnerBet1, winnerBet2, looserBet);
+    when(betService.findBetsByEventId(eventId)).thenReturn(bets);
+    when(settlementEngine.settle(eventId, List.of(winnerBet1, winnerBet2), driver))
+        .thenReturn(
+            new Settlement(
+                List.of(winnerBet1.getId(), winnerBet2.getId()),
+                List.of(),
+                Map.of(bettingUser1.getUserId(), 2_000L, bettingUser2.getUserId(), 4_000L)));
+    when(settlementEngine.settle(eventId, List.of(looserBet), driver))
+        .thenReturn(new Settlement(List.of(), List.of(looserBet.getId()), Map.of()));
 
     var expectedOutcome =
         EventOutcome.builder()
@@ -127,17 +144,113 @@ class OutcomeServiceTest {
     var eventOutcome = outcomeService.publishOutcome(eventId);
     assertThat(eventOutcome).isEqualTo(expectedOutcome);
 
-    verify(betService).markBetAsWinner(winnerBet1.getId());
-    verify(betService).markBetAsWinner(winnerBet2.getId());
-    verify(betService).markBetAsLooser(looserBet.getId());
+    verify(settlementEngine).settle(eventId, List.of(winnerBet1, winnerBet2), driver);
+    verify(settlementEngine).settle(eventId, List.of(looserBet), driver);
+    verify(outcomeRepository).save(eventOutcome);
+  }
+
+  @Test
+  void shouldReturnAlreadyPublishedOutcomeWithoutSettlingAgainTest() {
+    var eventId = 1;
+    var publishedOutcome =
+        EventOutcome.builder().eventId(eventId).winnerDriverId(14).betsWon(1).betsLost(0).build();
+    when(outcomeRepository.findByEventId(eventId)).thenReturn(Optional.of(publishedOutcome));
+
+    var eventOutcome = outcomeService.publishOutcome(eventId);
+
+    assertThat(eventOutcome).isEqualTo(publishedOutcome);
+    verifyNoInteractions(eventService, betService, settlementEngine);
+    verify(outcomeRepository, never()).save(any());
+  }
+
+  @Test
+  void shouldSettleBetsInIdOrderAndCheckpointAfterEachChunkTest() {
+    Integer eventId = 1, winnerDriverId = 14;
+    var driver = Driver.builder().driverId(winnerDriverId).odds(2).build();
+    var bets = List.of(bet(3, eventId, 33), bet(1, eventId, 14), bet(2, eventId, 14));
+
+    when(eventService.findWinnerDriverByEventId(eventId)).thenReturn(Optional.of(driver));
+    when(betService.findBetsByEventId(eventId)).thenReturn(bets);
+    when(settlementEngine.settle(eventId, List.of(bets.get(1), bets.get(2)), driver))
+        .thenReturn(new Settlement(List.of(1, 2), List.of(), Map.of(1, 2_000L)));
+    when(settlementEngine.settle(eventId, List.of(bets.get(0)), driver))
+        .thenReturn(new Settlement(List.of(), List.of(3), Map.of()));
+
+    var eventOutcome = outcomeService.publishOutcome(eventId);
+
+    assertThat(eventOutcome.getBetsWon()).isEqualTo(2);
+    assertThat(eventOutcome.getBetsLost()).isEqualTo(1);
+    verify(outcomeRepository).saveCheckpoint(checkpoint(eventId, winnerDriverId, 2, 2, 0));
+    verify(outcomeRepository).saveCheckpoint(checkpoint(eventId, winnerDriverId, 3, 2, 1));
+    verify(outcomeRepository).save(eventOutcome);
+  }
+
+  @Test
+  void shouldResumeSettlementAfterTheLastCheckpointedBetTest() {
+    Integer eventId = 1, winnerDriverId = 14;
+    var driver = Driver.builder().driverId(winnerDriverId).odds(2).build();
+    var bets = List.of(bet(1, eventId, 14), bet(2, eventId, 33), bet(3, eventId, 14));
 
-    var winnerOdds = BigDecimal.valueOf(driver.getOdds());
-    var expectedWinningAmountUser1 = winnerBet1.getAmount().multiply(winnerOdds);
-    verify(userService).addToUserBalance(bettingUser1.getUserId(), expectedWinningAmountUser1);
+    when(eventService.findWinnerDriverByEventId(eventId)).thenReturn(Optional.of(driver));
+    when(outcomeRepository.findCheckpointByEventId(eventId))
+        .thenReturn(Optional.of(checkpoint(eventId, winnerDriverId, 2, 1, 1)));
+    when(betService.findBetsByEventId(eventId)).thenReturn(bets);
+    when(settlementEngine.settle(eventId, List.of(bets.get(2)), driver))
+        .thenReturn(new Settlement(List.of(3), List.of(), Map.of(1, 2_000L)));
 
-    var expectedWinningAmountUser2 = winnerBet2.getAmount().multiply(winnerOdds);
-    verify(userService).addToUserBalance(bettingUser2.getUserId(), expectedWinningAmountUser2);
+    var eventOutcome = outcomeService.publishOutcome(eventId);
 
+    assertThat(eventOutcome.getBetsWon()).isEqualTo(2);
+    assertThat(eventOutcome.getBetsLost()).isEqualTo(1);
+    verify(settlementEngine).settle(eventId, List.of(bets.get(2)), driver);
     verify(outcomeRepository).save(eventOutcome);
   }
+
+  @Test
+  void shouldRefuseToResumeSettlementStartedWithAnotherWinnerTest() {
+    Integer eventId = 1;
+    var driver = Driver.builder().driverId(14).odds(2).build();
+
+    when(eventService.findWinnerDriverByEventId(eventId)).thenReturn(Optional.of(driver));
+    when(outcomeRepository.findCheckpointByEventId(eventId))
+        .thenReturn(Optional.of(checkpoint(eventId, 33, 2, 1, 1)));
+
+    assertThatIllegalStateException()
+        .isThrownBy(() -> outcomeService.publishOutcome(eventId))
+        .withMessage("Settlement of event 1 was started with winner driver 33");
+
+    verifyNoInteractions(settlementEngine);
+  }
+
+  @Test
+  void shouldRejectNonPositiveCheckpointIntervalTest() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(
+            () ->
+                new OutcomeService(
+                    outcomeRepository, eventService, betService, settlementEngine, 0))
+        .withMessage("Checkpoint interval must be positive");
+  }
+
+  private static Bet bet(int id, int eventId, int driverId) {
+    return Bet.builder()
+        .id(id)
+        .userId(1)
+        .eventId(eventId)
+        .driverId(driverId)
+        .amountInCents(1_000)
+        .status(PLACED)
+        .build();
+  }
+
+  private static SettlementCheckpoint checkpoint(
+      int eventId, int winnerDriverId, int lastBetId, int betsWon, int betsLost) {
+    return SettlementCheckpoint.builder()
+        .eventId(eventId)
+        .winnerDriverId(winnerDriverId)
+        .lastBetId(lastBetId)
+        .betsWon(betsWon)
+        .betsLost(betsLost)
+        .build();
+  }
 }
@@ -0,0 +1,238 @@
+package com.sg.f1bettingservice.core;
+
+import static com.sg.f1bettingservice.core.SettlementEngine.DURATION_METRIC;
+import static com.sg.f1bettingservice.core.SettlementEngine.SETTLED_BETS_METRIC;
+import static com.sg.f1bettingservice.core.model.BetStatus.LOST;
+import static com.sg.f1bettingservice.core.model.BetStatus.PLACED;
+import static com.sg.f1bettingservice.core.model.BetStatus.SETTLING;
+import static com.sg.f1bettingservice.core.model.BetStatus.WON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.sg.f1bettingservice.core.model.Bet;
+import com.sg.f1bettingservice.core.model.BetStatus;
+import com.sg.f1bettingservice.core.model.Driver;
+import com.sg.f1bettingservice.persistence.BetRepository;
+import com.sg.f1bettingservice.persistence.SettlementRepository;
+import com.sg.f1bettingservice.persistence.inmemory.InMemoryBetRepository;
+import com.sg.f1bettingservice.persistence.inmemory.InMemoryUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+
+class SettlementEngineTest {
+
+  private static final int EVENT_ID = 1001;
+  private static final Driver WINNER =
+      Driver.builder().driverId(14).fullName("Fernando Alonso").odds(3).build();
+
+  BetService betService = mock(BetService.class);
+  UserService userService = mock(UserService.class);
+  SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @BeforeEach
+  void settleEveryPlacedBet() {
+    when(betService.markBetsAsSettling(anyList())).thenAnswer(this::allBetIds);
+    when(betService.markBetsAsWinners(anyList())).thenAnswer(this::allBetIds);
+    when(betService.markBetsAsLoosers(anyList())).thenAnswer(this::allBetIds);
+  }
+
+  @Test
+  void shouldPartitionBetsAndCreditEachWinningUserOnceTest() {
+    var settlementEngine =
+        new SettlementEngine(betService, userService, Optional.empty(), meterRegistry, 1);
+    var bets =
+        List.of(bet(1, 1, 14, 1_000), bet(2, 2, 33, 2_000), bet(3, 1, 14, 500), bet(4, 3, 14, 100));
+
+    var settlement = settlementEngine.settle(EVENT_ID, bets, WINNER);
+
+    assertThat(settlement.winnerBetIds()).containsExactly(1, 3, 4);
+    assertThat(settlement.looserBetIds()).containsExactly(2);
+    assertThat(settlement.creditsByUserId()).isEqualTo(Map.of(1, 4_500L, 3, 300L));
+
+    var inOrder = inOrder(betService, userService);
+    inOrder.verify(betService).markBetsAsSettling(List.of(1, 3, 4));
+    inOrder.verify(betService).markBetsAsLoosers(List.of(2));
+    inOrder.verify(userService).addPayouts(List.of(1, 3, 4), Map.of(1, 4_500L, 3, 300L));
+    inOrder.verify(betService).markBetsAsWinners(List.of(1, 3, 4));
+  }
+
+  @Test
+  void shouldApplyChangesThroughTheStoreWhenItSettlesInBulkTest() {
+    var settlementRepository = mock(SettlementRepository.class);
+    var settlementEngine =
+        new SettlementEngine(
+            betService, userService, Optional.of(settlementRepository), meterRegistry, 1);
+    var bets = List.of(bet(3, 1, 14, 1_000), bet(1, 2, 33, 2_000), bet(2, 1, 14, 500));
+    when(settlementRepository.settleRange(EVENT_ID, 14, 3, 1, 3)).thenReturn(Map.of(1, 4_500L));
+
+    var settlement = settlementEngine.settle(EVENT_ID, bets, WINNER);
+
+    assertThat(settlement.winnerBetIds()).containsExactly(3, 2);
+    assertThat(settlement.looserBetIds()).containsExactly(1);
+    assertThat(settlement.creditsByUserId()).isEqualTo(Map.of(1, 4_500L));
+    verifyNoInteractions(betService, userService);
+  }
+
+  @Test
+  void shouldNotCreditWinningBetsThatWereAlreadySettledTest() {
+    var settlementEngine =
+        new SettlementEngine(betService, userService, Optional.empty(), meterRegistry, 1);
+    var bets = List.of(bet(1, 1, 14, 1_000), bet(2, 2, 14, 2_000), bet(3, 1, 14, 500));
+    when(betService.markBetsAsSettling(List.of(1, 2, 3))).thenReturn(List.of(2, 3));
+
+    var settlement = settlementEngine.settle(EVENT_ID, bets, WINNER);
+
+    assertThat(settlement.betsWon()).isEqualTo(3);
+    assertThat(settlement.creditsByUserId()).isEqualTo(Map.of(1, 1_500L, 2, 6_000L));
+    verify(userService).addPayouts(List.of(2, 3), Map.of(1, 1_500L, 2, 6_000L));
+    verify(betService).markBetsAsWinners(List.of(2, 3));
+  }
+
+  @Test
+  void shouldPayWinningBetsLeftSettlingWhenAFailedSettlementIsResumedTest() {
+    var betRepository = new InMemoryBetRepository();
+    var realBetService = new BetService(mock(EventService.class), betRepository, userService);
+    var settlementEngine =
+        new SettlementEngine(realBetService, userService, Optional.empty(), meterRegistry, 1);
+    var winning = betRepository.save(1, EVENT_ID, 14, 1_000, PLACED);
+    var losing = betRepository.save(2, EVENT_ID, 33, 2_000, PLACED);
+    doThrow(new IllegalStateException("Balance store unavailable"))
+        .doNothing()
+        .when(userService)
+        .addPayouts(anyCollection(), anyMap());
+
+    assertThatIllegalStateException()
+        .isThrownBy(
+            () ->
+                settlementEngine.settle(
+                    EVENT_ID, List.copyOf(betRepository.findByEventId(EVENT_ID)), WINNER));
+    assertThat(statusOf(betRepository, winning.getId())).isEqualTo(SETTLING);
+
+    var resumed =
+        settlementEngine.settle(
+            EVENT_ID, List.copyOf(betRepository.findByEventId(EVENT_ID)), WINNER);
+
+    assertThat(resumed.creditsByUserId()).isEqualTo(Map.of(1, 3_000L));
+    verify(userService, times(2)).addPayouts(List.of(winning.getId()), Map.of(1, 3_000L));
+    assertThat(statusOf(betRepository, winning.getId())).isEqualTo(WON);
+    assertThat(statusOf(betRepository, losing.getId())).isEqualTo(LOST);
+
+    var settledAgain =
+        settlementEngine.settle(
+            EVENT_ID, List.copyOf(betRepository.findByEventId(EVENT_ID)), WINNER);
+
+    assertThat(settledAgain.creditsByUserId()).isEmpty();
+  }
+
+  @Test
+  void shouldCreditWinningBetsOnceWhenASettlementFailingAfterTheCreditIsResumedTest() {
+    var betRepository = new InMemoryBetRepository();
+    var realUserService = new UserService(new InMemoryUserRepository());
+    var realBetService =
+        spy(new BetService(mock(EventService.class), betRepository, realUserService));
+    var settlementEngine =
+        new SettlementEngine(realBetService, realUserService, Optional.empty(), meterRegistry, 1);
+    var balanceBefore = realUserService.getOrCreate(1).getBalanceInCents();
+    var winning = betRepository.save(1, EVENT_ID, 14, 1_000, PLACED);
+    doThrow(new IllegalStateException("Bet store unavailable"))
+        .doCallRealMethod()
+        .when(realBetService)
+        .markBetsAsWinners(anyList());
+
+    assertThatIllegalStateException()
+        .isThrownBy(
+            () ->
+                settlementEngine.settle(
+                    EVENT_ID, List.copyOf(betRepository.findByEventId(EVENT_ID)), WINNER));
+    assertThat(statusOf(betRepository, winning.getId())).isEqualTo(SETTLING);
+
+    var resumed =
+        settlementEngine.settle(
+            EVENT_ID, List.copyOf(betRepository.findByEventId(EVENT_ID)), WINNER);
+
+    assertThat(resumed.creditsByUserId()).isEmpty();
+    assertThat(statusOf(betRepository, winning.getId())).isEqualTo(WON);
+    assertThat(realUserService.getOrCreate(1).getBalanceInCents())
+        .isEqualTo(balanceBefore + 3_000L);
+  }
+
+  @Test
+  void shouldMatchSequentialSettlementWhenSplittingLargeBooksTest() {
+    var settlementEngine =
+        new SettlementEngine(betService, userService, Optional.empty(), meterRegistry, 64);
+    var bets =
+        IntStream.rangeClosed(1, 10_000)
+            .mapToObj(id -> bet(id, id % 97, id % 5 == 0 ? 14 : 33, id))
+            .toList();
+
+    var settlement = settlementEngine.settle(EVENT_ID, bets, WINNER);
+
+    var winners = bets.stream().filter(bet -> bet.getDriverId() == 14).toList();
+    assertThat(settlement.betsWon()).isEqualTo(winners.size());
+    assertThat(settlement.betsLost()).isEqualTo(bets.size() - winners.size());
+    assertThat(settlement.winnerBetIds()).isSorted();
+    assertThat(settlement.creditsByUserId().values().stream().mapToLong(Long::longValue).sum())
+        .isEqualTo(winners.stream().mapToLong(bet -> bet.getAmountInCents() * 3).sum());
+  }
+
+  @Test
+  void shouldRecordSettledBetsAndDurationTest() {
+    var settlementEngine =
+        new SettlementEngine(betService, userService, Optional.empty(), meterRegistry, 1);
+
+    settlementEngine.settle(EVENT_ID, List.of(bet(1, 1, 14, 1_000), bet(2, 2, 33, 1)), WINNER);
+
+    assertThat(meterRegistry.get(SETTLED_BETS_METRIC).counter().count()).isEqualTo(2);
+    assertThat(meterRegistry.get(DURATION_METRIC).timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldRejectNonPositivePartitionSizeTest() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(
+            () -> new SettlementEngine(betService, userService, Optional.empty(), meterRegistry, 0))
+        .withMessage("Partition size must be positive");
+  }
+
+  private static BetStatus statusOf(BetRepository betRepository, int betId) {
+    return betRepository.findByEventId(EVENT_ID).stream()
+        .filter(bet -> bet.getId() == betId)
+        .map(Bet::getStatus)
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private List<Integer> allBetIds(InvocationOnMock invocation) {
+    return List.copyOf(invocation.<Collection<Integer>>getArgument(0));
+  }
+
+  private static Bet bet(int id, int userId, int driverId, long amountInCents) {
+    return Bet.builder()
+        .id(id)
+        .userId(userId)
+        .eventId(EVENT_ID)
+        .driverId(driverId)
+        .amountInCents(amountInCents)
+        .status(PLACED)
+        .build();
+  }
+}
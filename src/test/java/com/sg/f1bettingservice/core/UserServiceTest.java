@@ -1,90 +1,93 @@
 package com.sg.f1bettingservice.core;
 
-import static com.sg.f1bettingservice.core.UserService.INITIAL_BALANCE;
-import static java.math.BigDecimal.TEN;
+import static com.sg.f1bettingservice.core.UserService.INITIAL_BALANCE_IN_CENTS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.sg.f1bettingservice.core.exception.InsufficientBalanceException;
 import com.sg.f1bettingservice.core.model.User;
 import com.sg.f1bettingservice.persistence.UserRepository;
-import java.util.Optional;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
 
 class UserServiceTest {
 
+  private static final long AMOUNT_IN_CENTS = 1_000L;
+
   UserRepository userRepository = mock(UserRepository.class);
   UserService userService = new UserService(userRepository);
 
   @Test
-  void shouldCreateUserFromRepositoryWhenItDoesNotExistTest() {
-    ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-    var user = User.builder().userId(1).balance(INITIAL_BALANCE).build();
+  void shouldFindOrCreateUserWithInitialBalanceTest() {
+    var user = User.builder().userId(1).balanceInCents(INITIAL_BALANCE_IN_CENTS).build();
 
-    when(userRepository.findById(user.getUserId())).thenReturn(Optional.empty());
-    when(userRepository.save(userCaptor.capture())).thenReturn(user);
+    when(userRepository.findOrCreate(user.getUserId(), INITIAL_BALANCE_IN_CENTS)).thenReturn(user);
 
     var result = userService.getOrCreate(user.getUserId());
     assertThat(result).isEqualTo(user);
 
-    var createdUser = userCaptor.getValue();
-    verify(userRepository).findById(user.getUserId());
-    verify(userRepository).save(createdUser);
-    assertThat(createdUser.getUserId()).isEqualTo(user.getUserId());
-    assertThat(createdUser.getBalance()).isEqualTo(INITIAL_BALANCE);
+    verify(userRepository).findOrCreate(user.getUserId(), INITIAL_BALANCE_IN_CENTS);
   }
 
   @Test
-  void shouldFetchExistingUserFromRepositoryWhenItExistsTest() {
-    var user = User.builder().userId(1).balance(INITIAL_BALANCE).build();
+  void shouldSaveUserTest() {
+    var user = User.builder().userId(1).balanceInCents(INITIAL_BALANCE_IN_CENTS).build();
+
+    userService.save(user);
+    verify(userRepository).save(user);
+  }
 
-    when(userRepository.findById(user.getUserId())).thenReturn(Optional.of(user));
+  @Test
+  void shouldSubtractAmountFromUserBalanceWhenItIsSufficientTest() {
+    when(userRepository.subtractFromBalanceIfSufficient(1, AMOUNT_IN_CENTS)).thenReturn(true);
 
-    var result = userService.getOrCreate(user.getUserId());
-    assertThat(result).isEqualTo(user);
+    userService.subtractFromUserBalance(1, AMOUNT_IN_CENTS);
 
-    verify(userRepository).findById(user.getUserId());
-    verify(userRepository, never()).save(user);
+    verify(userRepository).subtractFromBalanceIfSufficient(1, AMOUNT_IN_CENTS);
   }
 
   @Test
-  void shouldSaveUserTest() {
-    var user = User.builder().userId(1).balance(INITIAL_BALANCE).build();
+  void shouldThrowInsufficientBalanceExceptionWhenBalanceIsNotSufficientTest() {
+    when(userRepository.subtractFromBalanceIfSufficient(1, AMOUNT_IN_CENTS)).thenReturn(false);
 
-    userService.save(user);
-    verify(userRepository).save(user);
+    assertThatExceptionOfType(InsufficientBalanceException.class)
+        .isThrownBy(() -> userService.subtractFromUserBalance(1, AMOUNT_IN_CENTS))
+        .withMessage("User with id 1 has insufficient balance");
   }
 
   @Test
-  void shouldSubtractAmountFromUserBalanceTest() {
-    var userArgumentCaptor = ArgumentCaptor.forClass(User.class);
-    var amountToSubtract = TEN;
-    var user = User.builder().userId(1).balance(INITIAL_BALANCE).build();
-    var expectedBalance = INITIAL_BALANCE.subtract(amountToSubtract);
+  void shouldReportWhetherBalanceWasSufficientToSubtractAmountTest() {
+    when(userRepository.subtractFromBalanceIfSufficient(1, AMOUNT_IN_CENTS)).thenReturn(true);
+    when(userRepository.subtractFromBalanceIfSufficient(2, AMOUNT_IN_CENTS)).thenReturn(false);
 
-    when(userRepository.findById(user.getUserId())).thenReturn(Optional.of(user));
+    assertThat(userService.subtractFromUserBalanceIfSufficient(1, AMOUNT_IN_CENTS)).isTrue();
+    assertThat(userService.subtractFromUserBalanceIfSufficient(2, AMOUNT_IN_CENTS)).isFalse();
+  }
 
-    userService.subtractFromUserBalance(user.getUserId(), amountToSubtract);
+  @Test
+  void shouldAddAmountToUserBalanceTest() {
+    userService.addToUserBalance(1, AMOUNT_IN_CENTS);
 
-    verify(userRepository).save(userArgumentCaptor.capture());
-    assertThat(userArgumentCaptor.getValue().getBalance()).isEqualTo(expectedBalance);
+    verify(userRepository).addToBalance(1, AMOUNT_IN_CENTS);
   }
 
   @Test
-  void shouldAddAmountToUserBalanceTest() {
-    var userArgumentCaptor = ArgumentCaptor.forClass(User.class);
-    var amountToAdd = TEN;
-    var user = User.builder().userId(1).balance(INITIAL_BALANCE).build();
-    var expectedBalance = INITIAL_BALANCE.add(amountToAdd);
+  void shouldAddAmountsToUserBalancesInBulkTest() {
+    var amountsInCentsByUserId = Map.of(1, AMOUNT_IN_CENTS, 2, 2 * AMOUNT_IN_CENTS);
+
+    userService.addToUserBalances(amountsInCentsByUserId);
 
-    when(userRepository.findById(user.getUserId())).thenReturn(Optional.of(user));
+    verify(userRepository).addToBalances(amountsInCentsByUserId);
+  }
 
-    userService.addToUserBalance(user.getUserId(), amountToAdd);
+  @Test
+  void shouldNotTouchRepositoryWhenThereAreNoAmountsToAddTest() {
+    userService.addToUserBalances(Map.of());
 
-    verify(userRepository).save(userArgumentCaptor.capture());
-    assertThat(userArgumentCaptor.getValue().getBalance()).isEqualTo(expectedBalance);
+    verifyNoInteractions(userRepository);
   }
 }
@@ -0,0 +1,95 @@
+package com.sg.f1bettingservice.core.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class EventMarketTest {
+
+  private static final IntBinaryOperator ODDS = (eventId, driverId) -> driverId % 3 + 2;
+
+  Driver lewisHamilton = Driver.builder().driverId(44).fullName("Lewis Hamilton").build();
+  Driver maxVerstappen = Driver.builder().driverId(33).fullName("Max Verstappen").build();
+
+  @Test
+  void shouldExposeDriversWithComputedOdds() {
+    var market = EventMarket.of(1001, List.of(lewisHamilton, maxVerstappen), ODDS);
+
+    assertThat(market.getEventId()).isEqualTo(1001);
+    assertThat(market.getDrivers())
+        .containsExactly(
+            Driver.builder().driverId(44).fullName("Lewis Hamilton").odds(4).build(),
+            Driver.builder().driverId(33).fullName("Max Verstappen").odds(2).build());
+  }
+
+  @Test
+  void shouldLookUpDriversAndOddsByDriverId() {
+    var market = EventMarket.of(1001, List.of(lewisHamilton, maxVerstappen), ODDS);
+
+    assertThat(market.hasDriver(44)).isTrue();
+    assertThat(market.hasDriver(1)).isFalse();
+    assertThat(market.getOdds(33)).isEqualTo(2);
+    assertThat(market.findDriver(44)).map(Driver::getFullName).contains("Lewis Hamilton");
+    assertThat(market.findDriver(1)).isEmpty();
+  }
+
+  @Test
+  void shouldThrowWhenGettingOddsOfDriverOutsideTheMarket() {
+    var market = EventMarket.of(1001, List.of(lewisHamilton), ODDS);
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> market.getOdds(33))
+        .withMessage("Driver 33 is not part of the market of event 1001");
+  }
+
+  @Test
+  void shouldResolveEveryDriverOfALargeGrid() {
+    var drivers = new ArrayList<Driver>();
+    IntStream.rangeClosed(1, 99).forEach(id -> drivers.add(Driver.builder().driverId(id).build()));
+
+    var market = EventMarket.of(1, drivers, ODDS);
+
+    IntStream.rangeClosed(1, 99)
+        .forEach(id -> assertThat(market.getOdds(id)).isEqualTo(ODDS.applyAsInt(1, id)));
+    assertThat(market.hasDriver(100)).isFalse();
+  }
+
+  @Test
+  void shouldIgnoreDriversWithoutIdAndDuplicatedIds() {
+    var market =
+        EventMarket.of(
+            1001,
+            List.of(lewisHamilton, Driver.builder().fullName("Unknown").build(), lewisHamilton),
+            ODDS);
+
+    assertThat(market.getDrivers()).extracting(Driver::getDriverId).containsExactly(44);
+  }
+
+  @Test
+  void shouldBuildEmptyMarket() {
+    var market = EventMarket.of(1001, List.of(), ODDS);
+
+    assertThat(market.getDrivers()).isEmpty();
+    assertThat(market.hasDriver(44)).isFalse();
+  }
+
+  @Test
+  void shouldRejectNonPositiveOdds() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> EventMarket.of(1001, List.of(lewisHamilton), (e, d) -> 0));
+  }
+
+  @Test
+  void shouldTellWhetherItWasBuiltFromTheGivenDrivers() {
+    var drivers = List.of(lewisHamilton, maxVerstappen);
+    var market = EventMarket.of(1001, drivers, ODDS);
+
+    assertThat(market.isBuiltFrom(List.of(lewisHamilton, maxVerstappen))).isTrue();
+    assertThat(market.isBuiltFrom(List.of(lewisHamilton))).isFalse();
+  }
+}
@@ -0,0 +1,51 @@
+package com.sg.f1bettingservice.core.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+
+  @Test
+  void shouldConvertAmountsToCents() {
+    assertThat(Money.toCents(BigDecimal.TEN)).isEqualTo(1_000);
+    assertThat(Money.toCents(new BigDecimal("10.5"))).isEqualTo(1_050);
+    assertThat(Money.toCents(new BigDecimal("0.01"))).isEqualTo(1);
+  }
+
+  @Test
+  void shouldConvertCentsToAmounts() {
+    assertThat(Money.fromCents(1_050)).isEqualTo(new BigDecimal("10.50"));
+  }
+
+  @Test
+  void shouldRejectAmountsWithMoreThanTwoDecimals() {
+    assertThatExceptionOfType(ArithmeticException.class)
+        .isThrownBy(() -> Money.toCents(new BigDecimal("10.001")));
+  }
+
+  @Test
+  void shouldRejectAmountsThatDoNotFitInCents() {
+    assertThatExceptionOfType(ArithmeticException.class)
+        .isThrownBy(() -> Money.toCents(BigDecimal.valueOf(Long.MAX_VALUE)));
+  }
+
+  @Test
+  void shouldAddSubtractAndMultiplyCents() {
+    assertThat(Money.add(1_000, 50)).isEqualTo(1_050);
+    assertThat(Money.subtract(1_000, 50)).isEqualTo(950);
+    assertThat(Money.multiply(1_050, 3)).isEqualTo(3_150);
+  }
+
+  @Test
+  void shouldFailInsteadOfOverflowing() {
+    assertThatExceptionOfType(ArithmeticException.class)
+        .isThrownBy(() -> Money.add(Long.MAX_VALUE, 1));
+    assertThatExceptionOfType(ArithmeticException.class)
+        .isThrownBy(() -> Money.subtract(Long.MIN_VALUE, 1));
+    assertThatExceptionOfType(ArithmeticException.class)
+        .isThrownBy(() -> Money.multiply(Long.MAX_VALUE / 2, 3));
+  }
+}
@@ -0,0 +1,95 @@
+package com.sg.f1bettingservice.f1data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.sg.f1bettingservice.core.model.Driver;
+import com.sg.f1bettingservice.core.model.Event;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AsyncF1DataProviderTest {
+
+  F1DataProvider f1DataProvider = mock(F1DataProvider.class);
+  AsyncF1DataProvider asyncF1DataProvider = new AsyncF1DataProvider(f1DataProvider);
+
+  @Test
+  void shouldCompleteWithTheResultsOfTheDelegate() {
+    var event = Event.builder().eventId(1001).build();
+    var driver = Driver.builder().driverId(44).fullName("Lewis Hamilton").build();
+
+    when(f1DataProvider.findEvents("Race", 2025, null)).thenReturn(List.of(event));
+    when(f1DataProvider.findEventById(1001)).thenReturn(Optional.of(event));
+    when(f1DataProvider.getDriversByEventId(1001)).thenReturn(List.of(driver));
+    when(f1DataProvider.getDriversByEventIds(List.of(1001)))
+        .thenReturn(Map.of(1001, List.of(driver)));
+    when(f1DataProvider.getWinnerDriverIdByEventId(1001)).thenReturn(Optional.of(44));
+
+    assertThat(asyncF1DataProvider.findEvents("Race", 2025, null).join()).containsExactly(event);
+    assertThat(asyncF1DataProvider.findEventById(1001).join()).contains(event);
+    assertThat(asyncF1DataProvider.getDriversByEventId(1001).join()).containsExactly(driver);
+    assertThat(asyncF1DataProvider.getDriversByEventIds(List.of(1001)).join())
+        .containsEntry(1001, List.of(driver));
+    assertThat(asyncF1DataProvider.getWinnerDriverIdByEventId(1001).join()).contains(44);
+  }
+
+  @Test
+  void shouldRunCallsOnVirtualThreadsOffTheCallersThread() {
+    var caller = Thread.currentThread();
+    when(f1DataProvider.findEventById(1001))
+        .thenAnswer(
+            invocation -> {
+              assertThat(Thread.currentThread()).isNotSameAs(caller);
+              assertThat(Thread.currentThread().isVirtual()).isTrue();
+              return Optional.empty();
+            });
+
+    assertThat(asyncF1DataProvider.findEventById(1001).join()).isEmpty();
+  }
+
+  @Test
+  void shouldRunIndependentCallsConcurrently() {
+    var bothInFlight = new CountDownLatch(2);
+    var event = Event.builder().eventId(1001).build();
+    when(f1DataProvider.findEventById(1001))
+        .thenAnswer(
+            invocation -> {
+              awaitBoth(bothInFlight);
+              return Optional.of(event);
+            });
+    when(f1DataProvider.getDriversByEventId(1001))
+        .thenAnswer(
+            invocation -> {
+              awaitBoth(bothInFlight);
+              return List.of();
+            });
+
+    var found = asyncF1DataProvider.findEventById(1001);
+    var drivers = asyncF1DataProvider.getDriversByEventId(1001);
+
+    assertThat(found.join()).contains(event);
+    assertThat(drivers.join()).isEmpty();
+  }
+
+  @Test
+  void shouldCompleteExceptionallyWithTheFailureOfTheDelegate() {
+    var failure = new F1DataProviderException("OpenF1 is unavailable");
+    when(f1DataProvider.getDriversByEventId(1001)).thenThrow(failure);
+
+    assertThatExceptionOfType(CompletionException.class)
+        .isThrownBy(() -> asyncF1DataProvider.getDriversByEventId(1001).join())
+        .withCause(failure);
+  }
+
+  private static void awaitBoth(CountDownLatch bothInFlight) throws InterruptedException {
+    bothInFlight.countDown();
+    assertThat(bothInFlight.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+}
@@ -0,0 +1,127 @@
+package com.sg.f1bettingservice.f1data;
+
+import static com.sg.f1bettingservice.f1data.SingleFlight.REQUESTS_METRIC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  SingleFlight singleFlight = new SingleFlight(meterRegistry);
+
+  @Test
+  void shouldExecuteCallAndReturnItsResult() {
+    var result = singleFlight.execute("sessions", "key", () -> List.of(1, 2));
+
+    assertThat(result).containsExactly(1, 2);
+    assertThat(count("sessions", "executed")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldExecuteSequentialIdenticalCallsEachTime() {
+    var calls = new AtomicInteger();
+
+    singleFlight.execute("sessions", "key", calls::incrementAndGet);
+    singleFlight.execute("sessions", "key", calls::incrementAndGet);
+
+    assertThat(calls).hasValue(2);
+    assertThat(count("sessions", "coalesced")).isZero();
+  }
+
+  @Test
+  void shouldShareOneInFlightCallBetweenConcurrentIdenticalCallers() throws Exception {
+    var callers = 8;
+    var calls = new AtomicInteger();
+    var results = new ArrayList<Future<Integer>>();
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < callers; i++) {
+        results.add(
+            executor.submit(
+                () ->
+                    singleFlight.execute(
+                        "drivers",
+                        "drivers?session_key=1001",
+                        () -> {
+                          awaitCoalescedCallers(callers - 1);
+                          return calls.incrementAndGet();
+                        })));
+      }
+      for (var result : results) {
+        assertThat(result.get()).isEqualTo(1);
+      }
+    }
+
+    assertThat(calls).hasValue(1);
+    assertThat(count("drivers", "executed")).isEqualTo(1);
+    assertThat(count("drivers", "coalesced")).isEqualTo(callers - 1);
+  }
+
+  @Test
+  void shouldPropagateFailureToTheCallerAndForgetTheFlight() {
+    assertThatIllegalStateException()
+        .isThrownBy(
+            () ->
+                singleFlight.execute(
+                    "sessions",
+                    "key",
+                    () -> {
+                      throw new IllegalStateException("boom");
+                    }))
+        .withMessage("boom");
+
+    assertThat(singleFlight.execute("sessions", "key", () -> "recovered")).isEqualTo("recovered");
+  }
+
+  @Test
+  void shouldReleaseCoalescedCallersWhenTheCallThrowsAnError() throws Exception {
+    var error = new OutOfMemoryError("Java heap space");
+    Supplier<Object> call =
+        () -> {
+          awaitCoalescedCallers(1);
+          throw error;
+        };
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var leader = executor.submit(() -> singleFlight.execute("drivers", "key", call));
+      var follower = executor.submit(() -> singleFlight.execute("drivers", "key", call));
+
+      for (var caller : List.of(leader, follower)) {
+        assertThatExceptionOfType(ExecutionException.class)
+            .isThrownBy(() -> caller.get(5, TimeUnit.SECONDS))
+            .withCause(error);
+      }
+    }
+    assertThat(count("drivers", "executed")).isEqualTo(1);
+  }
+
+  private void awaitCoalescedCallers(int expected) {
+    var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (count("drivers", "coalesced") < expected && System.nanoTime() < deadline) {
+      Thread.onSpinWait();
+    }
+  }
+
+  private double count(String endpoint, String outcome) {
+    var counter =
+        meterRegistry
+            .find(REQUESTS_METRIC)
+            .tag("endpoint", endpoint)
+            .tag("outcome", outcome)
+            .counter();
+    return counter == null ? 0 : counter.count();
+  }
+}
@@ -0,0 +1,347 @@
+package com.sg.f1bettingservice.f1data.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sg.f1bettingservice.core.model.Driver;
+import com.sg.f1bettingservice.core.model.Event;
+import com.sg.f1bettingservice.f1data.F1DataProvider;
+import com.sg.f1bettingservice.f1data.F1DataProviderException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class CachingF1DataProviderTest {
+
+  private static final Duration TTL = Duration.ofMinutes(1);
+  private static final Duration MAX_STALE = Duration.ofHours(1);
+
+  F1DataProvider delegate = mock(F1DataProvider.class);
+  Clock clock = mock(Clock.class);
+  CachingF1DataProvider cachingF1DataProvider;
+
+  @BeforeEach
+  void setUp() {
+    when(clock.millis()).thenReturn(0L);
+    cachingF1DataProvider =
+        new CachingF1DataProvider(delegate, TTL, TTL, Duration.ZERO, 10, clock, Runnable::run);
+  }
+
+  @Nested
+  class FindEventByIdTests {
+    @Test
+    void shouldCallDelegateOnlyOnceForRepeatedLookups() {
+      var event = Event.builder().eventId(1001).name("Italian GP").drivers(List.of()).build();
+      when(delegate.findEventById(1001)).thenReturn(Optional.of(event));
+
+      assertThat(cachingF1DataProvider.findEventById(1001)).contains(event);
+      assertThat(cachingF1DataProvider.findEventById(1001)).contains(event);
+
+      verify(delegate, times(1)).findEventById(1001);
+    }
+
+    @Test
+    void shouldNotExposeCachedInstanceToCallers() {
+      var event = Event.builder().eventId(1001).drivers(List.of()).build();
+      when(delegate.findEventById(1001)).thenReturn(Optional.of(event));
+
+      cachingF1DataProvider
+          .findEventById(1001)
+          .orElseThrow()
+          .setDrivers(List.of(Driver.builder().build()));
+
+      assertThat(cachingF1DataProvider.findEventById(1001).orElseThrow().getDrivers()).isEmpty();
+    }
+
+    @Test
+    void shouldCallDelegateAgainOnceEntryHasExpired() {
+      var event = Event.builder().eventId(1001).build();
+      when(delegate.findEventById(1001)).thenReturn(Optional.of(event));
+
+      cachingF1DataProvider.findEventById(1001);
+      when(clock.millis()).thenReturn(TTL.toMillis());
+      cachingF1DataProvider.findEventById(1001);
+
+      verify(delegate, times(2)).findEventById(1001);
+    }
+
+    @Test
+    void shouldNotCacheMissingEvents() {
+      when(delegate.findEventById(1)).thenReturn(Optional.empty());
+
+      assertThat(cachingF1DataProvider.findEventById(1)).isEmpty();
+      assertThat(cachingF1DataProvider.findEventById(1)).isEmpty();
+
+      verify(delegate, times(2)).findEventById(1);
+    }
+
+    @Test
+    void shouldServeEventsFetchedByFindEventsFromCache() {
+      var event = Event.builder().eventId(1001).build();
+      when(delegate.findEvents("Race", 2024, null)).thenReturn(List.of(event));
+
+      cachingF1DataProvider.findEvents("Race", 2024, null);
+
+      assertThat(cachingF1DataProvider.findEventById(1001)).contains(event);
+      verify(delegate, never()).findEventById(1001);
+    }
+  }
+
+  @Nested
+  class GetDriversByEventIdTests {
+    @Test
+    void shouldCallDelegateOnlyOnceForRepeatedLookups() {
+      var drivers = List.of(Driver.builder().driverId(44).fullName("Lewis Hamilton").build());
+      when(delegate.getDriversByEventId(1001)).thenReturn(drivers);
+
+      assertThat(cachingF1DataProvider.getDriversByEventId(1001)).isEqualTo(drivers);
+      assertThat(cachingF1DataProvider.getDriversByEventId(1001)).isEqualTo(drivers);
+
+      verify(delegate, times(1)).getDriversByEventId(1001);
+    }
+
+    @Test
+    void shouldFetchOnlyMissingEventsFromDelegateInBulkLookups() {
+      var lewisHamilton = List.of(Driver.builder().driverId(44).build());
+      var maxVerstappen = List.of(Driver.builder().driverId(33).build());
+      when(delegate.getDriversByEventId(1001)).thenReturn(lewisHamilton);
+      when(delegate.getDriversByEventIds(List.of(1002))).thenReturn(Map.of(1002, maxVerstappen));
+
+      cachingF1DataProvider.getDriversByEventId(1001);
+      var result = cachingF1DataProvider.getDriversByEventIds(List.of(1001, 1002));
+
+      assertThat(result).isEqualTo(Map.of(1001, lewisHamilton, 1002, maxVerstappen));
+      assertThat(cachingF1DataProvider.getDriversByEventId(1002)).isEqualTo(maxVerstappen);
+      verify(delegate, never()).getDriversByEventId(1002);
+    }
+
+    @Test
+    void shouldNotCallDelegateWhenEveryEventIsCached() {
+      when(delegate.getDriversByEventId(1001)).thenReturn(List.of());
+
+      cachingF1DataProvider.getDriversByEventId(1001);
+      cachingF1DataProvider.getDriversByEventIds(List.of(1001));
+
+      verify(delegate, never()).getDriversByEventIds(anyList());
+    }
+
+    @Test
+    void shouldPropagateDelegateExceptionWhenEventIdIsNull() {
+      when(delegate.getDriversByEventId(null))
+          .thenThrow(new F1DataProviderException("Event ID must be provided"));
+
+      assertThatExceptionOfType(F1DataProviderException.class)
+          .isThrownBy(() -> cachingF1DataProvider.getDriversByEventId(null));
+    }
+  }
+
+  @Nested
+  class GetWinnerDriverIdByEventIdTests {
+    @Test
+    void shouldCallDelegateOnlyOnceOnceTheWinnerIsPublished() {
+      when(delegate.getWinnerDriverIdByEventId(1001)).thenReturn(Optional.of(44));
+
+      assertThat(cachingF1DataProvider.getWinnerDriverIdByEventId(1001)).contains(44);
+      assertThat(cachingF1DataProvider.getWinnerDriverIdByEventId(1001)).contains(44);
+
+      verify(delegate, times(1)).getWinnerDriverIdByEventId(1001);
+    }
+
+    @Test
+    void shouldKeepAskingDelegateWhileThereIsNoWinner() {
+      when(delegate.getWinnerDriverIdByEventId(1001))
+          .thenReturn(Optional.empty())
+          .thenReturn(Optional.of(44));
+
+      assertThat(cachingF1DataProvider.getWinnerDriverIdByEventId(1001)).isEmpty();
+      assertThat(cachingF1DataProvider.getWinnerDriverIdByEventId(1001)).contains(44);
+
+      verify(delegate, times(2)).getWinnerDriverIdByEventId(1001);
+    }
+
+    @Test
+    void shouldKeepNoMoreWinnersThanMaxEntries() {
+      for (var eventId = 1001; eventId <= 1020; eventId++) {
+        when(delegate.getWinnerDriverIdByEventId(eventId)).thenReturn(Optional.of(44));
+        cachingF1DataProvider.getWinnerDriverIdByEventId(eventId);
+      }
+
+      assertThat(cachingF1DataProvider.snapshot().winnersByEventId()).hasSize(10);
+    }
+
+    @Test
+    void shouldFetchWinnerAgainOnceItHasExpired() {
+      when(delegate.getWinnerDriverIdByEventId(1001)).thenReturn(Optional.of(44));
+
+      cachingF1DataProvider.getWinnerDriverIdByEventId(1001);
+      when(clock.millis()).thenReturn(CachingF1DataProvider.WINNERS_TTL.toMillis() + 1);
+      assertThat(cachingF1DataProvider.getWinnerDriverIdByEventId(1001)).contains(44);
+
+      verify(delegate, times(2)).getWinnerDriverIdByEventId(1001);
+    }
+  }
+
+  @Nested
+  class SnapshotTests {
+    @Test
+    void shouldSnapshotCachedEventsDriversAndWinners() {
+      var event = Event.builder().eventId(1001).name("Italian GP").build();
+      var drivers = List.of(Driver.builder().driverId(44).build());
+      when(delegate.findEventById(1001)).thenReturn(Optional.of(event));
+      when(delegate.getDriversByEventId(1001)).thenReturn(drivers);
+      when(delegate.getWinnerDriverIdByEventId(1001)).thenReturn(Optional.of(44));
+      cachingF1DataProvider.findEventById(1001);
+      cachingF1DataProvider.getDriversByEventId(1001);
+      cachingF1DataProvider.getWinnerDriverIdByEventId(1001);
+
+      assertThat(cachingF1DataProvider.snapshot())
+          .isEqualTo(new SeasonData(Map.of(1001, event), Map.of(1001, drivers), Map.of(1001, 44)));
+    }
+
+    @Test
+    void shouldServeRestoredDataWithoutCallingDelegate() {
+      var event = Event.builder().eventId(1001).name("Italian GP").build();
+      var drivers = List.of(Driver.builder().driverId(44).build());
+      var revalidations = new ArrayList<Runnable>();
+      cachingF1DataProvider =
+          new CachingF1DataProvider(delegate, TTL, TTL, MAX_STALE, 10, clock, revalidations::add);
+
+      cachingF1DataProvider.restore(
+          new SeasonData(Map.of(1001, event), Map.of(1001, drivers), Map.of(1001, 44)));
+
+      assertThat(cachingF1DataProvider.findEventById(1001)).contains(event);
+      assertThat(cachingF1DataProvider.getDriversByEventId(1001)).isEqualTo(drivers);
+      assertThat(cachingF1DataProvider.getWinnerDriverIdByEventId(1001)).contains(44);
+      assertThat(revalidations).hasSize(2);
+      verify(delegate, never()).findEventById(1001);
+      verify(delegate, never()).getDriversByEventId(1001);
+      verify(delegate, never()).getWinnerDriverIdByEventId(1001);
+    }
+
+    @Test
+    void shouldNotReplaceFresherCachedDataOnRestore() {
+      var event = Event.builder().eventId(1001).name("Monza GP").build();
+      when(delegate.findEventById(1001)).thenReturn(Optional.of(event));
+      cachingF1DataProvider.findEventById(1001);
+
+      cachingF1DataProvider.restore(
+          new SeasonData(
+              Map.of(1001, event.toBuilder().name("Italian GP").build()), Map.of(), Map.of()));
+
+      assertThat(cachingF1DataProvider.findEventById(1001)).contains(event);
+    }
+  }
+
+  @Nested
+  class StaleWhileRevalidateTests {
+
+    List<Runnable> revalidations = new ArrayList<>();
+    Executor revalidator = revalidations::add;
+
+    @BeforeEach
+    void setUp() {
+      cachingF1DataProvider =
+          new CachingF1DataProvider(delegate, TTL, TTL, MAX_STALE, 10, clock, revalidator);
+    }
+
+    @Test
+    void shouldServeStaleEventAndRefreshItInTheBackground() {
+      var event = Event.builder().eventId(1001).name("Italian GP").build();
+      var renamed = event.toBuilder().name("Monza GP").build();
+      when(delegate.findEventById(1001)).thenReturn(Optional.of(event), Optional.of(renamed));
+      cachingF1DataProvider.findEventById(1001);
+      when(clock.millis()).thenReturn(TTL.toMillis());
+
+      assertThat(cachingF1DataProvider.findEventById(1001)).contains(event);
+      assertThat(cachingF1DataProvider.findEventById(1001)).contains(event);
+      assertThat(revalidations).hasSize(1);
+
+      revalidations.getFirst().run();
+
+      assertThat(cachingF1DataProvider.findEventById(1001)).contains(renamed);
+      verify(delegate, times(2)).findEventById(1001);
+    }
+
+    @Test
+    void shouldKeepServingStaleDriversWhenRevalidationFails() {
+      var drivers = List.of(Driver.builder().driverId(44).build());
+      when(delegate.getDriversByEventId(1001))
+          .thenReturn(drivers)
+          .thenThrow(new F1DataProviderException("OpenF1 is down"));
+      cachingF1DataProvider.getDriversByEventId(1001);
+      when(clock.millis()).thenReturn(TTL.toMillis());
+
+      assertThat(cachingF1DataProvider.getDriversByEventId(1001)).isEqualTo(drivers);
+      revalidations.getFirst().run();
+
+      assertThat(cachingF1DataProvider.getDriversByEventId(1001)).isEqualTo(drivers);
+      assertThat(revalidations).hasSize(2);
+    }
+
+    @Test
+    void shouldServeStaleDriversOfBulkLookupsAndRevalidateThemInOneCall() {
+      var lewisHamilton = List.of(Driver.builder().driverId(44).build());
+      var maxVerstappen = List.of(Driver.builder().driverId(33).build());
+      when(delegate.getDriversByEventIds(List.of(1001, 1002)))
+          .thenReturn(Map.of(1001, lewisHamilton, 1002, maxVerstappen));
+      cachingF1DataProvider.getDriversByEventIds(List.of(1001, 1002));
+      when(clock.millis()).thenReturn(TTL.toMillis());
+
+      var result = cachingF1DataProvider.getDriversByEventIds(List.of(1001, 1002));
+
+      assertThat(result).isEqualTo(Map.of(1001, lewisHamilton, 1002, maxVerstappen));
+      assertThat(revalidations).hasSize(1);
+      revalidations.getFirst().run();
+      verify(delegate, times(2)).getDriversByEventIds(List.of(1001, 1002));
+    }
+
+    @Test
+    void shouldOnlyReplaceCachedDriversWhoseDataChanged() {
+      var lewisHamilton = Driver.builder().driverId(44).build();
+      var maxVerstappen = Driver.builder().driverId(33).build();
+      when(delegate.getDriversByEventIds(List.of(1001, 1002)))
+          .thenReturn(Map.of(1001, List.of(lewisHamilton), 1002, List.of(lewisHamilton)))
+          .thenReturn(
+              Map.of(
+                  1001,
+                  List.of(Driver.builder().driverId(44).build()),
+                  1002,
+                  List.of(lewisHamilton, maxVerstappen)));
+      var first = cachingF1DataProvider.getDriversByEventIds(List.of(1001, 1002));
+      when(clock.millis()).thenReturn(TTL.toMillis());
+      cachingF1DataProvider.getDriversByEventIds(List.of(1001, 1002));
+      revalidations.getFirst().run();
+
+      var refreshed = cachingF1DataProvider.getDriversByEventIds(List.of(1001, 1002));
+
+      assertThat(refreshed.get(1001)).isSameAs(first.get(1001));
+      assertThat(refreshed.get(1002)).containsExactly(lewisHamilton, maxVerstappen);
+    }
+
+    @Test
+    void shouldFetchAgainOnceStaleWindowHasPassed() {
+      var event = Event.builder().eventId(1001).build();
+      when(delegate.findEventById(1001)).thenReturn(Optional.of(event));
+      cachingF1DataProvider.findEventById(1001);
+      when(clock.millis()).thenReturn(TTL.plus(MAX_STALE).toMillis());
+
+      assertThat(cachingF1DataProvider.findEventById(1001)).contains(event);
+
+      assertThat(revalidations).isEmpty();
+      verify(delegate, times(2)).findEventById(1001);
+    }
+  }
+}
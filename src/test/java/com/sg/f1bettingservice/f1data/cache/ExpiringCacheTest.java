@@ -0,0 +1,159 @@
+package com.sg.f1bettingservice.f1data.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ExpiringCacheTest {
+
+  Clock clock = mock(Clock.class);
+  ExpiringCache<Integer, String> cache;
+
+  @BeforeEach
+  void setUp() {
+    when(clock.millis()).thenReturn(0L);
+    cache = new ExpiringCache<>(Duration.ofSeconds(10), 2, clock);
+  }
+
+  @Test
+  void shouldReturnCachedValueBeforeItExpires() {
+    cache.put(1, "one");
+    when(clock.millis()).thenReturn(9_999L);
+
+    assertThat(cache.get(1)).contains("one");
+  }
+
+  @Test
+  void shouldReturnEmptyAndDropEntryOnceItHasExpired() {
+    cache.put(1, "one");
+    when(clock.millis()).thenReturn(10_000L);
+
+    assertThat(cache.get(1)).isEmpty();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void shouldReturnEmptyWhenKeyIsNotCached() {
+    assertThat(cache.get(1)).isEmpty();
+  }
+
+  @Test
+  void shouldEvictEntryClosestToExpiringWhenMaxEntriesIsExceeded() {
+    cache.put(1, "one");
+    when(clock.millis()).thenReturn(1L);
+    cache.put(2, "two");
+    when(clock.millis()).thenReturn(2L);
+    cache.put(3, "three");
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get(1)).isEmpty();
+    assertThat(cache.get(2)).contains("two");
+    assertThat(cache.get(3)).contains("three");
+  }
+
+  @Test
+  void shouldReorderReplacedEntryByItsNewExpiry() {
+    cache.put(1, "one");
+    when(clock.millis()).thenReturn(1L);
+    cache.put(2, "two");
+    when(clock.millis()).thenReturn(2L);
+    cache.put(1, "one again");
+    cache.put(3, "three");
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get(1)).contains("one again");
+    assertThat(cache.get(2)).isEmpty();
+  }
+
+  @Test
+  void shouldStayWithinMaxEntriesUnderConcurrentPuts() throws Exception {
+    cache = new ExpiringCache<>(Duration.ofSeconds(10), 100, Clock.systemUTC());
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var futures =
+          IntStream.range(0, 10_000)
+              .mapToObj(i -> executor.submit(() -> cache.put(i, "value")))
+              .toList();
+      for (var future : futures) {
+        future.get();
+      }
+    }
+
+    assertThat(cache.size()).isEqualTo(100);
+    assertThat(cache.values()).hasSize(100);
+  }
+
+  @Test
+  void shouldInvalidateEntry() {
+    cache.put(1, "one");
+    cache.invalidate(1);
+
+    assertThat(cache.get(1)).isEmpty();
+  }
+
+  @Test
+  void shouldRejectNonPositiveMaxEntries() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new ExpiringCache<Integer, String>(Duration.ofSeconds(1), 0, clock));
+  }
+
+  @Test
+  void shouldServeExpiredEntryAsStaleWithinItsStaleWindow() {
+    cache = new ExpiringCache<>(Duration.ofSeconds(10), Duration.ofSeconds(5), 2, clock);
+    cache.put(1, "one");
+
+    assertThat(cache.lookup(1)).contains(new ExpiringCache.Cached<>("one", false));
+    when(clock.millis()).thenReturn(10_000L);
+    assertThat(cache.get(1)).isEmpty();
+    assertThat(cache.lookup(1)).contains(new ExpiringCache.Cached<>("one", true));
+    when(clock.millis()).thenReturn(15_000L);
+    assertThat(cache.lookup(1)).isEmpty();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void shouldEvictEntriesPastTheirStaleWindowFirst() {
+    cache = new ExpiringCache<>(Duration.ofSeconds(10), Duration.ofSeconds(5), 2, clock);
+    cache.put(1, "one");
+    when(clock.millis()).thenReturn(12_000L);
+    cache.put(2, "two");
+    when(clock.millis()).thenReturn(16_000L);
+    cache.put(3, "three");
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.lookup(1)).isEmpty();
+    assertThat(cache.get(2)).contains("two");
+  }
+
+  @Test
+  void shouldServeValuesPutAsStaleUntilTheirStaleWindowEnds() {
+    cache = new ExpiringCache<>(Duration.ofSeconds(10), Duration.ofSeconds(5), 2, clock);
+    cache.putStale(1, "one");
+
+    assertThat(cache.get(1)).isEmpty();
+    assertThat(cache.lookup(1)).contains(new ExpiringCache.Cached<>("one", true));
+    when(clock.millis()).thenReturn(5_000L);
+    assertThat(cache.lookup(1)).isEmpty();
+  }
+
+  @Test
+  void shouldListFreshAndStaleValuesOnly() {
+    cache = new ExpiringCache<>(Duration.ofSeconds(10), Duration.ofSeconds(5), 2, clock);
+    cache.put(1, "one");
+    when(clock.millis()).thenReturn(12_000L);
+    cache.put(2, "two");
+
+    assertThat(cache.values()).containsOnly(entry(1, "one"), entry(2, "two"));
+    when(clock.millis()).thenReturn(15_000L);
+    assertThat(cache.values()).containsOnly(entry(2, "two"));
+  }
+}
@@ -0,0 +1,60 @@
+package com.sg.f1bettingservice.f1data.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.sg.f1bettingservice.core.model.Driver;
+import com.sg.f1bettingservice.core.model.Event;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SeasonSnapshotCodecTest {
+
+  @Test
+  void shouldReadBackWhatWasWritten() throws IOException {
+    var race =
+        Event.builder()
+            .eventId(1001)
+            .name("Italian GP")
+            .sessionType("Race")
+            .country("Italy")
+            .dateTime(OffsetDateTime.parse("2025-09-07T15:00:00.5+02:00"))
+            .build();
+    var undated = Event.builder().eventId(1002).build();
+    var drivers =
+        List.of(
+            Driver.builder().driverId(44).fullName("Lewis Hamilton").build(),
+            Driver.builder().build());
+    var season =
+        new SeasonData(
+            Map.of(1001, race, 1002, undated),
+            Map.of(1001, drivers, 1002, List.of()),
+            Map.of(1001, 44));
+
+    assertThat(decode(encode(season))).isEqualTo(season);
+  }
+
+  @Test
+  void shouldRejectDataThatIsNotASnapshot() {
+    assertThatExceptionOfType(IOException.class)
+        .isThrownBy(() -> decode(new byte[] {0, 0, 0, 0, 1}))
+        .withMessage("Not a season snapshot");
+  }
+
+  private static byte[] encode(SeasonData season) throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    SeasonSnapshotCodec.write(season, new DataOutputStream(bytes));
+    return bytes.toByteArray();
+  }
+
+  private static SeasonData decode(byte[] bytes) throws IOException {
+    return SeasonSnapshotCodec.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+  }
+}
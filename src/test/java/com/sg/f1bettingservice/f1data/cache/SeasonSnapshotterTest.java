@@ -0,0 +1,118 @@
+package com.sg.f1bettingservice.f1data.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sg.f1bettingservice.core.model.Driver;
+import com.sg.f1bettingservice.core.model.Event;
+import com.sg.f1bettingservice.f1data.F1DataProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SeasonSnapshotterTest {
+
+  private static final Duration INTERVAL = Duration.ofMinutes(1);
+  private static final Event EVENT = Event.builder().eventId(1001).name("Italian GP").build();
+  private static final List<Driver> DRIVERS = List.of(Driver.builder().driverId(44).build());
+
+  @TempDir Path directory;
+
+  F1DataProvider delegate = mock(F1DataProvider.class);
+  ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+  Path file;
+
+  @BeforeEach
+  void setUp() {
+    file = directory.resolve("snapshots").resolve("f1data.bin.gz");
+    when(delegate.findEventById(1001)).thenReturn(Optional.of(EVENT));
+    when(delegate.getDriversByEventId(1001)).thenReturn(DRIVERS);
+    when(delegate.getWinnerDriverIdByEventId(1001)).thenReturn(Optional.of(44));
+  }
+
+  @Test
+  void shouldServeDataOfThePreviousRunWithoutCallingOpenF1() throws IOException {
+    var previous = provider();
+    previous.findEventById(1001);
+    previous.getDriversByEventId(1001);
+    previous.getWinnerDriverIdByEventId(1001);
+    new SeasonSnapshotter(previous, file, INTERVAL, scheduler).close();
+
+    var offline = mock(F1DataProvider.class);
+    var restarted = provider(offline);
+    new SeasonSnapshotter(restarted, file, INTERVAL, scheduler);
+
+    assertThat(restarted.findEventById(1001)).contains(EVENT);
+    assertThat(restarted.getDriversByEventId(1001)).isEqualTo(DRIVERS);
+    assertThat(restarted.getWinnerDriverIdByEventId(1001)).contains(44);
+    verify(offline, never()).findEventById(1001);
+    verify(offline, never()).getDriversByEventId(1001);
+    verify(offline, never()).getWinnerDriverIdByEventId(1001);
+  }
+
+  @Test
+  void shouldRewriteTheSnapshotPeriodicallyOnlyWhenDataChanged() throws IOException {
+    var provider = provider();
+    var snapshotter = new SeasonSnapshotter(provider, file, INTERVAL, scheduler);
+    verify(scheduler)
+        .scheduleWithFixedDelay(
+            any(Runnable.class),
+            eq(INTERVAL.toMillis()),
+            eq(INTERVAL.toMillis()),
+            eq(TimeUnit.MILLISECONDS));
+
+    snapshotter.write();
+    assertThat(file).doesNotExist();
+
+    provider.findEventById(1001);
+    snapshotter.write();
+    assertThat(file).exists();
+    Files.delete(file);
+    snapshotter.write();
+    assertThat(file).doesNotExist();
+
+    provider.getDriversByEventId(1001);
+    snapshotter.write();
+    assertThat(file).exists();
+  }
+
+  @Test
+  void shouldStartEmptyWhenTheSnapshotIsUnreadable() throws IOException {
+    Files.createDirectories(file.getParent());
+    Files.write(file, new byte[] {1, 2, 3});
+    var provider = provider();
+
+    new SeasonSnapshotter(provider, file, INTERVAL, scheduler);
+
+    assertThat(provider.snapshot()).isEqualTo(SeasonData.EMPTY);
+  }
+
+  private CachingF1DataProvider provider() {
+    return provider(delegate);
+  }
+
+  private CachingF1DataProvider provider(F1DataProvider delegate) {
+    return new CachingF1DataProvider(
+        delegate,
+        Duration.ofMinutes(10),
+        Duration.ofMinutes(10),
+        Duration.ofHours(24),
+        100,
+        Clock.systemUTC(),
+        task -> {});
+  }
+}
@@ -0,0 +1,170 @@
+package com.sg.f1bettingservice.f1data.circuit;
+
+import static com.sg.f1bettingservice.f1data.circuit.CircuitBreaker.REJECTED_METRIC;
+import static com.sg.f1bettingservice.f1data.circuit.CircuitBreaker.STATE_METRIC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.sg.f1bettingservice.f1data.F1DataProviderException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+  private static final int FAILURE_THRESHOLD = 3;
+  private static final Duration PROBE_INTERVAL = Duration.ofSeconds(10);
+  private static final Predicate<RuntimeException> IS_FAILURE =
+      e -> e instanceof F1DataProviderException;
+
+  SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  Clock clock = mock(Clock.class);
+  CircuitBreaker circuitBreaker =
+      new CircuitBreaker(
+          "openf1", FAILURE_THRESHOLD, PROBE_INTERVAL, IS_FAILURE, meterRegistry, clock);
+
+  AtomicInteger calls = new AtomicInteger();
+  AtomicBoolean upstreamDown = new AtomicBoolean();
+  Supplier<String> upstream =
+      () -> {
+        calls.incrementAndGet();
+        if (upstreamDown.get()) {
+          throw new F1DataProviderException("OpenF1 is down");
+        }
+        return "sessions";
+      };
+
+  @BeforeEach
+  void startClock() {
+    when(clock.millis()).thenReturn(0L);
+  }
+
+  @Test
+  void shouldPassCallsThroughWhileClosed() {
+    assertThat(circuitBreaker.execute(upstream)).isEqualTo("sessions");
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void shouldOpenAfterConsecutiveFailuresAndFailFastWithoutCallingUpstream() {
+    upstreamDown.set(true);
+    failTimes(FAILURE_THRESHOLD);
+
+    assertThatExceptionOfType(CircuitOpenException.class)
+        .isThrownBy(() -> circuitBreaker.execute(upstream));
+
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(calls).hasValue(FAILURE_THRESHOLD);
+    assertThat(meterRegistry.get(REJECTED_METRIC).counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get(STATE_METRIC).gauge().value()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldOnlyCountConsecutiveFailures() {
+    upstreamDown.set(true);
+    failTimes(FAILURE_THRESHOLD - 1);
+    upstreamDown.set(false);
+    circuitBreaker.execute(upstream);
+    upstreamDown.set(true);
+    failTimes(FAILURE_THRESHOLD - 1);
+
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void shouldNotCountExceptionsThatAreNotFailures() {
+    Supplier<String> invalidRequest =
+        () -> {
+          throw new IllegalArgumentException("Unknown session");
+        };
+
+    for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+      assertThatIllegalArgumentException().isThrownBy(() -> circuitBreaker.execute(invalidRequest));
+    }
+
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void shouldLetOneLiveCallThroughAfterTheProbeIntervalAndCloseWhenItSucceeds() {
+    upstreamDown.set(true);
+    failTimes(FAILURE_THRESHOLD);
+    upstreamDown.set(false);
+
+    when(clock.millis()).thenReturn(9_999L);
+    assertThatExceptionOfType(CircuitOpenException.class)
+        .isThrownBy(() -> circuitBreaker.execute(upstream));
+
+    when(clock.millis()).thenReturn(10_000L);
+    assertThat(circuitBreaker.execute(upstream)).isEqualTo("sessions");
+
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    assertThat(meterRegistry.get(STATE_METRIC).gauge().value()).isZero();
+    assertThat(calls).hasValue(FAILURE_THRESHOLD + 1);
+    assertThat(circuitBreaker.execute(upstream)).isEqualTo("sessions");
+  }
+
+  @Test
+  void shouldOpenForAnotherIntervalWhenTheTrialCallFails() {
+    upstreamDown.set(true);
+    failTimes(FAILURE_THRESHOLD);
+
+    when(clock.millis()).thenReturn(10_000L);
+    failTimes(1);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+    when(clock.millis()).thenReturn(19_999L);
+    assertThatExceptionOfType(CircuitOpenException.class)
+        .isThrownBy(() -> circuitBreaker.execute(upstream));
+
+    upstreamDown.set(false);
+    when(clock.millis()).thenReturn(20_000L);
+    assertThat(circuitBreaker.execute(upstream)).isEqualTo("sessions");
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void shouldFailOtherCallsFastWhileTheTrialCallIsInFlight() {
+    upstreamDown.set(true);
+    failTimes(FAILURE_THRESHOLD);
+    upstreamDown.set(false);
+    when(clock.millis()).thenReturn(10_000L);
+
+    var result =
+        circuitBreaker.execute(
+            () -> {
+              assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+              assertThatExceptionOfType(CircuitOpenException.class)
+                  .isThrownBy(() -> circuitBreaker.execute(upstream));
+              return "trial";
+            });
+
+    assertThat(result).isEqualTo("trial");
+    assertThat(calls).hasValue(FAILURE_THRESHOLD);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void shouldRejectNonPositiveFailureThreshold() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(
+            () -> new CircuitBreaker("openf1", 0, PROBE_INTERVAL, IS_FAILURE, meterRegistry, clock))
+        .withMessage("Failure threshold must be positive");
+  }
+
+  private void failTimes(int times) {
+    for (int i = 0; i < times; i++) {
+      assertThatExceptionOfType(F1DataProviderException.class)
+          .isThrownBy(() -> circuitBreaker.execute(upstream));
+    }
+  }
+}
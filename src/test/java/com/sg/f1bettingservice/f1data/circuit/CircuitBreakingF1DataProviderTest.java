@@ -0,0 +1,113 @@
+package com.sg.f1bettingservice.f1data.circuit;
+
+import static com.sg.f1bettingservice.f1data.circuit.CircuitBreakingF1DataProvider.isUpstreamFailure;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.BAD_GATEWAY;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+
+import com.sg.f1bettingservice.core.model.Driver;
+import com.sg.f1bettingservice.core.model.Event;
+import com.sg.f1bettingservice.f1data.F1DataProvider;
+import com.sg.f1bettingservice.f1data.F1DataProviderException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+class CircuitBreakingF1DataProviderTest {
+
+  F1DataProvider delegate = mock(F1DataProvider.class);
+  CircuitBreakingF1DataProvider provider =
+      new CircuitBreakingF1DataProvider(
+          delegate,
+          new CircuitBreaker(
+              "openf1",
+              1,
+              Duration.ofSeconds(10),
+              CircuitBreakingF1DataProvider::isUpstreamFailure,
+              new SimpleMeterRegistry()));
+
+  @Test
+  void shouldDelegateEveryCallWhileUpstreamIsHealthy() {
+    var event = Event.builder().eventId(1001).build();
+    var drivers = List.of(Driver.builder().driverId(44).build());
+    when(delegate.findEvents("Race", 2024, null)).thenReturn(List.of(event));
+    when(delegate.findEventById(1001)).thenReturn(Optional.of(event));
+    when(delegate.getDriversByEventId(1001)).thenReturn(drivers);
+    when(delegate.getDriversByEventIds(List.of(1001))).thenReturn(Map.of(1001, drivers));
+    when(delegate.getWinnerDriverIdByEventId(1001)).thenReturn(Optional.of(44));
+
+    assertThat(provider.findEvents("Race", 2024, null)).containsExactly(event);
+    assertThat(provider.findEventById(1001)).contains(event);
+    assertThat(provider.getDriversByEventId(1001)).isEqualTo(drivers);
+    assertThat(provider.getDriversByEventIds(List.of(1001))).isEqualTo(Map.of(1001, drivers));
+    assertThat(provider.getWinnerDriverIdByEventId(1001)).contains(44);
+  }
+
+  @Test
+  void shouldFailFastOnceUpstreamFailed() {
+    when(delegate.findEventById(1001))
+        .thenThrow(
+            new F1DataProviderException("OpenF1 is down", new IOException("Connection refused")));
+
+    assertThatExceptionOfType(F1DataProviderException.class)
+        .isThrownBy(() -> provider.findEventById(1001));
+    assertThatExceptionOfType(CircuitOpenException.class)
+        .isThrownBy(() -> provider.getDriversByEventId(1001));
+    assertThatExceptionOfType(CircuitOpenException.class)
+        .isThrownBy(() -> provider.findEventById(1001));
+
+    verify(delegate, times(1)).findEventById(1001);
+  }
+
+  @Test
+  void shouldNotCountMissingEventIdAsUpstreamFailure() {
+    when(delegate.getDriversByEventId(null))
+        .thenThrow(new F1DataProviderException("Event ID must be provided"));
+
+    assertThatExceptionOfType(F1DataProviderException.class)
+        .isThrownBy(() -> provider.getDriversByEventId(null));
+
+    assertThat(provider.findEventById(1001)).isEmpty();
+  }
+
+  @Test
+  void shouldNotCountRequestsOpenF1RejectsAsUpstreamFailures() {
+    when(delegate.findEventById(1001))
+        .thenThrow(
+            new F1DataProviderException(
+                "Bad request", HttpClientErrorException.create(BAD_REQUEST, "", null, null, null)));
+
+    assertThatExceptionOfType(F1DataProviderException.class)
+        .isThrownBy(() -> provider.findEventById(1001));
+
+    assertThat(provider.getDriversByEventId(1001)).isEmpty();
+  }
+
+  @Test
+  void shouldOnlyCountIoErrorsAndServerErrorsOrThrottlingAsUpstreamFailures() {
+    var serverError = HttpServerErrorException.create(BAD_GATEWAY, "", null, null, null);
+    var throttled = HttpClientErrorException.create(TOO_MANY_REQUESTS, "", null, null, null);
+    var notFound = HttpClientErrorException.create(NOT_FOUND, "", null, null, null);
+
+    assertThat(isUpstreamFailure(new F1DataProviderException("down", new IOException()))).isTrue();
+    assertThat(isUpstreamFailure(new F1DataProviderException("down", serverError))).isTrue();
+    assertThat(isUpstreamFailure(new F1DataProviderException("busy", throttled))).isTrue();
+    assertThat(isUpstreamFailure(new F1DataProviderException("gone", notFound))).isFalse();
+    assertThat(isUpstreamFailure(new F1DataProviderException("bug", new IllegalStateException())))
+        .isFalse();
+    assertThat(isUpstreamFailure(new IllegalStateException(new IOException()))).isFalse();
+  }
+}
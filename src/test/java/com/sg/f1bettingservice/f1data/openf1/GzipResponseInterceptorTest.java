@@ -0,0 +1,72 @@
+package com.sg.f1bettingservice.f1data.openf1;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+class GzipResponseInterceptorTest {
+
+  private static final String URL = "https://test.openF1.com/sessions";
+  private static final String JSON = "[{\"session_key\":1216}]";
+
+  RestTemplate restTemplate;
+  MockRestServiceServer mockServer;
+
+  @BeforeEach
+  void setUp() {
+    restTemplate = new RestTemplate();
+    restTemplate.getInterceptors().add(new GzipResponseInterceptor());
+    mockServer = MockRestServiceServer.bindTo(restTemplate).build();
+  }
+
+  @Test
+  void shouldAskForGzipAndDecompressCompressedResponses() throws IOException {
+    mockServer
+        .expect(requestTo(URL))
+        .andExpect(header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+        .andRespond(
+            withSuccess(gzip(JSON), APPLICATION_JSON).header(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+    var response = restTemplate.getForEntity(URL, String.class);
+
+    assertThat(response.getBody()).isEqualTo(JSON);
+    assertThat(response.getHeaders()).doesNotContainKey(HttpHeaders.CONTENT_ENCODING);
+    mockServer.verify();
+  }
+
+  @Test
+  void shouldPassUncompressedResponsesThrough() {
+    mockServer.expect(requestTo(URL)).andRespond(withSuccess(JSON, APPLICATION_JSON));
+
+    assertThat(restTemplate.getForObject(URL, String.class)).isEqualTo(JSON);
+  }
+
+  @Test
+  void shouldReadEmptyCompressedResponsesAsEmpty() {
+    mockServer
+        .expect(requestTo(URL))
+        .andRespond(withSuccess().header(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+    assertThat(restTemplate.getForObject(URL, String.class)).isNull();
+  }
+
+  private static byte[] gzip(String content) throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    try (var gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(content.getBytes(UTF_8));
+    }
+    return bytes.toByteArray();
+  }
+}
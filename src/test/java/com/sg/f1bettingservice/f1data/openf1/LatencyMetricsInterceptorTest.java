@@ -0,0 +1,91 @@
+package com.sg.f1bettingservice.f1data.openf1;
+
+import static com.sg.f1bettingservice.f1data.openf1.LatencyMetricsInterceptor.IO_ERROR;
+import static com.sg.f1bettingservice.f1data.openf1.LatencyMetricsInterceptor.LATENCY_METRIC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withException;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+class LatencyMetricsInterceptorTest {
+
+  private static final String BASE_URL = "https://test.openF1.com/v1/";
+
+  SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  RestTemplate restTemplate;
+  MockRestServiceServer mockServer;
+
+  @BeforeEach
+  void setUp() {
+    restTemplate = new RestTemplate();
+    restTemplate.getInterceptors().add(new LatencyMetricsInterceptor(meterRegistry));
+    mockServer = MockRestServiceServer.bindTo(restTemplate).build();
+  }
+
+  @Test
+  void shouldRecordLatencyPerEndpointAndStatus() {
+    mockServer
+        .expect(requestTo(BASE_URL + "sessions?year=2023"))
+        .andRespond(withSuccess("[]", APPLICATION_JSON));
+    mockServer
+        .expect(requestTo(BASE_URL + "drivers?session_key=1216"))
+        .andRespond(withSuccess("[]", APPLICATION_JSON));
+    mockServer
+        .expect(requestTo(BASE_URL + "drivers?session_key=1217"))
+        .andRespond(withServerError());
+
+    restTemplate.getForObject(BASE_URL + "sessions?year=2023", String.class);
+    restTemplate.getForObject(BASE_URL + "drivers?session_key=1216", String.class);
+    assertThatExceptionOfType(HttpServerErrorException.class)
+        .isThrownBy(
+            () -> restTemplate.getForObject(BASE_URL + "drivers?session_key=1217", String.class));
+
+    assertThat(count("sessions", "200")).isEqualTo(1);
+    assertThat(count("drivers", "200")).isEqualTo(1);
+    assertThat(count("drivers", "500")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldRecordLatencyOfRequestsFailingWithoutResponse() {
+    mockServer
+        .expect(requestTo(BASE_URL + "session_result"))
+        .andRespond(withException(new IOException("Read timed out")));
+
+    assertThatExceptionOfType(ResourceAccessException.class)
+        .isThrownBy(() -> restTemplate.getForObject(BASE_URL + "session_result", String.class));
+
+    assertThat(count("session_result", IO_ERROR)).isEqualTo(1);
+  }
+
+  @Test
+  void shouldPublishLatencyHistogram() {
+    mockServer.expect(requestTo(BASE_URL + "sessions")).andRespond(withSuccess());
+
+    restTemplate.getForObject(BASE_URL + "sessions", String.class);
+
+    var snapshot =
+        meterRegistry.get(LATENCY_METRIC).tag("endpoint", "sessions").timer().takeSnapshot();
+    assertThat(snapshot.histogramCounts()).isNotEmpty();
+  }
+
+  private long count(String endpoint, String status) {
+    return meterRegistry
+        .get(LATENCY_METRIC)
+        .tag("endpoint", endpoint)
+        .tag("status", status)
+        .timer()
+        .count();
+  }
+}
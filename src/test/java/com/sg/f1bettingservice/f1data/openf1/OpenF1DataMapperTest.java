@@ -1,10 +1,18 @@
 package com.sg.f1bettingservice.f1data.openf1;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.OffsetDateTime.parse;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import com.fasterxml.jackson.core.JsonParseException;
 import com.sg.f1bettingservice.core.model.Driver;
+import com.sg.f1bettingservice.core.model.Event;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -13,71 +21,108 @@ class OpenF1DataMapperTest {
   OpenF1DataMapper mapper = new OpenF1DataMapper();
 
   @Nested
-  class ToEventTests {
+  class ReadEventsTests {
     @Test
-    void shouldMapOpenF1SessionToEvent() {
-      var session =
-          new OpenF1Session(
-              9140,
-              1216,
-              "Belgian Grand Prix",
-              "Sprint",
-              "Race",
-              "Belgium",
-              "2023-07-29T15:05:00+00:00",
-              2023);
-
-      var sessions = List.of(session);
-      var result = mapper.toEventList(sessions);
-
-      assertThat(result).hasSameSizeAs(List.of(sessions));
-      var event = result.getFirst();
-      assertThat(event.getEventId()).isEqualTo(session.session_key());
-      assertThat(event.getName()).isEqualTo(session.session_name());
-      assertThat(event.getSessionType()).isEqualTo(session.session_type());
-      assertThat(event.getCountry()).isEqualTo(session.country_name());
-      assertThat(event.getDateTime()).isEqualTo(parse(session.date_start()));
-      assertThat(event.getDrivers()).isEmpty();
+    void shouldMapOpenF1SessionsToEventsSkippingUnusedFields() throws IOException {
+      var json =
+          """
+          [
+            {
+              "circuit_key": 7,
+              "country_name": "Belgium",
+              "date_start": "2023-07-29T15:05:00+00:00",
+              "location": { "name": "Spa-Francorchamps", "tags": ["classic", 1] },
+              "session_key": 9140,
+              "session_name": "Sprint",
+              "session_type": "Race",
+              "year": 2023
+            },
+            { "session_key": 9141, "session_name": null, "date_start": null }
+          ]
+          """;
+
+      var result = mapper.readEvents(stream(json));
+
+      assertThat(result)
+          .containsExactly(
+              Event.builder()
+                  .eventId(9140)
+                  .name("Sprint")
+                  .sessionType("Race")
+                  .country("Belgium")
+                  .dateTime(parse("2023-07-29T15:05:00+00:00"))
+                  .drivers(List.of())
+                  .build(),
+              Event.builder().eventId(9141).drivers(List.of()).build());
     }
 
     @Test
-    void shouldMapNullOpenF1SessionToEmptyEventList() {
-      assertThat(mapper.toEventList(null)).isEmpty();
+    void shouldReadEmptyArrayOrEmptyBodyAsNoEvents() throws IOException {
+      assertThat(mapper.readEvents(stream("[]"))).isEmpty();
+      assertThat(mapper.readEvents(stream(""))).isEmpty();
     }
 
     @Test
-    void shouldMapEmptyOpenF1SessionToEmptyEventList() {
-      assertThat(mapper.toEventList(List.of())).isEmpty();
+    void shouldRejectResponsesThatAreNotAnArrayOfObjects() {
+      assertThatExceptionOfType(JsonParseException.class)
+          .isThrownBy(() -> mapper.readEvents(stream("{\"detail\": \"Not found\"}")))
+          .withMessageStartingWith("Expected an array but found START_OBJECT");
+      assertThatExceptionOfType(JsonParseException.class)
+          .isThrownBy(() -> mapper.readEvents(stream("[1]")))
+          .withMessageStartingWith("Expected an object but found VALUE_NUMBER_INT");
     }
   }
 
   @Nested
-  class ToDriverTests {
+  class ReadDriversTests {
     @Test
-    void shouldMapOpenF1DriversToDrivers() {
-      var d1 = new OpenF1Driver(44, "Lewis Hamilton");
-      var d2 = new OpenF1Driver(33, "Max Verstappen");
+    void shouldMapOpenF1DriversToDrivers() throws IOException {
+      var json =
+          """
+          [
+            { "driver_number": 44, "full_name": "Lewis Hamilton", "team_name": "Mercedes" },
+            { "driver_number": 33, "full_name": "Max Verstappen", "team_colour": "3671C6" }
+          ]
+          """;
 
-      var drivers = List.of(d1, d2);
-      var result = mapper.toDriverList(drivers);
-
-      assertThat(result).hasSameSizeAs(drivers);
-
-      assertThat(result)
-          .filteredOn(
-              e -> e.getDriverId() == d1.driver_number() || e.getDriverId() == d2.driver_number())
-          .extracting(Driver::getFullName)
-          .containsExactlyInAnyOrder(d1.full_name(), d2.full_name());
+      assertThat(mapper.readDrivers(stream(json)))
+          .containsExactly(
+              Driver.builder().driverId(44).fullName("Lewis Hamilton").build(),
+              Driver.builder().driverId(33).fullName("Max Verstappen").build());
     }
 
     @Test
-    void shouldMapNullOpenF1DriverToEmptyDriverList() {
-      assertThat(mapper.toDriverList(null)).isEmpty();
+    void shouldReadEmptyArrayAsNoDrivers() throws IOException {
+      assertThat(mapper.readDrivers(stream("[]"))).isEmpty();
     }
 
     @Test
-    void shouldMapEmptyOpenF1DriverToEmptyDriverList() {
-      assertThat(mapper.toDriverList(List.of())).isEmpty();
+    void shouldGroupDriversOfSeveralSessionsBySessionKeyInResponseOrder() throws IOException {
+      var json =
+          """
+          [
+            { "session_key": 1220, "driver_number": 44, "full_name": "Lewis Hamilton" },
+            { "session_key": 1216, "driver_number": 44, "full_name": "Lewis Hamilton" },
+            { "session_key": 1220, "driver_number": 33, "full_name": "Max Verstappen" },
+            { "driver_number": 14, "full_name": "Fernando Alonso" }
+          ]
+          """;
+
+      var result = mapper.readDriversBySessionKey(stream(json));
+
+      assertThat(result)
+          .isEqualTo(
+              Map.of(
+                  1216,
+                  List.of(Driver.builder().driverId(44).fullName("Lewis Hamilton").build()),
+                  1220,
+                  List.of(
+                      Driver.builder().driverId(44).fullName("Lewis Hamilton").build(),
+                      Driver.builder().driverId(33).fullName("Max Verstappen").build())));
     }
   }
+
+  private static InputStream stream(String json) {
+    return new ByteArrayInputStream(json.getBytes(UTF_8));
+  }
 }
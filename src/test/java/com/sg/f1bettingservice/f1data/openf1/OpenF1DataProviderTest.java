@@ -1,50 +1,71 @@
 package com.sg.f1bettingservice.f1data.openf1;
 
+import static com.sg.f1bettingservice.f1data.openf1.OpenF1DataProvider.RANGE_SPAN_PER_BATCHED_SESSION;
 import static java.time.OffsetDateTime.parse;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentCaptor.forClass;
-import static org.mockito.ArgumentMatchers.anyList;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.client.ExpectedCount.times;
 import static org.springframework.test.web.client.MockRestServiceServer.createServer;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 import static org.springframework.web.util.UriComponentsBuilder.fromHttpUrl;
 
 import com.sg.f1bettingservice.core.model.Driver;
 import com.sg.f1bettingservice.core.model.Event;
 import com.sg.f1bettingservice.f1data.F1DataProviderException;
+import com.sg.f1bettingservice.f1data.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.client.RestTemplate;
 
 class OpenF1DataProviderTest {
 
   private static final String BASE_URL = "https://test.openF1.com/";
+  private static final int DRIVERS_BATCH_SIZE = 2;
 
   RestTemplate restTemplate;
   MockRestServiceServer mockServer;
   OpenF1DataMapper openF1DataMapper;
+  SingleFlight singleFlight;
+  SimpleMeterRegistry meterRegistry;
   OpenF1DataProvider openF1DataProvider;
 
   @BeforeEach
   void setUp() {
     restTemplate = new RestTemplate();
     mockServer = createServer(restTemplate);
-    openF1DataMapper = mock(OpenF1DataMapper.class);
-    openF1DataProvider = new OpenF1DataProvider(openF1DataMapper, restTemplate, BASE_URL);
+    openF1DataMapper = new OpenF1DataMapper();
+    meterRegistry = new SimpleMeterRegistry();
+    singleFlight = new SingleFlight(meterRegistry);
+    openF1DataProvider =
+        new OpenF1DataProvider(
+            openF1DataMapper,
+            restTemplate,
+            singleFlight,
+            new OpenF1ResponseCache(
+                Duration.ofHours(1), 100, DataSize.ofMegabytes(1), meterRegistry),
+            BASE_URL,
+            DRIVERS_BATCH_SIZE,
+            2);
   }
 
   @Nested
@@ -69,23 +90,9 @@ class OpenF1DataProviderTest {
           .andExpect(method(GET))
           .andRespond(withSuccess(getSessionJsonResponse(), APPLICATION_JSON));
 
-      var events = List.of(Event.builder().build());
-      when(openF1DataMapper.toEventList(anyList())).thenReturn(events);
-
       var result = openF1DataProvider.findEvents(sessionType, year, country);
-      assertThat(result).isEqualTo(events);
-
-      ArgumentCaptor<List<OpenF1Session>> sessionsResponseCaptor = forClass(List.class);
-      verify(openF1DataMapper).toEventList(sessionsResponseCaptor.capture());
-
-      var sessionsPassed = sessionsResponseCaptor.getValue();
-      assertThat(sessionsPassed).hasSize(1);
-      var session = sessionsPassed.getFirst();
-      assertThat(session.session_key()).isEqualTo(9140);
-      assertThat(session.session_type()).isEqualTo(sessionType);
-      assertThat(session.country_name()).isEqualTo(country);
-      assertThat(session.year()).isEqualTo(year);
-      assertThat(session.date_start()).isEqualTo("2023-07-29T15:05:00+00:00");
+
+      assertThat(result).containsExactly(belgianSprint());
     }
 
     @Test
@@ -104,11 +111,8 @@ class OpenF1DataProviderTest {
           .andExpect(method(GET))
           .andRespond(withSuccess(getSessionJsonResponse(), APPLICATION_JSON));
 
-      var events = List.of(Event.builder().build());
-      when(openF1DataMapper.toEventList(anyList())).thenReturn(events);
-
       var result = openF1DataProvider.findEvents(sessionType, null, null);
-      assertThat(result).isEqualTo(events);
+      assertThat(result).containsExactly(belgianSprint());
     }
 
     @Test
@@ -123,11 +127,8 @@ class OpenF1DataProviderTest {
           .andExpect(method(GET))
           .andRespond(withSuccess(getSessionJsonResponse(), APPLICATION_JSON));
 
-      var events = List.of(Event.builder().build());
-      when(openF1DataMapper.toEventList(anyList())).thenReturn(events);
-
       var result = openF1DataProvider.findEvents(null, year, null);
-      assertThat(result).isEqualTo(events);
+      assertThat(result).containsExactly(belgianSprint());
     }
 
     @Test
@@ -146,11 +147,8 @@ class OpenF1DataProviderTest {
           .andExpect(method(GET))
           .andRespond(withSuccess(getSessionJsonResponse(), APPLICATION_JSON));
 
-      var events = List.of(Event.builder().build());
-      when(openF1DataMapper.toEventList(anyList())).thenReturn(events);
-
       var result = openF1DataProvider.findEvents(null, null, country);
-      assertThat(result).isEqualTo(events);
+      assertThat(result).containsExactly(belgianSprint());
     }
 
     @Test
@@ -162,11 +160,8 @@ class OpenF1DataProviderTest {
           .andExpect(method(GET))
           .andRespond(withSuccess(getSessionJsonResponse(), APPLICATION_JSON));
 
-      var events = List.of(Event.builder().build());
-      when(openF1DataMapper.toEventList(anyList())).thenReturn(events);
-
       var result = openF1DataProvider.findEvents(null, null, null);
-      assertThat(result).isEqualTo(events);
+      assertThat(result).containsExactly(belgianSprint());
     }
 
     @Test
@@ -202,32 +197,9 @@ class OpenF1DataProviderTest {
           .andExpect(method(GET))
           .andRespond(withSuccess(getSessionJsonResponse(), APPLICATION_JSON));
 
-      var mappedEvent =
-          Event.builder()
-              .eventId(eventId)
-              .name("Belgian Grand Prix")
-              .sessionType("Race")
-              .country("Belgium")
-              .dateTime(parse("2023-07-29T15:05:00+00:00"))
-              .drivers(List.of())
-              .build();
-      var events = List.of(mappedEvent);
-      when(openF1DataMapper.toEventList(anyList())).thenReturn(events);
-
       var result = openF1DataProvider.findEventById(eventId);
-      assertThat(result).isEqualTo(Optional.of(mappedEvent));
-
-      ArgumentCaptor<List<OpenF1Session>> sessionsResponseCaptor = forClass(List.class);
-      verify(openF1DataMapper).toEventList(sessionsResponseCaptor.capture());
-
-      var sessionsPassed = sessionsResponseCaptor.getValue();
-      assertThat(sessionsPassed).hasSize(1);
-      var session = sessionsPassed.getFirst();
-      assertThat(session.session_key()).isEqualTo(9140);
-      assertThat(session.session_type()).isEqualTo("Race");
-      assertThat(session.country_name()).isEqualTo("Belgium");
-      assertThat(session.year()).isEqualTo(2023);
-      assertThat(session.date_start()).isEqualTo("2023-07-29T15:05:00+00:00");
+
+      assertThat(result).isEqualTo(Optional.of(belgianSprint()));
     }
 
     @Test
@@ -246,8 +218,6 @@ class OpenF1DataProviderTest {
           .andExpect(method(GET))
           .andRespond(withSuccess("[]", APPLICATION_JSON));
 
-      when(openF1DataMapper.toEventList(List.of())).thenReturn(List.of());
-
       var result = openF1DataProvider.findEventById(eventId);
 
       assertThat(result).isEmpty();
@@ -298,24 +268,12 @@ class OpenF1DataProviderTest {
           .andExpect(method(GET))
           .andRespond(withSuccess(driversJson, APPLICATION_JSON));
 
-      var mapped =
-          List.of(
-              Driver.builder().driverId(14).fullName("Fernando Alonso").build(),
-              Driver.builder().driverId(1).fullName("Max Verstappen").build());
-
-      ArgumentCaptor<List<OpenF1Driver>> captor = forClass(List.class);
-      when(openF1DataMapper.toDriverList(captor.capture())).thenReturn(mapped);
-
       var result = openF1DataProvider.getDriversByEventId(eventId);
 
-      assertThat(result).isEqualTo(mapped);
-
-      var passed = captor.getValue();
-      assertThat(passed)
-          .filteredOn(d -> d.driver_number().equals(14) || d.driver_number().equals(1))
-          .hasSize(2)
-          .extracting(OpenF1Driver::full_name)
-          .containsExactlyInAnyOrder("Fernando Alonso", "Max Verstappen");
+      assertThat(result)
+          .containsExactly(
+              Driver.builder().driverId(1).fullName("Max Verstappen").build(),
+              Driver.builder().driverId(14).fullName("Fernando Alonso").build());
 
       mockServer.verify();
     }
@@ -336,12 +294,9 @@ class OpenF1DataProviderTest {
           .andExpect(method(GET))
           .andRespond(withSuccess("[]", APPLICATION_JSON));
 
-      when(openF1DataMapper.toDriverList(List.of())).thenReturn(List.of());
-
       var result = openF1DataProvider.getDriversByEventId(eventId);
 
       assertThat(result).isEmpty();
-      verify(openF1DataMapper).toDriverList(List.of());
 
       mockServer.verify();
     }
@@ -373,6 +328,129 @@ class OpenF1DataProviderTest {
     }
   }
 
+  @Nested
+  class GetDriversByEventIdsTests {
+    @BeforeEach
+    void setUp() {
+      mockServer = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+    }
+
+    @Test
+    void shouldFetchDriversOfSeveralSessionsInBatchesGroupedBySessionKey() {
+      var rangeUri =
+          fromHttpUrl(BASE_URL)
+              .path("drivers")
+              .query("session_key>=1216")
+              .query("session_key<=1220")
+              .build()
+              .encode()
+              .toUri();
+      var singleUri =
+          fromHttpUrl(BASE_URL)
+              .path("drivers")
+              .queryParam("session_key", 1300)
+              .build(true)
+              .toUri();
+
+      mockServer
+          .expect(requestTo(rangeUri))
+          .andExpect(method(GET))
+          .andRespond(withSuccess(getDriversOfSeveralSessionsJsonResponse(), APPLICATION_JSON));
+      mockServer
+          .expect(requestTo(singleUri))
+          .andExpect(method(GET))
+          .andRespond(withSuccess(getDriversJsonResponse(), APPLICATION_JSON));
+
+      var result = openF1DataProvider.getDriversByEventIds(List.of(1300, 1220, 1216));
+
+      assertThat(result).containsOnlyKeys(1216, 1220, 1300);
+      assertThat(result.get(1216)).extracting(Driver::getDriverId).containsExactly(44);
+      assertThat(result.get(1220)).extracting(Driver::getDriverId).containsExactly(33, 44);
+      assertThat(result.get(1300)).extracting(Driver::getDriverId).containsExactly(1, 14);
+
+      mockServer.verify();
+    }
+
+    @Test
+    void shouldRequestSparseSessionKeysSeparatelyInsteadOfOneWideRange() {
+      var tooFarForTheRange = 1 + DRIVERS_BATCH_SIZE * RANGE_SPAN_PER_BATCHED_SESSION;
+      var rangeUri =
+          fromHttpUrl(BASE_URL)
+              .path("drivers")
+              .query("session_key>=1")
+              .query("session_key<=2")
+              .build()
+              .encode()
+              .toUri();
+      mockServer
+          .expect(requestTo(rangeUri))
+          .andExpect(method(GET))
+          .andRespond(withSuccess("[]", APPLICATION_JSON));
+      for (var sessionKey : List.of(tooFarForTheRange, 9000)) {
+        mockServer
+            .expect(
+                requestTo(
+                    fromHttpUrl(BASE_URL)
+                        .path("drivers")
+                        .queryParam("session_key", sessionKey)
+                        .build(true)
+                        .toUri()))
+            .andExpect(method(GET))
+            .andRespond(withSuccess("[]", APPLICATION_JSON));
+      }
+
+      var result = openF1DataProvider.getDriversByEventIds(List.of(9000, 2, 1, tooFarForTheRange));
+
+      assertThat(result).containsOnlyKeys(1, 2, tooFarForTheRange, 9000);
+      mockServer.verify();
+    }
+
+    @Test
+    void shouldReturnEmptyDriverListForSessionsMissingInTheResponse() {
+      var rangeUri =
+          fromHttpUrl(BASE_URL)
+              .path("drivers")
+              .query("session_key>=1")
+              .query("session_key<=2")
+              .build()
+              .encode()
+              .toUri();
+
+      mockServer
+          .expect(requestTo(rangeUri))
+          .andExpect(method(GET))
+          .andRespond(withSuccess("[]", APPLICATION_JSON));
+
+      var result = openF1DataProvider.getDriversByEventIds(List.of(1, 2));
+
+      assertThat(result).containsOnlyKeys(1, 2);
+      assertThat(result.values()).allSatisfy(drivers -> assertThat(drivers).isEmpty());
+    }
+
+    @Test
+    void shouldReturnEmptyMapWhenNoEventIdsAreGiven() {
+      assertThat(openF1DataProvider.getDriversByEventIds(List.of())).isEmpty();
+    }
+
+    @Test
+    void shouldThrowF1DataProviderExceptionWhenSomethingGoesWrong() {
+      var rangeUri =
+          fromHttpUrl(BASE_URL)
+              .path("drivers")
+              .query("session_key>=1")
+              .query("session_key<=2")
+              .build()
+              .encode()
+              .toUri();
+
+      mockServer.expect(requestTo(rangeUri)).andRespond(withServerError());
+
+      assertThatExceptionOfType(F1DataProviderException.class)
+          .isThrownBy(() -> openF1DataProvider.getDriversByEventIds(List.of(1, 2)))
+          .withMessage("Failed to fetch drivers from OpenF1");
+    }
+  }
+
   @Nested
   class GetWinnerDriverIdByEventIdTests {
 
@@ -395,21 +473,9 @@ class OpenF1DataProviderTest {
           .andExpect(method(GET))
           .andRespond(withSuccess(winnerDriverJson, APPLICATION_JSON));
 
-      var mapped = List.of(Driver.builder().driverId(14).build());
-
-      ArgumentCaptor<List<OpenF1Driver>> captor = forClass(List.class);
-      when(openF1DataMapper.toDriverList(captor.capture())).thenReturn(mapped);
-
       var result = openF1DataProvider.getWinnerDriverIdByEventId(eventId);
 
-      var expected = Optional.of(mapped.getFirst().getDriverId());
-      assertThat(result).isEqualTo(expected);
-
-      var passed = captor.getValue();
-      assertThat(passed)
-          .hasSize(1)
-          .extracting(OpenF1Driver::driver_number)
-          .containsExactlyInAnyOrder(14);
+      assertThat(result).contains(14);
 
       mockServer.verify();
     }
@@ -431,12 +497,9 @@ class OpenF1DataProviderTest {
           .andExpect(method(GET))
           .andRespond(withSuccess("[]", APPLICATION_JSON));
 
-      when(openF1DataMapper.toDriverList(List.of())).thenReturn(List.of());
-
       var result = openF1DataProvider.getWinnerDriverIdByEventId(eventId);
 
       assertThat(result).isEmpty();
-      verify(openF1DataMapper).toDriverList(List.of());
 
       mockServer.verify();
     }
@@ -463,6 +526,95 @@ class OpenF1DataProviderTest {
     }
   }
 
+  @Nested
+  class ConditionalRequestTests {
+
+    URI sessionUri =
+        fromHttpUrl(BASE_URL).path("sessions").queryParam("session_key", 9140).build(true).toUri();
+
+    @Test
+    void shouldRevalidateWithETagAndReuseTheLastResultWhenNotModified() {
+      mockServer
+          .expect(requestTo(sessionUri))
+          .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+          .andRespond(
+              withSuccess(getSessionJsonResponse(), APPLICATION_JSON)
+                  .header(HttpHeaders.ETAG, "\"v1\""));
+      mockServer
+          .expect(requestTo(sessionUri))
+          .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+          .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+      var first = openF1DataProvider.findEventById(9140).orElseThrow();
+      var second = openF1DataProvider.findEventById(9140).orElseThrow();
+
+      assertThat(second).isEqualTo(belgianSprint()).isNotSameAs(first);
+      assertThat(revalidations("not_modified")).isEqualTo(1);
+      mockServer.verify();
+    }
+
+    @Test
+    void shouldRevalidateWithLastModified() {
+      var lastModified = ZonedDateTime.parse("2023-07-29T16:00:00Z");
+      mockServer
+          .expect(requestTo(sessionUri))
+          .andRespond(
+              withSuccess(getSessionJsonResponse(), APPLICATION_JSON)
+                  .headers(lastModifiedHeaders(lastModified)));
+      mockServer
+          .expect(requestTo(sessionUri))
+          .andExpect(
+              header(
+                  HttpHeaders.IF_MODIFIED_SINCE,
+                  lastModifiedHeaders(lastModified).getFirst(HttpHeaders.LAST_MODIFIED)))
+          .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+      openF1DataProvider.findEventById(9140);
+
+      assertThat(openF1DataProvider.findEventById(9140)).contains(belgianSprint());
+      mockServer.verify();
+    }
+
+    @Test
+    void shouldCompareContentHashesWhenOpenF1SendsNoValidators() {
+      mockServer
+          .expect(times(2), requestTo(sessionUri))
+          .andRespond(withSuccess(getSessionJsonResponse(), APPLICATION_JSON));
+
+      openF1DataProvider.findEventById(9140);
+
+      assertThat(openF1DataProvider.findEventById(9140)).contains(belgianSprint());
+      assertThat(revalidations("changed")).isEqualTo(1);
+      assertThat(revalidations("unchanged")).isEqualTo(1);
+      mockServer.verify();
+    }
+
+    private HttpHeaders lastModifiedHeaders(ZonedDateTime lastModified) {
+      var headers = new HttpHeaders();
+      headers.setLastModified(lastModified);
+      return headers;
+    }
+
+    private double revalidations(String outcome) {
+      return meterRegistry
+          .get(OpenF1ResponseCache.REVALIDATIONS_METRIC)
+          .tags("endpoint", "sessions", "outcome", outcome)
+          .counter()
+          .count();
+    }
+  }
+
+  private Event belgianSprint() {
+    return Event.builder()
+        .eventId(9140)
+        .name("Sprint")
+        .sessionType("Race")
+        .country("Belgium")
+        .dateTime(parse("2023-07-29T15:05:00+00:00"))
+        .drivers(List.of())
+        .build();
+  }
+
   private String getDriversJsonResponse() {
     return """
             [
@@ -498,6 +650,17 @@ class OpenF1DataProviderTest {
     """;
   }
 
+  private String getDriversOfSeveralSessionsJsonResponse() {
+    return """
+            [
+              { "session_key": 1216, "driver_number": 44, "full_name": "Lewis Hamilton" },
+              { "session_key": 1218, "driver_number": 44, "full_name": "Lewis Hamilton" },
+              { "session_key": 1220, "driver_number": 33, "full_name": "Max Verstappen" },
+              { "session_key": 1220, "driver_number": 44, "full_name": "Lewis Hamilton" }
+            ]
+    """;
+  }
+
   private String getSessionJsonResponse() {
     return "[\n"
         + "  {\n"
@@ -0,0 +1,127 @@
+package com.sg.f1bettingservice.f1data.openf1;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.unit.DataSize;
+
+class OpenF1ResponseCacheTest {
+
+  private static final URI DRIVERS_URI = URI.create("https://api.openf1.org/v1/drivers");
+
+  OpenF1ResponseCache responseCache =
+      new OpenF1ResponseCache(
+          Duration.ofHours(1), 10, DataSize.ofMegabytes(1), new SimpleMeterRegistry());
+  List<String> parsedBodies = new ArrayList<>();
+  OpenF1ResponseCache.JsonReader<String> reader = this::parse;
+
+  @Test
+  void shouldSendNoConditionsBeforeTheFirstResponse() {
+    var headers = new HttpHeaders();
+
+    responseCache.addConditions(DRIVERS_URI, headers);
+
+    assertThat(headers.getIfNoneMatch()).isEmpty();
+    assertThat(headers.getIfModifiedSince()).isEqualTo(-1);
+  }
+
+  @Test
+  void shouldSendTheValidatorsOfTheLastResponse() throws IOException {
+    var response = ok("[1]");
+    response.getHeaders().setETag("\"v1\"");
+    response.getHeaders().setLastModified(1_690_646_400_000L);
+    responseCache.read("drivers", DRIVERS_URI, response, reader);
+    var headers = new HttpHeaders();
+
+    responseCache.addConditions(DRIVERS_URI, headers);
+
+    assertThat(headers.getIfNoneMatch()).containsExactly("\"v1\"");
+    assertThat(headers.getIfModifiedSince()).isEqualTo(1_690_646_400_000L);
+  }
+
+  @Test
+  void shouldReuseTheLastResultWhenNotModified() throws IOException {
+    var response = ok("[1]");
+    response.getHeaders().setETag("\"v1\"");
+    var first = responseCache.read("drivers", DRIVERS_URI, response, reader);
+
+    var notModified = new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED);
+    var second = responseCache.read("drivers", DRIVERS_URI, notModified, reader);
+
+    assertThat(second).isSameAs(first);
+    assertThat(parsedBodies).containsExactly("[1]");
+  }
+
+  @Test
+  void shouldReuseTheLastResultOfResponsesWithoutValidatorsWhenTheirContentIsUnchanged()
+      throws IOException {
+    var first = responseCache.read("drivers", DRIVERS_URI, ok("[1]"), reader);
+    var unchanged = responseCache.read("drivers", DRIVERS_URI, ok("[1]"), reader);
+    var changed = responseCache.read("drivers", DRIVERS_URI, ok("[1, 2]"), reader);
+
+    assertThat(unchanged).isSameAs(first);
+    assertThat(changed).isEqualTo("[1, 2]");
+    assertThat(parsedBodies).containsExactly("[1]", "[1, 2]");
+  }
+
+  @Test
+  void shouldStreamBodiesLargerThanTheBufferAndStillReuseTheirLastResultWhenUnchanged()
+      throws IOException {
+    var streamingCache =
+        new OpenF1ResponseCache(
+            Duration.ofHours(1), 10, DataSize.ofBytes(2), new SimpleMeterRegistry());
+
+    var first = streamingCache.read("drivers", DRIVERS_URI, ok("[1]"), reader);
+    var unchanged = streamingCache.read("drivers", DRIVERS_URI, ok("[1]"), reader);
+    var changed = streamingCache.read("drivers", DRIVERS_URI, ok("[1, 2]"), reader);
+
+    assertThat(unchanged).isSameAs(first);
+    assertThat(changed).isEqualTo("[1, 2]");
+    assertThat(parsedBodies).containsExactly("[1]", "[1]", "[1, 2]");
+  }
+
+  @Test
+  void shouldHashThePartOfTheBodyTheReaderLeftUnread() throws IOException {
+    OpenF1ResponseCache.JsonReader<String> prefixReader =
+        json -> {
+          try (json) {
+            return new String(json.readNBytes(3), UTF_8);
+          }
+        };
+
+    var first = responseCache.read("drivers", DRIVERS_URI, ok("[1] "), prefixReader);
+    var changed = responseCache.read("drivers", DRIVERS_URI, ok("[1]  "), prefixReader);
+
+    assertThat(changed).isEqualTo(first).isNotSameAs(first);
+  }
+
+  @Test
+  void shouldFailOnNotModifiedWithoutCachedResponse() {
+    var notModified = new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED);
+
+    assertThatIOException()
+        .isThrownBy(() -> responseCache.read("drivers", DRIVERS_URI, notModified, reader));
+  }
+
+  private static MockClientHttpResponse ok(String body) {
+    return new MockClientHttpResponse(body.getBytes(UTF_8), HttpStatus.OK);
+  }
+
+  private String parse(InputStream json) throws IOException {
+    var body = new String(json.readAllBytes(), UTF_8);
+    parsedBodies.add(body);
+    return body;
+  }
+}
@@ -32,7 +32,12 @@ import org.springframework.test.web.servlet.MvcResult;
 
 @SpringBootTest(webEnvironment = RANDOM_PORT)
 @AutoConfigureMockMvc
-@TestPropertySource(properties = {"f1data.openf1.base-url=http://localhost:9999/"})
+@TestPropertySource(
+    properties = {
+      "f1data.openf1.base-url=http://localhost:9999/",
+      "events.prewarm.enabled=false",
+      "f1data.snapshot.enabled=false"
+    })
 public class F1BettingServiceFunctionalTests {
 
   @Autowired MockMvc mvc;
@@ -0,0 +1,206 @@
+package com.sg.f1bettingservice.functional;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Load test of the virtual thread mode: more requests than a small platform request pool has
+ * threads are in flight at the same time, instead of queueing for a pooled thread. Requests wait at
+ * a gate in a filter that only opens once more than {@link #PLATFORM_POOL_SIZE} of them are inside
+ * it, so the test does not depend on timing. A control run on a platform pool of that size shows
+ * the gate cannot open there before the first requests give up waiting.
+ */
+class VirtualThreadLoadTests {
+
+  static final int PLATFORM_POOL_SIZE = 8;
+  static final int CONCURRENT_REQUESTS = 10 * PLATFORM_POOL_SIZE;
+
+  static WireMockServer wireMockServer;
+
+  @BeforeAll
+  static void startWireMock() {
+    wireMockServer =
+        new WireMockServer(options().port(9998).containerThreads(3 * CONCURRENT_REQUESTS));
+    wireMockServer.start();
+    wireMockServer.stubFor(WireMock.get(urlPathEqualTo("/sessions")).willReturn(okJson("[]")));
+  }
+
+  @AfterAll
+  static void stopWireMock() {
+    wireMockServer.stop();
+  }
+
+  @Nested
+  @SpringBootTest(webEnvironment = RANDOM_PORT)
+  @Import(InFlightRequestsConfiguration.class)
+  @TestPropertySource(
+      properties = {
+        "f1data.openf1.base-url=http://localhost:9998/",
+        "spring.threads.virtual.enabled=true",
+        "server.tomcat.threads.max=" + PLATFORM_POOL_SIZE,
+        "events.prewarm.enabled=false",
+        "f1data.snapshot.enabled=false",
+        "in-flight-requests.gate-timeout=30s"
+      })
+  class OnVirtualThreads {
+
+    @LocalServerPort int port;
+
+    @Autowired InFlightRequests inFlightRequests;
+
+    @Test
+    void shouldServeConcurrentRequestsBeyondThePlatformPoolSize() throws Exception {
+      var responses = fetchEventsConcurrently(port);
+
+      assertThat(responses).allMatch(response -> response.statusCode() == 200);
+      assertThat(inFlightRequests.timeouts()).isZero();
+      assertThat(inFlightRequests.gateOpened()).isTrue();
+    }
+  }
+
+  @Nested
+  @SpringBootTest(webEnvironment = RANDOM_PORT)
+  @Import(InFlightRequestsConfiguration.class)
+  @TestPropertySource(
+      properties = {
+        "f1data.openf1.base-url=http://localhost:9998/",
+        "spring.threads.virtual.enabled=false",
+        "server.tomcat.threads.max=" + PLATFORM_POOL_SIZE,
+        "events.prewarm.enabled=false",
+        "f1data.snapshot.enabled=false",
+        "in-flight-requests.gate-timeout=2s"
+      })
+  class OnAPlatformPool {
+
+    @LocalServerPort int port;
+
+    @Autowired InFlightRequests inFlightRequests;
+
+    @Test
+    void shouldTimeOutAtTheGateBecauseRequestsQueueForPooledThreads() throws Exception {
+      var responses = fetchEventsConcurrently(port);
+
+      assertThat(responses).allMatch(response -> response.statusCode() == 200);
+      assertThat(inFlightRequests.timeouts()).isEqualTo(PLATFORM_POOL_SIZE);
+    }
+  }
+
+  private static List<HttpResponse<String>> fetchEventsConcurrently(int port) throws Exception {
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+        var client =
+            HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .build()) {
+      var responses =
+          IntStream.range(0, CONCURRENT_REQUESTS)
+              .mapToObj(i -> executor.submit(() -> fetchEvents(client, port, 2000 + i)))
+              .toList();
+      var received = new ArrayList<HttpResponse<String>>();
+      for (Future<HttpResponse<String>> response : responses) {
+        received.add(response.get());
+      }
+      return received;
+    }
+  }
+
+  private static HttpResponse<String> fetchEvents(HttpClient client, int port, int year)
+      throws Exception {
+    var request =
+        HttpRequest.newBuilder(
+                URI.create(
+                    "http://localhost:%d/api/v1/events?sessionType=Race&year=%d"
+                        .formatted(port, year)))
+            .build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  @TestConfiguration
+  static class InFlightRequestsConfiguration {
+
+    @Bean
+    InFlightRequests inFlightRequests(
+        @Value("${in-flight-requests.gate-timeout}") Duration gateTimeout) {
+      return new InFlightRequests(gateTimeout);
+    }
+
+    @Bean
+    Filter inFlightRequestsFilter(
+        InFlightRequests inFlightRequests,
+        @Value("${spring.threads.virtual.enabled}") boolean virtualThreads) {
+      return (request, response, chain) -> {
+        assertThat(Thread.currentThread().isVirtual()).isEqualTo(virtualThreads);
+        try {
+          inFlightRequests.awaitGate();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new ServletException(e);
+        }
+        chain.doFilter(request, response);
+      };
+    }
+  }
+
+  /**
+   * Holds requests until more than the platform pool size of them wait at the same time, and counts
+   * the requests that gave up waiting.
+   */
+  static class InFlightRequests {
+
+    private final CountDownLatch gate = new CountDownLatch(PLATFORM_POOL_SIZE + 1);
+    private final AtomicInteger timeouts = new AtomicInteger();
+    private final Duration gateTimeout;
+
+    InFlightRequests(Duration gateTimeout) {
+      this.gateTimeout = gateTimeout;
+    }
+
+    void awaitGate() throws InterruptedException {
+      gate.countDown();
+      if (!gate.await(gateTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        timeouts.incrementAndGet();
+      }
+    }
+
+    boolean gateOpened() {
+      return gate.getCount() == 0;
+    }
+
+    int timeouts() {
+      return timeouts.get();
+    }
+  }
+}
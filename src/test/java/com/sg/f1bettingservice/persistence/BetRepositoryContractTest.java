@@ -0,0 +1,157 @@
+package com.sg.f1bettingservice.persistence;
+
+import static com.sg.f1bettingservice.core.model.BetStatus.LOST;
+import static com.sg.f1bettingservice.core.model.BetStatus.PLACED;
+import static com.sg.f1bettingservice.core.model.BetStatus.WON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.sg.f1bettingservice.core.model.Bet;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour every {@link BetRepository} must have. Each implementation's test extends it and adds
+ * the cases specific to how that implementation stores bets.
+ */
+public abstract class BetRepositoryContractTest<R extends BetRepository> {
+
+  protected R betRepository;
+
+  protected abstract R newBetRepository();
+
+  @BeforeEach
+  void createBetRepository() {
+    betRepository = newBetRepository();
+  }
+
+  @Test
+  void shouldSaveNewBetAndIncrementItsIdTest() {
+    var b1 = betRepository.save(1, 1001, 33, 1_000, PLACED);
+    var b2 = betRepository.save(1, 1002, 44, 500, PLACED);
+
+    assertThat(b1.getId()).isEqualTo(1);
+    assertThat(b2.getId()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldReturnBetsFilteredByEventIdTest() {
+    var b1 = betRepository.save(1, 1001, 33, 1_000, PLACED);
+    var b2 = betRepository.save(1, 1002, 44, 500, PLACED);
+    var b3 = betRepository.save(2, 1001, 55, 2_000, PLACED);
+
+    var betsForEvent1001 = betRepository.findByEventId(1001);
+    var betsForEvent1002 = betRepository.findByEventId(1002);
+
+    assertThat(betsForEvent1001).containsExactlyInAnyOrder(b1, b3);
+    assertThat(betsForEvent1002).containsExactly(b2);
+  }
+
+  @Test
+  void shouldReturnEmptyListWhenNoBetsForGivenEventIdTest() {
+    var betsForEvent9999 = betRepository.findByEventId(9999);
+    assertThat(betsForEvent9999).isEmpty();
+  }
+
+  @Test
+  void shouldReturnBetsFilteredByUserIdTest() {
+    var b1 = betRepository.save(1, 1001, 33, 1_000, PLACED);
+    var b2 = betRepository.save(2, 1001, 44, 500, PLACED);
+    var b3 = betRepository.save(1, 1002, 55, 2_000, PLACED);
+
+    assertThat(betRepository.findByUserId(1)).containsExactlyInAnyOrder(b1, b3);
+    assertThat(betRepository.findByUserId(2)).containsExactly(b2);
+    assertThat(betRepository.findByUserId(3)).isEmpty();
+  }
+
+  @Test
+  void shouldReturnEmptyListWhenLookingUpByNullKeysTest() {
+    betRepository.save(1, 1001, 33, 1_000, PLACED);
+
+    assertThat(betRepository.findByEventId(null)).isEmpty();
+    assertThat(betRepository.findByUserId(null)).isEmpty();
+  }
+
+  @Test
+  void shouldKeepIndexesConsistentUnderConcurrentSavesTest() {
+    IntStream.range(0, 10_000)
+        .parallel()
+        .forEach(i -> betRepository.save(i % 10, 1000 + i % 4, 33, 100, PLACED));
+
+    assertThat(betRepository.findByEventId(1000)).hasSize(2_500);
+    assertThat(betRepository.findByUserId(7)).hasSize(1_000);
+  }
+
+  @Test
+  void shouldUpdateBetStatusByBetIdTest() {
+    var b1 = betRepository.save(1, 1001, 33, 1_000, PLACED);
+    var b2 = betRepository.save(1, 1001, 33, 100, PLACED);
+
+    betRepository.updateBetStatus(b1.getId(), WON);
+
+    var betsForEvent1001 = betRepository.findByEventId(1001);
+    assertThat(betsForEvent1001)
+        .extracting(Bet::getId)
+        .containsExactlyInAnyOrder(b1.getId(), b2.getId());
+    assertThat(betsForEvent1001)
+        .filteredOn(bet -> bet.getId().equals(b1.getId()))
+        .extracting(Bet::getStatus)
+        .containsExactly(WON);
+    assertThat(betsForEvent1001)
+        .filteredOn(bet -> bet.getId().equals(b2.getId()))
+        .extracting(Bet::getStatus)
+        .containsExactly(PLACED);
+  }
+
+  @Test
+  void shouldUpdateStatusesOfSeveralBetsAndSkipUnknownIdsTest() {
+    var b1 = betRepository.save(1, 1001, 33, 1_000, PLACED);
+    var b2 = betRepository.save(2, 1001, 33, 100, PLACED);
+    var b3 = betRepository.save(3, 1001, 44, 100, PLACED);
+
+    var updated =
+        betRepository.updateBetStatuses(List.of(b1.getId(), b2.getId(), 9999), PLACED, LOST);
+
+    assertThat(updated).containsExactly(b1.getId(), b2.getId());
+    assertThat(betRepository.findByEventId(1001))
+        .extracting(Bet::getId, Bet::getStatus)
+        .containsExactlyInAnyOrder(
+            tuple(b1.getId(), LOST), tuple(b2.getId(), LOST), tuple(b3.getId(), PLACED));
+  }
+
+  @Test
+  void shouldOnlyUpdateStatusesOfBetsInTheExpectedStatusTest() {
+    var b1 = betRepository.save(1, 1001, 33, 1_000, PLACED);
+    var b2 = betRepository.save(2, 1001, 33, 100, PLACED);
+    betRepository.updateBetStatus(b1.getId(), WON);
+
+    var updated = betRepository.updateBetStatuses(List.of(b1.getId(), b2.getId()), PLACED, WON);
+
+    assertThat(updated).containsExactly(b2.getId());
+    assertThat(betRepository.updateBetStatuses(List.of(b1.getId(), b2.getId()), PLACED, WON))
+        .isEmpty();
+  }
+
+  @Test
+  void shouldNotUpdateBetStatusIfNoBetFoundById() {
+    var b1 = betRepository.save(1, 1001, 33, 1_000, PLACED);
+    var b2 = betRepository.save(1, 1001, 33, 100, PLACED);
+
+    betRepository.updateBetStatus(9999, WON);
+
+    var betsForEvent1001 = betRepository.findByEventId(1001);
+    assertThat(betsForEvent1001)
+        .extracting(Bet::getId)
+        .containsExactlyInAnyOrder(b1.getId(), b2.getId());
+    assertThat(betsForEvent1001)
+        .filteredOn(bet -> bet.getId().equals(b1.getId()))
+        .extracting(Bet::getStatus)
+        .containsExactly(PLACED);
+    assertThat(betsForEvent1001)
+        .filteredOn(bet -> bet.getId().equals(b2.getId()))
+        .extracting(Bet::getStatus)
+        .containsExactly(PLACED);
+  }
+}
@@ -0,0 +1,132 @@
+package com.sg.f1bettingservice.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sg.f1bettingservice.core.model.User;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour every {@link UserRepository} must have. Each implementation's test extends it and adds
+ * the cases specific to how that implementation stores users.
+ */
+public abstract class UserRepositoryContractTest<R extends UserRepository> {
+
+  protected R userRepository;
+
+  protected abstract R newUserRepository();
+
+  @BeforeEach
+  void createUserRepository() {
+    userRepository = newUserRepository();
+  }
+
+  @Test
+  void shouldCreateUserAndFindItById() {
+    var user = User.builder().userId(1).balanceInCents(1_000).build();
+    var createdUser = userRepository.save(user);
+    var existingUser = userRepository.findById(user.getUserId()).orElseThrow();
+    assertThat(existingUser).isEqualTo(createdUser);
+    assertThat(existingUser).isEqualTo(user);
+  }
+
+  @Test
+  void shouldNotLetCallersMutateStoredUser() {
+    userRepository.save(User.builder().userId(1).balanceInCents(1_000).build());
+
+    userRepository.findById(1).orElseThrow().setBalanceInCents(0);
+
+    assertThat(userRepository.findById(1).orElseThrow().getBalanceInCents()).isEqualTo(1_000);
+  }
+
+  @Test
+  void shouldCreateUserWithInitialBalanceOnlyOnce() {
+    var created = userRepository.findOrCreate(1, 1_000);
+    var existing = userRepository.findOrCreate(1, 100);
+
+    assertThat(created.getBalanceInCents()).isEqualTo(1_000);
+    assertThat(existing).isEqualTo(created);
+  }
+
+  @Test
+  void shouldAddAmountToBalanceOfExistingUser() {
+    userRepository.findOrCreate(1, 1_000);
+
+    var updated = userRepository.addToBalance(1, 100);
+
+    assertThat(updated).map(User::getBalanceInCents).contains(1_100L);
+  }
+
+  @Test
+  void shouldAddAmountsToBalancesOfExistingUsersAndSkipUnknownOnes() {
+    userRepository.findOrCreate(1, 1_000);
+    userRepository.findOrCreate(2, 500);
+
+    userRepository.addToBalances(Map.of(1, 100L, 2, 250L, 3, 50L));
+
+    assertThat(userRepository.findById(1)).map(User::getBalanceInCents).contains(1_100L);
+    assertThat(userRepository.findById(2)).map(User::getBalanceInCents).contains(750L);
+    assertThat(userRepository.findById(3)).isEmpty();
+  }
+
+  @Test
+  void shouldRecordPaidBetsTogetherWithTheirPayouts() {
+    userRepository.findOrCreate(1, 1_000);
+    userRepository.findOrCreate(2, 500);
+
+    userRepository.addPayouts(List.of(3, 5, 7), Map.of(1, 400L, 2, 100L));
+
+    assertThat(userRepository.findById(1)).map(User::getBalanceInCents).contains(1_400L);
+    assertThat(userRepository.findById(2)).map(User::getBalanceInCents).contains(600L);
+    assertThat(userRepository.findPaidBetIds(List.of(3, 4, 5, 6, 7)))
+        .containsExactlyInAnyOrder(3, 5, 7);
+    assertThat(userRepository.findPaidBetIds(List.of(4, 6))).isEmpty();
+  }
+
+  @Test
+  void shouldNotAddAmountToBalanceOfUnknownUser() {
+    assertThat(userRepository.addToBalance(1, 100)).isEmpty();
+    assertThat(userRepository.findById(1)).isEmpty();
+  }
+
+  @Test
+  void shouldSubtractAmountOnlyWhenBalanceIsSufficient() {
+    userRepository.findOrCreate(1, 1_000);
+
+    assertThat(userRepository.subtractFromBalanceIfSufficient(1, 600)).isTrue();
+    assertThat(userRepository.subtractFromBalanceIfSufficient(1, 600)).isFalse();
+    assertThat(userRepository.subtractFromBalanceIfSufficient(1, 400)).isTrue();
+    assertThat(userRepository.findById(1).orElseThrow().getBalanceInCents()).isZero();
+  }
+
+  @Test
+  void shouldNotSubtractAmountFromUnknownUser() {
+    assertThat(userRepository.subtractFromBalanceIfSufficient(1, 100)).isFalse();
+  }
+
+  @Test
+  void shouldNeitherLoseUpdatesNorOverdrawUnderConcurrentDebitsAndCredits() {
+    userRepository.findOrCreate(1, 100_000);
+    var successfulDebits = new AtomicInteger();
+
+    IntStream.range(0, 4_000)
+        .parallel()
+        .forEach(
+            i -> {
+              if (i % 2 == 0) {
+                userRepository.addToBalance(1, 100);
+              } else if (userRepository.subtractFromBalanceIfSufficient(1, 1_000)) {
+                successfulDebits.incrementAndGet();
+              }
+            });
+
+    var expectedBalance = 100_000 + 200_000 - 1_000L * successfulDebits.get();
+    var balance = userRepository.findById(1).orElseThrow().getBalanceInCents();
+    assertThat(balance).isEqualTo(expectedBalance);
+    assertThat(balance).isNotNegative();
+  }
+}
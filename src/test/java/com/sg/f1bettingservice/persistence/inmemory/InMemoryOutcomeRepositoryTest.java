@@ -3,6 +3,7 @@ package com.sg.f1bettingservice.persistence.inmemory;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.sg.f1bettingservice.core.model.EventOutcome;
+import com.sg.f1bettingservice.core.model.SettlementCheckpoint;
 import org.junit.jupiter.api.Test;
 
 class InMemoryOutcomeRepositoryTest {
@@ -16,4 +17,38 @@ class InMemoryOutcomeRepositoryTest {
     var savedOutcome = inMemoryOutcomeRepository.save(eventOutcome);
     assertThat(savedOutcome).isEqualTo(eventOutcome);
   }
+
+  @Test
+  void shouldFindSavedEventOutcomeByEventId() {
+    var eventOutcome =
+        EventOutcome.builder().eventId(1).betsWon(1).betsLost(1).winnerDriverId(14).build();
+    inMemoryOutcomeRepository.save(eventOutcome);
+
+    assertThat(inMemoryOutcomeRepository.findByEventId(1)).contains(eventOutcome);
+    assertThat(inMemoryOutcomeRepository.findByEventId(2)).isEmpty();
+  }
+
+  @Test
+  void shouldKeepOnlyTheLatestCheckpointOfAnEvent() {
+    var checkpoint = SettlementCheckpoint.builder().eventId(1).winnerDriverId(14).build();
+    inMemoryOutcomeRepository.saveCheckpoint(checkpoint.toBuilder().lastBetId(10).build());
+    inMemoryOutcomeRepository.saveCheckpoint(checkpoint.toBuilder().lastBetId(20).build());
+
+    assertThat(inMemoryOutcomeRepository.findCheckpointByEventId(1))
+        .map(SettlementCheckpoint::getLastBetId)
+        .contains(20);
+    assertThat(inMemoryOutcomeRepository.findCheckpointByEventId(2)).isEmpty();
+  }
+
+  @Test
+  void shouldFindAllOutcomesAndCheckpoints() {
+    var eventOutcome =
+        EventOutcome.builder().eventId(1).betsWon(1).betsLost(1).winnerDriverId(14).build();
+    var checkpoint = SettlementCheckpoint.builder().eventId(2).winnerDriverId(14).build();
+    inMemoryOutcomeRepository.save(eventOutcome);
+    inMemoryOutcomeRepository.saveCheckpoint(checkpoint);
+
+    assertThat(inMemoryOutcomeRepository.findAll()).containsExactly(eventOutcome);
+    assertThat(inMemoryOutcomeRepository.findAllCheckpoints()).containsExactly(checkpoint);
+  }
 }
@@ -3,19 +3,25 @@ package com.sg.f1bettingservice.persistence.inmemory;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.sg.f1bettingservice.core.model.User;
-import java.math.BigDecimal;
+import com.sg.f1bettingservice.persistence.UserRepositoryContractTest;
 import org.junit.jupiter.api.Test;
 
-class InMemoryUserRepositoryTest {
+class InMemoryUserRepositoryTest extends UserRepositoryContractTest<InMemoryUserRepository> {
 
-  InMemoryUserRepository userRepository = new InMemoryUserRepository();
+  @Override
+  protected InMemoryUserRepository newUserRepository() {
+    return new InMemoryUserRepository();
+  }
 
   @Test
-  void shouldCreateUserAndFindItById() {
-    var user = User.builder().userId(1).balance(BigDecimal.TEN).build();
-    var createdUser = userRepository.save(user);
-    var existingUser = userRepository.findById(user.getUserId()).orElseThrow();
-    assertThat(existingUser).isEqualTo(createdUser);
-    assertThat(existingUser).isEqualTo(user);
+  void shouldFindAllUsersAsCopies() {
+    userRepository.findOrCreate(1, 1_000);
+    userRepository.findOrCreate(2, 500);
+
+    userRepository.findAll().forEach(user -> user.setBalanceInCents(0));
+
+    assertThat(userRepository.findAll())
+        .extracting(User::getBalanceInCents)
+        .containsExactlyInAnyOrder(1_000L, 500L);
   }
 }
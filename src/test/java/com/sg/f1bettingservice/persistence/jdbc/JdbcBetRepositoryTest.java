@@ -0,0 +1,100 @@
+package com.sg.f1bettingservice.persistence.jdbc;
+
+import static com.sg.f1bettingservice.core.model.BetStatus.LOST;
+import static com.sg.f1bettingservice.core.model.BetStatus.PLACED;
+import static com.sg.f1bettingservice.core.model.BetStatus.WON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType.H2;
+
+import com.sg.f1bettingservice.core.model.Bet;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+
+class JdbcBetRepositoryTest {
+
+  EmbeddedDatabase database =
+      new EmbeddedDatabaseBuilder()
+          .setType(H2)
+          .generateUniqueName(true)
+          .addScript(JdbcPersistenceConfiguration.SCHEMA)
+          .build();
+  JdbcBetRepository betRepository = new JdbcBetRepository(new JdbcTemplate(database));
+
+  @AfterEach
+  void shutdownDatabase() {
+    database.shutdown();
+  }
+
+  @Test
+  void shouldSaveBetsWithGeneratedIdsAndFindThemByEventAndUser() {
+    var b1 = betRepository.save(1, 1001, 33, 1_000, PLACED);
+    var b2 = betRepository.save(2, 1001, 14, 100, PLACED);
+    var b3 = betRepository.save(1, 1002, 14, 250, PLACED);
+
+    assertThat(b2.getId()).isEqualTo(b1.getId() + 1);
+    assertThat(betRepository.findByEventId(1001)).containsExactly(b1, b2);
+    assertThat(betRepository.findByUserId(1)).containsExactly(b1, b3);
+    assertThat(betRepository.findByEventId(9999)).isEmpty();
+  }
+
+  @Test
+  void shouldKeepNullReferences() {
+    var bet = betRepository.save(null, 1001, null, 100, PLACED);
+
+    assertThat(betRepository.findByEventId(1001)).containsExactly(bet);
+    assertThat(bet.getUserId()).isNull();
+  }
+
+  @Test
+  void shouldInsertBetsInBatchesAndReturnThemWithTheirIdsInOrder() {
+    var bets =
+        IntStream.range(0, JdbcBetRepository.BATCH_SIZE + 1)
+            .mapToObj(
+                i ->
+                    Bet.builder()
+                        .userId(i % 7)
+                        .eventId(1001)
+                        .driverId(14)
+                        .amountInCents(i + 1)
+                        .status(PLACED)
+                        .build())
+            .toList();
+
+    var saved = betRepository.saveAll(bets);
+
+    assertThat(saved)
+        .extracting(Bet::getAmountInCents)
+        .containsExactlyElementsOf(bets.stream().map(Bet::getAmountInCents).toList());
+    assertThat(saved).extracting(Bet::getId).doesNotContainNull().doesNotHaveDuplicates();
+    assertThat(betRepository.findByEventId(1001)).containsExactlyInAnyOrderElementsOf(saved);
+  }
+
+  @Test
+  void shouldUpdateBetStatus() {
+    var bet = betRepository.save(1, 1001, 33, 1_000, PLACED);
+
+    betRepository.updateBetStatus(bet.getId(), WON);
+
+    assertThat(betRepository.findByEventId(1001)).extracting(Bet::getStatus).containsExactly(WON);
+  }
+
+  @Test
+  void shouldOnlyMoveBetsInTheExpectedStatus() {
+    var b1 = betRepository.save(1, 1001, 33, 1_000, PLACED);
+    var b2 = betRepository.save(2, 1001, 14, 100, PLACED);
+    betRepository.updateBetStatus(b1.getId(), LOST);
+
+    var updated =
+        betRepository.updateBetStatuses(List.of(b1.getId(), b2.getId(), 9999), PLACED, WON);
+
+    assertThat(updated).containsExactly(b2.getId());
+    assertThat(betRepository.findByEventId(1001))
+        .extracting(Bet::getStatus)
+        .containsExactly(LOST, WON);
+  }
+}
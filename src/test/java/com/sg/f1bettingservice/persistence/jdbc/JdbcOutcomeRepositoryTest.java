@@ -0,0 +1,64 @@
+package com.sg.f1bettingservice.persistence.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType.H2;
+
+import com.sg.f1bettingservice.core.model.EventOutcome;
+import com.sg.f1bettingservice.core.model.SettlementCheckpoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+
+class JdbcOutcomeRepositoryTest {
+
+  EmbeddedDatabase database =
+      new EmbeddedDatabaseBuilder()
+          .setType(H2)
+          .generateUniqueName(true)
+          .addScript(JdbcPersistenceConfiguration.SCHEMA)
+          .build();
+  JdbcOutcomeRepository outcomeRepository = new JdbcOutcomeRepository(new JdbcTemplate(database));
+
+  @AfterEach
+  void shutdownDatabase() {
+    database.shutdown();
+  }
+
+  @Test
+  void shouldSaveOutcomeAndFindItByEventId() {
+    var outcome =
+        EventOutcome.builder().eventId(1001).winnerDriverId(14).betsWon(3).betsLost(7).build();
+
+    outcomeRepository.save(outcome);
+
+    assertThat(outcomeRepository.findByEventId(1001)).contains(outcome);
+    assertThat(outcomeRepository.findByEventId(1002)).isEmpty();
+  }
+
+  @Test
+  void shouldReplaceOutcomeOfAnEvent() {
+    var replaced =
+        EventOutcome.builder().eventId(1001).winnerDriverId(14).betsWon(4).betsLost(6).build();
+
+    outcomeRepository.save(
+        EventOutcome.builder().eventId(1001).winnerDriverId(14).betsWon(3).betsLost(7).build());
+    outcomeRepository.save(replaced);
+
+    assertThat(outcomeRepository.findByEventId(1001)).contains(replaced);
+  }
+
+  @Test
+  void shouldReplaceCheckpointOfAnEvent() {
+    var checkpoint =
+        SettlementCheckpoint.builder().eventId(1001).winnerDriverId(14).lastBetId(10).build();
+
+    outcomeRepository.saveCheckpoint(checkpoint);
+    outcomeRepository.saveCheckpoint(checkpoint.toBuilder().lastBetId(20).betsWon(4).build());
+
+    assertThat(outcomeRepository.findCheckpointByEventId(1001))
+        .contains(checkpoint.toBuilder().lastBetId(20).betsWon(4).build());
+    assertThat(outcomeRepository.findCheckpointByEventId(1002)).isEmpty();
+  }
+}
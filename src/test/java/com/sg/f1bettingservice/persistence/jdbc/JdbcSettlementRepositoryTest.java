@@ -0,0 +1,83 @@
+package com.sg.f1bettingservice.persistence.jdbc;
+
+import static com.sg.f1bettingservice.core.model.BetStatus.LOST;
+import static com.sg.f1bettingservice.core.model.BetStatus.PLACED;
+import static com.sg.f1bettingservice.core.model.BetStatus.WON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType.H2;
+
+import com.sg.f1bettingservice.core.model.Bet;
+import com.sg.f1bettingservice.core.model.User;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class JdbcSettlementRepositoryTest {
+
+  EmbeddedDatabase database =
+      new EmbeddedDatabaseBuilder()
+          .setType(H2)
+          .generateUniqueName(true)
+          .addScript(JdbcPersistenceConfiguration.SCHEMA)
+          .build();
+  JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+  TransactionTemplate transactionTemplate =
+      new TransactionTemplate(new DataSourceTransactionManager(database));
+  JdbcBetRepository betRepository = new JdbcBetRepository(jdbcTemplate);
+  JdbcUserRepository userRepository = new JdbcUserRepository(jdbcTemplate, transactionTemplate);
+  JdbcSettlementRepository settlementRepository =
+      new JdbcSettlementRepository(jdbcTemplate, transactionTemplate);
+
+  @AfterEach
+  void shutdownDatabase() {
+    database.shutdown();
+  }
+
+  @Test
+  void shouldSettleRangeAndCreditEachWinningUserOnce() {
+    userRepository.findOrCreate(1, 0);
+    userRepository.findOrCreate(2, 0);
+    var b1 = betRepository.save(1, 1001, 14, 1_000, PLACED);
+    var b2 = betRepository.save(2, 1001, 33, 2_000, PLACED);
+    var b3 = betRepository.save(1, 1001, 14, 500, PLACED);
+    var otherEvent = betRepository.save(2, 1002, 14, 100, PLACED);
+
+    var credits = settlementRepository.settleRange(1001, 14, 3, b1.getId(), b3.getId());
+
+    assertThat(credits).isEqualTo(Map.of(1, 4_500L));
+    assertThat(userRepository.findById(1)).map(User::getBalanceInCents).contains(4_500L);
+    assertThat(userRepository.findById(2)).map(User::getBalanceInCents).contains(0L);
+    assertThat(betRepository.findByEventId(1001))
+        .extracting(Bet::getId, Bet::getStatus)
+        .containsExactly(tuple(b1.getId(), WON), tuple(b2.getId(), LOST), tuple(b3.getId(), WON));
+    assertThat(betRepository.findByEventId(1002))
+        .extracting(Bet::getStatus)
+        .containsExactly(otherEvent.getStatus());
+  }
+
+  @Test
+  void shouldLeaveBetsOutsideTheRangeAndAlreadySettledBetsUntouched() {
+    userRepository.findOrCreate(1, 0);
+    var b1 = betRepository.save(1, 1001, 14, 1_000, PLACED);
+    var b2 = betRepository.save(1, 1001, 14, 500, PLACED);
+    var b3 = betRepository.save(1, 1001, 14, 200, PLACED);
+    betRepository.updateBetStatus(b1.getId(), LOST);
+
+    var credits = settlementRepository.settleRange(1001, 14, 2, b1.getId(), b2.getId());
+    var again = settlementRepository.settleRange(1001, 14, 2, b1.getId(), b2.getId());
+
+    assertThat(credits).isEqualTo(Map.of(1, 1_000L));
+    assertThat(again).isEmpty();
+    assertThat(userRepository.findById(1)).map(User::getBalanceInCents).contains(1_000L);
+    assertThat(betRepository.findByEventId(1001))
+        .extracting(Bet::getId, Bet::getStatus)
+        .containsExactly(
+            tuple(b1.getId(), LOST), tuple(b2.getId(), WON), tuple(b3.getId(), PLACED));
+  }
+}
@@ -0,0 +1,143 @@
+package com.sg.f1bettingservice.persistence.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType.H2;
+
+import com.sg.f1bettingservice.core.model.User;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class JdbcUserRepositoryTest {
+
+  EmbeddedDatabase database =
+      new EmbeddedDatabaseBuilder()
+          .setType(H2)
+          .generateUniqueName(true)
+          .addScript(JdbcPersistenceConfiguration.SCHEMA)
+          .build();
+  JdbcUserRepository userRepository =
+      new JdbcUserRepository(
+          new JdbcTemplate(database),
+          new TransactionTemplate(new DataSourceTransactionManager(database)));
+
+  @AfterEach
+  void shutdownDatabase() {
+    database.shutdown();
+  }
+
+  @Test
+  void shouldSaveUserAndFindItById() {
+    var user = User.builder().userId(1).balanceInCents(1_000).build();
+
+    userRepository.save(user);
+    userRepository.save(user.toBuilder().balanceInCents(500).build());
+
+    assertThat(userRepository.findById(1)).map(User::getBalanceInCents).contains(500L);
+    assertThat(userRepository.findById(2)).isEmpty();
+  }
+
+  @Test
+  void shouldSaveTheSameNewUserConcurrentlyWithoutFailing() {
+    IntStream.range(0, 100)
+        .parallel()
+        .forEach(i -> userRepository.save(User.builder().userId(1).balanceInCents(i).build()));
+
+    assertThat(userRepository.findById(1)).map(User::getBalanceInCents).isPresent();
+  }
+
+  @Test
+  void shouldCreateUserWithInitialBalanceOnlyOnce() {
+    var created = userRepository.findOrCreate(1, 1_000);
+    var existing = userRepository.findOrCreate(1, 100);
+
+    assertThat(created.getBalanceInCents()).isEqualTo(1_000);
+    assertThat(existing).isEqualTo(created);
+  }
+
+  @Test
+  void shouldAddAmountToBalanceOfExistingUserOnly() {
+    userRepository.findOrCreate(1, 1_000);
+
+    assertThat(userRepository.addToBalance(1, 100)).map(User::getBalanceInCents).contains(1_100L);
+    assertThat(userRepository.addToBalance(2, 100)).isEmpty();
+    assertThat(userRepository.findById(2)).isEmpty();
+  }
+
+  @Test
+  void shouldAddAmountsToBalancesOfExistingUsersAndSkipUnknownOnes() {
+    userRepository.findOrCreate(1, 1_000);
+    userRepository.findOrCreate(2, 500);
+
+    userRepository.addToBalances(Map.of(1, 100L, 2, 250L, 3, 50L));
+
+    assertThat(userRepository.findById(1)).map(User::getBalanceInCents).contains(1_100L);
+    assertThat(userRepository.findById(2)).map(User::getBalanceInCents).contains(750L);
+    assertThat(userRepository.findById(3)).isEmpty();
+  }
+
+  @Test
+  void shouldRecordPaidBetsTogetherWithTheirPayouts() {
+    userRepository.findOrCreate(1, 1_000);
+
+    userRepository.addPayouts(List.of(3, 5), Map.of(1, 400L));
+
+    assertThat(userRepository.findById(1)).map(User::getBalanceInCents).contains(1_400L);
+    assertThat(userRepository.findPaidBetIds(List.of(3, 4, 5, 6))).containsExactlyInAnyOrder(3, 5);
+  }
+
+  @Test
+  void shouldNeitherCreditNorRecordPayoutsOfBetsAlreadyPaid() {
+    userRepository.findOrCreate(1, 1_000);
+    userRepository.addPayouts(List.of(3), Map.of(1, 400L));
+
+    assertThatExceptionOfType(DataIntegrityViolationException.class)
+        .isThrownBy(() -> userRepository.addPayouts(List.of(4, 3), Map.of(1, 400L)));
+
+    assertThat(userRepository.findById(1)).map(User::getBalanceInCents).contains(1_400L);
+    assertThat(userRepository.findPaidBetIds(List.of(3, 4))).containsExactly(3);
+  }
+
+  @Test
+  void shouldSubtractAmountOnlyWhenBalanceIsSufficient() {
+    userRepository.findOrCreate(1, 1_000);
+
+    assertThat(userRepository.subtractFromBalanceIfSufficient(1, 600)).isTrue();
+    assertThat(userRepository.subtractFromBalanceIfSufficient(1, 600)).isFalse();
+    assertThat(userRepository.subtractFromBalanceIfSufficient(1, 400)).isTrue();
+    assertThat(userRepository.subtractFromBalanceIfSufficient(2, 1)).isFalse();
+    assertThat(userRepository.findById(1).orElseThrow().getBalanceInCents()).isZero();
+  }
+
+  @Test
+  void shouldNeitherLoseUpdatesNorOverdrawUnderConcurrentDebitsAndCredits() {
+    userRepository.findOrCreate(1, 100_000);
+    var successfulDebits = new AtomicInteger();
+
+    IntStream.range(0, 400)
+        .parallel()
+        .forEach(
+            i -> {
+              if (i % 2 == 0) {
+                userRepository.addToBalance(1, 100);
+              } else if (userRepository.subtractFromBalanceIfSufficient(1, 1_000)) {
+                successfulDebits.incrementAndGet();
+              }
+            });
+
+    var expectedBalance = 100_000 + 20_000 - 1_000L * successfulDebits.get();
+    var balance = userRepository.findById(1).orElseThrow().getBalanceInCents();
+    assertThat(balance).isEqualTo(expectedBalance);
+    assertThat(balance).isNotNegative();
+  }
+}
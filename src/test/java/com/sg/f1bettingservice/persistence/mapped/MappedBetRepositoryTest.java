@@ -0,0 +1,143 @@
+package com.sg.f1bettingservice.persistence.mapped;
+
+import static com.sg.f1bettingservice.core.model.BetStatus.LOST;
+import static com.sg.f1bettingservice.core.model.BetStatus.PLACED;
+import static com.sg.f1bettingservice.core.model.BetStatus.WON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.sg.f1bettingservice.core.model.Bet;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedBetRepositoryTest {
+
+  private static final int RECORDS_PER_REGION = 4;
+
+  @TempDir Path directory;
+
+  MappedBetRepository betRepository;
+
+  @BeforeEach
+  void openRepository() throws IOException {
+    betRepository = new MappedBetRepository(directory, RECORDS_PER_REGION);
+  }
+
+  @AfterEach
+  void closeRepository() throws IOException {
+    betRepository.close();
+  }
+
+  @Test
+  void shouldSaveBetsWithIncreasingIdsAndFindThemByEventAndUser() {
+    var b1 = betRepository.save(1, 1001, 33, 1_000, PLACED);
+    var b2 = betRepository.save(2, 1001, 14, 100, PLACED);
+    var b3 = betRepository.save(1, 1002, 14, 250, PLACED);
+
+    assertThat(b1)
+        .extracting(Bet::getId, Bet::getUserId, Bet::getEventId, Bet::getDriverId, Bet::getStatus)
+        .containsExactly(1, 1, 1001, 33, PLACED);
+    assertThat(b1.getAmountInCents()).isEqualTo(1_000);
+    assertThat(b2.getId()).isEqualTo(b1.getId() + 1);
+    assertThat(betRepository.findByEventId(1001)).containsExactly(b1, b2);
+    assertThat(betRepository.findByUserId(1)).containsExactly(b1, b3);
+  }
+
+  @Test
+  void shouldReturnNothingForUnknownOrNullKeys() {
+    betRepository.save(null, null, null, 100, PLACED);
+
+    assertThat(betRepository.findByEventId(9999)).isEmpty();
+    assertThat(betRepository.findByEventId(null)).isEmpty();
+    assertThat(betRepository.findByUserId(null)).isEmpty();
+  }
+
+  @Test
+  void shouldScanEventsSpanningSeveralRegions() {
+    var saved =
+        IntStream.range(0, RECORDS_PER_REGION * 3 + 1)
+            .mapToObj(i -> betRepository.save(i % 2, 1001, 14, 100, PLACED))
+            .toList();
+
+    assertThat(betRepository.findByEventId(1001)).containsExactlyElementsOf(saved);
+    assertThat(betRepository.findByUserId(1))
+        .containsExactlyElementsOf(saved.stream().filter(bet -> bet.getUserId() == 1).toList());
+  }
+
+  @Test
+  void shouldUpdateStatusInPlace() {
+    var bet = betRepository.save(1, 1001, 33, 1_000, PLACED);
+
+    betRepository.updateBetStatus(bet.getId(), LOST);
+
+    assertThat(betRepository.findByEventId(1001)).extracting(Bet::getStatus).containsExactly(LOST);
+    assertThat(betRepository.findByUserId(1)).extracting(Bet::getStatus).containsExactly(LOST);
+  }
+
+  @Test
+  void shouldOnlyMoveBetsInTheExpectedStatus() {
+    var b1 = betRepository.save(1, 1001, 33, 1_000, PLACED);
+    var b2 = betRepository.save(2, 1001, 14, 100, PLACED);
+    betRepository.updateBetStatus(b1.getId(), LOST);
+
+    var updated =
+        betRepository.updateBetStatuses(List.of(b1.getId(), b2.getId(), 9999), PLACED, WON);
+
+    assertThat(updated).containsExactly(b2.getId());
+    assertThat(betRepository.findByEventId(1001))
+        .extracting(Bet::getStatus)
+        .containsExactly(LOST, WON);
+  }
+
+  @Test
+  void shouldRecoverBetsAndContinueIdsAfterReopen() throws IOException {
+    var b1 = betRepository.save(1, 1001, 33, 1_000, PLACED);
+    var b2 = betRepository.save(1, 1002, 14, 100, PLACED);
+    betRepository.updateBetStatus(b2.getId(), WON);
+    betRepository.close();
+
+    betRepository = new MappedBetRepository(directory, RECORDS_PER_REGION);
+    var b3 = betRepository.save(1, 1001, 14, 300, PLACED);
+
+    assertThat(b3.getId()).isEqualTo(b2.getId() + 1);
+    assertThat(betRepository.findByEventId(1001)).containsExactly(b1, b3);
+    assertThat(betRepository.findByUserId(1))
+        .extracting(Bet::getId, Bet::getStatus)
+        .containsExactly(
+            tuple(b1.getId(), PLACED), tuple(b2.getId(), WON), tuple(b3.getId(), PLACED));
+  }
+
+  @Test
+  void shouldKeepEveryBetSavedConcurrently() throws Exception {
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var futures =
+          IntStream.range(0, 1_000)
+              .mapToObj(
+                  i -> executor.submit(() -> betRepository.save(i % 10, 1001, 14, 100, PLACED)))
+              .toList();
+      for (var future : futures) {
+        future.get();
+      }
+    }
+
+    assertThat(betRepository.findByEventId(1001))
+        .extracting(Bet::getId)
+        .containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(1, 1_000).boxed().toList());
+    assertThat(betRepository.findByUserId(3)).hasSize(100);
+  }
+
+  @Test
+  void shouldRejectNonPositiveRecordsPerRegion() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new MappedBetRepository(directory, 0))
+        .withMessage("Records per region must be positive");
+  }
+}
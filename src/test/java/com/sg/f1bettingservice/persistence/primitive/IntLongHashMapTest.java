@@ -0,0 +1,57 @@
+package com.sg.f1bettingservice.persistence.primitive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class IntLongHashMapTest {
+
+  private static final long ABSENT = Long.MIN_VALUE;
+
+  IntLongHashMap map = new IntLongHashMap();
+
+  @Test
+  void shouldReturnAbsentValueForUnmappedKeys() {
+    assertThat(map.get(1, ABSENT)).isEqualTo(ABSENT);
+    assertThat(map.computeIfPresent(1, ABSENT, value -> value + 1)).isEqualTo(ABSENT);
+    assertThat(map.get(1, ABSENT)).isEqualTo(ABSENT);
+  }
+
+  @Test
+  void shouldComputeFromAbsentOrCurrentValue() {
+    assertThat(map.compute(1, ABSENT, value -> value == ABSENT ? 10 : value + 1)).isEqualTo(10);
+    assertThat(map.compute(1, ABSENT, value -> value == ABSENT ? 10 : value + 1)).isEqualTo(11);
+    assertThat(map.computeIfPresent(1, ABSENT, value -> value * 2)).isEqualTo(22);
+    assertThat(map.get(1, ABSENT)).isEqualTo(22);
+  }
+
+  @Test
+  void shouldMapZeroAndNegativeKeys() {
+    map.compute(0, ABSENT, value -> 5);
+    map.compute(-1, ABSENT, value -> 6);
+    map.compute(Integer.MIN_VALUE, ABSENT, value -> 7);
+
+    assertThat(map.get(0, ABSENT)).isEqualTo(5);
+    assertThat(map.get(-1, ABSENT)).isEqualTo(6);
+    assertThat(map.get(Integer.MIN_VALUE, ABSENT)).isEqualTo(7);
+  }
+
+  @Test
+  void shouldKeepEveryEntryWhileGrowing() {
+    IntStream.range(0, 100_000).forEach(key -> map.compute(key * 31, ABSENT, value -> key));
+
+    assertThat(IntStream.range(0, 100_000).filter(key -> map.get(key * 31, ABSENT) != key))
+        .isEmpty();
+    assertThat(map.get(1, ABSENT)).isEqualTo(ABSENT);
+  }
+
+  @Test
+  void shouldNotLoseUpdatesUnderConcurrentComputes() {
+    IntStream.range(0, 100_000)
+        .parallel()
+        .forEach(i -> map.compute(i % 1_000, ABSENT, value -> value == ABSENT ? 1 : value + 1));
+
+    assertThat(IntStream.range(0, 1_000).filter(key -> map.get(key, ABSENT) != 100)).isEmpty();
+  }
+}
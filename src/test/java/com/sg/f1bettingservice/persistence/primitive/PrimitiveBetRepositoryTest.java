@@ -0,0 +1,79 @@
+package com.sg.f1bettingservice.persistence.primitive;
+
+import static com.sg.f1bettingservice.core.model.BetStatus.LOST;
+import static com.sg.f1bettingservice.core.model.BetStatus.PLACED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import com.sg.f1bettingservice.core.model.Bet;
+import com.sg.f1bettingservice.persistence.BetRepositoryContractTest;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class PrimitiveBetRepositoryTest extends BetRepositoryContractTest<PrimitiveBetRepository> {
+
+  @Override
+  protected PrimitiveBetRepository newBetRepository() {
+    return new PrimitiveBetRepository();
+  }
+
+  @Test
+  void shouldReturnBetsFilteredByEventIdInSaveOrder() {
+    var b1 = betRepository.save(1, 1001, 33, 1_000, PLACED);
+    var b2 = betRepository.save(1, 1002, 44, 500, PLACED);
+    var b3 = betRepository.save(2, 1001, 55, 2_000, PLACED);
+
+    assertThat(betRepository.findByEventId(1001)).containsExactly(b1, b3);
+    assertThat(betRepository.findByEventId(1002)).containsExactly(b2);
+    assertThat(betRepository.findByEventId(9999)).isEmpty();
+  }
+
+  @Test
+  void shouldReturnBetsFilteredByUserIdInSaveOrder() {
+    var b1 = betRepository.save(1, 1001, 33, 1_000, PLACED);
+    var b2 = betRepository.save(2, 1001, 44, 500, PLACED);
+    var b3 = betRepository.save(1, 1002, 55, 2_000, PLACED);
+
+    assertThat(betRepository.findByUserId(1)).containsExactly(b1, b3);
+    assertThat(betRepository.findByUserId(2)).containsExactly(b2);
+  }
+
+  @Test
+  void shouldKeepNullFieldsAndReturnNothingForNullKeys() {
+    var bet = betRepository.save(null, 1001, null, 100, PLACED);
+
+    assertThat(betRepository.findByEventId(1001)).containsExactly(bet);
+    assertThat(bet.getUserId()).isNull();
+    assertThat(betRepository.findByEventId(null)).isEmpty();
+    assertThat(betRepository.findByUserId(null)).isEmpty();
+  }
+
+  @Test
+  void shouldIgnoreStatusUpdatesOfANullBetId() {
+    var bet = betRepository.save(1, 1001, 33, 1_000, PLACED);
+
+    betRepository.updateBetStatus(null, LOST);
+
+    assertThat(betRepository.findByEventId(1001)).containsExactly(bet);
+  }
+
+  @Test
+  void shouldKeepEveryBetSavedConcurrentlyAcrossChunks() {
+    IntStream.range(0, 50_000)
+        .parallel()
+        .forEach(i -> betRepository.save(i % 100, 1001 + i % 2, 14, 100, PLACED));
+
+    assertThat(betRepository.findByEventId(1001)).hasSize(25_000);
+    assertThat(betRepository.findByUserId(7))
+        .hasSize(500)
+        .extracting(Bet::getEventId)
+        .containsOnly(1002);
+  }
+
+  @Test
+  void shouldRejectBetsWithoutStatus() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> betRepository.save(1, 1001, 33, 1_000, null))
+        .withMessage("Bet status must be provided");
+  }
+}
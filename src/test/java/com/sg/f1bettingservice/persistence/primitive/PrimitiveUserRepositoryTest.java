@@ -0,0 +1,27 @@
+package com.sg.f1bettingservice.persistence.primitive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sg.f1bettingservice.core.model.User;
+import com.sg.f1bettingservice.persistence.UserRepositoryContractTest;
+import org.junit.jupiter.api.Test;
+
+class PrimitiveUserRepositoryTest extends UserRepositoryContractTest<PrimitiveUserRepository> {
+
+  @Override
+  protected PrimitiveUserRepository newUserRepository() {
+    return new PrimitiveUserRepository();
+  }
+
+  @Test
+  void shouldTellUsersWithAZeroBalanceFromUnknownUsers() {
+    userRepository.save(User.builder().userId(1).balanceInCents(0).build());
+    userRepository.findOrCreate(2, 100);
+    userRepository.subtractFromBalanceIfSufficient(2, 100);
+
+    assertThat(userRepository.findById(1)).map(User::getBalanceInCents).contains(0L);
+    assertThat(userRepository.findById(2)).map(User::getBalanceInCents).contains(0L);
+    assertThat(userRepository.addToBalance(1, 50)).map(User::getBalanceInCents).contains(50L);
+    assertThat(userRepository.findById(3)).isEmpty();
+  }
+}
@@ -0,0 +1,82 @@
+package com.sg.f1bettingservice.persistence.wal;
+
+import static com.sg.f1bettingservice.core.model.BetStatus.LOST;
+import static com.sg.f1bettingservice.core.model.BetStatus.PLACED;
+import static com.sg.f1bettingservice.core.model.BetStatus.WON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.sg.f1bettingservice.core.model.Bet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WalBetRepositoryTest {
+
+  @TempDir Path directory;
+
+  WalStore store;
+  WalBetRepository betRepository;
+
+  @BeforeEach
+  void openStore() throws IOException {
+    store =
+        new WalStore(
+            directory, Duration.ofHours(1), 512, Duration.ofMillis(1), new SimpleMeterRegistry());
+    betRepository = new WalBetRepository(store.bets(), store.writeAheadLog());
+  }
+
+  @AfterEach
+  void closeStore() throws IOException {
+    store.close();
+  }
+
+  @Test
+  void shouldSaveBetsWithIncreasingIdsAndFindThemByEventAndUser() {
+    var b1 = betRepository.save(1, 1001, 33, 1_000, PLACED);
+    var b2 = betRepository.save(2, 1001, 14, 100, PLACED);
+
+    assertThat(b2.getId()).isEqualTo(b1.getId() + 1);
+    assertThat(betRepository.findByEventId(1001)).containsExactlyInAnyOrder(b1, b2);
+    assertThat(betRepository.findByUserId(2)).containsExactly(b2);
+  }
+
+  @Test
+  void shouldOnlyMoveBetsInTheExpectedStatusAndKeepThatAfterRestart() throws IOException {
+    var b1 = betRepository.save(1, 1001, 33, 1_000, PLACED);
+    var b2 = betRepository.save(2, 1001, 14, 100, PLACED);
+    betRepository.updateBetStatus(b1.getId(), LOST);
+
+    var updated = betRepository.updateBetStatuses(List.of(b1.getId(), b2.getId()), PLACED, WON);
+
+    assertThat(updated).containsExactly(b2.getId());
+    store.close();
+    openStore();
+    assertThat(betRepository.findByEventId(1001))
+        .extracting(Bet::getStatus)
+        .containsExactlyInAnyOrder(LOST, WON);
+  }
+
+  @Test
+  void shouldLeaveBetsUntouchedWhenTheLogRefusesTheirMutation() throws IOException {
+    var bet = betRepository.save(1, 1001, 33, 1_000, PLACED);
+    store.writeAheadLog().close();
+
+    assertThatExceptionOfType(WalException.class)
+        .isThrownBy(() -> betRepository.updateBetStatuses(List.of(bet.getId()), PLACED, WON));
+    assertThatExceptionOfType(WalException.class)
+        .isThrownBy(() -> betRepository.updateBetStatus(bet.getId(), LOST));
+    assertThatExceptionOfType(WalException.class)
+        .isThrownBy(() -> betRepository.save(2, 1001, 14, 100, PLACED));
+
+    assertThat(betRepository.findByEventId(1001))
+        .extracting(Bet::getStatus)
+        .containsExactly(PLACED);
+  }
+}
@@ -0,0 +1,54 @@
+package com.sg.f1bettingservice.persistence.wal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sg.f1bettingservice.core.model.EventOutcome;
+import com.sg.f1bettingservice.core.model.SettlementCheckpoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WalOutcomeRepositoryTest {
+
+  @TempDir Path directory;
+
+  WalStore store;
+  WalOutcomeRepository outcomeRepository;
+
+  @BeforeEach
+  void openStore() throws IOException {
+    store =
+        new WalStore(
+            directory, Duration.ofHours(1), 512, Duration.ofMillis(1), new SimpleMeterRegistry());
+    outcomeRepository = new WalOutcomeRepository(store.outcomes(), store.writeAheadLog());
+  }
+
+  @AfterEach
+  void closeStore() throws IOException {
+    store.close();
+  }
+
+  @Test
+  void shouldKeepTheLatestCheckpointAndTheOutcomeAcrossRestarts() throws IOException {
+    var checkpoint = SettlementCheckpoint.builder().eventId(1).winnerDriverId(14).build();
+    var outcome =
+        EventOutcome.builder().eventId(1).winnerDriverId(14).betsWon(2).betsLost(3).build();
+    outcomeRepository.saveCheckpoint(checkpoint.toBuilder().lastBetId(10).build());
+    outcomeRepository.saveCheckpoint(checkpoint.toBuilder().lastBetId(20).build());
+    outcomeRepository.save(outcome);
+
+    store.close();
+    openStore();
+
+    assertThat(outcomeRepository.findByEventId(1)).contains(outcome);
+    assertThat(outcomeRepository.findCheckpointByEventId(1))
+        .map(SettlementCheckpoint::getLastBetId)
+        .contains(20);
+    assertThat(outcomeRepository.findByEventId(2)).isEmpty();
+  }
+}
@@ -0,0 +1,78 @@
+package com.sg.f1bettingservice.persistence.wal;
+
+import static com.sg.f1bettingservice.core.model.BetStatus.WON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.sg.f1bettingservice.core.model.Bet;
+import com.sg.f1bettingservice.core.model.EventOutcome;
+import com.sg.f1bettingservice.core.model.SettlementCheckpoint;
+import com.sg.f1bettingservice.core.model.User;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.BetSaved;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.BetStatusUpdated;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.CheckpointSaved;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.OutcomeSaved;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.PayoutsAdded;
+import com.sg.f1bettingservice.persistence.wal.WalRecord.UserSaved;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class WalRecordCodecTest {
+
+  static Stream<WalRecord> records() {
+    return Stream.of(
+        new BetSaved(
+            Bet.builder()
+                .id(1)
+                .userId(2)
+                .eventId(9158)
+                .driverId(14)
+                .amountInCents(1_050)
+                .status(WON)
+                .build()),
+        new BetSaved(Bet.builder().id(1).build()),
+        new BetStatusUpdated(1, WON),
+        new UserSaved(User.builder().userId(2).balanceInCents(Long.MAX_VALUE).build()),
+        new PayoutsAdded(
+            List.of(1, 3), List.of(User.builder().userId(2).balanceInCents(2_100).build())),
+        new PayoutsAdded(List.of(1), List.of()),
+        new OutcomeSaved(
+            EventOutcome.builder().eventId(9158).winnerDriverId(14).betsWon(1).betsLost(2).build()),
+        new CheckpointSaved(
+            SettlementCheckpoint.builder()
+                .eventId(9158)
+                .winnerDriverId(14)
+                .lastBetId(10)
+                .betsWon(3)
+                .betsLost(7)
+                .build()));
+  }
+
+  @ParameterizedTest
+  @MethodSource("records")
+  void shouldReadBackWhatWasWritten(WalRecord record) throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    WalRecordCodec.write(record, new DataOutputStream(bytes));
+
+    var in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+
+    assertThat(WalRecordCodec.read(in)).isEqualTo(record);
+  }
+
+  @Test
+  void shouldRejectUnknownRecordTypes() {
+    var in = new DataInputStream(new ByteArrayInputStream(new byte[] {42}));
+
+    assertThatExceptionOfType(WalException.class)
+        .isThrownBy(() -> WalRecordCodec.read(in))
+        .withMessage("Unknown write-ahead log record type 42");
+  }
+}
@@ -0,0 +1,97 @@
+package com.sg.f1bettingservice.persistence.wal;
+
+import static com.sg.f1bettingservice.core.model.BetStatus.PLACED;
+import static com.sg.f1bettingservice.core.model.BetStatus.WON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.sg.f1bettingservice.core.model.Bet;
+import com.sg.f1bettingservice.core.model.EventOutcome;
+import com.sg.f1bettingservice.core.model.SettlementCheckpoint;
+import com.sg.f1bettingservice.core.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WalStoreTest {
+
+  private static final Duration SNAPSHOT_INTERVAL = Duration.ofHours(1);
+
+  @TempDir Path directory;
+
+  @Test
+  void shouldRecoverBetsUsersOutcomesAndCheckpointsAfterRestart() throws IOException {
+    var outcome =
+        EventOutcome.builder().eventId(1001).winnerDriverId(14).betsWon(1).betsLost(0).build();
+    var checkpoint =
+        SettlementCheckpoint.builder().eventId(1001).winnerDriverId(14).lastBetId(1).build();
+    Bet bet;
+    try (var store = openStore()) {
+      var bets = new WalBetRepository(store.bets(), store.writeAheadLog());
+      bet = bets.save(7, 1001, 14, 500, PLACED);
+      new WalUserRepository(store.users(), store.writeAheadLog()).findOrCreate(7, 10_000);
+      new WalOutcomeRepository(store.outcomes(), store.writeAheadLog()).saveCheckpoint(checkpoint);
+      new WalOutcomeRepository(store.outcomes(), store.writeAheadLog()).save(outcome);
+    }
+
+    try (var store = openStore()) {
+      assertThat(store.bets().findByEventId(1001)).containsExactly(bet);
+      assertThat(store.users().findById(7)).map(User::getBalanceInCents).contains(10_000L);
+      assertThat(store.outcomes().findByEventId(1001)).contains(outcome);
+      assertThat(store.outcomes().findCheckpointByEventId(1001)).contains(checkpoint);
+    }
+  }
+
+  @Test
+  void shouldRecoverMutationsLoggedAfterTheLatestSnapshot() throws IOException {
+    try (var store = openStore()) {
+      var bets = new WalBetRepository(store.bets(), store.writeAheadLog());
+      var first = bets.save(7, 1001, 14, 500, PLACED);
+      store.snapshot();
+      bets.save(8, 1001, 33, 100, PLACED);
+      bets.updateBetStatuses(List.of(first.getId()), PLACED, WON);
+    }
+
+    try (var store = openStore()) {
+      assertThat(store.bets().findByEventId(1001))
+          .extracting(Bet::getUserId, Bet::getStatus)
+          .containsExactlyInAnyOrder(tuple(7, WON), tuple(8, PLACED));
+    }
+  }
+
+  @Test
+  void shouldContinueBetIdsAfterTheRecoveredOnes() throws IOException {
+    try (var store = openStore()) {
+      new WalBetRepository(store.bets(), store.writeAheadLog()).save(7, 1001, 14, 500, PLACED);
+    }
+
+    try (var store = openStore()) {
+      var bet =
+          new WalBetRepository(store.bets(), store.writeAheadLog()).save(8, 1001, 14, 500, PLACED);
+      assertThat(bet.getId()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void shouldSnapshotOnCloseSoOnlyTheLatestGenerationIsKept() throws IOException {
+    try (var store = openStore()) {
+      new WalBetRepository(store.bets(), store.writeAheadLog()).save(7, 1001, 14, 500, PLACED);
+    }
+
+    try (var files = Files.list(directory)) {
+      assertThat(files.map(path -> path.getFileName().toString()))
+          .containsExactlyInAnyOrder(
+              "snapshot-00000000000000000002.bin", "wal-00000000000000000002.log");
+    }
+  }
+
+  private WalStore openStore() throws IOException {
+    return new WalStore(
+        directory, SNAPSHOT_INTERVAL, 512, Duration.ofMillis(1), new SimpleMeterRegistry());
+  }
+}
@@ -0,0 +1,133 @@
+package com.sg.f1bettingservice.persistence.wal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.sg.f1bettingservice.core.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WalUserRepositoryTest {
+
+  @TempDir Path directory;
+
+  WalStore store;
+  WalUserRepository userRepository;
+
+  @BeforeEach
+  void openStore() throws IOException {
+    store =
+        new WalStore(
+            directory, Duration.ofHours(1), 512, Duration.ofMillis(1), new SimpleMeterRegistry());
+    userRepository = new WalUserRepository(store.users(), store.writeAheadLog());
+  }
+
+  @AfterEach
+  void closeStore() throws IOException {
+    store.close();
+  }
+
+  @Test
+  void shouldCreateUserWithInitialBalanceOnlyOnce() {
+    var created = userRepository.findOrCreate(1, 1_000);
+    var existing = userRepository.findOrCreate(1, 100);
+
+    assertThat(created.getBalanceInCents()).isEqualTo(1_000);
+    assertThat(existing).isEqualTo(created);
+  }
+
+  @Test
+  void shouldSaveUserAndFindItById() {
+    var user = User.builder().userId(1).balanceInCents(1_000).build();
+
+    userRepository.save(user);
+
+    assertThat(userRepository.findById(1)).contains(user);
+  }
+
+  @Test
+  void shouldApplyCreditsAndOnlySufficientDebits() {
+    userRepository.findOrCreate(1, 1_000);
+    userRepository.findOrCreate(2, 500);
+
+    assertThat(userRepository.subtractFromBalanceIfSufficient(1, 1_500)).isFalse();
+    assertThat(userRepository.subtractFromBalanceIfSufficient(1, 400)).isTrue();
+    assertThat(userRepository.addToBalance(1, 100)).map(User::getBalanceInCents).contains(700L);
+    assertThat(userRepository.addToBalance(3, 100)).isEmpty();
+    userRepository.addToBalances(Map.of(1, 300L, 2, 250L, 3, 50L));
+
+    assertThat(userRepository.findById(1)).map(User::getBalanceInCents).contains(1_000L);
+    assertThat(userRepository.findById(2)).map(User::getBalanceInCents).contains(750L);
+    assertThat(userRepository.findById(3)).isEmpty();
+  }
+
+  @Test
+  void shouldRecoverPayoutsAndPaidBetsFromTheLogAndFromSnapshots() throws IOException {
+    userRepository.findOrCreate(1, 1_000);
+    userRepository.findOrCreate(2, 500);
+    userRepository.addPayouts(List.of(3, 5), Map.of(1, 400L, 2, 100L));
+
+    store.close();
+    openStore();
+    assertThat(userRepository.findById(1)).map(User::getBalanceInCents).contains(1_400L);
+    assertThat(userRepository.findById(2)).map(User::getBalanceInCents).contains(600L);
+    assertThat(userRepository.findPaidBetIds(List.of(3, 4, 5))).containsExactlyInAnyOrder(3, 5);
+
+    store.snapshot();
+    store.close();
+    openStore();
+    assertThat(userRepository.findPaidBetIds(List.of(3, 4, 5))).containsExactlyInAnyOrder(3, 5);
+  }
+
+  @Test
+  void shouldLeaveUsersUntouchedWhenTheLogRefusesTheirMutation() throws IOException {
+    userRepository.findOrCreate(1, 1_000);
+    store.writeAheadLog().close();
+
+    assertThatExceptionOfType(WalException.class)
+        .isThrownBy(() -> userRepository.addToBalance(1, 100));
+    assertThatExceptionOfType(WalException.class)
+        .isThrownBy(() -> userRepository.subtractFromBalanceIfSufficient(1, 100));
+    assertThatExceptionOfType(WalException.class)
+        .isThrownBy(() -> userRepository.addPayouts(List.of(3), Map.of(1, 100L)));
+    assertThatExceptionOfType(WalException.class)
+        .isThrownBy(() -> userRepository.findOrCreate(2, 500));
+
+    assertThat(userRepository.findById(1)).map(User::getBalanceInCents).contains(1_000L);
+    assertThat(userRepository.findPaidBetIds(List.of(3))).isEmpty();
+    assertThat(userRepository.findById(2)).isEmpty();
+  }
+
+  @Test
+  void shouldRecoverTheLastBalanceAfterConcurrentDebitsAndCredits() throws IOException {
+    userRepository.findOrCreate(1, 1_000);
+    var debits = new AtomicInteger();
+
+    IntStream.range(0, 2_000)
+        .parallel()
+        .forEach(
+            i -> {
+              if (i % 2 == 0) {
+                userRepository.addToBalance(1, 1);
+              } else if (userRepository.subtractFromBalanceIfSufficient(1, 2)) {
+                debits.incrementAndGet();
+              }
+            });
+    var expectedBalance = 1_000L + 1_000 - 2L * debits.get();
+    assertThat(userRepository.findById(1)).map(User::getBalanceInCents).contains(expectedBalance);
+
+    store.close();
+    openStore();
+    assertThat(userRepository.findById(1)).map(User::getBalanceInCents).contains(expectedBalance);
+  }
+}
@@ -0,0 +1,276 @@
+package com.sg.f1bettingservice.persistence.wal;
+
+import static com.sg.f1bettingservice.core.model.BetStatus.LOST;
+import static com.sg.f1bettingservice.core.model.BetStatus.WON;
+import static com.sg.f1bettingservice.persistence.wal.WriteAheadLog.BATCH_SIZE_METRIC;
+import static com.sg.f1bettingservice.persistence.wal.WriteAheadLog.COMMIT_LATENCY_METRIC;
+import static com.sg.f1bettingservice.persistence.wal.WriteAheadLog.FSYNC_METRIC;
+import static com.sg.f1bettingservice.persistence.wal.WriteAheadLog.MAX_FRAME_LENGTH;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import com.sg.f1bettingservice.persistence.wal.WalRecord.BetStatusUpdated;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WriteAheadLogTest {
+
+  @TempDir Path directory;
+
+  SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void shouldReplayDurableRecordsInAppendOrderOnReopen() throws IOException {
+    try (var writeAheadLog = open(record -> {})) {
+      writeAheadLog.appendAndAwait(new BetStatusUpdated(1, WON));
+      writeAheadLog.appendAndAwait(new BetStatusUpdated(2, LOST));
+    }
+
+    assertThat(replay())
+        .containsExactly(new BetStatusUpdated(1, WON), new BetStatusUpdated(2, LOST));
+  }
+
+  @Test
+  void shouldKeepEveryRecordAppendedConcurrently() throws Exception {
+    try (var writeAheadLog = open(record -> {});
+        var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var futures =
+          IntStream.range(0, 500)
+              .mapToObj(
+                  i ->
+                      executor.submit(
+                          () -> writeAheadLog.appendAndAwait(new BetStatusUpdated(i, WON))))
+              .toList();
+      for (var future : futures) {
+        future.get();
+      }
+    }
+
+    assertThat(replay())
+        .extracting(record -> ((BetStatusUpdated) record).betId())
+        .containsExactlyInAnyOrderElementsOf(IntStream.range(0, 500).boxed().toList());
+  }
+
+  @Test
+  void shouldIgnoreTornTailOfSegment() throws IOException {
+    try (var writeAheadLog = open(record -> {})) {
+      writeAheadLog.appendAndAwait(new BetStatusUpdated(1, WON));
+    }
+    var segment = onlyFileMatching("wal-");
+    Files.write(segment, new byte[] {0, 0, 0, 20, 1, 2}, StandardOpenOption.APPEND);
+
+    assertThat(replay()).containsExactly(new BetStatusUpdated(1, WON));
+  }
+
+  @Test
+  void shouldTreatAFrameWithAnImpossibleLengthAsTheTornTail() throws IOException {
+    try (var writeAheadLog = open(record -> {})) {
+      writeAheadLog.appendAndAwait(new BetStatusUpdated(1, WON));
+    }
+    var segment = onlyFileMatching("wal-");
+    var durable = Files.readAllBytes(segment);
+
+    for (var length : List.of(MAX_FRAME_LENGTH + 1, -1)) {
+      var torn =
+          ByteBuffer.allocate(durable.length + Integer.BYTES + 1)
+              .put(durable)
+              .putInt(length)
+              .put((byte) 1)
+              .array();
+      Files.write(segment, torn);
+
+      assertThat(replay()).containsExactly(new BetStatusUpdated(1, WON));
+    }
+  }
+
+  @Test
+  void shouldRecoverFromSnapshotAndLaterSegmentsOnly() throws IOException {
+    try (var writeAheadLog = open(record -> {})) {
+      writeAheadLog.appendAndAwait(new BetStatusUpdated(1, WON));
+      writeAheadLog.snapshot(sink -> sink.accept(new BetStatusUpdated(1, LOST)));
+      writeAheadLog.appendAndAwait(new BetStatusUpdated(2, WON));
+    }
+
+    assertThat(replay())
+        .containsExactly(new BetStatusUpdated(1, LOST), new BetStatusUpdated(2, WON));
+  }
+
+  @Test
+  void shouldDeleteSegmentsAndSnapshotsSupersededByANewSnapshot() throws IOException {
+    try (var writeAheadLog = open(record -> {})) {
+      writeAheadLog.appendAndAwait(new BetStatusUpdated(1, WON));
+      writeAheadLog.snapshot(sink -> sink.accept(new BetStatusUpdated(1, WON)));
+      writeAheadLog.snapshot(sink -> sink.accept(new BetStatusUpdated(1, WON)));
+    }
+
+    try (var files = Files.list(directory)) {
+      assertThat(files.map(path -> path.getFileName().toString()))
+          .containsExactlyInAnyOrder(
+              "snapshot-00000000000000000003.bin", "wal-00000000000000000003.log");
+    }
+  }
+
+  @Test
+  void shouldNotRotateForASnapshotWhileAMutationIsInProgress() throws Exception {
+    try (var writeAheadLog = open(record -> {})) {
+      var mutationLock = writeAheadLog.mutationLock();
+      mutationLock.lock();
+      Thread snapshot;
+      try {
+        snapshot =
+            Thread.ofVirtual()
+                .start(
+                    () -> {
+                      try {
+                        writeAheadLog.snapshot(sink -> {});
+                      } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                      }
+                    });
+        assertThat(snapshot.join(Duration.ofMillis(100))).isFalse();
+      } finally {
+        mutationLock.unlock();
+      }
+      assertThat(snapshot.join(Duration.ofSeconds(5))).isTrue();
+    }
+  }
+
+  @Test
+  void shouldRejectAppendsOnceClosed() throws IOException {
+    var writeAheadLog = open(record -> {});
+    writeAheadLog.close();
+
+    assertThatExceptionOfType(WalException.class)
+        .isThrownBy(() -> writeAheadLog.append(new BetStatusUpdated(1, WON)))
+        .withMessage("Write-ahead log is closed");
+  }
+
+  @Test
+  void shouldNotApplyAMutationWhoseRecordsTheLogRefuses() throws IOException {
+    var writeAheadLog = open(record -> {});
+    writeAheadLog.close();
+    var applied = new AtomicBoolean();
+
+    assertThatExceptionOfType(WalException.class)
+        .isThrownBy(
+            () ->
+                writeAheadLog.appendThenApply(
+                    List.of(new BetStatusUpdated(1, WON), new BetStatusUpdated(2, WON)),
+                    () -> applied.set(true)));
+    assertThat(applied).isFalse();
+  }
+
+  @Test
+  void shouldAppendAllRecordsOfAMutationInOrder() throws IOException {
+    try (var writeAheadLog = open(record -> {})) {
+      var first = writeAheadLog.append(new BetStatusUpdated(1, WON));
+      var last =
+          writeAheadLog.appendAll(
+              List.of(new BetStatusUpdated(2, WON), new BetStatusUpdated(3, LOST)));
+      writeAheadLog.awaitDurable(last);
+
+      assertThat(last).isEqualTo(first + 2);
+      assertThat(writeAheadLog.appendAll(List.of())).isZero();
+    }
+
+    assertThat(replay())
+        .containsExactly(
+            new BetStatusUpdated(1, WON),
+            new BetStatusUpdated(2, WON),
+            new BetStatusUpdated(3, LOST));
+  }
+
+  @Test
+  void shouldGroupConcurrentAppendsIntoSharedFsyncs() throws Exception {
+    try (var writeAheadLog =
+            WriteAheadLog.open(directory, 64, Duration.ofMillis(5), meterRegistry, record -> {});
+        var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var futures =
+          IntStream.range(0, 500)
+              .mapToObj(
+                  i ->
+                      executor.submit(
+                          () -> writeAheadLog.appendAndAwait(new BetStatusUpdated(i, WON))))
+              .toList();
+      for (var future : futures) {
+        future.get();
+      }
+    }
+
+    var batchSize = meterRegistry.get(BATCH_SIZE_METRIC).summary();
+    assertThat(batchSize.totalAmount()).isEqualTo(500);
+    assertThat(batchSize.count()).isLessThan(500);
+    assertThat(batchSize.max()).isLessThanOrEqualTo(64);
+    assertThat(meterRegistry.get(FSYNC_METRIC).timer().count()).isEqualTo(batchSize.count());
+    assertThat(meterRegistry.get(COMMIT_LATENCY_METRIC).timer().count()).isEqualTo(500);
+  }
+
+  @Test
+  void shouldCommitAFullBatchWithoutWaitingForTheBatchDelay() throws IOException {
+    try (var writeAheadLog =
+        WriteAheadLog.open(directory, 4, Duration.ofHours(1), meterRegistry, record -> {})) {
+      var sequence = 0L;
+      for (int i = 0; i < 8; i++) {
+        sequence = writeAheadLog.append(new BetStatusUpdated(i, WON));
+      }
+      writeAheadLog.awaitDurable(sequence);
+    }
+
+    var batchSize = meterRegistry.get(BATCH_SIZE_METRIC).summary();
+    assertThat(batchSize.count()).isEqualTo(2);
+    assertThat(batchSize.totalAmount()).isEqualTo(8);
+  }
+
+  @Test
+  void shouldCommitALoneRecordOnceTheBatchDelayElapses() throws IOException {
+    try (var writeAheadLog =
+        WriteAheadLog.open(directory, 512, Duration.ofMillis(20), meterRegistry, record -> {})) {
+      writeAheadLog.appendAndAwait(new BetStatusUpdated(1, WON));
+    }
+
+    assertThat(meterRegistry.get(BATCH_SIZE_METRIC).summary().totalAmount()).isEqualTo(1);
+    assertThat(replay()).containsExactly(new BetStatusUpdated(1, WON));
+  }
+
+  @Test
+  void shouldRejectNonPositiveMaxBatchSize() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(
+            () -> WriteAheadLog.open(directory, 0, Duration.ZERO, meterRegistry, record -> {}))
+        .withMessage("Max batch size must be positive");
+  }
+
+  private WriteAheadLog open(Consumer<WalRecord> recovery) throws IOException {
+    return WriteAheadLog.open(directory, 512, Duration.ofMillis(1), meterRegistry, recovery);
+  }
+
+  private List<WalRecord> replay() throws IOException {
+    var records = new ArrayList<WalRecord>();
+    open(records::add).close();
+    return records;
+  }
+
+  private Path onlyFileMatching(String prefix) throws IOException {
+    try (var files = Files.list(directory)) {
+      return files
+          .filter(path -> path.getFileName().toString().startsWith(prefix))
+          .findFirst()
+          .orElseThrow();
+    }
+  }
+}
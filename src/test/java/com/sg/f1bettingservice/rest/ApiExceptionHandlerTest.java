@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.sg.f1bettingservice.core.exception.DriverNotFoundException;
 import com.sg.f1bettingservice.core.exception.EventNotFoundException;
 import com.sg.f1bettingservice.core.exception.InsufficientBalanceException;
+import com.sg.f1bettingservice.f1data.circuit.CircuitOpenException;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.ResponseEntity;
@@ -51,6 +52,18 @@ class ApiExceptionHandlerTest {
     assertThat(body.get("message")).isEqualTo("User with id 1 has insufficient balance");
   }
 
+  @Test
+  void shouldReturn503ServiceUnavailableForCircuitOpenException() {
+    var ex = new CircuitOpenException("openf1");
+
+    ResponseEntity<?> response = handler.handleCircuitOpen(ex);
+
+    assertThat(response.getStatusCode().value()).isEqualTo(503);
+    Map<?, ?> body = (Map<?, ?>) response.getBody();
+    assertThat(body.get("error")).isEqualTo("Service Unavailable");
+    assertThat(body.get("message")).isEqualTo("Circuit openf1 is open, upstream is unavailable");
+  }
+
   @Test
   void shouldReturn500ServerErrorWhenAnyOtherUnexpectedExceptionIsThrown() {
     var ex = new RuntimeException("boom!");
@@ -1,8 +1,12 @@
 package com.sg.f1bettingservice.rest.bet;
 
+import static org.hamcrest.Matchers.stringContainsInOrder;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -11,7 +15,9 @@ import com.sg.f1bettingservice.core.BetService;
 import com.sg.f1bettingservice.core.exception.DriverNotFoundException;
 import com.sg.f1bettingservice.core.exception.EventNotFoundException;
 import com.sg.f1bettingservice.core.exception.InsufficientBalanceException;
+import com.sg.f1bettingservice.core.model.BetPlacementResult;
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -44,7 +50,7 @@ public class BetApiTest {
     var expected = PlaceBetResponse.builder().betId(7).build();
 
     when(betService.placeBet(
-            request.getUserId(), request.getEventId(), request.getDriverId(), request.getAmount()))
+            request.getUserId(), request.getEventId(), request.getDriverId(), request.amountInCents()))
         .thenReturn(expected.getBetId());
 
     mvc.perform(
@@ -66,7 +72,7 @@ public class BetApiTest {
             .build();
 
     when(betService.placeBet(
-            request.getUserId(), request.getEventId(), request.getDriverId(), request.getAmount()))
+            request.getUserId(), request.getEventId(), request.getDriverId(), request.amountInCents()))
         .thenThrow(new EventNotFoundException(request.getEventId()));
 
     mvc.perform(
@@ -87,7 +93,7 @@ public class BetApiTest {
             .build();
 
     when(betService.placeBet(
-            request.getUserId(), request.getEventId(), request.getDriverId(), request.getAmount()))
+            request.getUserId(), request.getEventId(), request.getDriverId(), request.amountInCents()))
         .thenThrow(new DriverNotFoundException(request.getEventId(), request.getDriverId()));
 
     mvc.perform(
@@ -108,7 +114,7 @@ public class BetApiTest {
             .build();
 
     when(betService.placeBet(
-            request.getUserId(), request.getEventId(), request.getDriverId(), request.getAmount()))
+            request.getUserId(), request.getEventId(), request.getDriverId(), request.amountInCents()))
         .thenThrow(new InsufficientBalanceException(1));
 
     mvc.perform(
@@ -118,6 +124,54 @@ public class BetApiTest {
         .andExpect(status().isConflict());
   }
 
+  @Test
+  void shouldReturnHttp200CodeWithResultOfEachBetWhenPlacingABatch() throws Exception {
+    var valid =
+        PlaceBetRequest.builder()
+            .userId(1)
+            .eventId(1001)
+            .driverId(33)
+            .amount(BigDecimal.TEN)
+            .build();
+    var invalid = PlaceBetRequest.builder().userId(1).eventId(1001).build();
+
+    when(betService.placeBets(anyList())).thenReturn(List.of(BetPlacementResult.placed(7)));
+
+    mvc.perform(
+            post("/api/v1/bets/place/batch")
+                .contentType(APPLICATION_JSON)
+                .content(om.writeValueAsBytes(List.of(valid, invalid))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.placed").value(1))
+        .andExpect(jsonPath("$.rejected").value(1))
+        .andExpect(jsonPath("$.results[0].status").value("PLACED"))
+        .andExpect(jsonPath("$.results[0].betId").value(7))
+        .andExpect(jsonPath("$.results[1].index").value(1))
+        .andExpect(jsonPath("$.results[1].status").value("REJECTED"));
+  }
+
+  @Test
+  void shouldStreamOneResultLinePerBetWhenPlacingNdjsonBets() throws Exception {
+    when(betService.placeBets(anyList())).thenReturn(List.of(BetPlacementResult.placed(7)));
+
+    mvc.perform(
+            post("/api/v1/bets/place/stream")
+                .contentType(APPLICATION_NDJSON)
+                .content(
+                    """
+                    {"userId":1,"eventId":1001,"driverId":33,"amount":10}
+                    {"userId":1,"eventId":1001}
+                    """))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(APPLICATION_NDJSON))
+        .andExpect(
+            content()
+                .string(
+                    stringContainsInOrder(
+                        "{\"index\":0,\"status\":\"PLACED\",\"betId\":7,\"error\":null}\n",
+                        "{\"index\":1,\"status\":\"REJECTED\",\"betId\":null,\"error\":\"")));
+  }
+
   @ParameterizedTest
   @MethodSource("getInvalidRequests")
   void shouldReturn400WhenPlacingInvalidBet(PlaceBetRequest request) throws Exception {
@@ -140,6 +194,13 @@ public class BetApiTest {
                 .eventId(1)
                 .driverId(1)
                 .amount(BigDecimal.ZERO)
+                .build()),
+        Arguments.of(
+            PlaceBetRequest.builder()
+                .userId(1)
+                .eventId(1)
+                .driverId(1)
+                .amount(new BigDecimal("10.001"))
                 .build()));
   }
 }
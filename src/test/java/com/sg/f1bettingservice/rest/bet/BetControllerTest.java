@@ -1,18 +1,40 @@
 package com.sg.f1bettingservice.rest.bet;
 
+import static com.sg.f1bettingservice.rest.bet.PlaceBetResult.Status.PLACED;
+import static com.sg.f1bettingservice.rest.bet.PlaceBetResult.Status.REJECTED;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.sg.f1bettingservice.core.BetService;
+import com.sg.f1bettingservice.core.model.BetPlacement;
+import com.sg.f1bettingservice.core.model.BetPlacementResult;
+import com.sg.f1bettingservice.f1data.circuit.CircuitOpenException;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 class BetControllerTest {
 
   BetService betService = mock(BetService.class);
-  BetController betController = new BetController(betService);
+  BetController betController =
+      new BetController(
+          betService,
+          Validation.buildDefaultValidatorFactory().getValidator(),
+          Jackson2ObjectMapperBuilder.json().build(),
+          2,
+          64);
 
   @Test
   void shouldReturnPlacedBetTest() {
@@ -24,7 +46,7 @@ class BetControllerTest {
             placeBetRequest.getUserId(),
             placeBetRequest.getEventId(),
             placeBetRequest.getDriverId(),
-            placeBetRequest.getAmount()))
+            placeBetRequest.amountInCents()))
         .thenReturn(expectedBetId);
 
     var response = betController.placeBet(placeBetRequest);
@@ -35,6 +57,159 @@ class BetControllerTest {
             placeBetRequest.getUserId(),
             placeBetRequest.getEventId(),
             placeBetRequest.getDriverId(),
-            placeBetRequest.getAmount());
+            placeBetRequest.amountInCents());
+  }
+
+  @Test
+  void shouldPlaceValidBetsOfBatchAndRejectTheRestInRequestOrderTest() {
+    var valid =
+        PlaceBetRequest.builder().userId(1).eventId(1).driverId(1).amount(BigDecimal.TEN).build();
+    var invalid = PlaceBetRequest.builder().userId(1).eventId(1).driverId(1).build();
+    var unknownEvent =
+        PlaceBetRequest.builder()
+            .userId(1)
+            .eventId(9999)
+            .driverId(1)
+            .amount(BigDecimal.TEN)
+            .build();
+    when(betService.placeBets(
+            List.of(new BetPlacement(1, 1, 1, 1_000), new BetPlacement(1, 9999, 1, 1_000))))
+        .thenReturn(
+            List.of(
+                BetPlacementResult.placed(7),
+                BetPlacementResult.rejected("Event with id 9999 not found")));
+
+    var response = betController.placeBets(Arrays.asList(valid, invalid, unknownEvent, null));
+
+    assertThat(response.getPlaced()).isEqualTo(1);
+    assertThat(response.getRejected()).isEqualTo(3);
+    assertThat(response.getResults())
+        .extracting(PlaceBetResult::getIndex, PlaceBetResult::getStatus, PlaceBetResult::getBetId)
+        .containsExactly(
+            tuple(0, PLACED, 7),
+            tuple(1, REJECTED, null),
+            tuple(2, REJECTED, null),
+            tuple(3, REJECTED, null));
+    assertThat(response.getResults())
+        .extracting(PlaceBetResult::getError)
+        .satisfiesExactly(
+            error -> assertThat(error).isNull(),
+            error -> assertThat(error).startsWith("amount "),
+            error -> assertThat(error).isEqualTo("Event with id 9999 not found"),
+            error -> assertThat(error).isEqualTo("Bet must be provided"));
+  }
+
+  @Test
+  void shouldPlaceBetsOfStreamInChunksAndWriteOneResultLinePerBetTest() throws IOException {
+    var body =
+        """
+        {"userId":1,"eventId":1,"driverId":1,"amount":10}
+
+        not a bet
+        {"userId":1,"eventId":1,"driverId":1}
+        {"userId":2,"eventId":1,"driverId":1,"amount":5}
+        """;
+    when(betService.placeBets(List.of(new BetPlacement(1, 1, 1, 1_000))))
+        .thenReturn(List.of(BetPlacementResult.placed(7)));
+    when(betService.placeBets(List.of(new BetPlacement(2, 1, 1, 500))))
+        .thenReturn(List.of(BetPlacementResult.rejected("Event with id 1 not found")));
+    var response = new MockHttpServletResponse();
+
+    betController.placeBetStream(new ByteArrayInputStream(body.getBytes(UTF_8)), response);
+
+    var lines = response.getContentAsString().lines().toList();
+    assertThat(response.getContentType()).isEqualTo("application/x-ndjson");
+    assertThat(lines).hasSize(4);
+    assertThat(lines.get(0)).contains("\"index\":0", "\"status\":\"PLACED\"", "\"betId\":7");
+    assertThat(lines.get(1)).contains("\"index\":1", "\"status\":\"REJECTED\"", "Malformed bet");
+    assertThat(lines.get(2)).contains("\"index\":2", "\"status\":\"REJECTED\"", "amount");
+    assertThat(lines.get(3))
+        .contains("\"index\":3", "\"status\":\"REJECTED\"", "Event with id 1 not found");
+  }
+
+  @Test
+  void shouldRejectTheBetsOfAChunkWhoseProviderCallFailedAndKeepStreamingTest()
+      throws IOException {
+    var body =
+        """
+        {"userId":1,"eventId":1,"driverId":1,"amount":10}
+        {"userId":2,"eventId":1,"driverId":1,"amount":10}
+        {"userId":3,"eventId":2,"driverId":1,"amount":10}
+        {"userId":4,"eventId":2,"driverId":1}
+        {"userId":5,"eventId":1,"driverId":1,"amount":10}
+        """;
+    when(betService.placeBets(
+            List.of(new BetPlacement(1, 1, 1, 1_000), new BetPlacement(2, 1, 1, 1_000))))
+        .thenReturn(List.of(BetPlacementResult.placed(7), BetPlacementResult.placed(8)));
+    when(betService.placeBets(List.of(new BetPlacement(3, 2, 1, 1_000))))
+        .thenThrow(new CircuitOpenException("openf1"));
+    when(betService.placeBets(List.of(new BetPlacement(5, 1, 1, 1_000))))
+        .thenReturn(List.of(BetPlacementResult.placed(9)));
+    var response = new MockHttpServletResponse();
+
+    betController.placeBetStream(new ByteArrayInputStream(body.getBytes(UTF_8)), response);
+
+    var lines = response.getContentAsString().lines().toList();
+    assertThat(lines).hasSize(5);
+    assertThat(lines.get(1)).contains("\"index\":1", "\"status\":\"PLACED\"", "\"betId\":8");
+    assertThat(lines.get(2))
+        .contains("\"index\":2", "\"status\":\"REJECTED\"", "Circuit openf1 is open");
+    assertThat(lines.get(3)).contains("\"index\":3", "\"status\":\"REJECTED\"", "amount");
+    assertThat(lines.get(4)).contains("\"index\":4", "\"status\":\"PLACED\"", "\"betId\":9");
+  }
+
+  @Test
+  void shouldRejectLinesLongerThanTheMaximumLineLengthTest() throws IOException {
+    var body =
+        "x".repeat(1_000) + "\r\n{\"userId\":1,\"eventId\":1,\"driverId\":1,\"amount\":10}\r\n";
+    when(betService.placeBets(List.of(new BetPlacement(1, 1, 1, 1_000))))
+        .thenReturn(List.of(BetPlacementResult.placed(7)));
+    var response = new MockHttpServletResponse();
+
+    betController.placeBetStream(new ByteArrayInputStream(body.getBytes(UTF_8)), response);
+
+    var lines = response.getContentAsString().lines().toList();
+    assertThat(lines).hasSize(2);
+    assertThat(lines.get(0))
+        .contains("\"index\":0", "\"status\":\"REJECTED\"", "Bet exceeds 64 characters");
+    assertThat(lines.get(1)).contains("\"index\":1", "\"status\":\"PLACED\"", "\"betId\":7");
+  }
+
+  @Test
+  void shouldNotCallServiceForEmptyStreamTest() throws IOException {
+    var response = new MockHttpServletResponse();
+
+    betController.placeBetStream(new ByteArrayInputStream("\n\n".getBytes(UTF_8)), response);
+
+    assertThat(response.getContentAsString()).isEmpty();
+    verify(betService, never()).placeBets(List.of());
+  }
+
+  @Test
+  void shouldRejectNonPositiveStreamChunkSizeTest() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(
+            () ->
+                new BetController(
+                    betService,
+                    Validation.buildDefaultValidatorFactory().getValidator(),
+                    Jackson2ObjectMapperBuilder.json().build(),
+                    0,
+                    64))
+        .withMessage("Stream chunk size must be positive");
+  }
+
+  @Test
+  void shouldRejectNonPositiveStreamMaxLineLengthTest() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(
+            () ->
+                new BetController(
+                    betService,
+                    Validation.buildDefaultValidatorFactory().getValidator(),
+                    Jackson2ObjectMapperBuilder.json().build(),
+                    2,
+                    0))
+        .withMessage("Stream max line length must be positive");
   }
 }